@@ -0,0 +1,55 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius queries against a {@link GeoGridIndex} filled with plantings spread over the Munich area.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GeoGridIndexBenchmark {
+
+    private static final double MARIENPLATZ_LAT = 48.1374;
+    private static final double MARIENPLATZ_LON = 11.5755;
+
+    @Param({"10000", "1000000"})
+    int pointCount;
+
+    @Param({"500", "5000"})
+    double radiusMeters;
+
+    private GeoGridIndex index;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        index = new GeoGridIndex();
+        Random random = new Random(42);
+        for (int i = 0; i < pointCount; i++) {
+            index.put("a" + i, 48.0 + random.nextDouble() * 0.3, 11.4 + random.nextDouble() * 0.4);
+        }
+    }
+
+    @Benchmark
+    public List<String> findWithinRadius() {
+        return index.findWithinRadius(MARIENPLATZ_LAT, MARIENPLATZ_LON, radiusMeters, 100);
+    }
+}
@@ -0,0 +1,83 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.LocationVO;
+import com.urbanbloom.action.domain.PlantVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "My actions" lookup: full scan over all actions, as {@code findByUserId} did before the per-user index,
+ * against the indexed lookup of {@link InMemoryActionRepository}.
+ * The 10M case needs a heap of about 8 GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class InMemoryActionRepositoryBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "1000000", "10000000"})
+    int actionCount;
+
+    private final Map<String, Action> scanned = new ConcurrentHashMap<>();
+    private InMemoryActionRepository repository;
+    private UUID[] users;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        repository = new InMemoryActionRepository();
+        users = new UUID[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = UUID.randomUUID();
+        }
+        random = new Random(42);
+        PlantVO plant = new PlantVO(UUID.randomUUID(), "Linde", "Tilia cordata");
+        for (int i = 0; i < actionCount; i++) {
+            LocationVO location = new LocationVO(48.0 + random.nextDouble() * 0.3, 11.4 + random.nextDouble() * 0.4,
+                    null, null);
+            Action action = Action.create(users[random.nextInt(USERS)], plant, location, null);
+            repository.save(action);
+            scanned.put(action.getId(), action);
+        }
+    }
+
+    @Benchmark
+    public List<Action> scan() {
+        UUID userId = users[random.nextInt(USERS)];
+        return scanned.values().stream()
+                .filter(action -> action.getUserId().equals(userId))
+                .sorted(Comparator.comparing(Action::getCreatedAt).reversed())
+                .limit(PAGE_SIZE)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Action> indexed() {
+        return repository.findByUserId(users[random.nextInt(USERS)], null, PAGE_SIZE);
+    }
+}
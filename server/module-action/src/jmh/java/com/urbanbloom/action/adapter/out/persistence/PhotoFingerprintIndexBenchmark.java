@@ -0,0 +1,88 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.PhotoReuse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Near-duplicate lookups in a {@link PhotoFingerprintIndex}, compared with a linear scan over all fingerprints.
+ * Half of the queries are copies of a stored photo with two flipped bits, the other half match nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PhotoFingerprintIndexBenchmark {
+
+    private static final int MAX_DISTANCE = 6;
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"100000", "1000000"})
+    int photoCount;
+
+    private PhotoFingerprintIndex index;
+    private long[] fingerprints;
+    private long[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        index = new PhotoFingerprintIndex(MAX_DISTANCE);
+        UUID userId = UUID.randomUUID();
+        Random random = new Random(42);
+        fingerprints = new long[photoCount];
+        for (int i = 0; i < photoCount; i++) {
+            fingerprints[i] = random.nextLong();
+            index.put("a" + i, userId, fingerprints[i]);
+        }
+        queries = new long[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queries[i] = i % 2 == 0
+                    ? fingerprints[random.nextInt(photoCount)] ^ (1L << random.nextInt(64)) ^ (1L << random.nextInt(64))
+                    : random.nextLong();
+        }
+    }
+
+    @Benchmark
+    public Optional<PhotoReuse> findNearest() {
+        return index.findNearest(nextQuery());
+    }
+
+    @Benchmark
+    public int linearScan() {
+        long query = nextQuery();
+        int nearest = -1;
+        int nearestDistance = MAX_DISTANCE + 1;
+        for (int i = 0; i < fingerprints.length; i++) {
+            int distance = Long.bitCount(fingerprints[i] ^ query);
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    private long nextQuery() {
+        long query = queries[next];
+        next = (next + 1) % QUERY_COUNT;
+        return query;
+    }
+}
@@ -1,16 +1,32 @@
 package com.urbanbloom.action.adapter.in.rest;
 
 import com.urbanbloom.action.application.ActionApplicationService;
+import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.ActionCursor;
+import com.urbanbloom.action.domain.ActionStatusException;
+import com.urbanbloom.action.domain.IdempotencyKeyException;
+import com.urbanbloom.action.domain.InvalidPhotoException;
+import com.urbanbloom.action.domain.InvalidQueryException;
 import com.urbanbloom.action.domain.LocationVO;
 import com.urbanbloom.action.domain.PlantVO;
+import com.urbanbloom.action.domain.StoredPhoto;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -21,29 +37,143 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ActionController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final ActionApplicationService actionService;
 
+    /**
+     * Creates an action. With an {@code Idempotency-Key} header, retries of the request return the action
+     * created first instead of creating another one.
+     */
     @PostMapping
     public ResponseEntity<ActionResponseDto> createAction(
             @AuthenticationPrincipal Jwt jwt,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestBody CreateActionRequestDto request) {
         
         UUID userId = UUID.fromString(jwt.getSubject());
-        
-        String actionId = actionService.createAction(
-                userId,
-                new PlantVO(request.getPlantId(), request.getPlantName(), request.getScientificName()),
-                new LocationVO(request.getLatitude(), request.getLongitude(), request.getAddress(), request.getDistrictId()),
-                request.getDescription()
-        );
+        PlantVO plant = new PlantVO(request.getPlantId(), request.getPlantName(), request.getScientificName());
+        LocationVO location = new LocationVO(request.getLatitude(), request.getLongitude(), request.getAddress(), request.getDistrictId());
+
+        String actionId = idempotencyKey == null
+                ? actionService.createAction(userId, plant, location, request.getDescription())
+                : actionService.createAction(userId, idempotencyKey, plant, location, request.getDescription());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(new ActionResponseDto(actionId));
     }
 
+    /**
+     * Lists the current user's actions, newest first, using an opaque keyset cursor.
+     */
+    @GetMapping
+    public ResponseEntity<ActionPageDto> getMyActions(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        UUID userId = UUID.fromString(jwt.getSubject());
+        ActionCursor afterCursor = cursor != null && !cursor.isBlank() ? ActionCursor.decode(cursor) : null;
+
+        List<Action> actions = actionService.getUserActions(userId, afterCursor, limit);
+        boolean lastPage = actions.isEmpty()
+                || actions.size() < Math.min(limit, ActionApplicationService.MAX_PAGE_SIZE);
+        String nextCursor = lastPage
+                ? null
+                : ActionCursor.of(actions.get(actions.size() - 1)).encode();
+
+        List<ActionSummaryDto> items = actions.stream()
+                .map(ActionSummaryDto::from)
+                .toList();
+        return ResponseEntity.ok(new ActionPageDto(items, nextCursor));
+    }
+
+    /**
+     * Lists actions within {@code radius} meters of the given point, closest first.
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<ActionSummaryDto>> getNearbyActions(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "1000") double radius) {
+
+        List<ActionSummaryDto> items = actionService.getNearbyActions(lat, lon, radius).stream()
+                .map(ActionSummaryDto::from)
+                .toList();
+        return ResponseEntity.ok(items);
+    }
+
+    /**
+     * Uploads the action's photo as the raw request body, streamed to storage as it arrives.
+     */
+    @PutMapping(value = "/{actionId}/photo", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE,
+            "image/webp", "image/heic", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<PhotoResponseDto> uploadPhoto(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable String actionId,
+            HttpServletRequest request) throws IOException {
+
+        UUID userId = UUID.fromString(jwt.getSubject());
+        StoredPhoto photo = actionService.uploadPhoto(actionId, userId, request.getInputStream());
+        return ResponseEntity.ok(PhotoResponseDto.from(photo));
+    }
+
+    /**
+     * Uploads the action's photo as the {@code photo} part of a multipart form.
+     */
+    @PutMapping(value = "/{actionId}/photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<PhotoResponseDto> uploadPhotoPart(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable String actionId,
+            @RequestPart("photo") MultipartFile file) throws IOException {
+
+        UUID userId = UUID.fromString(jwt.getSubject());
+        try (InputStream content = file.getInputStream()) {
+            StoredPhoto photo = actionService.uploadPhoto(actionId, userId, content);
+            return ResponseEntity.ok(PhotoResponseDto.from(photo));
+        }
+    }
+
+    @ExceptionHandler(InvalidPhotoException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidPhoto(InvalidPhotoException e) {
+        HttpStatus status = e.isTooLarge() ? HttpStatus.PAYLOAD_TOO_LARGE : HttpStatus.UNSUPPORTED_MEDIA_TYPE;
+        return ResponseEntity.status(status).body(ProblemDetail.forStatusAndDetail(status, e.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidQueryException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidQuery(InvalidQueryException e) {
+        return ResponseEntity.badRequest()
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyException.class)
+    public ResponseEntity<ProblemDetail> handleIdempotencyKey(IdempotencyKeyException e) {
+        HttpStatus status = switch (e.getReason()) {
+            case INVALID -> HttpStatus.BAD_REQUEST;
+            case REUSED -> HttpStatus.UNPROCESSABLE_ENTITY;
+            case IN_PROGRESS -> HttpStatus.CONFLICT;
+        };
+        return ResponseEntity.status(status).body(ProblemDetail.forStatusAndDetail(status, e.getMessage()));
+    }
+
+    @ExceptionHandler(ActionStatusException.class)
+    public ResponseEntity<ProblemDetail> handleActionStatus(ActionStatusException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage()));
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ProblemDetail> handleAccessDenied(AccessDeniedException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.FORBIDDEN, e.getMessage()));
+    }
+
+    /**
+     * Submits the action for verification; the outcome is decided asynchronously.
+     */
     @PostMapping("/{actionId}/verify")
     public ResponseEntity<Void> verifyAction(@PathVariable String actionId) {
         actionService.verifyAction(actionId);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.accepted().build();
     }
 
     @Data
@@ -63,4 +193,48 @@ public class ActionController {
     public static class ActionResponseDto {
         private final String actionId;
     }
+
+    @Data
+    @RequiredArgsConstructor
+    public static class PhotoResponseDto {
+        private final String photoUrl;
+        private final String sha256;
+        private final long size;
+        private final String contentType;
+
+        static PhotoResponseDto from(StoredPhoto photo) {
+            return new PhotoResponseDto(ActionApplicationService.PHOTO_URL_PREFIX + photo.sha256(),
+                    photo.sha256(), photo.size(), photo.contentType());
+        }
+    }
+
+    @Data
+    @RequiredArgsConstructor
+    public static class ActionSummaryDto {
+        private final String actionId;
+        private final UUID userId;
+        private final String plantName;
+        private final double latitude;
+        private final double longitude;
+        private final String status;
+        private final Instant createdAt;
+
+        static ActionSummaryDto from(Action action) {
+            return new ActionSummaryDto(
+                    action.getId(),
+                    action.getUserId(),
+                    action.getPlant() != null ? action.getPlant().getName() : null,
+                    action.getLocation() != null ? action.getLocation().getLatitude() : 0,
+                    action.getLocation() != null ? action.getLocation().getLongitude() : 0,
+                    action.getStatus().name(),
+                    action.getCreatedAt());
+        }
+    }
+
+    @Data
+    @RequiredArgsConstructor
+    public static class ActionPageDto {
+        private final List<ActionSummaryDto> items;
+        private final String nextCursor;
+    }
 }
@@ -0,0 +1,114 @@
+package com.urbanbloom.action.adapter.in.rest;
+
+import com.urbanbloom.action.domain.PhotoDerivativeGenerator;
+import com.urbanbloom.action.domain.PhotoStorage;
+import com.urbanbloom.action.domain.PhotoVariant;
+import com.urbanbloom.action.domain.StoredPhoto;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Serves action photos from the photo storage.
+ * Photos are addressed by content hash and never change, so responses carry the hash as ETag and may be cached
+ * indefinitely. A single {@code Range} is honoured with 206 Partial Content; multiple ranges get the full photo.
+ * <p>
+ * {@code ?variant=thumbnail|web} selects a scaled-down rendition. Until it has been generated the original is
+ * served without long-term caching and generation is requested again.
+ */
+@RestController
+@RequestMapping("/api/v1/photos")
+@RequiredArgsConstructor
+public class PhotoController {
+
+    private static final String CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+    private final PhotoStorage photoStorage;
+    private final PhotoDerivativeGenerator photoDerivatives;
+
+    @GetMapping("/{sha256}")
+    public void getPhoto(
+            @PathVariable String sha256,
+            @RequestParam(defaultValue = "original") String variant,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) throws IOException {
+
+        PhotoVariant requested;
+        try {
+            requested = PhotoVariant.valueOf(variant.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        Optional<StoredPhoto> found = photoStorage.find(sha256, requested);
+        if (found.isEmpty() && requested.isDerivative()) {
+            found = photoStorage.find(sha256);
+            found.ifPresent(original -> photoDerivatives.request(original.sha256()));
+        }
+        if (found.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        StoredPhoto photo = found.get();
+        String etag = "\"" + photo.sha256() + (photo.variant().isDerivative() ? "-" + photo.variant().getMaxEdge() : "") + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, photo.variant() == requested ? CACHE_CONTROL : "no-cache");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag.equals(ifNoneMatch)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long start = 0;
+        long count = photo.size();
+        List<HttpRange> ranges = parseRanges(range);
+        if (ranges.size() == 1) {
+            try {
+                start = ranges.get(0).getRangeStart(photo.size());
+                count = ranges.get(0).getRangeEnd(photo.size()) - start + 1;
+            } catch (IllegalArgumentException e) {
+                count = 0;
+            }
+            // HttpRange does not reject a first position beyond the end of the photo
+            if (count <= 0) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + photo.size());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + start + "-" + (start + count - 1) + "/" + photo.size());
+        }
+
+        response.setContentType(photo.contentType());
+        response.setContentLengthLong(count);
+        photoStorage.transferTo(photo, start, count, Channels.newChannel(response.getOutputStream()));
+    }
+
+    /**
+     * @return the requested ranges; empty if there is no Range header or it is malformed, which serves the whole photo
+     */
+    private static List<HttpRange> parseRanges(String range) {
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.ActionStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA entity for Action.
+ * This is an anemic persistence model, separate from the rich domain model.
+ */
+@Entity
+@Table(name = "actions", schema = "module_action_schema")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActionJpaEntity {
+
+    @Id
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "plant_id")
+    private UUID plantId;
+
+    @Column(name = "plant_name")
+    private String plantName;
+
+    @Column(name = "plant_scientific_name")
+    private String plantScientificName;
+
+    @Column(name = "latitude", nullable = false)
+    private double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private double longitude;
+
+    @Column(name = "address")
+    private String address;
+
+    @Column(name = "district_id")
+    private UUID districtId;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "photo_url")
+    private String photoUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ActionStatus status;
+
+    @Column(name = "points_awarded")
+    private Integer pointsAwarded;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "verified_at")
+    private Instant verifiedAt;
+}
@@ -0,0 +1,82 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Spring Data JPA repository for ActionJpaEntity.
+ */
+@Repository
+public interface ActionJpaRepository extends JpaRepository<ActionJpaEntity, String> {
+
+    List<ActionJpaEntity> findByUserIdOrderByCreatedAtAscIdAsc(UUID userId);
+
+    /**
+     * Loads an action with SELECT ... FOR UPDATE.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM ActionJpaEntity a WHERE a.id = :id")
+    Optional<ActionJpaEntity> findByIdForUpdate(@Param("id") String id);
+
+    /**
+     * First page of a user's timeline (served by idx_actions_user_created).
+     */
+    List<ActionJpaEntity> findByUserIdOrderByCreatedAtDescIdDesc(UUID userId, Limit limit);
+
+    /**
+     * Keyset page strictly after the given (createdAt, id) position; never uses OFFSET.
+     */
+    @Query("""
+            SELECT a FROM ActionJpaEntity a
+            WHERE a.userId = :userId
+              AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<ActionJpaEntity> findPageAfter(@Param("userId") UUID userId,
+                                        @Param("createdAt") Instant createdAt,
+                                        @Param("id") String id,
+                                        Limit limit);
+
+    /**
+     * Streams the coordinates of all actions; used to warm the in-memory spatial index.
+     */
+    @Query("""
+            SELECT a.id AS id, a.latitude AS latitude, a.longitude AS longitude, a.createdAt AS createdAt
+            FROM ActionJpaEntity a
+            """)
+    Stream<ActionLocationView> streamAllLocations();
+
+    /**
+     * Coordinates of the actions created after the given instant (served by idx_actions_created_at).
+     */
+    @Query("""
+            SELECT a.id AS id, a.latitude AS latitude, a.longitude AS longitude, a.createdAt AS createdAt
+            FROM ActionJpaEntity a
+            WHERE a.createdAt > :since
+            """)
+    List<ActionLocationView> findLocationsCreatedAfter(@Param("since") Instant since);
+
+    /**
+     * Projection carrying only what the spatial index needs.
+     */
+    interface ActionLocationView {
+        String getId();
+
+        double getLatitude();
+
+        double getLongitude();
+
+        Instant getCreatedAt();
+    }
+}
@@ -0,0 +1,56 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.LocationVO;
+import com.urbanbloom.action.domain.PlantVO;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper between domain Action and JPA entity.
+ */
+@Component
+public class ActionPersistenceMapper {
+
+    public ActionJpaEntity toEntity(Action domain) {
+        ActionJpaEntity.ActionJpaEntityBuilder builder = ActionJpaEntity.builder()
+                .id(domain.getId())
+                .userId(domain.getUserId())
+                .description(domain.getDescription())
+                .photoUrl(domain.getPhotoUrl())
+                .status(domain.getStatus())
+                .pointsAwarded(domain.getPointsAwarded())
+                .createdAt(domain.getCreatedAt())
+                .verifiedAt(domain.getVerifiedAt());
+
+        PlantVO plant = domain.getPlant();
+        if (plant != null) {
+            builder.plantId(plant.getPlantId())
+                    .plantName(plant.getName())
+                    .plantScientificName(plant.getScientificName());
+        }
+
+        LocationVO location = domain.getLocation();
+        if (location != null) {
+            builder.latitude(location.getLatitude())
+                    .longitude(location.getLongitude())
+                    .address(location.getAddress())
+                    .districtId(location.getDistrictId());
+        }
+        return builder.build();
+    }
+
+    public Action toDomain(ActionJpaEntity entity) {
+        return Action.reconstruct(
+                entity.getId(),
+                entity.getUserId(),
+                new PlantVO(entity.getPlantId(), entity.getPlantName(), entity.getPlantScientificName()),
+                new LocationVO(entity.getLatitude(), entity.getLongitude(), entity.getAddress(), entity.getDistrictId()),
+                entity.getDescription(),
+                entity.getPhotoUrl(),
+                entity.getStatus(),
+                entity.getPointsAwarded(),
+                entity.getCreatedAt(),
+                entity.getVerifiedAt()
+        );
+    }
+}
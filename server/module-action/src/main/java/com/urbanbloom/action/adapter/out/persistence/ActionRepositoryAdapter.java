@@ -0,0 +1,164 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.ActionCursor;
+import com.urbanbloom.action.domain.ActionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Adapter implementing the ActionRepository port on top of PostgreSQL.
+ * Default implementation; set {@code urbanbloom.action.repository=in-memory} to use the in-memory store.
+ * Nearby queries are answered from a {@link GeoGridIndex} that is warmed from the table on startup
+ * and kept current on every committed save. Actions saved by other instances are picked up by a periodic
+ * catch-up on {@code created_at}, which re-reads a short overlap because rows do not commit in creation order.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "urbanbloom.action", name = "repository", havingValue = "jpa", matchIfMissing = true)
+public class ActionRepositoryAdapter implements ActionRepository {
+
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    private final ActionJpaRepository jpaRepository;
+    private final ActionPersistenceMapper mapper;
+    private final long catchUpIntervalMillis;
+    private final GeoGridIndex geoIndex = new GeoGridIndex();
+    private final ScheduledExecutorService catchUpScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "nearby-index-catch-up");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Instant loadedUntil = Instant.EPOCH;
+
+    public ActionRepositoryAdapter(ActionJpaRepository jpaRepository,
+                                   ActionPersistenceMapper mapper,
+                                   @Value("${urbanbloom.action.nearby.catch-up-interval-ms:5000}") long catchUpIntervalMillis) {
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+        this.catchUpIntervalMillis = catchUpIntervalMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUpGeoIndex() {
+        try (Stream<ActionJpaRepository.ActionLocationView> locations = jpaRepository.streamAllLocations()) {
+            locations.forEach(this::index);
+        }
+        log.info("Spatial index warmed with {} actions", geoIndex.size());
+        catchUpScheduler.scheduleWithFixedDelay(this::catchUp, catchUpIntervalMillis, catchUpIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        catchUpScheduler.shutdownNow();
+    }
+
+    /**
+     * Indexes actions created since the last catch-up, including those saved by other instances.
+     */
+    synchronized void catchUp() {
+        try {
+            jpaRepository.findLocationsCreatedAfter(loadedUntil.minus(CATCH_UP_OVERLAP)).forEach(this::index);
+        } catch (RuntimeException e) {
+            log.warn("Catching up the spatial index failed", e);
+        }
+    }
+
+    private void index(ActionJpaRepository.ActionLocationView location) {
+        geoIndex.put(location.getId(), location.getLatitude(), location.getLongitude());
+        if (location.getCreatedAt().isAfter(loadedUntil)) {
+            loadedUntil = location.getCreatedAt();
+        }
+    }
+
+    @Override
+    public void save(Action action) {
+        jpaRepository.save(mapper.toEntity(action));
+        if (action.getLocation() == null) {
+            return;
+        }
+        String id = action.getId();
+        double latitude = action.getLocation().getLatitude();
+        double longitude = action.getLocation().getLongitude();
+        // Index only committed rows, so a rolled-back save never shows up in nearby results
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    geoIndex.put(id, latitude, longitude);
+                }
+            });
+        } else {
+            geoIndex.put(id, latitude, longitude);
+        }
+    }
+
+    @Override
+    public Optional<Action> findById(String id) {
+        return jpaRepository.findById(id)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public Optional<Action> findByIdForUpdate(String id) {
+        return jpaRepository.findByIdForUpdate(id)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public List<Action> findByUserId(UUID userId) {
+        return jpaRepository.findByUserIdOrderByCreatedAtAscIdAsc(userId).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Action> findByUserId(UUID userId, ActionCursor afterCursor, int limit) {
+        List<ActionJpaEntity> page = afterCursor == null
+                ? jpaRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, Limit.of(limit))
+                : jpaRepository.findPageAfter(userId, afterCursor.createdAt(), afterCursor.actionId(), Limit.of(limit));
+        return page.stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Action> findNearby(double latitude, double longitude, double radiusMeters, int limit) {
+        List<String> ids = geoIndex.findWithinRadius(latitude, longitude, radiusMeters, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return jpaRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(entity -> rank.get(entity.getId())))
+                .map(mapper::toDomain)
+                .toList();
+    }
+}
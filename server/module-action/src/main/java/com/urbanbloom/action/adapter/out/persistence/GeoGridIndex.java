@@ -0,0 +1,162 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index over action locations.
+ * Points are bucketed into geohash cells of {@value #BITS_PER_AXIS} bits per axis
+ * (geohash precision 6, roughly 1.2 km x 0.6 km at central European latitudes).
+ * A radius query only visits the cells overlapping the query's bounding box
+ * and then filters candidates by great-circle distance.
+ */
+class GeoGridIndex {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000d;
+
+    private static final int BITS_PER_AXIS = 15;
+    private static final int CELLS_PER_AXIS = 1 << BITS_PER_AXIS;
+    private static final double LAT_CELL_DEGREES = 180d / CELLS_PER_AXIS;
+    private static final double LON_CELL_DEGREES = 360d / CELLS_PER_AXIS;
+    private static final double METERS_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_METERS / 180d;
+
+    private final Map<Long, Map<String, GeoPoint>> cells = new ConcurrentHashMap<>();
+    private final Map<String, Long> cellByActionId = new ConcurrentHashMap<>();
+
+    /**
+     * Adds or moves an action in the index.
+     */
+    void put(String actionId, double latitude, double longitude) {
+        long cell = cellOf(latitude, longitude);
+        GeoPoint point = new GeoPoint(actionId, latitude, longitude);
+        cellByActionId.compute(actionId, (id, previousCell) -> {
+            if (previousCell != null && previousCell != cell) {
+                removeFromCell(previousCell, id);
+            }
+            cells.computeIfAbsent(cell, c -> new ConcurrentHashMap<>()).put(id, point);
+            return cell;
+        });
+    }
+
+    /**
+     * Returns the ids of actions within the radius, closest first.
+     */
+    List<String> findWithinRadius(double latitude, double longitude, double radiusMeters, int limit) {
+        double latDelta = radiusMeters / METERS_PER_DEGREE_LAT;
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+        double lonDelta = Math.min(180d, latDelta / cosLat);
+
+        int minLat = latIndex(Math.max(-90d, latitude - latDelta));
+        int maxLat = latIndex(Math.min(90d, latitude + latDelta));
+        int minLon = lonIndex(longitude - lonDelta);
+        int maxLon = lonIndex(longitude + lonDelta);
+
+        // Wraps across the antimeridian when minLon > maxLon; near the poles the box covers every column
+        int lonSpan = lonDelta >= 180d ? CELLS_PER_AXIS - 1 : Math.floorMod(maxLon - minLon, CELLS_PER_AXIS);
+
+        List<Candidate> hits = new ArrayList<>();
+        long boxCells = (long) (maxLat - minLat + 1) * (lonSpan + 1);
+        if (boxCells > cells.size()) {
+            // Large boxes (near the poles) span more cells than are occupied; visit the occupied ones instead
+            cells.forEach((cell, bucket) -> {
+                int latIdx = deinterleave(cell);
+                int lonStep = Math.floorMod(deinterleave(cell >>> 1) - minLon, CELLS_PER_AXIS);
+                if (latIdx >= minLat && latIdx <= maxLat && lonStep <= lonSpan) {
+                    collect(bucket, latitude, longitude, radiusMeters, hits);
+                }
+            });
+        } else {
+            for (int latIdx = minLat; latIdx <= maxLat; latIdx++) {
+                for (int step = 0; step <= lonSpan; step++) {
+                    int lonIdx = (minLon + step) % CELLS_PER_AXIS;
+                    Map<String, GeoPoint> bucket = cells.get(interleave(latIdx, lonIdx));
+                    if (bucket != null) {
+                        collect(bucket, latitude, longitude, radiusMeters, hits);
+                    }
+                }
+            }
+        }
+
+        return hits.stream()
+                .sorted(Comparator.comparingDouble(Candidate::distanceMeters))
+                .limit(limit)
+                .map(Candidate::actionId)
+                .toList();
+    }
+
+    private static void collect(Map<String, GeoPoint> bucket, double latitude, double longitude,
+                                double radiusMeters, List<Candidate> hits) {
+        for (GeoPoint point : bucket.values()) {
+            double distance = distanceMeters(latitude, longitude, point.latitude(), point.longitude());
+            if (distance <= radiusMeters) {
+                hits.add(new Candidate(point.actionId(), distance));
+            }
+        }
+    }
+
+    int size() {
+        return cellByActionId.size();
+    }
+
+    static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1d, Math.sqrt(a)));
+    }
+
+    private void removeFromCell(long cell, String actionId) {
+        cells.computeIfPresent(cell, (c, bucket) -> {
+            bucket.remove(actionId);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    private static long cellOf(double latitude, double longitude) {
+        return interleave(latIndex(latitude), lonIndex(longitude));
+    }
+
+    private static int latIndex(double latitude) {
+        int idx = (int) Math.floor((latitude + 90d) / LAT_CELL_DEGREES);
+        return Math.min(Math.max(idx, 0), CELLS_PER_AXIS - 1);
+    }
+
+    private static int lonIndex(double longitude) {
+        double normalized = ((longitude + 180d) % 360d + 360d) % 360d;
+        return Math.min((int) Math.floor(normalized / LON_CELL_DEGREES), CELLS_PER_AXIS - 1);
+    }
+
+    /**
+     * Interleaves longitude and latitude bits like a geohash (longitude first).
+     */
+    private static long interleave(int latIdx, int lonIdx) {
+        long hash = 0;
+        for (int bit = BITS_PER_AXIS - 1; bit >= 0; bit--) {
+            hash = (hash << 1) | ((lonIdx >> bit) & 1);
+            hash = (hash << 1) | ((latIdx >> bit) & 1);
+        }
+        return hash;
+    }
+
+    /**
+     * Extracts every other bit of an interleaved hash, starting with the lowest (the latitude bits).
+     */
+    private static int deinterleave(long hash) {
+        int idx = 0;
+        for (int bit = 0; bit < BITS_PER_AXIS; bit++) {
+            idx |= (int) ((hash >>> (2 * bit)) & 1) << bit;
+        }
+        return idx;
+    }
+
+    private record GeoPoint(String actionId, double latitude, double longitude) {
+    }
+
+    private record Candidate(String actionId, double distanceMeters) {
+    }
+}
@@ -1,27 +1,48 @@
 package com.urbanbloom.action.adapter.out.persistence;
 
 import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.ActionCursor;
 import com.urbanbloom.action.domain.ActionRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * In-memory repository for Action aggregates.
+ * Keeps a per-user secondary index so that user lookups do not scan all actions,
+ * and a {@link GeoGridIndex} for nearby queries.
+ * Active only when {@code urbanbloom.action.repository=in-memory}.
  */
 @Repository
+@ConditionalOnProperty(prefix = "urbanbloom.action", name = "repository", havingValue = "in-memory")
 public class InMemoryActionRepository implements ActionRepository {
 
     private final Map<String, Action> actions = new ConcurrentHashMap<>();
+    private final Map<UUID, NavigableSet<UserActionKey>> actionsByUser = new ConcurrentHashMap<>();
+    private final GeoGridIndex geoIndex = new GeoGridIndex();
 
     @Override
     public void save(Action action) {
-        actions.put(action.getId(), action);
+        // The index is updated inside compute so that a concurrent reader never sees
+        // an action id in the user index that points to a missing action.
+        actions.compute(action.getId(), (id, previous) -> {
+            actionsByUser.computeIfAbsent(action.getUserId(), userId -> new ConcurrentSkipListSet<>())
+                    .add(UserActionKey.of(action));
+            if (action.getLocation() != null) {
+                geoIndex.put(id, action.getLocation().getLatitude(), action.getLocation().getLongitude());
+            }
+            return action;
+        });
     }
 
     @Override
@@ -29,10 +50,67 @@ public class InMemoryActionRepository implements ActionRepository {
         return Optional.ofNullable(actions.get(id));
     }
 
+    /**
+     * There are no transactions in memory; callers share the stored instance, as with {@link #findById(String)}.
+     */
+    @Override
+    public Optional<Action> findByIdForUpdate(String id) {
+        return findById(id);
+    }
+
     @Override
     public List<Action> findByUserId(UUID userId) {
-        return actions.values().stream()
-                .filter(action -> action.getUserId().equals(userId))
-                .collect(Collectors.toList());
+        NavigableSet<UserActionKey> keys = actionsByUser.get(userId);
+        if (keys == null) {
+            return List.of();
+        }
+        return keys.stream()
+                .map(key -> actions.get(key.actionId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<Action> findByUserId(UUID userId, ActionCursor afterCursor, int limit) {
+        NavigableSet<UserActionKey> keys = actionsByUser.get(userId);
+        if (keys == null) {
+            return List.of();
+        }
+        NavigableSet<UserActionKey> newestFirst = keys.descendingSet();
+        if (afterCursor != null) {
+            newestFirst = newestFirst.tailSet(new UserActionKey(afterCursor.createdAt(), afterCursor.actionId()), false);
+        }
+        return newestFirst.stream()
+                .map(key -> actions.get(key.actionId()))
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<Action> findNearby(double latitude, double longitude, double radiusMeters, int limit) {
+        return geoIndex.findWithinRadius(latitude, longitude, radiusMeters, limit).stream()
+                .map(actions::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Index entry ordering a user's actions by creation time, with the action id as tie-breaker.
+     */
+    record UserActionKey(Instant createdAt, String actionId) implements Comparable<UserActionKey> {
+
+        private static final Comparator<UserActionKey> ORDER = Comparator
+                .comparing(UserActionKey::createdAt)
+                .thenComparing(UserActionKey::actionId);
+
+        static UserActionKey of(Action action) {
+            return new UserActionKey(action.getCreatedAt(), action.getId());
+        }
+
+        @Override
+        public int compareTo(UserActionKey other) {
+            return ORDER.compare(this, other);
+        }
     }
 }
@@ -0,0 +1,80 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.IdempotencyStore;
+import com.urbanbloom.action.domain.IdempotentRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-memory {@link IdempotencyStore} with the same retention as {@link JdbcIdempotencyStore}, bounded to
+ * {@code urbanbloom.action.idempotency.cache-max-entries} keys; the oldest key is dropped first.
+ * Active only when {@code urbanbloom.action.repository=in-memory}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "urbanbloom.action", name = "repository", havingValue = "in-memory")
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Clock clock;
+    private final Duration ttl;
+    private final Map<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(@Value("${urbanbloom.action.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                    @Value("${urbanbloom.action.idempotency.cache-max-entries:10000}") int maxEntries) {
+        this(Clock.systemUTC(), ttlSeconds, maxEntries);
+    }
+
+    InMemoryIdempotencyStore(Clock clock, long ttlSeconds, int maxEntries) {
+        this.clock = clock;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<IdempotentRequest> reserve(UUID userId, String key, String requestHash) {
+        Instant now = clock.instant();
+        String entryKey = entryKey(userId, key);
+        Entry existing = entries.get(entryKey);
+        if (existing != null && existing.createdAt().plus(ttl).isAfter(now)) {
+            return Optional.of(existing.request());
+        }
+        entries.remove(entryKey);
+        entries.put(entryKey, new Entry(new IdempotentRequest(requestHash, null), now));
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized void complete(UUID userId, String key, String actionId) {
+        entries.computeIfPresent(entryKey(userId, key), (k, entry) ->
+                new Entry(new IdempotentRequest(entry.request().requestHash(), actionId), entry.createdAt()));
+    }
+
+    @Override
+    public synchronized void release(UUID userId, String key) {
+        String entryKey = entryKey(userId, key);
+        Entry existing = entries.get(entryKey);
+        if (existing != null && !existing.request().isCompleted()) {
+            entries.remove(entryKey);
+        }
+    }
+
+    private static String entryKey(UUID userId, String key) {
+        return userId + ":" + key;
+    }
+
+    private record Entry(IdempotentRequest request, Instant createdAt) {
+    }
+}
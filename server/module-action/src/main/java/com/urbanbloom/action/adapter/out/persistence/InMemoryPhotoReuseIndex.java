@@ -0,0 +1,30 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.PhotoReuse;
+import com.urbanbloom.action.domain.PhotoReuseIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@link PhotoReuseIndex} kept only in a {@link PhotoFingerprintIndex}.
+ * Active only when {@code urbanbloom.action.repository=in-memory}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "urbanbloom.action", name = "repository", havingValue = "in-memory")
+public class InMemoryPhotoReuseIndex implements PhotoReuseIndex {
+
+    private final PhotoFingerprintIndex index;
+
+    public InMemoryPhotoReuseIndex(@Value("${urbanbloom.action.photo.reuse-max-distance:6}") int maxDistance) {
+        this.index = new PhotoFingerprintIndex(maxDistance);
+    }
+
+    @Override
+    public Optional<PhotoReuse> registerUnlessReused(String actionId, UUID userId, long fingerprint) {
+        return index.registerUnlessReused(actionId, userId, fingerprint);
+    }
+}
@@ -0,0 +1,121 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.VerificationQueue;
+import com.urbanbloom.action.domain.VerificationTask;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-memory {@link VerificationQueue} with the same claiming order as {@link JdbcVerificationQueue}.
+ * Active only when {@code urbanbloom.action.repository=in-memory}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "urbanbloom.action", name = "repository", havingValue = "in-memory")
+public class InMemoryVerificationQueue implements VerificationQueue {
+
+    private static final Comparator<Entry> BY_AGE = Comparator.comparing(Entry::enqueuedAt)
+            .thenComparing(Entry::actionId);
+
+    private final Clock clock;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public InMemoryVerificationQueue() {
+        this(Clock.systemUTC());
+    }
+
+    InMemoryVerificationQueue(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void enqueue(String actionId, UUID districtId, Instant enqueuedAt) {
+        entries.put(actionId, new Entry(actionId, districtId, enqueuedAt, 0, Instant.MIN, Instant.MIN, null));
+    }
+
+    @Override
+    public synchronized List<VerificationTask> claim(int limit, int maxAttempts, Duration lease) {
+        Instant now = clock.instant();
+        Map<Optional<UUID>, List<Entry>> byDistrict = new LinkedHashMap<>();
+        entries.values().stream()
+                .filter(entry -> !entry.nextAttemptAt().isAfter(now) && !entry.lockedUntil().isAfter(now)
+                        && entry.attempts() < maxAttempts)
+                .sorted(BY_AGE)
+                .forEach(entry -> byDistrict.computeIfAbsent(Optional.ofNullable(entry.districtId()), d -> new ArrayList<>())
+                        .add(entry));
+
+        // Round-robin over districts: rank 0 of every district first, ordered by age, then rank 1, ...
+        List<Entry> picked = new ArrayList<>();
+        for (int rank = 0; picked.size() < limit; rank++) {
+            List<Entry> round = new ArrayList<>();
+            for (List<Entry> district : byDistrict.values()) {
+                if (rank < district.size()) {
+                    round.add(district.get(rank));
+                }
+            }
+            if (round.isEmpty()) {
+                break;
+            }
+            round.sort(BY_AGE);
+            picked.addAll(round.subList(0, Math.min(round.size(), limit - picked.size())));
+        }
+
+        Instant lockedUntil = now.plus(lease);
+        UUID claimToken = UUID.randomUUID();
+        List<VerificationTask> tasks = new ArrayList<>(picked.size());
+        for (Entry entry : picked) {
+            entries.put(entry.actionId(), entry.withLease(lockedUntil, claimToken));
+            tasks.add(new VerificationTask(entry.actionId(), entry.attempts(), claimToken));
+        }
+        return tasks;
+    }
+
+    @Override
+    public synchronized boolean complete(VerificationTask task) {
+        if (!isClaimed(task)) {
+            return false;
+        }
+        entries.remove(task.actionId());
+        return true;
+    }
+
+    @Override
+    public synchronized boolean retry(VerificationTask task, int attempts, Instant nextAttemptAt, String error) {
+        if (!isClaimed(task)) {
+            return false;
+        }
+        Entry entry = entries.get(task.actionId());
+        entries.put(task.actionId(), new Entry(task.actionId(), entry.districtId(), entry.enqueuedAt(),
+                attempts, nextAttemptAt, Instant.MIN, null));
+        return true;
+    }
+
+    @Override
+    public synchronized long size() {
+        return entries.size();
+    }
+
+    private boolean isClaimed(VerificationTask task) {
+        Entry entry = entries.get(task.actionId());
+        return entry != null && task.claimToken().equals(entry.claimToken());
+    }
+
+    private record Entry(String actionId, UUID districtId, Instant enqueuedAt, int attempts,
+                         Instant nextAttemptAt, Instant lockedUntil, UUID claimToken) {
+
+        Entry withLease(Instant until, UUID token) {
+            return new Entry(actionId, districtId, enqueuedAt, attempts, nextAttemptAt, until, token);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.IdempotencyStore;
+import com.urbanbloom.action.domain.IdempotentRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IdempotencyStore} on a PostgreSQL table keyed by user and idempotency key.
+ * Reserving is a single INSERT: a concurrent request with the same key waits on the uncommitted row and then
+ * sees the committed request, or takes over the key if the first transaction rolled back. Rows older than
+ * {@code urbanbloom.action.idempotency.ttl-seconds} are treated as absent and purged once an hour.
+ * Default implementation; inactive when {@code urbanbloom.action.repository=in-memory}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "urbanbloom.action", name = "repository", havingValue = "jpa", matchIfMissing = true)
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final long PURGE_INTERVAL_MINUTES = 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlSeconds;
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-key-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                @Value("${urbanbloom.action.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        purger.scheduleWithFixedDelay(this::purgeExpired, PURGE_INTERVAL_MINUTES, PURGE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        purger.shutdownNow();
+    }
+
+    @Override
+    public Optional<IdempotentRequest> reserve(UUID userId, String key, String requestHash) {
+        int reserved = jdbcTemplate.update("""
+                        INSERT INTO module_action_schema.idempotency_keys (user_id, idempotency_key, request_hash)
+                        VALUES (?, ?, ?)
+                        ON CONFLICT (user_id, idempotency_key) DO UPDATE
+                        SET request_hash = EXCLUDED.request_hash, action_id = NULL, created_at = now()
+                        WHERE idempotency_keys.created_at < now() - ? * interval '1 second'
+                        """,
+                userId, key, requestHash, ttlSeconds);
+        if (reserved == 1) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query("""
+                        SELECT request_hash, action_id FROM module_action_schema.idempotency_keys
+                        WHERE user_id = ? AND idempotency_key = ?
+                        """,
+                (rs, rowNum) -> new IdempotentRequest(rs.getString("request_hash"), rs.getString("action_id")),
+                userId, key).stream().findFirst();
+    }
+
+    @Override
+    public void complete(UUID userId, String key, String actionId) {
+        jdbcTemplate.update("""
+                        UPDATE module_action_schema.idempotency_keys SET action_id = ?
+                        WHERE user_id = ? AND idempotency_key = ?
+                        """,
+                actionId, userId, key);
+    }
+
+    @Override
+    public void release(UUID userId, String key) {
+        jdbcTemplate.update("""
+                        DELETE FROM module_action_schema.idempotency_keys
+                        WHERE user_id = ? AND idempotency_key = ? AND action_id IS NULL
+                        """,
+                userId, key);
+    }
+
+    void purgeExpired() {
+        try {
+            int purged = jdbcTemplate.update(
+                    "DELETE FROM module_action_schema.idempotency_keys WHERE created_at < now() - ? * interval '1 second'",
+                    ttlSeconds);
+            log.debug("Purged {} expired idempotency keys", purged);
+        } catch (RuntimeException e) {
+            log.warn("Purging expired idempotency keys failed", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.PhotoReuse;
+import com.urbanbloom.action.domain.PhotoReuseIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@link PhotoReuseIndex} that looks up near-duplicates in a {@link PhotoFingerprintIndex} and keeps the
+ * fingerprints in a PostgreSQL table.
+ * The index is loaded from the table at startup. Before every check it picks up fingerprints registered since
+ * (also by other instances), re-reading a short overlap because rows do not necessarily commit in creation order.
+ * Two instances checking near-duplicate photos at the same moment can still both register them.
+ * Default implementation; inactive when {@code urbanbloom.action.repository=in-memory}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "urbanbloom.action", name = "repository", havingValue = "jpa", matchIfMissing = true)
+public class JdbcPhotoReuseIndex implements PhotoReuseIndex {
+
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PhotoFingerprintIndex index;
+    private volatile Instant loadedUntil;
+
+    public JdbcPhotoReuseIndex(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${urbanbloom.action.photo.reuse-max-distance:6}") int maxDistance) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.index = new PhotoFingerprintIndex(maxDistance);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        catchUp();
+        log.info("Loaded {} photo fingerprints in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public Optional<PhotoReuse> registerUnlessReused(String actionId, UUID userId, long fingerprint) {
+        catchUp();
+        Optional<PhotoReuse> reuse = index.registerUnlessReused(actionId, userId, fingerprint);
+        if (reuse.isEmpty()) {
+            try {
+                jdbcTemplate.update("""
+                                INSERT INTO module_action_schema.action_photo_fingerprints (action_id, user_id, fingerprint)
+                                VALUES (?, ?, ?)
+                                ON CONFLICT (action_id) DO NOTHING
+                                """,
+                        actionId, userId, fingerprint);
+            } catch (RuntimeException e) {
+                index.remove(actionId);
+                throw e;
+            }
+        }
+        return reuse;
+    }
+
+    private synchronized void catchUp() {
+        Instant since = loadedUntil == null ? null : loadedUntil.minus(CATCH_UP_OVERLAP);
+        Instant[] newest = {loadedUntil};
+        // In a transaction, so the PostgreSQL driver honours the fetch size instead of buffering every row
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(since == null
+                    ? "SELECT action_id, user_id, fingerprint, created_at FROM module_action_schema.action_photo_fingerprints"
+                    : "SELECT action_id, user_id, fingerprint, created_at FROM module_action_schema.action_photo_fingerprints WHERE created_at > ?");
+            statement.setFetchSize(10_000);
+            if (since != null) {
+                statement.setTimestamp(1, Timestamp.from(since));
+            }
+            return statement;
+        }, rs -> {
+            index.put(rs.getString("action_id"), rs.getObject("user_id", UUID.class), rs.getLong("fingerprint"));
+            Instant createdAt = rs.getTimestamp("created_at").toInstant();
+            if (newest[0] == null || createdAt.isAfter(newest[0])) {
+                newest[0] = createdAt;
+            }
+        }));
+        loadedUntil = newest[0] == null ? Instant.EPOCH : newest[0];
+    }
+}
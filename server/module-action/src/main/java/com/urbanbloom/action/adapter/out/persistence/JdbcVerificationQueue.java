@@ -0,0 +1,92 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.VerificationQueue;
+import com.urbanbloom.action.domain.VerificationTask;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link VerificationQueue} on a PostgreSQL table.
+ * Claiming is a single UPDATE of the rows picked by the fairness ordering, conditional on the row still being free,
+ * so concurrent workers (also on other instances) never claim the same task. The claim stores a token in the row;
+ * completing and rescheduling are conditional on it.
+ * Default implementation; inactive when {@code urbanbloom.action.repository=in-memory}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "urbanbloom.action", name = "repository", havingValue = "jpa", matchIfMissing = true)
+public class JdbcVerificationQueue implements VerificationQueue {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcVerificationQueue(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void enqueue(String actionId, UUID districtId, Instant enqueuedAt) {
+        jdbcTemplate.update("""
+                        INSERT INTO module_action_schema.verification_queue (action_id, district_id, enqueued_at)
+                        VALUES (?, ?, ?)
+                        ON CONFLICT (action_id) DO UPDATE
+                        SET district_id = EXCLUDED.district_id, enqueued_at = EXCLUDED.enqueued_at, attempts = 0,
+                            next_attempt_at = now(), locked_until = now(), claim_token = NULL, last_error = NULL
+                        """,
+                actionId, districtId, Timestamp.from(enqueuedAt));
+    }
+
+    @Override
+    public List<VerificationTask> claim(int limit, int maxAttempts, Duration lease) {
+        UUID claimToken = UUID.randomUUID();
+        return jdbcTemplate.query("""
+                        UPDATE module_action_schema.verification_queue q
+                        SET locked_until = now() + ? * interval '1 millisecond', claim_token = ?
+                        FROM (
+                            SELECT action_id
+                            FROM (
+                                SELECT action_id, enqueued_at,
+                                       row_number() OVER (PARTITION BY district_id ORDER BY enqueued_at, action_id) AS district_rank
+                                FROM module_action_schema.verification_queue
+                                WHERE next_attempt_at <= now() AND locked_until <= now() AND attempts < ?
+                            ) ranked
+                            ORDER BY district_rank, enqueued_at
+                            LIMIT ?
+                        ) picked
+                        WHERE q.action_id = picked.action_id AND q.locked_until <= now()
+                        RETURNING q.action_id, q.attempts
+                        """,
+                (rs, rowNum) -> new VerificationTask(rs.getString("action_id"), rs.getInt("attempts"), claimToken),
+                lease.toMillis(), claimToken, maxAttempts, limit);
+    }
+
+    @Override
+    public boolean complete(VerificationTask task) {
+        return jdbcTemplate.update("""
+                        DELETE FROM module_action_schema.verification_queue
+                        WHERE action_id = ? AND claim_token = ?
+                        """,
+                task.actionId(), task.claimToken()) > 0;
+    }
+
+    @Override
+    public boolean retry(VerificationTask task, int attempts, Instant nextAttemptAt, String error) {
+        return jdbcTemplate.update("""
+                        UPDATE module_action_schema.verification_queue
+                        SET attempts = ?, next_attempt_at = ?, locked_until = now(), claim_token = NULL, last_error = ?
+                        WHERE action_id = ? AND claim_token = ?
+                        """,
+                attempts, Timestamp.from(nextAttemptAt), error, task.actionId(), task.claimToken()) > 0;
+    }
+
+    @Override
+    public long size() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM module_action_schema.verification_queue", Long.class);
+        return count != null ? count : 0;
+    }
+}
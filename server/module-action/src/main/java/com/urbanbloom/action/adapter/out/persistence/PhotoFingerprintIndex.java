@@ -0,0 +1,202 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.PhotoReuse;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory near-duplicate index over 64-bit photo fingerprints (multi-index hashing).
+ * Each fingerprint is split into {@value #CHUNKS} chunks of {@value #CHUNK_BITS} bits and filed under every chunk
+ * in a table with one bucket per chunk value. Two fingerprints within Hamming distance {@code d} agree on at least
+ * one chunk up to distance {@code d / 4}, so a query only visits the buckets of chunk values within that radius
+ * (17 per chunk for {@code d <= 7}) and checks the full distance of the fingerprints found there.
+ * With evenly spread hashes a bucket holds about {@code n / 65536} entries, a few dozen at millions of photos.
+ */
+class PhotoFingerprintIndex {
+
+    private static final int CHUNKS = 4;
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_VALUES = 1 << CHUNK_BITS;
+    private static final int MAX_CHUNK_RADIUS = 3;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int maxDistance;
+    private final int[] chunkFlips;
+
+    private final int[][][] buckets = new int[CHUNKS][CHUNK_VALUES][];
+    private final int[][] bucketSizes = new int[CHUNKS][CHUNK_VALUES];
+    private final Map<String, Integer> slotByActionId = new HashMap<>();
+    private long[] fingerprints = new long[INITIAL_CAPACITY];
+    private String[] actionIds = new String[INITIAL_CAPACITY];
+    private UUID[] userIds = new UUID[INITIAL_CAPACITY];
+    private int slots;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param maxDistance largest Hamming distance at which two fingerprints count as the same picture
+     */
+    PhotoFingerprintIndex(int maxDistance) {
+        int chunkRadius = maxDistance / CHUNKS;
+        if (maxDistance < 0 || chunkRadius > MAX_CHUNK_RADIUS) {
+            throw new IllegalArgumentException("Maximum fingerprint distance must be between 0 and "
+                    + (CHUNKS * (MAX_CHUNK_RADIUS + 1) - 1) + ": " + maxDistance);
+        }
+        this.maxDistance = maxDistance;
+        // Exact chunk first, then single-bit flips, ...
+        this.chunkFlips = IntStream.range(0, CHUNK_VALUES)
+                .filter(flip -> Integer.bitCount(flip) <= chunkRadius)
+                .boxed()
+                .sorted((a, b) -> Integer.compare(Integer.bitCount(a), Integer.bitCount(b)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Returns the closest near-duplicate among the photos of other actions, or registers the fingerprint
+     * if there is none. Check and registration are atomic.
+     *
+     * @return the near-duplicate; empty if the fingerprint was registered or the action is registered already
+     */
+    Optional<PhotoReuse> registerUnlessReused(String actionId, UUID userId, long fingerprint) {
+        lock.writeLock().lock();
+        try {
+            if (slotByActionId.containsKey(actionId)) {
+                return Optional.empty();
+            }
+            Optional<PhotoReuse> nearest = findNearestLocked(fingerprint);
+            if (nearest.isEmpty()) {
+                addLocked(actionId, userId, fingerprint);
+            }
+            return nearest;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registers a fingerprint without looking for duplicates, e.g. when loading stored fingerprints.
+     */
+    void put(String actionId, UUID userId, long fingerprint) {
+        lock.writeLock().lock();
+        try {
+            if (!slotByActionId.containsKey(actionId)) {
+                addLocked(actionId, userId, fingerprint);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String actionId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByActionId.remove(actionId);
+            if (slot == null) {
+                return;
+            }
+            for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                int key = chunkOf(fingerprints[slot], chunk);
+                int[] bucket = buckets[chunk][key];
+                int size = bucketSizes[chunk][key];
+                for (int i = 0; i < size; i++) {
+                    if (bucket[i] == slot) {
+                        bucket[i] = bucket[size - 1];
+                        bucketSizes[chunk][key] = size - 1;
+                        break;
+                    }
+                }
+            }
+            // The slot is not reused; it is no longer referenced by any bucket
+            actionIds[slot] = null;
+            userIds[slot] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the closest registered fingerprint within the maximum distance
+     */
+    Optional<PhotoReuse> findNearest(long fingerprint) {
+        lock.readLock().lock();
+        try {
+            return findNearestLocked(fingerprint);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotByActionId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Optional<PhotoReuse> findNearestLocked(long fingerprint) {
+        int bestSlot = -1;
+        int bestDistance = maxDistance + 1;
+        for (int chunk = 0; chunk < CHUNKS && bestDistance > 0; chunk++) {
+            int value = chunkOf(fingerprint, chunk);
+            for (int flip : chunkFlips) {
+                int key = value ^ flip;
+                int[] bucket = buckets[chunk][key];
+                int size = bucketSizes[chunk][key];
+                for (int i = 0; i < size; i++) {
+                    int slot = bucket[i];
+                    int distance = Long.bitCount(fingerprints[slot] ^ fingerprint);
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        bestSlot = slot;
+                    }
+                }
+            }
+        }
+        return bestSlot < 0
+                ? Optional.empty()
+                : Optional.of(new PhotoReuse(actionIds[bestSlot], userIds[bestSlot], bestDistance));
+    }
+
+    private void addLocked(String actionId, UUID userId, long fingerprint) {
+        if (slots == fingerprints.length) {
+            int capacity = slots * 2;
+            fingerprints = Arrays.copyOf(fingerprints, capacity);
+            actionIds = Arrays.copyOf(actionIds, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+        }
+        int slot = slots++;
+        fingerprints[slot] = fingerprint;
+        actionIds[slot] = actionId;
+        userIds[slot] = userId;
+        slotByActionId.put(actionId, slot);
+
+        for (int chunk = 0; chunk < CHUNKS; chunk++) {
+            int key = chunkOf(fingerprint, chunk);
+            int[] bucket = buckets[chunk][key];
+            int size = bucketSizes[chunk][key];
+            if (bucket == null) {
+                bucket = new int[2];
+                buckets[chunk][key] = bucket;
+            } else if (size == bucket.length) {
+                bucket = Arrays.copyOf(bucket, size * 2);
+                buckets[chunk][key] = bucket;
+            }
+            bucket[size] = slot;
+            bucketSizes[chunk][key] = size + 1;
+        }
+    }
+
+    private static int chunkOf(long fingerprint, int chunk) {
+        return (int) (fingerprint >>> (chunk * CHUNK_BITS)) & (CHUNK_VALUES - 1);
+    }
+}
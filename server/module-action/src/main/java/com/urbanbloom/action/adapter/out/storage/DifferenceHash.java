@@ -0,0 +1,51 @@
+package com.urbanbloom.action.adapter.out.storage;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+
+/**
+ * 64-bit difference hash (dHash) of an image.
+ * The image is reduced to a 9 x 8 grey-scale grid and every bit records whether a cell is brighter than its
+ * right-hand neighbour. Re-encoding, rescaling and small colour or brightness changes flip only a few bits,
+ * so near-duplicates have a small Hamming distance while unrelated photos differ in about half of the bits.
+ */
+final class DifferenceHash {
+
+    /** Edge to which the image is reduced in halving steps before the final reduction to the grid. */
+    static final int SOURCE_EDGE = 64;
+
+    private static final int WIDTH = 9;
+    private static final int HEIGHT = 8;
+
+    private DifferenceHash() {
+    }
+
+    static long of(BufferedImage image) {
+        BufferedImage grid = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = grid.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(PhotoImages.scale(image, SOURCE_EDGE), 0, 0, WIDTH, HEIGHT, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Raster pixels = grid.getRaster();
+        long hash = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH - 1; x++) {
+                hash <<= 1;
+                if (pixels.getSample(x, y, 0) > pixels.getSample(x + 1, y, 0)) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+
+    static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+}
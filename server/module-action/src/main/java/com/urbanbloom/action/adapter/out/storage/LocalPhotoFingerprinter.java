@@ -0,0 +1,54 @@
+package com.urbanbloom.action.adapter.out.storage;
+
+import com.urbanbloom.action.domain.PhotoFingerprinter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.util.OptionalLong;
+
+/**
+ * {@link PhotoFingerprinter} backed by {@link LocalPhotoStorage}.
+ * Fingerprints are normally written by the {@link PhotoDerivativePipeline} right after upload; photos it has not
+ * processed yet are decoded here at a small size and the fingerprint is stored for later calls.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalPhotoFingerprinter implements PhotoFingerprinter {
+
+    private final LocalPhotoStorage storage;
+
+    @Override
+    public OptionalLong fingerprint(String sha256) {
+        if (!LocalPhotoStorage.isSha256(sha256)) {
+            return OptionalLong.empty();
+        }
+        try {
+            OptionalLong stored = storage.readFingerprint(sha256);
+            if (stored.isPresent()) {
+                return stored;
+            }
+            BufferedImage image;
+            try (InputStream in = storage.openOriginal(sha256)) {
+                image = PhotoImages.decode(in, DifferenceHash.SOURCE_EDGE);
+            }
+            if (image == null) {
+                return OptionalLong.empty();
+            }
+            long fingerprint = DifferenceHash.of(image);
+            storage.storeFingerprint(sha256, fingerprint);
+            return OptionalLong.of(fingerprint);
+        } catch (NoSuchFileException e) {
+            log.warn("Photo {} not found in storage", sha256);
+            return OptionalLong.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot fingerprint photo " + sha256, e);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.urbanbloom.action.adapter.out.storage;
+
+import com.urbanbloom.action.domain.InvalidPhotoException;
+import com.urbanbloom.action.domain.PhotoStorage;
+import com.urbanbloom.action.domain.PhotoVariant;
+import com.urbanbloom.action.domain.StoredPhoto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.regex.Pattern;
+
+/**
+ * {@link PhotoStorage} on the local file system.
+ * <p>
+ * Uploads are streamed through a fixed buffer into a temporary file while their SHA-256 is computed,
+ * then moved to {@code <storage-dir>/<first two hex digits>/<sha256>}. If that file already exists the upload
+ * is discarded, so identical photos are stored once. The media type is detected from the first bytes
+ * (JPEG, PNG, WebP, HEIC); anything else is rejected before it is stored.
+ * <p>
+ * Derivatives are kept next to the originals under {@code <storage-dir>/derivatives/<max edge>/}, keyed by
+ * the original's hash and the variant's size, and perceptual fingerprints as 8-byte files under
+ * {@code <storage-dir>/fingerprints/}. Photos that cannot be decoded for derivatives get an empty marker file
+ * under {@code <storage-dir>/unsupported/}.
+ * <p>
+ * Photos are read back with {@link FileChannel#transferTo}, which lets the JDK copy without staging
+ * the file in the heap.
+ */
+@Slf4j
+@Component
+public class LocalPhotoStorage implements PhotoStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int HEADER_BYTES = 12;
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path uploads;
+    private final long maxBytes;
+
+    public LocalPhotoStorage(@Value("${urbanbloom.action.photo.storage-dir:data/photos}") String storageDir,
+                             @Value("${urbanbloom.action.photo.max-bytes:10485760}") long maxBytes) {
+        this.root = Path.of(storageDir).toAbsolutePath();
+        this.uploads = root.resolve("uploads");
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(uploads);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create photo storage at " + root, e);
+        }
+        log.info("Photo storage at {}", root);
+    }
+
+    @Override
+    public StoredPhoto store(InputStream content) throws IOException {
+        Path upload = Files.createTempFile(uploads, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            ReadableByteChannel source = Channels.newChannel(content);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            String contentType = null;
+            long size = 0;
+
+            try (FileChannel target = FileChannel.open(upload, StandardOpenOption.WRITE)) {
+                boolean end = false;
+                while (!end) {
+                    end = source.read(buffer) == -1;
+                    if (contentType == null) {
+                        if (buffer.position() < HEADER_BYTES && !end) {
+                            continue;
+                        }
+                        contentType = detectContentType(buffer);
+                        if (contentType == null) {
+                            throw new InvalidPhotoException("Unsupported image format", false);
+                        }
+                    }
+                    size += buffer.position();
+                    if (size > maxBytes) {
+                        throw new InvalidPhotoException("Photo exceeds " + maxBytes + " bytes", true);
+                    }
+                    buffer.flip();
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                target.force(true);
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path path = pathOf(sha256, PhotoVariant.ORIGINAL);
+            if (Files.exists(path)) {
+                log.debug("Photo {} already stored", sha256);
+            } else {
+                Files.createDirectories(path.getParent());
+                try {
+                    Files.move(upload, path, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Same photo stored concurrently
+                }
+            }
+            return new StoredPhoto(sha256, size, contentType);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    @Override
+    public Optional<StoredPhoto> find(String sha256, PhotoVariant variant) {
+        if (!isSha256(sha256)) {
+            return Optional.empty();
+        }
+        Path path = pathOf(sha256, variant);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) != -1) {
+                // Fill the header
+            }
+            return Optional.of(new StoredPhoto(sha256, channel.size(), detectContentType(header), variant));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read photo " + sha256, e);
+        }
+    }
+
+    @Override
+    public void transferTo(StoredPhoto photo, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(pathOf(photo.sha256(), photo.variant()), StandardOpenOption.READ)) {
+            long transferred = 0;
+            while (transferred < count) {
+                long written = channel.transferTo(position + transferred, count - transferred, target);
+                if (written <= 0) {
+                    break;
+                }
+                transferred += written;
+            }
+        }
+    }
+
+    /**
+     * Writes a derivative through a temporary file, so readers never see a partially written image.
+     *
+     * @param writer writes the encoded derivative to the given stream
+     */
+    void storeDerivative(String sha256, PhotoVariant variant, ContentWriter writer) throws IOException {
+        writeAtomically(pathOf(sha256, variant), writer);
+    }
+
+    /**
+     * @return the perceptual fingerprint stored for the photo, empty if none has been computed yet
+     */
+    OptionalLong readFingerprint(String sha256) throws IOException {
+        try {
+            return OptionalLong.of(ByteBuffer.wrap(Files.readAllBytes(fingerprintPathOf(sha256))).getLong());
+        } catch (NoSuchFileException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    void storeFingerprint(String sha256, long fingerprint) throws IOException {
+        writeAtomically(fingerprintPathOf(sha256), out -> out.write(ByteBuffer.allocate(Long.BYTES).putLong(fingerprint).array()));
+    }
+
+    /**
+     * Remembers that no derivatives can be generated for the photo.
+     */
+    void markUnsupported(String sha256) throws IOException {
+        writeAtomically(unsupportedPathOf(sha256), out -> { });
+    }
+
+    /**
+     * @return true if the photo was marked with {@link #markUnsupported}
+     */
+    boolean isUnsupported(String sha256) {
+        return Files.exists(unsupportedPathOf(sha256));
+    }
+
+    /**
+     * @return true if the rendition of the photo is stored
+     */
+    boolean exists(String sha256, PhotoVariant variant) {
+        return Files.exists(pathOf(sha256, variant));
+    }
+
+    /**
+     * Opens the original photo for reading.
+     */
+    InputStream openOriginal(String sha256) throws IOException {
+        return Files.newInputStream(pathOf(sha256, PhotoVariant.ORIGINAL));
+    }
+
+    private void writeAtomically(Path path, ContentWriter writer) throws IOException {
+        Path upload = Files.createTempFile(uploads, "content-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(upload)) {
+                writer.write(out);
+            }
+            Files.createDirectories(path.getParent());
+            Files.move(upload, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    private Path fingerprintPathOf(String sha256) {
+        return root.resolve("fingerprints").resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private Path unsupportedPathOf(String sha256) {
+        return root.resolve("unsupported").resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private Path pathOf(String sha256, PhotoVariant variant) {
+        Path base = variant.isDerivative()
+                ? root.resolve("derivatives").resolve(Integer.toString(variant.getMaxEdge()))
+                : root;
+        return base.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    static boolean isSha256(String value) {
+        return value != null && SHA256.matcher(value).matches();
+    }
+
+    /**
+     * Detects the image type from the magic bytes at the start of the buffer (position 0 to its current position).
+     *
+     * @return the media type, or null if the content is not a supported image
+     */
+    static String detectContentType(ByteBuffer buffer) {
+        byte[] header = new byte[Math.min(buffer.position(), HEADER_BYTES)];
+        buffer.get(0, header);
+        if (startsWith(header, 0, (byte) 0xFF, (byte) 0xD8, (byte) 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, 0, (byte) 0x89, (byte) 'P', (byte) 'N', (byte) 'G', (byte) 0x0D, (byte) 0x0A, (byte) 0x1A, (byte) 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(header, 0, ascii("RIFF")) && startsWith(header, 8, ascii("WEBP"))) {
+            return "image/webp";
+        }
+        if (startsWith(header, 4, ascii("ftyp"))
+                && (startsWith(header, 8, ascii("heic")) || startsWith(header, 8, ascii("heix"))
+                || startsWith(header, 8, ascii("mif1")))) {
+            return "image/heic";
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    interface ContentWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static boolean startsWith(byte[] header, int offset, byte... magic) {
+        if (header.length < offset + magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (header[offset + i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.urbanbloom.action.adapter.out.storage;
+
+import com.urbanbloom.action.domain.PhotoDerivativeGenerator;
+import com.urbanbloom.action.domain.PhotoVariant;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the derivative {@link PhotoVariant}s of stored photos on a bounded worker pool.
+ * <p>
+ * Each job decodes the original once and writes every missing derivative as a JPEG into {@link LocalPhotoStorage},
+ * together with the photo's perceptual fingerprint ({@link DifferenceHash}).
+ * Jobs for a photo that is already queued or being processed are not scheduled twice, and requests that do not
+ * fit into the queue are dropped: the photo endpoint requests the derivatives again the next time one is missing.
+ * Only formats ImageIO can decode (JPEG, PNG) get derivatives; other photos are served in their original form
+ * and marked in {@link LocalPhotoStorage}, so they are not queued again.
+ */
+@Slf4j
+@Component
+public class PhotoDerivativePipeline implements PhotoDerivativeGenerator {
+
+    private static final List<PhotoVariant> DERIVATIVES = Arrays.stream(PhotoVariant.values())
+            .filter(PhotoVariant::isDerivative)
+            .toList();
+    private static final int MAX_DERIVATIVE_EDGE = DERIVATIVES.stream().mapToInt(PhotoVariant::getMaxEdge).max().orElse(1);
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final LocalPhotoStorage storage;
+    private final ThreadPoolExecutor workers;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final Timer decodeTimer;
+    private final Timer resizeTimer;
+    private final Timer encodeTimer;
+    private final Timer fingerprintTimer;
+    private final Counter generatedCounter;
+    private final Counter droppedCounter;
+    private final Counter unsupportedCounter;
+    private final Counter failedCounter;
+
+    public PhotoDerivativePipeline(LocalPhotoStorage storage,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${urbanbloom.action.photo.derivatives.workers:2}") int workerCount,
+                                   @Value("${urbanbloom.action.photo.derivatives.queue-capacity:1000}") int queueCapacity) {
+        this.storage = storage;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "photo-derivatives-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("action.photo.derivatives.queue.depth", workers, executor -> executor.getQueue().size())
+                .description("Photos waiting for derivative generation")
+                .register(meterRegistry);
+        this.decodeTimer = stageTimer(meterRegistry, "decode");
+        this.resizeTimer = stageTimer(meterRegistry, "resize");
+        this.encodeTimer = stageTimer(meterRegistry, "encode");
+        this.fingerprintTimer = stageTimer(meterRegistry, "fingerprint");
+        this.generatedCounter = Counter.builder("action.photo.derivatives.generated")
+                .description("Photo derivatives written")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("action.photo.derivatives.dropped")
+                .description("Derivative requests not queued because the queue was full")
+                .register(meterRegistry);
+        this.unsupportedCounter = Counter.builder("action.photo.derivatives.unsupported")
+                .description("Photos in a format that cannot be decoded for derivatives")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("action.photo.derivatives.failed")
+                .description("Derivative jobs that failed")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean request(String sha256) {
+        if (isComplete(sha256) || storage.isUnsupported(sha256) || !pending.add(sha256)) {
+            return false;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    generate(sha256);
+                } finally {
+                    pending.remove(sha256);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(sha256);
+            droppedCounter.increment();
+            log.debug("Photo derivative queue full, skipping {}", sha256);
+            return false;
+        }
+    }
+
+    /**
+     * Writes every missing derivative of the photo and its fingerprint.
+     *
+     * @return number of derivatives written
+     */
+    int generate(String sha256) {
+        try {
+            BufferedImage original = decodeTimer.recordCallable(() -> {
+                try (InputStream in = storage.openOriginal(sha256)) {
+                    return PhotoImages.decode(in, MAX_DERIVATIVE_EDGE);
+                }
+            });
+            if (original == null) {
+                unsupportedCounter.increment();
+                log.debug("No derivatives for photo {}: format not supported", sha256);
+                storage.markUnsupported(sha256);
+                return 0;
+            }
+
+            if (storage.readFingerprint(sha256).isEmpty()) {
+                long fingerprint = fingerprintTimer.record(() -> DifferenceHash.of(original));
+                storage.storeFingerprint(sha256, fingerprint);
+            }
+
+            int written = 0;
+            for (PhotoVariant variant : DERIVATIVES) {
+                if (storage.exists(sha256, variant)) {
+                    continue;
+                }
+                BufferedImage scaled = resizeTimer.record(() -> PhotoImages.scale(original, variant.getMaxEdge()));
+                encodeTimer.recordCallable(() -> {
+                    storage.storeDerivative(sha256, variant, out -> writeJpeg(scaled, out));
+                    return null;
+                });
+                generatedCounter.increment();
+                written++;
+            }
+            return written;
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("Failed to generate derivatives for photo {}: {}", sha256, e.getMessage());
+            return 0;
+        }
+    }
+
+    private boolean isComplete(String sha256) {
+        if (!DERIVATIVES.stream().allMatch(variant -> storage.exists(sha256, variant))) {
+            return false;
+        }
+        try {
+            return storage.readFingerprint(sha256).isPresent();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    int queueDepth() {
+        return workers.getQueue().size();
+    }
+
+    private static void writeJpeg(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("action.photo.derivatives.stage")
+                .description("Duration of photo derivative pipeline stages")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,80 @@
+package com.urbanbloom.action.adapter.out.storage;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Decoding and scaling shared by the derivative pipeline and the photo fingerprinter.
+ */
+final class PhotoImages {
+
+    private PhotoImages() {
+    }
+
+    /**
+     * Decodes an image, subsampled while decoding so that it is not much larger than {@code targetEdge}.
+     * A 12 MP camera photo then never has to be held in memory at full resolution.
+     *
+     * @return the decoded image, or null if the format is not supported
+     */
+    static BufferedImage decode(InputStream in, int targetEdge) throws IOException {
+        try (ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longestEdge / targetEdge);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales the image to fit a square of {@code maxEdge} pixels, keeping its aspect ratio. Smaller images keep
+     * their size. Large reductions are done in halving steps, which avoids the aliasing of a single bilinear pass.
+     * The result is always opaque RGB so it can be written as JPEG.
+     */
+    static BufferedImage scale(BufferedImage image, int maxEdge) {
+        double factor = Math.min(1d, (double) maxEdge / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * factor));
+
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        return current.getWidth() == width && current.getHeight() == height && current.getType() == BufferedImage.TYPE_INT_RGB
+                ? current
+                : draw(current, width, height);
+    }
+
+    private static BufferedImage draw(BufferedImage image, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
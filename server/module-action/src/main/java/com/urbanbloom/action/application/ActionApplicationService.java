@@ -3,9 +3,20 @@ package com.urbanbloom.action.application;
 import com.urbanbloom.action.domain.*;
 import com.urbanbloom.shared.ddd.DomainEventPublisher;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -15,8 +26,20 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ActionApplicationService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final double MAX_NEARBY_RADIUS_METERS = 25_000d;
+    public static final int MAX_NEARBY_RESULTS = 500;
+    public static final String PHOTO_URL_PREFIX = "/api/v1/photos/";
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final ActionRepository actionRepository;
     private final DomainEventPublisher eventPublisher;
+    private final PhotoStorage photoStorage;
+    private final PhotoDerivativeGenerator photoDerivatives;
+    private final VerificationQueue verificationQueue;
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyCache idempotencyCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public String createAction(UUID userId, PlantVO plant, LocationVO location, String description) {
@@ -26,6 +49,49 @@ public class ActionApplicationService {
         return action.getId();
     }
 
+    /**
+     * Creates an action at most once per idempotency key, so clients can safely retry after a timeout.
+     * A retry with the same key and content returns the id of the action created by the first request
+     * without creating another one; keys are scoped to the user.
+     *
+     * @param idempotencyKey client-chosen key, at most {@value #MAX_IDEMPOTENCY_KEY_LENGTH} visible ASCII characters
+     * @throws IdempotencyKeyException if the key is invalid, was used for a request with different content,
+     *                                 or the first request with the key is still being processed
+     */
+    public String createAction(UUID userId, String idempotencyKey, PlantVO plant, LocationVO location, String description) {
+        validateIdempotencyKey(idempotencyKey);
+        String requestHash = requestHash(plant, location, description);
+
+        Optional<IdempotentRequest> cached = idempotencyCache.get(userId, idempotencyKey);
+        if (cached.isPresent()) {
+            return replay(cached.get(), requestHash);
+        }
+
+        boolean[] reserved = {false};
+        IdempotentRequest completed;
+        try {
+            completed = transactionTemplate.execute(status -> {
+                Optional<IdempotentRequest> earlier = idempotencyStore.reserve(userId, idempotencyKey, requestHash);
+                if (earlier.isPresent()) {
+                    replay(earlier.get(), requestHash);
+                    return earlier.get();
+                }
+                reserved[0] = true;
+                String actionId = createAction(userId, plant, location, description);
+                idempotencyStore.complete(userId, idempotencyKey, actionId);
+                return new IdempotentRequest(requestHash, actionId);
+            });
+        } catch (RuntimeException e) {
+            // After the rollback: a failed statement aborts the PostgreSQL transaction, so no further SQL runs in it
+            if (reserved[0]) {
+                idempotencyStore.release(userId, idempotencyKey);
+            }
+            throw e;
+        }
+        idempotencyCache.put(userId, idempotencyKey, completed);
+        return completed.actionId();
+    }
+
     @Transactional
     public void uploadPhoto(String actionId, String photoUrl) {
         Action action = actionRepository.findById(actionId)
@@ -36,14 +102,130 @@ public class ActionApplicationService {
         publishEvents(action);
     }
 
+    /**
+     * Streams a photo into the photo storage and attaches it to one of the user's actions.
+     * The upload runs outside a transaction so a slow client does not hold a database connection. Afterwards the
+     * action is locked and loaded again in a short transaction, so changes made meanwhile are not overwritten.
+     * Thumbnails and web renditions are generated in the background afterwards.
+     *
+     * @param content the image bytes
+     * @return the stored photo; its URL is {@value #PHOTO_URL_PREFIX} followed by the SHA-256
+     * @throws AccessDeniedException if the action belongs to another user
+     * @throws ActionStatusException if the action is neither a draft nor rejected, before or after the upload
+     * @throws InvalidPhotoException if the content is not a supported image or too large
+     */
+    public StoredPhoto uploadPhoto(String actionId, UUID userId, InputStream content) throws IOException {
+        Action action = checkOwner(actionRepository.findById(actionId), actionId, userId);
+        if (!action.acceptsPhoto()) {
+            throw new ActionStatusException("Cannot change the photo of action " + actionId
+                    + " in status " + action.getStatus());
+        }
+
+        // An unused photo left behind by a failed update is harmless: storage is content-addressed
+        StoredPhoto photo = photoStorage.store(content);
+        transactionTemplate.executeWithoutResult(status -> {
+            Action current = checkOwner(actionRepository.findByIdForUpdate(actionId), actionId, userId);
+            current.uploadPhoto(PHOTO_URL_PREFIX + photo.sha256());
+            actionRepository.save(current);
+            publishEvents(current);
+        });
+        photoDerivatives.request(photo.sha256());
+        return photo;
+    }
+
+    /**
+     * Submits an action for verification. Only enqueues it; {@link ActionVerificationWorker} validates
+     * or rejects it later. Submitting an action that is already waiting does nothing.
+     */
     @Transactional
     public void verifyAction(String actionId) {
-        Action action = actionRepository.findById(actionId)
+        Action action = actionRepository.findByIdForUpdate(actionId)
                 .orElseThrow(() -> new IllegalArgumentException("Action not found: " + actionId));
-        
-        action.submitForVerification();
-        actionRepository.save(action);
-        publishEvents(action);
+
+        if (action.submitForVerification()) {
+            actionRepository.save(action);
+            verificationQueue.enqueue(actionId,
+                    action.getLocation() != null ? action.getLocation().getDistrictId() : null, Instant.now());
+        }
+    }
+
+    /**
+     * Returns one page of the user's actions, newest first.
+     *
+     * @param afterCursor cursor of the previous page's last action, or null for the first page
+     * @param limit       requested page size, capped at {@value #MAX_PAGE_SIZE}
+     */
+    @Transactional(readOnly = true)
+    public List<Action> getUserActions(UUID userId, ActionCursor afterCursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return actionRepository.findByUserId(userId, afterCursor, pageSize);
+    }
+
+    /**
+     * Returns actions around a point, closest first.
+     *
+     * @param radiusMeters search radius, capped at {@value #MAX_NEARBY_RADIUS_METERS} meters
+     */
+    @Transactional(readOnly = true)
+    public List<Action> getNearbyActions(double latitude, double longitude, double radiusMeters) {
+        // Negated so that NaN is rejected as well
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new InvalidQueryException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
+        if (!(radiusMeters > 0)) {
+            throw new InvalidQueryException("Radius must be positive: " + radiusMeters);
+        }
+        double radius = Math.min(radiusMeters, MAX_NEARBY_RADIUS_METERS);
+        return actionRepository.findNearby(latitude, longitude, radius, MAX_NEARBY_RESULTS);
+    }
+
+    private static Action checkOwner(Optional<Action> found, String actionId, UUID userId) {
+        Action action = found.orElseThrow(() -> new IllegalArgumentException("Action not found: " + actionId));
+        if (!action.getUserId().equals(userId)) {
+            throw new AccessDeniedException("Action " + actionId + " belongs to another user");
+        }
+        return action;
+    }
+
+    private static String replay(IdempotentRequest earlier, String requestHash) {
+        if (!earlier.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyException("Idempotency key was already used for a different request",
+                    IdempotencyKeyException.Reason.REUSED);
+        }
+        if (!earlier.isCompleted()) {
+            throw new IdempotencyKeyException("A request with this idempotency key is still being processed",
+                    IdempotencyKeyException.Reason.IN_PROGRESS);
+        }
+        return earlier.actionId();
+    }
+
+    private static void validateIdempotencyKey(String key) {
+        if (key == null || key.isEmpty() || key.length() > MAX_IDEMPOTENCY_KEY_LENGTH
+                || !key.chars().allMatch(c -> c >= 0x21 && c <= 0x7E)) {
+            throw new IdempotencyKeyException("Idempotency key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH
+                    + " visible ASCII characters", IdempotencyKeyException.Reason.INVALID);
+        }
+    }
+
+    /**
+     * SHA-256 over the request content, to recognise a key reused for a different action.
+     */
+    private static String requestHash(PlantVO plant, LocationVO location, String description) {
+        String content = String.join("\u001F",
+                String.valueOf(plant != null ? plant.getPlantId() : null),
+                String.valueOf(plant != null ? plant.getName() : null),
+                String.valueOf(plant != null ? plant.getScientificName() : null),
+                String.valueOf(location != null ? location.getLatitude() : null),
+                String.valueOf(location != null ? location.getLongitude() : null),
+                String.valueOf(location != null ? location.getAddress() : null),
+                String.valueOf(location != null ? location.getDistrictId() : null),
+                String.valueOf(description));
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     private void publishEvents(Action action) {
@@ -0,0 +1,270 @@
+package com.urbanbloom.action.application;
+
+import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.ActionRepository;
+import com.urbanbloom.action.domain.ActionVerifier;
+import com.urbanbloom.action.domain.VerificationQueue;
+import com.urbanbloom.action.domain.VerificationTask;
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of workers that verify submitted actions from the {@link VerificationQueue}.
+ * <ul>
+ *   <li>Ordering: tasks are claimed oldest first, interleaved across districts (see {@link VerificationQueue#claim}).</li>
+ *   <li>Checks: every {@link ActionVerifier} has to approve; the first rejection decides. The checks run outside
+ *       a transaction, so slow checks do not hold a database connection.</li>
+ *   <li>Outcome: the action becomes {@code VALIDATED} (publishing {@code ActionValidatedEvent}) or {@code REJECTED},
+ *       and the task is removed, in one transaction. The action is locked and must still be pending.</li>
+ *   <li>Retries: a task that fails with an error is retried with exponential backoff. After {@code max-attempts}
+ *       the action is rejected and the task stays in the queue for inspection but is no longer claimed;
+ *       submitting the action again starts over.</li>
+ * </ul>
+ * Claims are leased, so tasks of a crashed worker are picked up again once the lease expires. A worker whose lease
+ * ran out and whose task was claimed again leaves the outcome to the new claim.
+ */
+@Slf4j
+@Component
+public class ActionVerificationWorker {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final ActionRepository actionRepository;
+    private final VerificationQueue verificationQueue;
+    private final List<ActionVerifier> verifiers;
+    private final DomainEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long pollIntervalMillis;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final ScheduledExecutorService workers;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer verificationTimer;
+    private final Counter validatedCounter;
+    private final Counter rejectedCounter;
+    private final Counter retriedCounter;
+    private final Counter givenUpCounter;
+
+    public ActionVerificationWorker(ActionRepository actionRepository,
+                                    VerificationQueue verificationQueue,
+                                    List<ActionVerifier> verifiers,
+                                    DomainEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${urbanbloom.action.verification.workers:2}") int workerCount,
+                                    @Value("${urbanbloom.action.verification.batch-size:20}") int batchSize,
+                                    @Value("${urbanbloom.action.verification.max-attempts:5}") int maxAttempts,
+                                    @Value("${urbanbloom.action.verification.poll-interval-ms:1000}") long pollIntervalMillis,
+                                    @Value("${urbanbloom.action.verification.lease-ms:60000}") long leaseMillis,
+                                    @Value("${urbanbloom.action.verification.retry-backoff-ms:5000}") long retryBackoffMillis) {
+        this.actionRepository = actionRepository;
+        this.verificationQueue = verificationQueue;
+        this.verifiers = verifiers;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retryBackoff = Duration.ofMillis(retryBackoffMillis);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newScheduledThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "action-verification-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("action.verification.queue.depth", queueDepth, AtomicLong::get)
+                .description("Actions waiting for verification, as of the last worker round")
+                .register(meterRegistry);
+        this.verificationTimer = Timer.builder("action.verification.duration")
+                .description("Time to verify one action, checks and outcome")
+                .register(meterRegistry);
+        this.validatedCounter = outcomeCounter(meterRegistry, "validated");
+        this.rejectedCounter = outcomeCounter(meterRegistry, "rejected");
+        this.retriedCounter = Counter.builder("action.verification.retries")
+                .description("Verifications that failed with an error and were rescheduled")
+                .register(meterRegistry);
+        this.givenUpCounter = Counter.builder("action.verification.given_up")
+                .description("Verifications abandoned after the maximum number of attempts")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long stagger = pollIntervalMillis / workerCount;
+        for (int i = 0; i < workerCount; i++) {
+            workers.scheduleWithFixedDelay(this::drain, i * stagger, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Claims and verifies one batch of tasks.
+     *
+     * @return number of tasks claimed
+     */
+    public int processBatch() {
+        List<VerificationTask> tasks = transaction.execute(status ->
+                verificationQueue.claim(batchSize, maxAttempts, lease));
+        if (tasks == null) {
+            return 0;
+        }
+        for (VerificationTask task : tasks) {
+            process(task);
+        }
+        return tasks.size();
+    }
+
+    private void process(VerificationTask task) {
+        long start = System.nanoTime();
+        try {
+            verify(task);
+        } catch (RuntimeException e) {
+            scheduleRetry(task, e);
+        } finally {
+            verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void verify(VerificationTask task) {
+        String actionId = task.actionId();
+        Action submitted = actionRepository.findById(actionId).orElse(null);
+        if (submitted == null || !submitted.isPendingVerification()) {
+            transaction.executeWithoutResult(status -> verificationQueue.complete(task));
+            return;
+        }
+
+        ActionVerifier.Verdict verdict = ActionVerifier.Verdict.approve();
+        for (ActionVerifier verifier : verifiers) {
+            verdict = verifier.verify(submitted);
+            if (!verdict.approved()) {
+                break;
+            }
+        }
+
+        ActionVerifier.Verdict outcome = verdict;
+        transaction.executeWithoutResult(status -> {
+            // Lock the action before the task, in the same order as a submit
+            Action action = actionRepository.findByIdForUpdate(actionId).orElse(null);
+            if (!verificationQueue.complete(task)) {
+                log.info("Lease on action {} expired, leaving the outcome to the next claim", actionId);
+                return;
+            }
+            if (action == null || !action.isPendingVerification()) {
+                return;
+            }
+            if (outcome.approved()) {
+                action.validate();
+                validatedCounter.increment();
+            } else {
+                action.reject(outcome.reason());
+                rejectedCounter.increment();
+                log.info("Action {} rejected: {}", actionId, outcome.reason());
+            }
+            save(action);
+        });
+    }
+
+    private void scheduleRetry(VerificationTask task, RuntimeException e) {
+        int attempts = task.attempts() + 1;
+        Instant nextAttemptAt = Instant.now().plus(backoff(attempts));
+        boolean givingUp = attempts >= maxAttempts;
+        if (givingUp) {
+            log.error("Verification of action {} failed {} times, giving up", task.actionId(), attempts, e);
+        } else {
+            log.warn("Verification of action {} failed, retry {} at {}", task.actionId(), attempts, nextAttemptAt, e);
+        }
+        try {
+            transaction.executeWithoutResult(status -> {
+                Action action = givingUp ? actionRepository.findByIdForUpdate(task.actionId()).orElse(null) : null;
+                if (!verificationQueue.retry(task, attempts, nextAttemptAt, truncate(e))) {
+                    log.info("Lease on action {} expired, leaving the retry to the next claim", task.actionId());
+                    return;
+                }
+                if (!givingUp) {
+                    retriedCounter.increment();
+                    return;
+                }
+                givenUpCounter.increment();
+                if (action != null && action.isPendingVerification()) {
+                    action.reject("Verification failed after " + attempts + " attempts");
+                    rejectedCounter.increment();
+                    save(action);
+                }
+            });
+        } catch (RuntimeException retryFailure) {
+            // The lease expires and the task is claimed again
+            log.error("Could not reschedule verification of action {}", task.actionId(), retryFailure);
+        }
+    }
+
+    private void save(Action action) {
+        actionRepository.save(action);
+        eventPublisher.publishAll(action.getDomainEvents());
+        action.clearDomainEvents();
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private void drain() {
+        try {
+            while (processBatch() == batchSize) {
+                // A full batch means more tasks may be due
+            }
+            queueDepth.set(verificationQueue.size());
+        } catch (RuntimeException e) {
+            log.error("Action verification round failed", e);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("action.verification.completed")
+                .description("Verified actions by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String truncate(Exception e) {
+        String error = e.getClass().getName() + ": " + e.getMessage();
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
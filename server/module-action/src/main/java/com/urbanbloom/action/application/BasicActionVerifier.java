@@ -0,0 +1,31 @@
+package com.urbanbloom.action.application;
+
+import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.ActionVerifier;
+import com.urbanbloom.action.domain.LocationVO;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Baseline checks every action has to pass: it must have a photo and a plausible location.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BasicActionVerifier implements ActionVerifier {
+
+    @Override
+    public Verdict verify(Action action) {
+        if (action.getPhotoUrl() == null || action.getPhotoUrl().isBlank()) {
+            return Verdict.reject("Action has no photo");
+        }
+        LocationVO location = action.getLocation();
+        if (location == null
+                || location.getLatitude() < -90 || location.getLatitude() > 90
+                || location.getLongitude() < -180 || location.getLongitude() > 180
+                || (location.getLatitude() == 0 && location.getLongitude() == 0)) {
+            return Verdict.reject("Action location is invalid");
+        }
+        return Verdict.approve();
+    }
+}
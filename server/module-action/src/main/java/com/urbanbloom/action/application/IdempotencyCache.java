@@ -0,0 +1,94 @@
+package com.urbanbloom.action.application;
+
+import com.urbanbloom.action.domain.IdempotencyStore;
+import com.urbanbloom.action.domain.IdempotentRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory cache of completed idempotent requests in front of the {@link IdempotencyStore}, so a replay
+ * arriving at the instance that handled the original request is answered without a database round trip.
+ * <p>
+ * Entries live for {@code urbanbloom.action.idempotency.ttl-seconds}, like the keys in the store. Once the cache
+ * is full, expired entries are swept; if it is still full the request is not cached and replays fall back to
+ * the store.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public IdempotencyCache(MeterRegistry meterRegistry,
+                            @Value("${urbanbloom.action.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${urbanbloom.action.idempotency.cache-max-entries:10000}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+        Gauge.builder("action.idempotency.cache.size", entries, Map::size)
+                .description("Cached idempotent create requests")
+                .register(meterRegistry);
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+    }
+
+    /**
+     * @return the completed request recorded under the user's key, empty if it is not cached
+     */
+    public Optional<IdempotentRequest> get(UUID userId, String key) {
+        String cacheKey = cacheKey(userId, key);
+        Entry cached = entries.get(cacheKey);
+        if (cached != null) {
+            if (System.nanoTime() - cached.storedAt() < ttlNanos) {
+                hitCounter.increment();
+                return Optional.of(cached.request());
+            }
+            entries.remove(cacheKey, cached);
+        }
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Caches a completed request. Must only be called once the action creation has been committed.
+     */
+    public void put(UUID userId, String key, IdempotentRequest request) {
+        long now = System.nanoTime();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(existing -> now - existing.storedAt() >= ttlNanos);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(cacheKey(userId, key), new Entry(request, now));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static String cacheKey(UUID userId, String key) {
+        return userId + ":" + key;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("action.idempotency.cache.lookups")
+                .description("Idempotency key lookups by cache result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(IdempotentRequest request, long storedAt) {
+    }
+}
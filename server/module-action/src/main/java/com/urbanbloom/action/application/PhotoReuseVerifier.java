@@ -0,0 +1,52 @@
+package com.urbanbloom.action.application;
+
+import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.ActionVerifier;
+import com.urbanbloom.action.domain.PhotoFingerprinter;
+import com.urbanbloom.action.domain.PhotoReuse;
+import com.urbanbloom.action.domain.PhotoReuseIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Rejects actions whose photo is a near-duplicate of the photo of an earlier verified action, so one planting
+ * cannot be submitted repeatedly. Runs last: the photo is registered in the index only once every other check
+ * has approved the action. Photos that are not in the photo storage or cannot be decoded are not checked.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class PhotoReuseVerifier implements ActionVerifier {
+
+    private final PhotoFingerprinter photoFingerprinter;
+    private final PhotoReuseIndex photoReuseIndex;
+
+    @Override
+    public Verdict verify(Action action) {
+        String photoUrl = action.getPhotoUrl();
+        if (photoUrl == null || !photoUrl.startsWith(ActionApplicationService.PHOTO_URL_PREFIX)) {
+            return Verdict.approve();
+        }
+        OptionalLong fingerprint = photoFingerprinter.fingerprint(
+                photoUrl.substring(ActionApplicationService.PHOTO_URL_PREFIX.length()));
+        if (fingerprint.isEmpty()) {
+            return Verdict.approve();
+        }
+
+        Optional<PhotoReuse> reuse = photoReuseIndex.registerUnlessReused(
+                action.getId(), action.getUserId(), fingerprint.getAsLong());
+        if (reuse.isPresent()) {
+            log.info("Photo of action {} matches action {} (distance {})",
+                    action.getId(), reuse.get().actionId(), reuse.get().distance());
+            return Verdict.reject("Photo reuses the photo of action " + reuse.get().actionId());
+        }
+        return Verdict.approve();
+    }
+}
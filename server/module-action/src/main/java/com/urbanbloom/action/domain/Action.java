@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 /**
@@ -25,6 +26,13 @@ public class Action extends AggregateRoot {
     private Instant createdAt;
     private Instant verifiedAt;
 
+    /**
+     * Internal constructor for creating an aggregate with a specific ID.
+     */
+    protected Action(String id) {
+        super(id);
+    }
+
     /**
      * Factory method to create a new action.
      */
@@ -35,27 +43,83 @@ public class Action extends AggregateRoot {
         action.location = location;
         action.description = description;
         action.status = ActionStatus.DRAFT;
-        action.createdAt = Instant.now();
+        // Truncated to the database precision so keyset cursors match persisted values
+        action.createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        return action;
+    }
+
+    /**
+     * Reconstructs an action from persistent storage.
+     * Use this ONLY for infrastructure adapters.
+     */
+    public static Action reconstruct(
+            String id,
+            UUID userId,
+            PlantVO plant,
+            LocationVO location,
+            String description,
+            String photoUrl,
+            ActionStatus status,
+            Integer pointsAwarded,
+            Instant createdAt,
+            Instant verifiedAt) {
+        Action action = new Action(id);
+        action.userId = userId;
+        action.plant = plant;
+        action.location = location;
+        action.description = description;
+        action.photoUrl = photoUrl;
+        action.status = status;
+        action.pointsAwarded = pointsAwarded;
+        action.createdAt = createdAt;
+        action.verifiedAt = verifiedAt;
         return action;
     }
 
     /**
      * Set the photo for the action.
+     *
+     * @throws ActionStatusException if the photo can no longer be changed, see {@link #acceptsPhoto()}
      */
     public void uploadPhoto(String photoUrl) {
+        if (!acceptsPhoto()) {
+            throw new ActionStatusException("Cannot change the photo of action " + getId() + " in status " + status);
+        }
         this.photoUrl = photoUrl;
     }
 
     /**
-     * Submit the action for verification.
+     * @return true if the photo may still be changed: the action is a draft or was rejected
+     */
+    public boolean acceptsPhoto() {
+        return status == ActionStatus.DRAFT || status == ActionStatus.REJECTED;
+    }
+
+    /**
+     * Submit the action for verification. The verification itself happens asynchronously,
+     * see {@link #validate()} and {@link #reject(String)}.
+     *
+     * @return false if the action is already waiting for verification
      */
-    public void submitForVerification() {
+    public boolean submitForVerification() {
         if (this.photoUrl == null || this.photoUrl.isBlank()) {
             throw new IllegalStateException("Cannot verify action without a photo");
         }
-        // In a real system, this might trigger an asynchronous verification process
-        // For now, we simulate immediate validation for some actions
-        validate();
+        if (status == ActionStatus.PENDING_VERIFICATION) {
+            return false;
+        }
+        if (status != ActionStatus.DRAFT && status != ActionStatus.REJECTED) {
+            throw new ActionStatusException("Action " + getId() + " cannot be submitted in status " + status);
+        }
+        this.status = ActionStatus.PENDING_VERIFICATION;
+        return true;
+    }
+
+    /**
+     * @return true if the action is waiting for verification
+     */
+    public boolean isPendingVerification() {
+        return status == ActionStatus.PENDING_VERIFICATION;
     }
 
     /**
@@ -67,7 +131,8 @@ public class Action extends AggregateRoot {
         this.pointsAwarded = calculatePoints();
         
         // Publish event for Gamification module
-        registerEvent(new ActionValidatedEvent(getId(), userId, pointsAwarded));
+        registerEvent(new ActionValidatedEvent(getId(), userId, pointsAwarded,
+                location != null ? location.getDistrictId() : null));
     }
 
     /**
@@ -0,0 +1,63 @@
+package com.urbanbloom.action.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a user's action timeline.
+ * Points at the last action of a page; the next page starts strictly after it
+ * in (createdAt DESC, actionId DESC) order.
+ *
+ * @param createdAt creation time of the last action returned
+ * @param actionId  id of the last action returned (tie-breaker)
+ */
+public record ActionCursor(Instant createdAt, String actionId) {
+
+    private static final char SEPARATOR = '|';
+
+    public ActionCursor {
+        if (createdAt == null || actionId == null || actionId.isBlank()) {
+            throw new IllegalArgumentException("Cursor requires createdAt and actionId");
+        }
+    }
+
+    /**
+     * Creates a cursor pointing at the given action.
+     */
+    public static ActionCursor of(Action action) {
+        return new ActionCursor(action.getCreatedAt(), action.getId());
+    }
+
+    /**
+     * Encodes this cursor as an opaque, URL-safe token.
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + actionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @throws InvalidQueryException if the token is malformed
+     */
+    public static ActionCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Invalid cursor: " + token, e);
+        }
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new InvalidQueryException("Invalid cursor: " + token);
+        }
+        try {
+            return new ActionCursor(Instant.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidQueryException("Invalid cursor: " + token, e);
+        }
+    }
+}
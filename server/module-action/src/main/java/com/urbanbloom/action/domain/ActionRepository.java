@@ -10,5 +10,33 @@ import java.util.List;
 public interface ActionRepository {
     void save(Action action);
     Optional<Action> findById(String id);
+
+    /**
+     * Loads an action and locks it until the surrounding transaction ends, so that concurrent status
+     * changes are applied one after the other instead of overwriting each other.
+     * Must be called inside a transaction.
+     */
+    Optional<Action> findByIdForUpdate(String id);
     List<Action> findByUserId(UUID userId);
+
+    /**
+     * Returns one page of a user's actions, newest first, using keyset pagination.
+     *
+     * @param userId      the owner of the actions
+     * @param afterCursor position of the last action of the previous page, or null for the first page
+     * @param limit       maximum number of actions to return
+     * @return actions strictly after the cursor in (createdAt DESC, id DESC) order
+     */
+    List<Action> findByUserId(UUID userId, ActionCursor afterCursor, int limit);
+
+    /**
+     * Returns actions located within the given radius, closest first.
+     *
+     * @param latitude     center latitude in degrees
+     * @param longitude    center longitude in degrees
+     * @param radiusMeters search radius in meters
+     * @param limit        maximum number of actions to return
+     * @return actions within the radius, ordered by distance
+     */
+    List<Action> findNearby(double latitude, double longitude, double radiusMeters, int limit);
 }
@@ -5,6 +5,8 @@ package com.urbanbloom.action.domain;
  */
 public enum ActionStatus {
     DRAFT,
+    /** Submitted and waiting in the verification queue. */
+    PENDING_VERIFICATION,
     VALIDATED,
     REJECTED,
     SYNCED
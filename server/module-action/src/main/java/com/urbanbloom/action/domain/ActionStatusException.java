@@ -0,0 +1,12 @@
+package com.urbanbloom.action.domain;
+
+/**
+ * Thrown when an action is asked to do something its current status does not allow,
+ * e.g. replacing the photo of an action that is waiting for verification.
+ */
+public class ActionStatusException extends IllegalStateException {
+
+    public ActionStatusException(String message) {
+        super(message);
+    }
+}
@@ -16,12 +16,20 @@ public class ActionValidatedEvent extends DomainEvent {
     private final String actionId;
     private final UUID userId;
     private final int points;
+    /** District the action was performed in; null if unknown. */
+    private final UUID districtId;
     private final Instant occurredOn;
 
-    public ActionValidatedEvent(String actionId, UUID userId, int points) {
+    public ActionValidatedEvent(String actionId, UUID userId, int points, UUID districtId) {
         this.actionId = actionId;
         this.userId = userId;
         this.points = points;
+        this.districtId = districtId;
         this.occurredOn = Instant.now();
     }
+
+    @Override
+    public String getAggregateId() {
+        return actionId;
+    }
 }
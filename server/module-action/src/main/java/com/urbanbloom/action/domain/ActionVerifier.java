@@ -0,0 +1,31 @@
+package com.urbanbloom.action.domain;
+
+/**
+ * Decides whether a submitted action is accepted. Called by the verification workers, off the request path,
+ * so implementations may run slow checks.
+ */
+public interface ActionVerifier {
+
+    /**
+     * @param action the action waiting for verification
+     * @return the decision
+     */
+    Verdict verify(Action action);
+
+    /**
+     * Outcome of a verification.
+     *
+     * @param approved true to validate the action, false to reject it
+     * @param reason   why the action was rejected, null if approved
+     */
+    record Verdict(boolean approved, String reason) {
+
+        public static Verdict approve() {
+            return new Verdict(true, null);
+        }
+
+        public static Verdict reject(String reason) {
+            return new Verdict(false, reason);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.urbanbloom.action.domain;
+
+/**
+ * Thrown when a request cannot be processed under the idempotency key it carries.
+ */
+public class IdempotencyKeyException extends RuntimeException {
+
+    public enum Reason {
+        /** The key is empty, too long or contains characters other than visible ASCII. */
+        INVALID,
+        /** The key was already used for a request with different content. */
+        REUSED,
+        /** The first request with the key has not finished yet. */
+        IN_PROGRESS
+    }
+
+    private final Reason reason;
+
+    public IdempotencyKeyException(String message, Reason reason) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
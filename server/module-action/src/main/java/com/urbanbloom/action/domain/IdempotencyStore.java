@@ -0,0 +1,31 @@
+package com.urbanbloom.action.domain;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Remembers which action was created under a client-supplied idempotency key, so a retried create request
+ * returns the original action instead of creating another one. Keys are scoped to the user and forgotten
+ * after a retention period.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Reserves the key for a new request. Called in the transaction that creates the action, so a reservation
+     * is rolled back together with a failed creation.
+     *
+     * @return empty if the key was reserved for this request, otherwise the earlier request under the key
+     */
+    Optional<IdempotentRequest> reserve(UUID userId, String key, String requestHash);
+
+    /**
+     * Records the action created under a reserved key.
+     */
+    void complete(UUID userId, String key, String actionId);
+
+    /**
+     * Drops a reservation whose request failed, so the client can retry with the same key.
+     * Called after the transaction has been rolled back; a store that joins the transaction has nothing left to drop.
+     */
+    void release(UUID userId, String key);
+}
@@ -0,0 +1,14 @@
+package com.urbanbloom.action.domain;
+
+/**
+ * A request recorded under an idempotency key.
+ *
+ * @param requestHash hash of the request content, to tell a replay from a different request reusing the key
+ * @param actionId    the action created by the request, null while it is still being processed
+ */
+public record IdempotentRequest(String requestHash, String actionId) {
+
+    public boolean isCompleted() {
+        return actionId != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.urbanbloom.action.domain;
+
+/**
+ * Thrown when an uploaded photo is not a supported image or exceeds the size limit.
+ */
+public class InvalidPhotoException extends RuntimeException {
+
+    private final boolean tooLarge;
+
+    public InvalidPhotoException(String message, boolean tooLarge) {
+        super(message);
+        this.tooLarge = tooLarge;
+    }
+
+    /**
+     * @return true if the photo was rejected because of its size
+     */
+    public boolean isTooLarge() {
+        return tooLarge;
+    }
+}
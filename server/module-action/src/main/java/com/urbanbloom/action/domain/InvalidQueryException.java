@@ -0,0 +1,15 @@
+package com.urbanbloom.action.domain;
+
+/**
+ * Thrown when a query parameter supplied by the client, such as a timeline cursor, is malformed.
+ */
+public class InvalidQueryException extends IllegalArgumentException {
+
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+
+    public InvalidQueryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
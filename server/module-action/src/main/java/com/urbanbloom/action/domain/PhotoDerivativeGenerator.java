@@ -0,0 +1,16 @@
+package com.urbanbloom.action.domain;
+
+/**
+ * Produces the derivative {@link PhotoVariant}s of stored photos in the background.
+ */
+public interface PhotoDerivativeGenerator {
+
+    /**
+     * Schedules generation of the missing derivatives of a photo. Returns immediately.
+     *
+     * @param sha256 hash of the original photo
+     * @return true if a job was scheduled, false if all derivatives exist, a job is already pending,
+     *         or the queue is full
+     */
+    boolean request(String sha256);
+}
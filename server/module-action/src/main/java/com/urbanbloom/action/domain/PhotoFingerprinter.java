@@ -0,0 +1,16 @@
+package com.urbanbloom.action.domain;
+
+import java.util.OptionalLong;
+
+/**
+ * Computes perceptual fingerprints of stored photos: 64-bit hashes that stay close (in Hamming distance)
+ * when the same picture is re-encoded, rescaled or slightly edited.
+ */
+public interface PhotoFingerprinter {
+
+    /**
+     * @param sha256 hash of the original photo
+     * @return the fingerprint, empty if the photo does not exist or its format cannot be decoded
+     */
+    OptionalLong fingerprint(String sha256);
+}
@@ -0,0 +1,13 @@
+package com.urbanbloom.action.domain;
+
+import java.util.UUID;
+
+/**
+ * An earlier action whose photo is a near-duplicate of the photo being checked.
+ *
+ * @param actionId the earlier action
+ * @param userId   who submitted the earlier action
+ * @param distance Hamming distance between the two photo fingerprints, 0 for the same picture
+ */
+public record PhotoReuse(String actionId, UUID userId, int distance) {
+}
@@ -0,0 +1,22 @@
+package com.urbanbloom.action.domain;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Index over the photo fingerprints of all verified actions, used to detect photos that are submitted again
+ * for another action.
+ */
+public interface PhotoReuseIndex {
+
+    /**
+     * Looks for a near-duplicate of the fingerprint among the photos of other actions and registers the
+     * fingerprint for the action if there is none.
+     *
+     * @param actionId    the action the photo belongs to
+     * @param userId      who submitted the action
+     * @param fingerprint perceptual fingerprint of the photo, see {@link PhotoFingerprinter}
+     * @return the closest earlier action with a near-duplicate photo, empty if the photo was registered
+     */
+    Optional<PhotoReuse> registerUnlessReused(String actionId, UUID userId, long fingerprint);
+}
@@ -0,0 +1,47 @@
+package com.urbanbloom.action.domain;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for action photos.
+ * Photos are identified by the SHA-256 of their content, so uploading the same image twice stores it once.
+ */
+public interface PhotoStorage {
+
+    /**
+     * Streams a photo into the storage without holding it in memory.
+     *
+     * @param content the image bytes; read to the end but not closed
+     * @return the stored photo
+     * @throws InvalidPhotoException if the content is not a supported image or too large
+     */
+    StoredPhoto store(InputStream content) throws IOException;
+
+    /**
+     * @param sha256 hex SHA-256 of the content
+     * @return the stored photo, or empty if there is none with this hash
+     */
+    default Optional<StoredPhoto> find(String sha256) {
+        return find(sha256, PhotoVariant.ORIGINAL);
+    }
+
+    /**
+     * @param sha256  hex SHA-256 of the original content
+     * @param variant the rendition to look up
+     * @return the stored rendition, or empty if the photo or this rendition of it does not exist
+     */
+    Optional<StoredPhoto> find(String sha256, PhotoVariant variant);
+
+    /**
+     * Copies a byte range of a stored photo (in the rendition it was found in) to the target channel.
+     *
+     * @param photo    the photo to read
+     * @param position offset of the first byte to copy
+     * @param count    number of bytes to copy
+     * @param target   channel to write to
+     */
+    void transferTo(StoredPhoto photo, long position, long count, WritableByteChannel target) throws IOException;
+}
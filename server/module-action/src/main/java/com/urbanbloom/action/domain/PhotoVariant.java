@@ -0,0 +1,39 @@
+package com.urbanbloom.action.domain;
+
+/**
+ * Renditions of an action photo. Derivatives are JPEGs scaled down to fit a square of {@link #getMaxEdge()} pixels.
+ */
+public enum PhotoVariant {
+
+    /**
+     * The photo as uploaded.
+     */
+    ORIGINAL(0),
+
+    /**
+     * Small preview for map markers and list rows.
+     */
+    THUMBNAIL(320),
+
+    /**
+     * Web-optimized rendition for feeds and detail views.
+     */
+    WEB(1280);
+
+    private final int maxEdge;
+
+    PhotoVariant(int maxEdge) {
+        this.maxEdge = maxEdge;
+    }
+
+    /**
+     * @return longest edge of the derivative in pixels, 0 for the original
+     */
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+
+    public boolean isDerivative() {
+        return this != ORIGINAL;
+    }
+}
@@ -0,0 +1,16 @@
+package com.urbanbloom.action.domain;
+
+/**
+ * A photo in the photo storage, addressed by the SHA-256 of its original content.
+ *
+ * @param sha256      lower-case hex SHA-256 of the original content
+ * @param size        content length of this variant in bytes
+ * @param contentType image media type detected from the content
+ * @param variant     which rendition of the photo this is
+ */
+public record StoredPhoto(String sha256, long size, String contentType, PhotoVariant variant) {
+
+    public StoredPhoto(String sha256, long size, String contentType) {
+        this(sha256, size, contentType, PhotoVariant.ORIGINAL);
+    }
+}
@@ -0,0 +1,58 @@
+package com.urbanbloom.action.domain;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persistent queue of actions waiting for verification.
+ * <p>
+ * Workers claim tasks with a lease: a claimed task is invisible to other workers until the lease expires,
+ * so a task whose worker crashed is picked up again. Tasks are handed out oldest first, interleaved across
+ * districts so that a burst of submissions in one district does not starve the others.
+ * <p>
+ * Every claim carries a token. A worker whose lease ran out and whose task was claimed again, or re-submitted,
+ * can no longer complete or reschedule it.
+ */
+public interface VerificationQueue {
+
+    /**
+     * Adds an action to the queue. An action that is still queued, e.g. because its verification was given up,
+     * starts over without failed attempts and without a lease.
+     * Joins the caller's transaction where the implementation supports it.
+     */
+    void enqueue(String actionId, UUID districtId, Instant enqueuedAt);
+
+    /**
+     * Claims the next tasks that are due.
+     *
+     * @param limit       maximum number of tasks
+     * @param maxAttempts tasks that already failed this often are not handed out any more
+     * @param lease       how long the tasks stay reserved for the caller
+     * @return claimed tasks, one per district before the second of any district, each district oldest first
+     */
+    List<VerificationTask> claim(int limit, int maxAttempts, Duration lease);
+
+    /**
+     * Removes a finished task.
+     *
+     * @return false if the claim is no longer current and the task was left in the queue
+     */
+    boolean complete(VerificationTask task);
+
+    /**
+     * Releases a failed task for another attempt.
+     *
+     * @param attempts      failed attempts so far, including this one
+     * @param nextAttemptAt earliest time of the next attempt
+     * @param error         description of the failure
+     * @return false if the claim is no longer current and the task was left unchanged
+     */
+    boolean retry(VerificationTask task, int attempts, Instant nextAttemptAt, String error);
+
+    /**
+     * @return number of queued tasks, including claimed and given-up ones
+     */
+    long size();
+}
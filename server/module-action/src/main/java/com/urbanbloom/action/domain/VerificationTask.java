@@ -0,0 +1,13 @@
+package com.urbanbloom.action.domain;
+
+import java.util.UUID;
+
+/**
+ * An action claimed from the {@link VerificationQueue} by a verification worker.
+ *
+ * @param actionId   the action to verify
+ * @param attempts   number of earlier attempts that failed with an error
+ * @param claimToken identifies the claim; completing or rescheduling the task only succeeds while it is current
+ */
+public record VerificationTask(String actionId, int attempts, UUID claimToken) {
+}
@@ -0,0 +1,138 @@
+package com.urbanbloom.action.adapter.in.rest;
+
+import com.urbanbloom.action.application.ActionApplicationService;
+import com.urbanbloom.action.domain.ActionStatusException;
+import com.urbanbloom.action.domain.InvalidPhotoException;
+import com.urbanbloom.action.domain.InvalidQueryException;
+import com.urbanbloom.action.domain.StoredPhoto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+@ExtendWith(MockitoExtension.class)
+class ActionControllerTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+    private static final StoredPhoto PHOTO = new StoredPhoto("a".repeat(64), JPEG.length, "image/jpeg");
+
+    @Mock
+    private ActionApplicationService actionService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(USER.toString()).build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+        mockMvc = MockMvcBuilders.standaloneSetup(new ActionController(actionService))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRejectMalformedCursorAsBadRequest() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/actions").param("cursor", "not-a-cursor"))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains("Invalid cursor: not-a-cursor");
+
+        verifyNoInteractions(actionService);
+    }
+
+    @Test
+    void shouldRejectInvalidNearbyQueryAsBadRequest() throws Exception {
+        when(actionService.getNearbyActions(Double.NaN, 11.5755, 1_000))
+                .thenThrow(new InvalidQueryException("Invalid coordinates: NaN, 11.5755"));
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/actions/nearby")
+                        .param("lat", "NaN").param("lon", "11.5755"))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    void shouldUploadPhotoFromRequestBody() throws Exception {
+        when(actionService.uploadPhoto(eq("action-1"), eq(USER), any(InputStream.class))).thenAnswer(invocation -> {
+            assertThat(invocation.getArgument(2, InputStream.class).readAllBytes()).isEqualTo(JPEG);
+            return PHOTO;
+        });
+
+        MockHttpServletResponse response = mockMvc.perform(put("/api/v1/actions/action-1/photo")
+                        .contentType(MediaType.IMAGE_JPEG).content(JPEG))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).contains("\"photoUrl\":\"/api/v1/photos/" + PHOTO.sha256() + "\"");
+    }
+
+    @Test
+    void shouldUploadPhotoFromMultipartForm() throws Exception {
+        when(actionService.uploadPhoto(eq("action-1"), eq(USER), any(InputStream.class))).thenReturn(PHOTO);
+
+        MockHttpServletResponse response = mockMvc.perform(multipart(HttpMethod.PUT, "/api/v1/actions/action-1/photo")
+                        .file(new MockMultipartFile("photo", "linde.jpg", MediaType.IMAGE_JPEG_VALUE, JPEG)))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).contains("\"sha256\":\"" + PHOTO.sha256() + "\"");
+        verify(actionService).uploadPhoto(eq("action-1"), eq(USER), any(InputStream.class));
+    }
+
+    @Test
+    void shouldMapPhotoUploadFailures() throws Exception {
+        when(actionService.uploadPhoto(eq("submitted"), eq(USER), any(InputStream.class)))
+                .thenThrow(new ActionStatusException("Cannot change the photo of action submitted"));
+        when(actionService.uploadPhoto(eq("foreign"), eq(USER), any(InputStream.class)))
+                .thenThrow(new AccessDeniedException("Action foreign belongs to another user"));
+        when(actionService.uploadPhoto(eq("huge"), eq(USER), any(InputStream.class)))
+                .thenThrow(new InvalidPhotoException("Photo exceeds the size limit", true));
+        when(actionService.uploadPhoto(eq("text"), eq(USER), any(InputStream.class)))
+                .thenThrow(new InvalidPhotoException("Not a supported image", false));
+
+        assertThat(uploadStatus("submitted")).isEqualTo(409);
+        assertThat(uploadStatus("foreign")).isEqualTo(403);
+        assertThat(uploadStatus("huge")).isEqualTo(413);
+        assertThat(uploadStatus("text")).isEqualTo(415);
+    }
+
+    private int uploadStatus(String actionId) throws Exception {
+        return mockMvc.perform(put("/api/v1/actions/" + actionId + "/photo")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM).content(JPEG))
+                .andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,154 @@
+package com.urbanbloom.action.adapter.in.rest;
+
+import com.urbanbloom.action.domain.PhotoDerivativeGenerator;
+import com.urbanbloom.action.domain.PhotoStorage;
+import com.urbanbloom.action.domain.PhotoVariant;
+import com.urbanbloom.action.domain.StoredPhoto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@ExtendWith(MockitoExtension.class)
+class PhotoControllerTest {
+
+    private static final String SHA256 = "c".repeat(64);
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final StoredPhoto ORIGINAL = new StoredPhoto(SHA256, CONTENT.length, "image/jpeg");
+    private static final String ETAG = "\"" + SHA256 + "\"";
+
+    @Mock
+    private PhotoStorage photoStorage;
+    @Mock
+    private PhotoDerivativeGenerator photoDerivatives;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(new PhotoController(photoStorage, photoDerivatives)).build();
+        lenient().doAnswer(invocation -> {
+            long position = invocation.getArgument(1);
+            long count = invocation.getArgument(2);
+            WritableByteChannel target = invocation.getArgument(3);
+            target.write(ByteBuffer.wrap(CONTENT, (int) position, (int) count));
+            return null;
+        }).when(photoStorage).transferTo(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void shouldServeWholePhotoWithCacheHeaders() throws Exception {
+        when(photoStorage.find(SHA256, PhotoVariant.ORIGINAL)).thenReturn(Optional.of(ORIGINAL));
+
+        MockHttpServletResponse response = perform(get("/api/v1/photos/" + SHA256));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void shouldAnswerMatchingETagWithNotModified() throws Exception {
+        when(photoStorage.find(SHA256, PhotoVariant.ORIGINAL)).thenReturn(Optional.of(ORIGINAL));
+
+        MockHttpServletResponse response = perform(get("/api/v1/photos/" + SHA256)
+                .header(HttpHeaders.IF_NONE_MATCH, ETAG));
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        verify(photoStorage, never()).transferTo(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void shouldServeSingleRangeAsPartialContent() throws Exception {
+        when(photoStorage.find(SHA256, PhotoVariant.ORIGINAL)).thenReturn(Optional.of(ORIGINAL));
+
+        MockHttpServletResponse range = perform(get("/api/v1/photos/" + SHA256).header(HttpHeaders.RANGE, "bytes=2-5"));
+        MockHttpServletResponse suffix = perform(get("/api/v1/photos/" + SHA256).header(HttpHeaders.RANGE, "bytes=-3"));
+
+        assertThat(range.getStatus()).isEqualTo(206);
+        assertThat(range.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(range.getContentLengthLong()).isEqualTo(4);
+        assertThat(range.getContentAsString()).isEqualTo("2345");
+        assertThat(suffix.getStatus()).isEqualTo(206);
+        assertThat(suffix.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(suffix.getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    void shouldRejectUnsatisfiableRange() throws Exception {
+        when(photoStorage.find(SHA256, PhotoVariant.ORIGINAL)).thenReturn(Optional.of(ORIGINAL));
+
+        MockHttpServletResponse response = perform(get("/api/v1/photos/" + SHA256).header(HttpHeaders.RANGE, "bytes=20-"));
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+        verify(photoStorage, never()).transferTo(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void shouldServeWholePhotoForMultipleOrMalformedRanges() throws Exception {
+        when(photoStorage.find(SHA256, PhotoVariant.ORIGINAL)).thenReturn(Optional.of(ORIGINAL));
+
+        MockHttpServletResponse multiple = perform(get("/api/v1/photos/" + SHA256).header(HttpHeaders.RANGE, "bytes=0-1,4-5"));
+        MockHttpServletResponse malformed = perform(get("/api/v1/photos/" + SHA256).header(HttpHeaders.RANGE, "lines=1-2"));
+
+        assertThat(multiple.getStatus()).isEqualTo(200);
+        assertThat(multiple.getContentAsByteArray()).isEqualTo(CONTENT);
+        assertThat(malformed.getStatus()).isEqualTo(200);
+        assertThat(malformed.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void shouldServeOriginalUntilDerivativeExists() throws Exception {
+        when(photoStorage.find(SHA256, PhotoVariant.THUMBNAIL)).thenReturn(Optional.empty());
+        when(photoStorage.find(SHA256)).thenReturn(Optional.of(ORIGINAL));
+
+        MockHttpServletResponse response = perform(get("/api/v1/photos/" + SHA256).param("variant", "thumbnail"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+        verify(photoDerivatives).request(SHA256);
+    }
+
+    @Test
+    void shouldRejectUnknownVariantsAndMissingPhotos() throws Exception {
+        when(photoStorage.find(SHA256, PhotoVariant.ORIGINAL)).thenReturn(Optional.empty());
+
+        assertThat(perform(get("/api/v1/photos/" + SHA256).param("variant", "poster")).getStatus()).isEqualTo(400);
+        assertThat(perform(get("/api/v1/photos/" + SHA256)).getStatus()).isEqualTo(404);
+        verifyNoInteractions(photoDerivatives);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
@@ -0,0 +1,112 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.LocationVO;
+import com.urbanbloom.action.domain.PlantVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActionRepositoryAdapterTest {
+
+    private static final PlantVO PLANT = new PlantVO(UUID.randomUUID(), "Linde", "Tilia cordata");
+    private static final LocationVO LOCATION = new LocationVO(48.1374, 11.5755, "Marienplatz", UUID.randomUUID());
+
+    @Mock
+    private ActionJpaRepository jpaRepository;
+
+    private final ActionPersistenceMapper mapper = new ActionPersistenceMapper();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldIndexSavedActionOnlyAfterCommit() {
+        ActionRepositoryAdapter adapter = new ActionRepositoryAdapter(jpaRepository, mapper, 5_000);
+        Action action = Action.create(UUID.randomUUID(), PLANT, LOCATION, "Neue Linde");
+
+        TransactionSynchronizationManager.initSynchronization();
+        adapter.save(action);
+
+        assertThat(adapter.findNearby(48.1374, 11.5755, 100, 10)).isEmpty();
+
+        when(jpaRepository.findAllById(any())).thenReturn(List.of(mapper.toEntity(action)));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(adapter.findNearby(48.1374, 11.5755, 100, 10))
+                .extracting(Action::getId)
+                .containsExactly(action.getId());
+    }
+
+    @Test
+    void shouldNotIndexRolledBackSave() {
+        ActionRepositoryAdapter adapter = new ActionRepositoryAdapter(jpaRepository, mapper, 5_000);
+
+        TransactionSynchronizationManager.initSynchronization();
+        adapter.save(Action.create(UUID.randomUUID(), PLANT, LOCATION, "Neue Linde"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(adapter.findNearby(48.1374, 11.5755, 100, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldPickUpActionsSavedByOtherInstances() {
+        ActionRepositoryAdapter adapter = new ActionRepositoryAdapter(jpaRepository, mapper, 5_000);
+        Action action = Action.create(UUID.randomUUID(), PLANT, LOCATION, "Neue Linde");
+        when(jpaRepository.findLocationsCreatedAfter(any())).thenReturn(List.of(location(action)));
+        when(jpaRepository.findAllById(any())).thenReturn(List.of(mapper.toEntity(action)));
+
+        adapter.catchUp();
+        adapter.catchUp();
+
+        assertThat(adapter.findNearby(48.1374, 11.5755, 100, 10))
+                .extracting(Action::getId)
+                .containsExactly(action.getId());
+        // The second round only re-reads the overlap before the newest action seen
+        verify(jpaRepository).findLocationsCreatedAfter(action.getCreatedAt().minus(Duration.ofMinutes(1)));
+    }
+
+    private static ActionJpaRepository.ActionLocationView location(Action action) {
+        return new ActionJpaRepository.ActionLocationView() {
+            @Override
+            public String getId() {
+                return action.getId();
+            }
+
+            @Override
+            public double getLatitude() {
+                return action.getLocation().getLatitude();
+            }
+
+            @Override
+            public double getLongitude() {
+                return action.getLocation().getLongitude();
+            }
+
+            @Override
+            public Instant getCreatedAt() {
+                return action.getCreatedAt();
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoGridIndexTest {
+
+    private static final double MARIENPLATZ_LAT = 48.1374;
+    private static final double MARIENPLATZ_LON = 11.5755;
+
+    private GeoGridIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoGridIndex();
+    }
+
+    @Test
+    void shouldReturnPointsWithinRadiusClosestFirst() {
+        index.put("near", 48.1380, 11.5760);        // ~80 m
+        index.put("nearer", 48.1375, 11.5756);      // ~15 m
+        index.put("far", 48.1500, 11.6000);         // ~2.3 km
+        index.put("other-city", 52.5200, 13.4050);  // Berlin
+
+        List<String> result = index.findWithinRadius(MARIENPLATZ_LAT, MARIENPLATZ_LON, 500, 10);
+
+        assertThat(result).containsExactly("nearer", "near");
+    }
+
+    @Test
+    void shouldFindPointsInNeighbouringCells() {
+        // Cells are ~0.0055 degrees wide; the radius spans several of them
+        index.put("east", MARIENPLATZ_LAT, MARIENPLATZ_LON + 0.02);
+        index.put("south", MARIENPLATZ_LAT - 0.015, MARIENPLATZ_LON);
+
+        List<String> result = index.findWithinRadius(MARIENPLATZ_LAT, MARIENPLATZ_LON, 2_000, 10);
+
+        assertThat(result).containsExactly("east", "south");
+    }
+
+    @Test
+    void shouldMoveActionWhenLocationChanges() {
+        index.put("a1", MARIENPLATZ_LAT, MARIENPLATZ_LON);
+        index.put("a1", 52.5200, 13.4050);
+
+        assertThat(index.findWithinRadius(MARIENPLATZ_LAT, MARIENPLATZ_LON, 1_000, 10)).isEmpty();
+        assertThat(index.findWithinRadius(52.5200, 13.4050, 1_000, 10)).containsExactly("a1");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFindPointsAcrossAntimeridian() {
+        index.put("west", 0.0, 179.999);
+        index.put("east", 0.0, -179.999);
+
+        List<String> result = index.findWithinRadius(0.0, 180.0, 1_000, 10);
+
+        assertThat(result).containsExactlyInAnyOrder("west", "east");
+    }
+
+    @Test
+    void shouldRespectLimit() {
+        for (int i = 0; i < 20; i++) {
+            index.put("a" + i, MARIENPLATZ_LAT + i * 0.0001, MARIENPLATZ_LON);
+        }
+
+        List<String> result = index.findWithinRadius(MARIENPLATZ_LAT, MARIENPLATZ_LON, 5_000, 5);
+
+        assertThat(result).containsExactly("a0", "a1", "a2", "a3", "a4");
+    }
+
+    @Test
+    void shouldVisitOnlyOccupiedCellsNearThePoles() {
+        index.put("pole", 89.999, 10.0);
+        index.put("across", 89.999, -170.0);
+        index.put("equator", 0.0, 10.0);
+
+        List<String> result = index.findWithinRadius(89.999, 10.0, 1_000, 10);
+
+        assertThat(result).containsExactly("pole", "across");
+    }
+}
@@ -0,0 +1,112 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.ActionCursor;
+import com.urbanbloom.action.domain.LocationVO;
+import com.urbanbloom.action.domain.PlantVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryActionRepositoryTest {
+
+    private InMemoryActionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryActionRepository();
+    }
+
+    @Test
+    void shouldReturnOnlyActionsOfGivenUser() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        Action first = newAction(alice);
+        Action second = newAction(alice);
+        Action other = newAction(bob);
+
+        repository.save(first);
+        repository.save(other);
+        repository.save(second);
+
+        assertThat(repository.findByUserId(alice)).containsExactlyInAnyOrder(first, second);
+        assertThat(repository.findByUserId(bob)).containsExactly(other);
+    }
+
+    @Test
+    void shouldReturnEmptyListForUnknownUser() {
+        repository.save(newAction(UUID.randomUUID()));
+
+        assertThat(repository.findByUserId(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void shouldNotDuplicateActionWhenSavedAgain() {
+        UUID userId = UUID.randomUUID();
+        Action action = newAction(userId);
+
+        repository.save(action);
+        action.uploadPhoto("https://photos.urbanbloom.local/1.jpg");
+        repository.save(action);
+
+        assertThat(repository.findByUserId(userId)).containsExactly(action);
+    }
+
+    @Test
+    void shouldPageThroughUserActionsNewestFirst() {
+        UUID userId = UUID.randomUUID();
+        List<Action> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Action action = newAction(userId);
+            saved.add(action);
+            repository.save(action);
+        }
+        List<Action> newestFirst = saved.stream()
+                .sorted(Comparator.comparing(Action::getCreatedAt).thenComparing(Action::getId).reversed())
+                .toList();
+
+        List<Action> firstPage = repository.findByUserId(userId, null, 2);
+        List<Action> secondPage = repository.findByUserId(userId, ActionCursor.of(firstPage.get(1)), 2);
+        List<Action> lastPage = repository.findByUserId(userId, ActionCursor.of(secondPage.get(1)), 2);
+
+        assertThat(firstPage).containsExactlyElementsOf(newestFirst.subList(0, 2));
+        assertThat(secondPage).containsExactlyElementsOf(newestFirst.subList(2, 4));
+        assertThat(lastPage).containsExactlyElementsOf(newestFirst.subList(4, 5));
+    }
+
+    @Test
+    void shouldKeepIndexConsistentUnderConcurrentSaves() throws Exception {
+        UUID userId = UUID.randomUUID();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                futures.add(executor.submit(() -> repository.save(newAction(userId))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(repository.findByUserId(userId)).hasSize(1_000);
+    }
+
+    private Action newAction(UUID userId) {
+        return Action.create(
+                userId,
+                new PlantVO(UUID.randomUUID(), "Apfelbaum", "Malus domestica"),
+                new LocationVO(48.137, 11.575, "Marienplatz 1", UUID.randomUUID()),
+                "Baum gepflanzt");
+    }
+}
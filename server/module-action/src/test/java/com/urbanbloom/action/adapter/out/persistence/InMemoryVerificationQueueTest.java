@@ -0,0 +1,123 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.VerificationTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryVerificationQueueTest {
+
+    private static final Instant NOW = Instant.parse("2026-05-01T10:00:00Z");
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    private MutableClock clock;
+    private InMemoryVerificationQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        queue = new InMemoryVerificationQueue(clock);
+    }
+
+    @Test
+    void shouldInterleaveDistrictsOldestFirst() {
+        UUID busy = UUID.randomUUID();
+        UUID quiet = UUID.randomUUID();
+        queue.enqueue("busy-1", busy, NOW.minusSeconds(50));
+        queue.enqueue("busy-2", busy, NOW.minusSeconds(40));
+        queue.enqueue("busy-3", busy, NOW.minusSeconds(30));
+        queue.enqueue("quiet-1", quiet, NOW.minusSeconds(10));
+        queue.enqueue("none-1", null, NOW.minusSeconds(20));
+
+        assertThat(queue.claim(4, 5, LEASE)).extracting(VerificationTask::actionId)
+                .containsExactly("busy-1", "none-1", "quiet-1", "busy-2");
+    }
+
+    @Test
+    void shouldNotHandOutClaimedTasksUntilTheLeaseExpires() {
+        queue.enqueue("a", null, NOW);
+
+        assertThat(queue.claim(10, 5, LEASE)).hasSize(1);
+        assertThat(queue.claim(10, 5, LEASE)).isEmpty();
+
+        clock.now = NOW.plus(LEASE).plusSeconds(1);
+        assertThat(queue.claim(10, 5, LEASE)).extracting(VerificationTask::actionId).containsExactly("a");
+    }
+
+    @Test
+    void shouldDelayRetriesAndStopAfterMaxAttempts() {
+        queue.enqueue("a", null, NOW);
+        VerificationTask first = queue.claim(10, 2, LEASE).get(0);
+
+        assertThat(queue.retry(first, 1, NOW.plusSeconds(30), "timeout")).isTrue();
+        assertThat(queue.claim(10, 2, LEASE)).isEmpty();
+        clock.now = NOW.plusSeconds(30);
+        VerificationTask second = queue.claim(10, 2, LEASE).get(0);
+        assertThat(second.attempts()).isEqualTo(1);
+
+        assertThat(queue.retry(second, 2, NOW.plusSeconds(30), "timeout")).isTrue();
+        assertThat(queue.claim(10, 2, LEASE)).isEmpty();
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldOnlyLetTheCurrentClaimFinishATask() {
+        queue.enqueue("a", null, NOW);
+        VerificationTask expired = queue.claim(10, 5, LEASE).get(0);
+        clock.now = NOW.plus(LEASE).plusSeconds(1);
+        VerificationTask current = queue.claim(10, 5, LEASE).get(0);
+
+        assertThat(queue.retry(expired, 1, NOW, "timeout")).isFalse();
+        assertThat(queue.complete(expired)).isFalse();
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.complete(current)).isTrue();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void shouldStartOverWhenEnqueuedAgain() {
+        queue.enqueue("a", null, NOW);
+        VerificationTask claimed = queue.claim(10, 1, LEASE).get(0);
+        queue.retry(claimed, 1, NOW, "timeout");
+        assertThat(queue.claim(10, 1, LEASE)).isEmpty();
+
+        queue.enqueue("a", null, NOW.plusSeconds(1));
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.claim(10, 1, LEASE)).singleElement()
+                .satisfies(task -> assertThat(task.attempts()).isZero());
+        assertThat(queue.complete(claimed)).isFalse();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
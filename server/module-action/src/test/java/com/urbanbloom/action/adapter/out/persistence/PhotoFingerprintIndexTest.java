@@ -0,0 +1,89 @@
+package com.urbanbloom.action.adapter.out.persistence;
+
+import com.urbanbloom.action.domain.PhotoReuse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PhotoFingerprintIndexTest {
+
+    private static final UUID USER = UUID.randomUUID();
+
+    private PhotoFingerprintIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PhotoFingerprintIndex(6);
+    }
+
+    @Test
+    void shouldReportClosestNearDuplicateAndNotRegisterIt() {
+        long fingerprint = 0x8F3A_5C71_0E2B_D946L;
+        index.put("far", USER, fingerprint ^ 0x0000_0000_0000_003FL);   // 6 bits
+        index.put("near", USER, fingerprint ^ 0x0001_0001_0000_0000L);  // 2 bits
+
+        Optional<PhotoReuse> reuse = index.registerUnlessReused("a1", USER, fingerprint);
+
+        assertThat(reuse).contains(new PhotoReuse("near", USER, 2));
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFindMatchesWhoseBitFlipsAreSpreadOverAllChunks() {
+        long fingerprint = 0x1234_5678_9ABC_DEF0L;
+        // Six flipped bits: 2 + 2 + 1 + 1 over the four chunks
+        index.put("spread", USER, fingerprint ^ 0x0003_0003_0001_0001L);
+
+        assertThat(index.findNearest(fingerprint)).map(PhotoReuse::distance).contains(6);
+        assertThat(index.findNearest(fingerprint ^ 0x0000_0000_0000_0100L)).isEmpty();
+    }
+
+    @Test
+    void shouldRegisterUnrelatedPhotosOnce() {
+        long fingerprint = 0x0F0F_0F0F_0F0F_0F0FL;
+
+        assertThat(index.registerUnlessReused("a1", USER, fingerprint)).isEmpty();
+        assertThat(index.registerUnlessReused("a2", USER, ~fingerprint)).isEmpty();
+        // Verifying the same action again does not match its own photo
+        assertThat(index.registerUnlessReused("a1", USER, fingerprint)).isEmpty();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.registerUnlessReused("a3", USER, fingerprint)).map(PhotoReuse::actionId).contains("a1");
+    }
+
+    @Test
+    void shouldForgetRemovedFingerprints() {
+        index.put("a1", USER, 42L);
+
+        index.remove("a1");
+
+        assertThat(index.findNearest(42L)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void shouldRejectDistancesTheChunkingCannotCover() {
+        assertThatThrownBy(() -> new PhotoFingerprintIndex(16)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldFindAlteredCopiesAmongManyPhotos() {
+        Random random = new Random(42);
+        long[] fingerprints = new long[100_000];
+        for (int i = 0; i < fingerprints.length; i++) {
+            fingerprints[i] = random.nextLong();
+            index.put("a" + i, USER, fingerprints[i]);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            long altered = fingerprints[i * 97] ^ (1L << random.nextInt(64)) ^ (1L << random.nextInt(64));
+            assertThat(index.findNearest(altered)).map(PhotoReuse::actionId).contains("a" + i * 97);
+        }
+    }
+}
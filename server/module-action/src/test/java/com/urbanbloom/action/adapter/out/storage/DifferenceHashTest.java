@@ -0,0 +1,76 @@
+package com.urbanbloom.action.adapter.out.storage;
+
+import com.urbanbloom.action.domain.StoredPhoto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DifferenceHashTest {
+
+    @TempDir
+    Path storageDir;
+
+    @Test
+    void shouldKeepRescaledAndReencodedCopiesClose() throws IOException {
+        BufferedImage photo = scene(1600, 1200, 7);
+        BufferedImage copy = ImageIO.read(new ByteArrayInputStream(encode(PhotoImages.scale(photo, 700), "jpeg")));
+
+        assertThat(DifferenceHash.distance(DifferenceHash.of(photo), DifferenceHash.of(copy))).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void shouldSeparateDifferentPictures() {
+        long first = DifferenceHash.of(scene(800, 600, 1));
+        long second = DifferenceHash.of(scene(800, 600, 2));
+
+        assertThat(DifferenceHash.distance(first, second)).isGreaterThan(12);
+    }
+
+    @Test
+    void shouldComputeAndStoreFingerprintOnDemand() throws IOException {
+        LocalPhotoStorage storage = new LocalPhotoStorage(storageDir.toString(), 10 * 1024 * 1024);
+        LocalPhotoFingerprinter fingerprinter = new LocalPhotoFingerprinter(storage);
+        StoredPhoto stored = storage.store(new ByteArrayInputStream(encode(scene(1024, 768, 3), "png")));
+
+        long fingerprint = fingerprinter.fingerprint(stored.sha256()).orElseThrow();
+
+        assertThat(storage.readFingerprint(stored.sha256())).hasValue(fingerprint);
+        assertThat(fingerprinter.fingerprint("0".repeat(64))).isEmpty();
+        assertThat(fingerprinter.fingerprint("../photo")).isEmpty();
+    }
+
+    /**
+     * Random coloured rectangles, a crude stand-in for a photo with some structure.
+     */
+    private static BufferedImage scene(int width, int height, long seed) {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            for (int i = 0; i < 40; i++) {
+                graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+                graphics.fillRect(random.nextInt(width), random.nextInt(height), width / 4, height / 4);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
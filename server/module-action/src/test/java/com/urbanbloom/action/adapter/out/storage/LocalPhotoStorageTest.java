@@ -0,0 +1,123 @@
+package com.urbanbloom.action.adapter.out.storage;
+
+import com.urbanbloom.action.domain.InvalidPhotoException;
+import com.urbanbloom.action.domain.StoredPhoto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalPhotoStorageTest {
+
+    private static final byte[] JPEG_HEADER = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+
+    @TempDir
+    Path storageDir;
+
+    private LocalPhotoStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalPhotoStorage(storageDir.toString(), 1024 * 1024);
+    }
+
+    @Test
+    void shouldStorePhotoUnderItsSha256() throws Exception {
+        byte[] photo = jpeg(200_000);
+
+        StoredPhoto stored = storage.store(new ByteArrayInputStream(photo));
+
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(photo));
+        assertThat(stored).isEqualTo(new StoredPhoto(sha256, photo.length, "image/jpeg"));
+        assertThat(Files.readAllBytes(storageDir.resolve(sha256.substring(0, 2)).resolve(sha256))).isEqualTo(photo);
+        assertThat(storage.find(sha256)).contains(stored);
+    }
+
+    @Test
+    void shouldStoreIdenticalPhotosOnce() throws IOException {
+        byte[] photo = jpeg(10_000);
+
+        StoredPhoto first = storage.store(new ByteArrayInputStream(photo));
+        StoredPhoto second = storage.store(new ByteArrayInputStream(photo));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(storedFiles()).hasSize(1);
+    }
+
+    @Test
+    void shouldDetectImageTypeFromShortReads() throws IOException {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+        InputStream trickle = new ByteArrayInputStream(png) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+
+        assertThat(storage.store(trickle).contentType()).isEqualTo("image/png");
+    }
+
+    @Test
+    void shouldRejectUnsupportedContentWithoutStoringIt() throws IOException {
+        assertThatThrownBy(() -> storage.store(new ByteArrayInputStream("<html></html>".getBytes())))
+                .isInstanceOf(InvalidPhotoException.class)
+                .satisfies(e -> assertThat(((InvalidPhotoException) e).isTooLarge()).isFalse());
+        assertThatThrownBy(() -> storage.store(new ByteArrayInputStream(new byte[0])))
+                .isInstanceOf(InvalidPhotoException.class);
+        assertThat(storedFiles()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectPhotosOverTheSizeLimit() throws IOException {
+        assertThatThrownBy(() -> storage.store(new ByteArrayInputStream(jpeg(1024 * 1024 + 1))))
+                .isInstanceOf(InvalidPhotoException.class)
+                .satisfies(e -> assertThat(((InvalidPhotoException) e).isTooLarge()).isTrue());
+        assertThat(storedFiles()).isEmpty();
+    }
+
+    @Test
+    void shouldTransferByteRange() throws IOException {
+        byte[] photo = jpeg(100_000);
+        StoredPhoto stored = storage.store(new ByteArrayInputStream(photo));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        storage.transferTo(stored, 70_000, 20_000, Channels.newChannel(out));
+
+        assertThat(out.toByteArray()).isEqualTo(Arrays.copyOfRange(photo, 70_000, 90_000));
+    }
+
+    @Test
+    void shouldNotFindUnknownOrMalformedHashes() {
+        assertThat(storage.find("0".repeat(64))).isEmpty();
+        assertThat(storage.find("../../etc/passwd")).isEmpty();
+    }
+
+    private List<Path> storedFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(storageDir)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private static byte[] jpeg(int size) {
+        byte[] photo = new byte[size];
+        new Random(size).nextBytes(photo);
+        System.arraycopy(JPEG_HEADER, 0, photo, 0, JPEG_HEADER.length);
+        return photo;
+    }
+}
@@ -0,0 +1,127 @@
+package com.urbanbloom.action.adapter.out.storage;
+
+import com.urbanbloom.action.domain.PhotoVariant;
+import com.urbanbloom.action.domain.StoredPhoto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhotoDerivativePipelineTest {
+
+    @TempDir
+    Path storageDir;
+
+    private LocalPhotoStorage storage;
+    private SimpleMeterRegistry meterRegistry;
+    private PhotoDerivativePipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalPhotoStorage(storageDir.toString(), 10 * 1024 * 1024);
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new PhotoDerivativePipeline(storage, meterRegistry, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void shouldWriteScaledJpegForEveryVariant() throws IOException {
+        StoredPhoto original = storage.store(new ByteArrayInputStream(png(3000, 1500)));
+
+        assertThat(pipeline.generate(original.sha256())).isEqualTo(2);
+
+        BufferedImage thumbnail = read(PhotoVariant.THUMBNAIL, original.sha256());
+        assertThat(thumbnail.getWidth()).isEqualTo(320);
+        assertThat(thumbnail.getHeight()).isEqualTo(160);
+        BufferedImage web = read(PhotoVariant.WEB, original.sha256());
+        assertThat(web.getWidth()).isEqualTo(1280);
+        assertThat(web.getHeight()).isEqualTo(640);
+        assertThat(storage.find(original.sha256(), PhotoVariant.WEB).orElseThrow().contentType()).isEqualTo("image/jpeg");
+        assertThat(storage.readFingerprint(original.sha256())).isPresent();
+
+        assertThat(pipeline.generate(original.sha256())).isZero();
+        assertThat(pipeline.request(original.sha256())).isFalse();
+        assertThat(meterRegistry.get("action.photo.derivatives.stage").tag("stage", "encode").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepSizeOfSmallPhotos() {
+        BufferedImage scaled = PhotoImages.scale(new BufferedImage(200, 100, BufferedImage.TYPE_INT_ARGB), 320);
+
+        assertThat(scaled.getWidth()).isEqualTo(200);
+        assertThat(scaled.getHeight()).isEqualTo(100);
+        assertThat(scaled.getType()).isEqualTo(BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Test
+    void shouldCountPhotosThatCannotBeDecoded() throws IOException {
+        byte[] webp = {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P', 'V', 'P', '8', ' '};
+        StoredPhoto original = storage.store(new ByteArrayInputStream(webp));
+
+        assertThat(pipeline.generate(original.sha256())).isZero();
+
+        assertThat(meterRegistry.get("action.photo.derivatives.unsupported").counter().count()).isEqualTo(1);
+        assertThat(storage.exists(original.sha256(), PhotoVariant.THUMBNAIL)).isFalse();
+    }
+
+    @Test
+    void shouldNotQueueUnsupportedPhotosAgain() throws IOException {
+        byte[] webp = {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P', 'V', 'P', '8', ' '};
+        StoredPhoto original = storage.store(new ByteArrayInputStream(webp));
+        pipeline.generate(original.sha256());
+
+        assertThat(storage.isUnsupported(original.sha256())).isTrue();
+        assertThat(pipeline.request(original.sha256())).isFalse();
+        assertThat(new LocalPhotoStorage(storageDir.toString(), 10 * 1024 * 1024).isUnsupported(original.sha256()))
+                .isTrue();
+    }
+
+    @Test
+    void shouldGenerateInBackgroundWhenRequested() throws Exception {
+        StoredPhoto original = storage.store(new ByteArrayInputStream(png(800, 600)));
+
+        assertThat(pipeline.request(original.sha256())).isTrue();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!storage.exists(original.sha256(), PhotoVariant.WEB) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(storage.exists(original.sha256(), PhotoVariant.THUMBNAIL)).isTrue();
+        assertThat(storage.exists(original.sha256(), PhotoVariant.WEB)).isTrue();
+    }
+
+    private BufferedImage read(PhotoVariant variant, String sha256) throws IOException {
+        StoredPhoto derivative = storage.find(sha256, variant).orElseThrow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        storage.transferTo(derivative, 0, derivative.size(), Channels.newChannel(out));
+        return ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x += 10) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, 0x2E7D32);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,131 @@
+package com.urbanbloom.action.application;
+
+import com.urbanbloom.action.adapter.out.persistence.InMemoryActionRepository;
+import com.urbanbloom.action.adapter.out.persistence.InMemoryIdempotencyStore;
+import com.urbanbloom.action.domain.IdempotencyKeyException;
+import com.urbanbloom.action.domain.LocationVO;
+import com.urbanbloom.action.domain.PhotoDerivativeGenerator;
+import com.urbanbloom.action.domain.PhotoStorage;
+import com.urbanbloom.action.domain.PlantVO;
+import com.urbanbloom.action.domain.VerificationQueue;
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ActionApplicationServiceIdempotencyTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final PlantVO PLANT = new PlantVO(UUID.randomUUID(), "Linde", "Tilia cordata");
+    private static final LocationVO LOCATION = new LocationVO(48.1374, 11.5755, "Marienplatz", UUID.randomUUID());
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+    @Mock
+    private PhotoStorage photoStorage;
+    @Mock
+    private PhotoDerivativeGenerator photoDerivatives;
+    @Mock
+    private VerificationQueue verificationQueue;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryActionRepository actionRepository;
+    private InMemoryIdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        actionRepository = new InMemoryActionRepository();
+        idempotencyStore = spy(new InMemoryIdempotencyStore(3600, 100));
+    }
+
+    @Test
+    void shouldReturnFirstActionForRetriedRequest() {
+        ActionApplicationService service = service();
+
+        String first = service.createAction(USER, "key-1", PLANT, LOCATION, "Neue Linde");
+        String retry = service.createAction(USER, "key-1", PLANT, LOCATION, "Neue Linde");
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(actionRepository.findByUserId(USER, null, 10)).hasSize(1);
+    }
+
+    @Test
+    void shouldReplayFromStoreWhenNotCached() {
+        String first = service().createAction(USER, "key-1", PLANT, LOCATION, "Neue Linde");
+
+        // Another instance, or an evicted cache entry
+        String retry = service().createAction(USER, "key-1", PLANT, LOCATION, "Neue Linde");
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(actionRepository.findByUserId(USER, null, 10)).hasSize(1);
+    }
+
+    @Test
+    void shouldScopeKeysToUserAndRejectReuseForOtherContent() {
+        ActionApplicationService service = service();
+        String first = service.createAction(USER, "key-1", PLANT, LOCATION, "Neue Linde");
+
+        assertThat(service.createAction(UUID.randomUUID(), "key-1", PLANT, LOCATION, "Neue Linde")).isNotEqualTo(first);
+        assertThatThrownBy(() -> service.createAction(USER, "key-1", PLANT, LOCATION, "Andere Linde"))
+                .isInstanceOf(IdempotencyKeyException.class)
+                .extracting(e -> ((IdempotencyKeyException) e).getReason())
+                .isEqualTo(IdempotencyKeyException.Reason.REUSED);
+        assertThatThrownBy(() -> service.createAction(USER, "key with spaces", PLANT, LOCATION, "Neue Linde"))
+                .extracting(e -> ((IdempotencyKeyException) e).getReason())
+                .isEqualTo(IdempotencyKeyException.Reason.INVALID);
+        assertThatThrownBy(() -> service.createAction(USER, "k".repeat(256), PLANT, LOCATION, "Neue Linde"))
+                .extracting(e -> ((IdempotencyKeyException) e).getReason())
+                .isEqualTo(IdempotencyKeyException.Reason.INVALID);
+    }
+
+    @Test
+    void shouldReleaseKeyAfterRollbackWhenCreationFails() {
+        ActionApplicationService service = service();
+        doThrow(new IllegalStateException("broker down")).doNothing().when(eventPublisher).publishAll(anyList());
+
+        assertThatThrownBy(() -> service.createAction(USER, "key-1", PLANT, LOCATION, "Neue Linde"))
+                .isInstanceOf(IllegalStateException.class);
+
+        InOrder inOrder = inOrder(transactionManager, idempotencyStore);
+        inOrder.verify(transactionManager).rollback(any());
+        inOrder.verify(idempotencyStore).release(USER, "key-1");
+        assertThat(service.createAction(USER, "key-1", PLANT, LOCATION, "Neue Linde")).isNotNull();
+    }
+
+    @Test
+    void shouldKeepReservationOfAnotherRequest() {
+        idempotencyStore.reserve(USER, "key-1", "0".repeat(64));
+
+        assertThatThrownBy(() -> service().createAction(USER, "key-1", PLANT, LOCATION, "Neue Linde"))
+                .isInstanceOf(IdempotencyKeyException.class);
+
+        verify(idempotencyStore, never()).release(any(), any());
+        assertThat(idempotencyStore.reserve(USER, "key-1", "0".repeat(64))).isPresent();
+    }
+
+    private ActionApplicationService service() {
+        return new ActionApplicationService(actionRepository, eventPublisher, photoStorage, photoDerivatives,
+                verificationQueue, idempotencyStore, new IdempotencyCache(new SimpleMeterRegistry(), 3600, 100),
+                new TransactionTemplate(transactionManager));
+    }
+}
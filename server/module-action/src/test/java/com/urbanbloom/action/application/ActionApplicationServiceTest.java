@@ -0,0 +1,140 @@
+package com.urbanbloom.action.application;
+
+import com.urbanbloom.action.adapter.out.persistence.InMemoryActionRepository;
+import com.urbanbloom.action.adapter.out.persistence.InMemoryIdempotencyStore;
+import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.ActionStatus;
+import com.urbanbloom.action.domain.ActionStatusException;
+import com.urbanbloom.action.domain.InvalidQueryException;
+import com.urbanbloom.action.domain.LocationVO;
+import com.urbanbloom.action.domain.PhotoDerivativeGenerator;
+import com.urbanbloom.action.domain.PhotoStorage;
+import com.urbanbloom.action.domain.PlantVO;
+import com.urbanbloom.action.domain.StoredPhoto;
+import com.urbanbloom.action.domain.VerificationQueue;
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActionApplicationServiceTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final String SHA256 = "a".repeat(64);
+    private static final StoredPhoto PHOTO = new StoredPhoto(SHA256, 1_024, "image/jpeg");
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+    @Mock
+    private PhotoStorage photoStorage;
+    @Mock
+    private PhotoDerivativeGenerator photoDerivatives;
+    @Mock
+    private VerificationQueue verificationQueue;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryActionRepository actionRepository;
+    private ActionApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        actionRepository = new InMemoryActionRepository();
+        service = new ActionApplicationService(actionRepository, eventPublisher, photoStorage, photoDerivatives,
+                verificationQueue, new InMemoryIdempotencyStore(3600, 100),
+                new IdempotencyCache(new SimpleMeterRegistry(), 3600, 100), new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void shouldRejectInvalidNearbyQueries() {
+        assertThatThrownBy(() -> service.getNearbyActions(Double.NaN, 11.5755, 1_000))
+                .isInstanceOf(InvalidQueryException.class);
+        assertThatThrownBy(() -> service.getNearbyActions(48.1374, Double.NaN, 1_000))
+                .isInstanceOf(InvalidQueryException.class);
+        assertThatThrownBy(() -> service.getNearbyActions(91, 11.5755, 1_000))
+                .isInstanceOf(InvalidQueryException.class);
+        assertThatThrownBy(() -> service.getNearbyActions(48.1374, 11.5755, Double.NaN))
+                .isInstanceOf(InvalidQueryException.class);
+        assertThatThrownBy(() -> service.getNearbyActions(48.1374, 11.5755, 0))
+                .isInstanceOf(InvalidQueryException.class);
+
+        assertThat(service.getNearbyActions(48.1374, 11.5755, Double.POSITIVE_INFINITY)).isEmpty();
+    }
+
+    @Test
+    void shouldAttachUploadedPhotoToDraftAction() throws Exception {
+        Action action = createAction(ActionStatus.DRAFT);
+        when(photoStorage.store(any(InputStream.class))).thenReturn(PHOTO);
+
+        assertThat(service.uploadPhoto(action.getId(), USER, photo())).isEqualTo(PHOTO);
+
+        assertThat(actionRepository.findById(action.getId())).get()
+                .extracting(Action::getPhotoUrl)
+                .isEqualTo(ActionApplicationService.PHOTO_URL_PREFIX + SHA256);
+        verify(photoDerivatives).request(SHA256);
+    }
+
+    @Test
+    void shouldRejectPhotoForSubmittedActionBeforeUploading() {
+        Action action = createAction(ActionStatus.PENDING_VERIFICATION);
+
+        assertThatThrownBy(() -> service.uploadPhoto(action.getId(), USER, photo()))
+                .isInstanceOf(ActionStatusException.class);
+        assertThatThrownBy(() -> service.uploadPhoto(action.getId(), UUID.randomUUID(), photo()))
+                .isInstanceOf(AccessDeniedException.class);
+
+        verifyNoInteractions(photoStorage, photoDerivatives);
+    }
+
+    @Test
+    void shouldNotOverwriteActionSubmittedDuringUpload() throws Exception {
+        Action action = createAction(ActionStatus.REJECTED);
+        when(photoStorage.store(any(InputStream.class))).thenAnswer(invocation -> {
+            // Another request replaces the photo and submits the action while this upload is streaming
+            actionRepository.save(Action.reconstruct(action.getId(), USER, action.getPlant(), action.getLocation(),
+                    action.getDescription(), "/api/v1/photos/other", ActionStatus.PENDING_VERIFICATION, null,
+                    action.getCreatedAt(), null));
+            return PHOTO;
+        });
+
+        assertThatThrownBy(() -> service.uploadPhoto(action.getId(), USER, photo()))
+                .isInstanceOf(ActionStatusException.class);
+
+        Action stored = actionRepository.findById(action.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(ActionStatus.PENDING_VERIFICATION);
+        assertThat(stored.getPhotoUrl()).isEqualTo("/api/v1/photos/other");
+        verify(photoDerivatives, never()).request(any());
+    }
+
+    private Action createAction(ActionStatus status) {
+        Action draft = Action.create(USER, new PlantVO(UUID.randomUUID(), "Linde", "Tilia cordata"),
+                new LocationVO(48.1374, 11.5755, "Marienplatz", UUID.randomUUID()), "Neue Linde");
+        Action action = Action.reconstruct(draft.getId(), USER, draft.getPlant(), draft.getLocation(),
+                draft.getDescription(), null, status, null, draft.getCreatedAt(), null);
+        actionRepository.save(action);
+        return action;
+    }
+
+    private static InputStream photo() {
+        return new ByteArrayInputStream(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF});
+    }
+}
@@ -0,0 +1,156 @@
+package com.urbanbloom.action.application;
+
+import com.urbanbloom.action.adapter.out.persistence.InMemoryActionRepository;
+import com.urbanbloom.action.adapter.out.persistence.InMemoryVerificationQueue;
+import com.urbanbloom.action.domain.Action;
+import com.urbanbloom.action.domain.ActionStatus;
+import com.urbanbloom.action.domain.ActionValidatedEvent;
+import com.urbanbloom.action.domain.ActionVerifier;
+import com.urbanbloom.action.domain.LocationVO;
+import com.urbanbloom.action.domain.PlantVO;
+import com.urbanbloom.shared.ddd.DomainEvent;
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ActionVerificationWorkerTest {
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<ActionVerifier> verifiers = new ArrayList<>(List.of(new BasicActionVerifier()));
+    private InMemoryActionRepository actionRepository;
+    private InMemoryVerificationQueue verificationQueue;
+    private SimpleMeterRegistry meterRegistry;
+    private ActionVerificationWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        actionRepository = new InMemoryActionRepository();
+        verificationQueue = new InMemoryVerificationQueue();
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new ActionVerificationWorker(actionRepository, verificationQueue, verifiers, eventPublisher,
+                transactionManager, meterRegistry, 1, 10, 3, 1000, 60_000, 0);
+    }
+
+    @Test
+    void shouldValidateSubmittedActionAndPublishEvent() {
+        List<DomainEvent> published = new ArrayList<>();
+        doAnswer(invocation -> published.addAll(invocation.getArgument(0))).when(eventPublisher).publishAll(anyList());
+        Action action = submit(48.137, 11.575);
+
+        assertThat(worker.processBatch()).isEqualTo(1);
+
+        assertThat(actionRepository.findById(action.getId()).orElseThrow().getStatus()).isEqualTo(ActionStatus.VALIDATED);
+        assertThat(published).singleElement().isInstanceOf(ActionValidatedEvent.class);
+        assertThat(verificationQueue.size()).isZero();
+    }
+
+    @Test
+    void shouldRejectActionFailingACheck() {
+        verifiers.add(action -> ActionVerifier.Verdict.reject("Duplicate photo"));
+        Action action = submit(48.137, 11.575);
+
+        worker.processBatch();
+
+        assertThat(actionRepository.findById(action.getId()).orElseThrow().getStatus()).isEqualTo(ActionStatus.REJECTED);
+        verify(eventPublisher).publishAll(List.of());
+        assertThat(meterRegistry.get("action.verification.completed").tag("outcome", "rejected").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectActionWhenRetriesAreExhausted() {
+        verifiers.add(action -> {
+            throw new IllegalStateException("Check unavailable");
+        });
+        Action action = submit(48.137, 11.575);
+
+        for (int i = 0; i < 5; i++) {
+            worker.processBatch();
+        }
+
+        assertThat(actionRepository.findById(action.getId()).orElseThrow().getStatus())
+                .isEqualTo(ActionStatus.REJECTED);
+        assertThat(meterRegistry.get("action.verification.retries").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("action.verification.given_up").counter().count()).isEqualTo(1);
+        assertThat(verificationQueue.size()).isEqualTo(1);
+        verify(eventPublisher, never()).publishAll(argThat(events -> !events.isEmpty()));
+    }
+
+    @Test
+    void shouldVerifyAgainWhenRejectedActionIsResubmitted() {
+        verifiers.add(action -> {
+            throw new IllegalStateException("Check unavailable");
+        });
+        Action action = submit(48.137, 11.575);
+        for (int i = 0; i < 3; i++) {
+            worker.processBatch();
+        }
+        verifiers.remove(1);
+
+        action.submitForVerification();
+        verificationQueue.enqueue(action.getId(), action.getLocation().getDistrictId(), Instant.now());
+
+        assertThat(worker.processBatch()).isEqualTo(1);
+        assertThat(actionRepository.findById(action.getId()).orElseThrow().getStatus()).isEqualTo(ActionStatus.VALIDATED);
+        assertThat(verificationQueue.size()).isZero();
+    }
+
+    @Test
+    void shouldLeaveOutcomeToNextClaimWhenLeaseWasLost() {
+        Action action = submit(48.137, 11.575);
+        // The task is enqueued again while the check runs, which ends the current claim
+        verifiers.add(checked -> {
+            verificationQueue.enqueue(checked.getId(), null, Instant.now());
+            return ActionVerifier.Verdict.reject("Duplicate photo");
+        });
+
+        worker.processBatch();
+
+        assertThat(actionRepository.findById(action.getId()).orElseThrow().getStatus())
+                .isEqualTo(ActionStatus.PENDING_VERIFICATION);
+        assertThat(verificationQueue.size()).isEqualTo(1);
+        verify(eventPublisher, never()).publishAll(anyList());
+    }
+
+    @Test
+    void shouldDropTasksOfActionsThatAreNoLongerPending() {
+        verificationQueue.enqueue("missing", null, Instant.now());
+
+        worker.processBatch();
+
+        assertThat(verificationQueue.size()).isZero();
+    }
+
+    private Action submit(double latitude, double longitude) {
+        Action action = Action.create(UUID.randomUUID(), new PlantVO(UUID.randomUUID(), "Sonnenblume", "Helianthus annuus"),
+                new LocationVO(latitude, longitude, "Marienplatz", UUID.randomUUID()), "Gepflanzt");
+        action.uploadPhoto("/api/v1/photos/" + "a".repeat(64));
+        action.submitForVerification();
+        actionRepository.save(action);
+        verificationQueue.enqueue(action.getId(), action.getLocation().getDistrictId(), Instant.now());
+        return action;
+    }
+}
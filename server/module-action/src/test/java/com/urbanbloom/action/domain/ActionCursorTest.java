@@ -0,0 +1,30 @@
+package com.urbanbloom.action.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActionCursorTest {
+
+    @Test
+    void shouldRoundTripThroughEncodedToken() {
+        ActionCursor cursor = new ActionCursor(Instant.parse("2026-03-01T10:15:30.123456Z"), "b1c2d3");
+
+        ActionCursor decoded = ActionCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        assertThatThrownBy(() -> ActionCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidQueryException.class);
+        assertThatThrownBy(() -> ActionCursor.decode("%%%"))
+                .isInstanceOf(InvalidQueryException.class);
+        assertThatThrownBy(() -> ActionCursor.decode(new ActionCursor(Instant.EPOCH, "x").encode().substring(4)))
+                .isInstanceOf(InvalidQueryException.class);
+    }
+}
@@ -4,24 +4,32 @@ import com.urbanbloom.action.domain.ActionValidatedEvent;
 import com.urbanbloom.gamification.application.GamificationApplicationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Listener for ActionValidatedEvent to award points.
+ * Runs only after the validating transaction has committed; with the outbox publisher that is on the relay
+ * thread, so the points write adds no latency to the verify request.
+ * Events are delivered at least once; the action is recorded as handled in the same transaction as its points,
+ * so a failed award is retried by the redelivery and a redelivered event after success awards nothing.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ActionValidatedListener {
 
+    static final String CONSUMER = "gamification.action-validated";
+
     private final GamificationApplicationService gamificationService;
 
-    @EventListener
-    @Transactional
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onActionValidated(ActionValidatedEvent event) {
         log.info("Reacting to ActionValidatedEvent for user: {}", event.getUserId());
-        gamificationService.awardPoints(event.getUserId(), event.getPoints());
+        if (!gamificationService.awardPointsOnce(
+                CONSUMER, event.getActionId(), event.getUserId(), event.getPoints(), event.getDistrictId())) {
+            log.info("Points for action {} were already awarded, ignoring redelivered event", event.getActionId());
+        }
     }
 }
@@ -0,0 +1,28 @@
+package com.urbanbloom.gamification.adapter.in.event;
+
+import com.urbanbloom.gamification.application.LeaderboardService;
+import com.urbanbloom.gamification.domain.PointsAwardedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener for PointsAwardedEvent to keep the leaderboards current.
+ * Runs after commit so that a rolled-back award never shows up in a ranking.
+ * Idempotent without bookkeeping: the event carries absolute totals and the boards ignore totals that are not
+ * higher than the recorded ones, so a redelivered or out-of-order event changes nothing. The boards live in
+ * memory and are rebuilt from the database on startup, so a persistent record of handled events would be wrong here.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointsAwardedListener {
+
+    private final LeaderboardService leaderboardService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPointsAwarded(PointsAwardedEvent event) {
+        leaderboardService.recordTotals(
+                event.getUserId(), event.getTotalPoints(), event.getDistrictId(), event.getDistrictTotalPoints());
+    }
+}
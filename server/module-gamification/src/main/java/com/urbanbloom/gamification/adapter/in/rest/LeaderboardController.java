@@ -0,0 +1,73 @@
+package com.urbanbloom.gamification.adapter.in.rest;
+
+import com.urbanbloom.gamification.application.LeaderboardService;
+import com.urbanbloom.gamification.domain.LeaderboardEntry;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for leaderboards.
+ * Every endpoint accepts an optional {@code districtId} to use that district's board instead of the global one.
+ */
+@RestController
+@RequestMapping("/api/v1/gamification/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntryDto>> getTop(
+            @RequestParam(required = false) UUID districtId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(toDtos(leaderboardService.getTop(districtId, limit)));
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardEntryDto> getMyRank(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) UUID districtId) {
+        UUID userId = UUID.fromString(jwt.getSubject());
+        return leaderboardService.getRank(userId, districtId)
+                .map(LeaderboardEntryDto::from)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/around-me")
+    public ResponseEntity<List<LeaderboardEntryDto>> getAroundMe(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) UUID districtId,
+            @RequestParam(defaultValue = "5") int range) {
+        UUID userId = UUID.fromString(jwt.getSubject());
+        return ResponseEntity.ok(toDtos(leaderboardService.getAroundUser(userId, districtId, range)));
+    }
+
+    private static List<LeaderboardEntryDto> toDtos(List<LeaderboardEntry> entries) {
+        return entries.stream()
+                .map(LeaderboardEntryDto::from)
+                .toList();
+    }
+
+    @Data
+    @RequiredArgsConstructor
+    public static class LeaderboardEntryDto {
+        private final int rank;
+        private final UUID userId;
+        private final int points;
+
+        static LeaderboardEntryDto from(LeaderboardEntry entry) {
+            return new LeaderboardEntryDto(entry.rank(), entry.userId(), entry.points());
+        }
+    }
+}
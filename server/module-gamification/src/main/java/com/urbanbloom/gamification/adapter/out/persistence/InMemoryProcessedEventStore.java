@@ -0,0 +1,41 @@
+package com.urbanbloom.gamification.adapter.out.persistence;
+
+import com.urbanbloom.gamification.domain.ProcessedEventStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link ProcessedEventStore}; forgets everything on restart.
+ * A record made in a transaction that rolls back is forgotten again.
+ * Active only when {@code urbanbloom.gamification.repository=in-memory}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "urbanbloom.gamification", name = "repository", havingValue = "in-memory")
+public class InMemoryProcessedEventStore implements ProcessedEventStore {
+
+    private final Set<String> processed = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public boolean markProcessed(String consumer, String eventKey) {
+        String key = consumer + '/' + eventKey;
+        if (!processed.add(key)) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        processed.remove(key);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+}
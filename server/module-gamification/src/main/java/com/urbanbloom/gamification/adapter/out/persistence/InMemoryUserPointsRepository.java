@@ -1,9 +1,13 @@
 package com.urbanbloom.gamification.adapter.out.persistence;
 
+import com.urbanbloom.gamification.domain.DistrictPoints;
 import com.urbanbloom.gamification.domain.UserPoints;
 import com.urbanbloom.gamification.domain.UserPointsRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,19 +15,70 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * In-memory repository for UserPoints aggregates.
+ * Stored instances are never mutated; every increment replaces the entry with a new snapshot
+ * inside {@link ConcurrentHashMap#compute}, so readers always see a consistent total and level.
+ * Active only when {@code urbanbloom.gamification.repository=in-memory}.
  */
 @Repository
+@ConditionalOnProperty(prefix = "urbanbloom.gamification", name = "repository", havingValue = "in-memory")
 public class InMemoryUserPointsRepository implements UserPointsRepository {
 
     private final Map<UUID, UserPoints> points = new ConcurrentHashMap<>();
+    private final Map<DistrictKey, Integer> districtPoints = new ConcurrentHashMap<>();
 
     @Override
     public void save(UserPoints userPoints) {
-        points.put(userPoints.getUserId(), userPoints);
+        points.put(userPoints.getUserId(), UserPoints.reconstruct(userPoints.getUserId(), userPoints.getTotalPoints()));
     }
 
     @Override
     public Optional<UserPoints> findByUserId(UUID userId) {
-        return Optional.ofNullable(points.get(userId));
+        return Optional.ofNullable(points.get(userId))
+                .map(current -> UserPoints.reconstruct(userId, current.getTotalPoints()));
+    }
+
+    @Override
+    public List<UserPoints> findAll() {
+        return points.values().stream()
+                .map(current -> UserPoints.reconstruct(current.getUserId(), current.getTotalPoints()))
+                .toList();
+    }
+
+    @Override
+    public UserPoints addPoints(UUID userId, int points) {
+        UserPoints updated = this.points.compute(userId, (id, current) -> {
+            UserPoints next = UserPoints.reconstruct(id, current != null ? current.getTotalPoints() : 0);
+            next.addPoints(points);
+            return next;
+        });
+        return UserPoints.reconstruct(userId, updated.getTotalPoints());
+    }
+
+    @Override
+    public int addDistrictPoints(UUID userId, UUID districtId, int points) {
+        return districtPoints.merge(new DistrictKey(userId, districtId), points, Integer::sum);
+    }
+
+    @Override
+    public List<DistrictPoints> findAllDistrictPoints() {
+        return districtPoints.entrySet().stream()
+                .map(entry -> new DistrictPoints(entry.getKey().userId(), entry.getKey().districtId(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Returns all entries: no change times are kept, and no other instance can write to this store.
+     */
+    @Override
+    public List<UserPoints> findUpdatedSince(Instant since) {
+        return findAll();
+    }
+
+    @Override
+    public List<DistrictPoints> findDistrictPointsUpdatedSince(Instant since) {
+        return findAllDistrictPoints();
+    }
+
+    private record DistrictKey(UUID userId, UUID districtId) {
     }
 }
@@ -0,0 +1,33 @@
+package com.urbanbloom.gamification.adapter.out.persistence;
+
+import com.urbanbloom.gamification.domain.ProcessedEventStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link ProcessedEventStore} on a PostgreSQL table keyed by consumer and event key.
+ * Requires the caller's transaction, so the record commits together with the consumer's writes.
+ * Default implementation; set {@code urbanbloom.gamification.repository=in-memory} to use the in-memory store.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "urbanbloom.gamification", name = "repository", havingValue = "jpa", matchIfMissing = true)
+public class JdbcProcessedEventStore implements ProcessedEventStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean markProcessed(String consumer, String eventKey) {
+        return jdbcTemplate.update("""
+                        INSERT INTO module_gamification_schema.processed_events (consumer, event_key)
+                        VALUES (?, ?)
+                        ON CONFLICT (consumer, event_key) DO NOTHING
+                        """,
+                consumer, eventKey) == 1;
+    }
+}
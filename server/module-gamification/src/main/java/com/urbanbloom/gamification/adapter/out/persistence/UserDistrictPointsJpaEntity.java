@@ -0,0 +1,50 @@
+package com.urbanbloom.gamification.adapter.out.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA entity for a user's points within one district.
+ */
+@Entity
+@Table(name = "user_district_points", schema = "module_gamification_schema")
+@IdClass(UserDistrictPointsJpaEntity.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDistrictPointsJpaEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Id
+    @Column(name = "district_id")
+    private UUID districtId;
+
+    @Column(name = "total_points", nullable = false)
+    private int totalPoints;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private UUID districtId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.urbanbloom.gamification.adapter.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for UserDistrictPointsJpaEntity.
+ */
+@Repository
+public interface UserDistrictPointsJpaRepository
+        extends JpaRepository<UserDistrictPointsJpaEntity, UserDistrictPointsJpaEntity.Key> {
+
+    /**
+     * Adds points in a single statement, see {@link UserPointsJpaRepository#addPoints}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            INSERT INTO module_gamification_schema.user_district_points (user_id, district_id, total_points, updated_at)
+            VALUES (:userId, :districtId, :points, now())
+            ON CONFLICT (user_id, district_id) DO UPDATE
+               SET total_points = user_district_points.total_points + EXCLUDED.total_points,
+                   updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int addPoints(@Param("userId") UUID userId, @Param("districtId") UUID districtId, @Param("points") int points);
+
+    List<UserDistrictPointsJpaEntity> findByUpdatedAtGreaterThanEqual(Instant since);
+}
@@ -0,0 +1,36 @@
+package com.urbanbloom.gamification.adapter.out.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA entity for UserPoints.
+ * Only the total is stored; the level is derived by the domain model.
+ */
+@Entity
+@Table(name = "user_points", schema = "module_gamification_schema")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPointsJpaEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "total_points", nullable = false)
+    private int totalPoints;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.urbanbloom.gamification.adapter.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for UserPointsJpaEntity.
+ */
+@Repository
+public interface UserPointsJpaRepository extends JpaRepository<UserPointsJpaEntity, UUID> {
+
+    /**
+     * Adds points in a single statement. The row lock taken by the upsert serializes
+     * concurrent increments for the same user, so no read-modify-write race is possible.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            INSERT INTO module_gamification_schema.user_points (user_id, total_points, updated_at)
+            VALUES (:userId, :points, now())
+            ON CONFLICT (user_id) DO UPDATE
+               SET total_points = user_points.total_points + EXCLUDED.total_points,
+                   updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int addPoints(@Param("userId") UUID userId, @Param("points") int points);
+
+    List<UserPointsJpaEntity> findByUpdatedAtGreaterThanEqual(Instant since);
+}
@@ -0,0 +1,25 @@
+package com.urbanbloom.gamification.adapter.out.persistence;
+
+import com.urbanbloom.gamification.domain.UserPoints;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Mapper between domain UserPoints and JPA entity.
+ */
+@Component
+public class UserPointsPersistenceMapper {
+
+    public UserPointsJpaEntity toEntity(UserPoints domain) {
+        return UserPointsJpaEntity.builder()
+                .userId(domain.getUserId())
+                .totalPoints(domain.getTotalPoints())
+                .updatedAt(Instant.now())
+                .build();
+    }
+
+    public UserPoints toDomain(UserPointsJpaEntity entity) {
+        return UserPoints.reconstruct(entity.getUserId(), entity.getTotalPoints());
+    }
+}
@@ -0,0 +1,91 @@
+package com.urbanbloom.gamification.adapter.out.persistence;
+
+import com.urbanbloom.gamification.domain.DistrictPoints;
+import com.urbanbloom.gamification.domain.UserPoints;
+import com.urbanbloom.gamification.domain.UserPointsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Adapter implementing the UserPointsRepository port on top of PostgreSQL.
+ * Default implementation; set {@code urbanbloom.gamification.repository=in-memory} to use the in-memory store.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "urbanbloom.gamification", name = "repository", havingValue = "jpa", matchIfMissing = true)
+public class UserPointsRepositoryAdapter implements UserPointsRepository {
+
+    private final UserPointsJpaRepository jpaRepository;
+    private final UserDistrictPointsJpaRepository districtJpaRepository;
+    private final UserPointsPersistenceMapper mapper;
+
+    @Override
+    public void save(UserPoints userPoints) {
+        jpaRepository.save(mapper.toEntity(userPoints));
+    }
+
+    @Override
+    public Optional<UserPoints> findByUserId(UUID userId) {
+        return jpaRepository.findById(userId)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public List<UserPoints> findAll() {
+        return jpaRepository.findAll().stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public UserPoints addPoints(UUID userId, int points) {
+        jpaRepository.addPoints(userId, points);
+        // Same transaction as the upsert, so this reads our own increment while still holding the row lock
+        return jpaRepository.findById(userId)
+                .map(mapper::toDomain)
+                .orElseThrow(() -> new IllegalStateException("User points missing after upsert: " + userId));
+    }
+
+    @Override
+    @Transactional
+    public int addDistrictPoints(UUID userId, UUID districtId, int points) {
+        districtJpaRepository.addPoints(userId, districtId, points);
+        return districtJpaRepository.findById(new UserDistrictPointsJpaEntity.Key(userId, districtId))
+                .map(UserDistrictPointsJpaEntity::getTotalPoints)
+                .orElseThrow(() -> new IllegalStateException(
+                        "District points missing after upsert: " + userId + "/" + districtId));
+    }
+
+    @Override
+    public List<DistrictPoints> findAllDistrictPoints() {
+        return districtJpaRepository.findAll().stream()
+                .map(UserPointsRepositoryAdapter::toDistrictPoints)
+                .toList();
+    }
+
+    @Override
+    public List<UserPoints> findUpdatedSince(Instant since) {
+        return jpaRepository.findByUpdatedAtGreaterThanEqual(since).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<DistrictPoints> findDistrictPointsUpdatedSince(Instant since) {
+        return districtJpaRepository.findByUpdatedAtGreaterThanEqual(since).stream()
+                .map(UserPointsRepositoryAdapter::toDistrictPoints)
+                .toList();
+    }
+
+    private static DistrictPoints toDistrictPoints(UserDistrictPointsJpaEntity entity) {
+        return new DistrictPoints(entity.getUserId(), entity.getDistrictId(), entity.getTotalPoints());
+    }
+}
@@ -1,9 +1,13 @@
 package com.urbanbloom.gamification.application;
 
+import com.urbanbloom.gamification.domain.PointsAwardedEvent;
+import com.urbanbloom.gamification.domain.ProcessedEventStore;
 import com.urbanbloom.gamification.domain.UserPoints;
 import com.urbanbloom.gamification.domain.UserPointsRepository;
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
@@ -16,14 +20,49 @@ import java.util.UUID;
 public class GamificationApplicationService {
 
     private final UserPointsRepository repository;
+    private final DomainEventPublisher eventPublisher;
+    private final ProcessedEventStore processedEvents;
 
+    /**
+     * Awards points to a user. The increment is applied atomically by the repository,
+     * so concurrent awards for the same user are never lost.
+     */
     @Transactional
-    public void awardPoints(UUID userId, int points) {
-        UserPoints userPoints = repository.findByUserId(userId)
-                .orElseGet(() -> new UserPoints(userId));
-        
-        userPoints.addPoints(points);
-        repository.save(userPoints);
+    public UserPoints awardPoints(UUID userId, int points) {
+        return awardPoints(userId, points, null);
+    }
+
+    /**
+     * Awards points to a user and, if known, to the user's total in the district the points were earned in.
+     */
+    @Transactional
+    public UserPoints awardPoints(UUID userId, int points, UUID districtId) {
+        UserPoints userPoints = repository.addPoints(userId, points);
+        int districtTotal = districtId != null ? repository.addDistrictPoints(userId, districtId, points) : 0;
+
+        eventPublisher.publish(new PointsAwardedEvent(
+                userId, points, userPoints.getTotalPoints(), districtId, districtTotal));
+        return userPoints;
+    }
+
+    /**
+     * Awards points for an event unless the consumer has handled the event before.
+     * The event is recorded in the same transaction as the points, so a failed award leaves the event
+     * unrecorded and its redelivery awards the points, while a redelivery after success awards nothing.
+     * Runs in a new transaction because listeners are called after the publishing transaction has committed,
+     * where joining it would silently drop the writes.
+     *
+     * @param consumer name of the consuming listener
+     * @param eventKey key identifying the event within the consumer, e.g. the action id
+     * @return true if the points were awarded, false if the event was handled before
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean awardPointsOnce(String consumer, String eventKey, UUID userId, int points, UUID districtId) {
+        if (!processedEvents.markProcessed(consumer, eventKey)) {
+            return false;
+        }
+        awardPoints(userId, points, districtId);
+        return true;
     }
 
     public UserPoints getUserPoints(UUID userId) {
@@ -0,0 +1,143 @@
+package com.urbanbloom.gamification.application;
+
+import com.urbanbloom.gamification.domain.DistrictPoints;
+import com.urbanbloom.gamification.domain.LeaderboardEntry;
+import com.urbanbloom.gamification.domain.UserPoints;
+import com.urbanbloom.gamification.domain.UserPointsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the global and per-district leaderboards from in-memory ranking boards.
+ * The boards are loaded once on startup and then kept current from point awards.
+ * A points award event is handled on only one instance, so every instance also catches up periodically on
+ * the totals changed since its last load. The catch-up re-reads a short overlap because a total is stamped
+ * before its transaction commits; re-applying a total is harmless, since the boards only take higher totals.
+ */
+@Slf4j
+@Service
+public class LeaderboardService {
+
+    public static final int MAX_LIMIT = 100;
+    public static final int MAX_RANGE = 25;
+
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserPointsRepository repository;
+    private final long catchUpIntervalMillis;
+
+    private final RankingBoard globalBoard = new RankingBoard();
+    private final Map<UUID, RankingBoard> districtBoards = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService catchUpScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "leaderboard-catch-up");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Instant loadedSince = Instant.EPOCH;
+
+    public LeaderboardService(UserPointsRepository repository,
+                              @Value("${urbanbloom.gamification.leaderboard.catch-up-interval-ms:5000}") long catchUpIntervalMillis) {
+        this.repository = repository;
+        this.catchUpIntervalMillis = catchUpIntervalMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadBoards() {
+        Instant startedAt = Instant.now();
+        apply(repository.findAll(), repository.findAllDistrictPoints());
+        loadedSince = startedAt;
+        log.info("Leaderboards loaded: {} users, {} districts", globalBoard.size(), districtBoards.size());
+        catchUpScheduler.scheduleWithFixedDelay(this::catchUp, catchUpIntervalMillis, catchUpIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        catchUpScheduler.shutdownNow();
+    }
+
+    /**
+     * Applies the totals changed since the last load, including those awarded on other instances.
+     */
+    synchronized void catchUp() {
+        try {
+            Instant startedAt = Instant.now();
+            Instant since = loadedSince.minus(CATCH_UP_OVERLAP);
+            apply(repository.findUpdatedSince(since), repository.findDistrictPointsUpdatedSince(since));
+            loadedSince = startedAt;
+        } catch (RuntimeException e) {
+            log.warn("Catching up the leaderboards failed", e);
+        }
+    }
+
+    private void apply(List<UserPoints> userPoints, List<DistrictPoints> districtPoints) {
+        for (UserPoints points : userPoints) {
+            globalBoard.update(points.getUserId(), points.getTotalPoints());
+        }
+        for (DistrictPoints points : districtPoints) {
+            districtBoard(points.districtId()).update(points.userId(), points.totalPoints());
+        }
+    }
+
+    /**
+     * Records the user's new totals after an award.
+     *
+     * @param districtId district the points were earned in, or null
+     */
+    public void recordTotals(UUID userId, int totalPoints, UUID districtId, int districtTotalPoints) {
+        globalBoard.update(userId, totalPoints);
+        if (districtId != null) {
+            districtBoard(districtId).update(userId, districtTotalPoints);
+        }
+    }
+
+    /**
+     * Returns the best users, highest points first.
+     *
+     * @param districtId restricts the board to one district, or null for the global board
+     * @param limit      number of entries, capped at {@value #MAX_LIMIT}
+     */
+    public List<LeaderboardEntry> getTop(UUID districtId, int limit) {
+        return board(districtId)
+                .map(board -> board.top(Math.max(1, Math.min(limit, MAX_LIMIT))))
+                .orElse(List.of());
+    }
+
+    public Optional<LeaderboardEntry> getRank(UUID userId, UUID districtId) {
+        return board(districtId).flatMap(board -> board.rankOf(userId));
+    }
+
+    /**
+     * Returns the user's entry with up to {@code range} neighbours on each side.
+     *
+     * @param range neighbours per side, capped at {@value #MAX_RANGE}
+     */
+    public List<LeaderboardEntry> getAroundUser(UUID userId, UUID districtId, int range) {
+        return board(districtId)
+                .map(board -> board.around(userId, Math.max(0, Math.min(range, MAX_RANGE))))
+                .orElse(List.of());
+    }
+
+    private Optional<RankingBoard> board(UUID districtId) {
+        return districtId == null ? Optional.of(globalBoard) : Optional.ofNullable(districtBoards.get(districtId));
+    }
+
+    private RankingBoard districtBoard(UUID districtId) {
+        return districtBoards.computeIfAbsent(districtId, id -> new RankingBoard());
+    }
+}
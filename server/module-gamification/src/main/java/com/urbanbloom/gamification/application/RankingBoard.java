@@ -0,0 +1,203 @@
+package com.urbanbloom.gamification.application;
+
+import com.urbanbloom.gamification.domain.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Incrementally maintained ranking of users by points.
+ * Users are kept in a sorted set ordered by points (descending) for top-N and neighbour queries.
+ * A Fenwick tree counts users per point bucket and a map counts users per point value, so the rank of a user
+ * is a prefix sum plus at most {@value #BUCKET_WIDTH} point values of the same bucket (more only in the last,
+ * open-ended bucket) instead of a walk over the users.
+ * Ranks use competition ranking: users with equal points share a rank.
+ * All state is guarded by a read-write lock.
+ */
+class RankingBoard {
+
+    static final int BUCKET_WIDTH = 10;
+    /** Buckets cover 0..99,999 points; higher totals share the last bucket. */
+    static final int BUCKET_COUNT = 10_000;
+
+    private final Map<UUID, Integer> scores = new HashMap<>();
+    private final NavigableSet<Entry> ordered = new TreeSet<>();
+    private final NavigableMap<Integer, Integer> usersByPoints = new TreeMap<>();
+    private final int[] bucketTree = new int[BUCKET_COUNT + 1];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Sets the user's points. Points only grow, so a value lower than the current one
+     * (e.g. from an out-of-order update) is ignored.
+     *
+     * @return true if the board changed
+     */
+    boolean update(UUID userId, int points) {
+        lock.writeLock().lock();
+        try {
+            Integer current = scores.get(userId);
+            if (current != null && current >= points) {
+                return false;
+            }
+            if (current != null) {
+                ordered.remove(new Entry(current, userId));
+                usersByPoints.computeIfPresent(current, (p, count) -> count == 1 ? null : count - 1);
+                addToBucket(bucketOf(current), -1);
+            }
+            scores.put(userId, points);
+            ordered.add(new Entry(points, userId));
+            usersByPoints.merge(points, 1, Integer::sum);
+            addToBucket(bucketOf(points), 1);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<LeaderboardEntry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> result = new ArrayList<>(Math.min(limit, scores.size()));
+            int position = 0;
+            int rank = 0;
+            int previousPoints = -1;
+            for (Entry entry : ordered) {
+                if (position == limit) {
+                    break;
+                }
+                position++;
+                if (entry.points() != previousPoints) {
+                    rank = position;
+                    previousPoints = entry.points();
+                }
+                result.add(new LeaderboardEntry(rank, entry.userId(), entry.points()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Optional<LeaderboardEntry> rankOf(UUID userId) {
+        lock.readLock().lock();
+        try {
+            Integer points = scores.get(userId);
+            if (points == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new LeaderboardEntry(rankOfPoints(points), userId, points));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code range} users above and below the given user, plus the user itself.
+     */
+    List<LeaderboardEntry> around(UUID userId, int range) {
+        lock.readLock().lock();
+        try {
+            Integer points = scores.get(userId);
+            if (points == null) {
+                return List.of();
+            }
+            Entry self = new Entry(points, userId);
+
+            List<Entry> window = new ArrayList<>(2 * range + 1);
+            for (Entry entry : ordered.headSet(self, false).descendingSet()) {
+                if (window.size() == range) {
+                    break;
+                }
+                window.add(entry);
+            }
+            Collections.reverse(window);
+            window.add(self);
+            int belowStart = window.size();
+            for (Entry entry : ordered.tailSet(self, false)) {
+                if (window.size() - belowStart == range) {
+                    break;
+                }
+                window.add(entry);
+            }
+
+            List<LeaderboardEntry> result = new ArrayList<>(window.size());
+            for (Entry entry : window) {
+                result.add(new LeaderboardEntry(rankOfPoints(entry.points()), entry.userId(), entry.points()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return scores.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 1 + number of users with strictly more points. Caller must hold the lock.
+     */
+    private int rankOfPoints(int points) {
+        int bucket = bucketOf(points);
+        int inHigherBuckets = scores.size() - countUpToBucket(bucket);
+        int bucketMax = bucket == BUCKET_COUNT - 1 ? Integer.MAX_VALUE : (bucket + 1) * BUCKET_WIDTH - 1;
+        int higherInSameBucket = 0;
+        for (int count : usersByPoints.subMap(points, false, bucketMax, true).values()) {
+            higherInSameBucket += count;
+        }
+        return inHigherBuckets + higherInSameBucket + 1;
+    }
+
+    private static int bucketOf(int points) {
+        return Math.min(Math.max(points, 0) / BUCKET_WIDTH, BUCKET_COUNT - 1);
+    }
+
+    private void addToBucket(int bucket, int delta) {
+        for (int i = bucket + 1; i <= BUCKET_COUNT; i += i & -i) {
+            bucketTree[i] += delta;
+        }
+    }
+
+    /**
+     * Number of users in buckets 0..bucket (inclusive).
+     */
+    private int countUpToBucket(int bucket) {
+        int count = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            count += bucketTree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Sort key: highest points first, user id as tie-breaker.
+     */
+    private record Entry(int points, UUID userId) implements Comparable<Entry> {
+
+        private static final Comparator<Entry> ORDER = Comparator
+                .comparingInt(Entry::points).reversed()
+                .thenComparing(Entry::userId);
+
+        @Override
+        public int compareTo(Entry other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.urbanbloom.gamification.domain;
+
+import java.util.UUID;
+
+/**
+ * Points a user has earned with actions in one district.
+ */
+public record DistrictPoints(UUID userId, UUID districtId, int totalPoints) {
+}
@@ -0,0 +1,9 @@
+package com.urbanbloom.gamification.domain;
+
+import java.util.UUID;
+
+/**
+ * One row of a leaderboard. Users with equal points share the same rank.
+ */
+public record LeaderboardEntry(int rank, UUID userId, int points) {
+}
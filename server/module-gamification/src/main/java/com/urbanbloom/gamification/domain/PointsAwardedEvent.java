@@ -0,0 +1,36 @@
+package com.urbanbloom.gamification.domain;
+
+import com.urbanbloom.shared.ddd.DomainEvent;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Event published after points have been added to a user's total.
+ * Carries the new totals so that read models can update without reloading.
+ */
+@Getter
+@ToString
+public class PointsAwardedEvent extends DomainEvent {
+    private final UUID userId;
+    private final int points;
+    private final int totalPoints;
+    /** District the points were earned in; null if unknown. */
+    private final UUID districtId;
+    /** The user's total in {@link #districtId}; 0 if the district is unknown. */
+    private final int districtTotalPoints;
+
+    public PointsAwardedEvent(UUID userId, int points, int totalPoints, UUID districtId, int districtTotalPoints) {
+        this.userId = userId;
+        this.points = points;
+        this.totalPoints = totalPoints;
+        this.districtId = districtId;
+        this.districtTotalPoints = districtTotalPoints;
+    }
+
+    @Override
+    public String getAggregateId() {
+        return userId.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.urbanbloom.gamification.domain;
+
+/**
+ * Remembers which events a consumer has already handled, so that redelivered events are ignored.
+ */
+public interface ProcessedEventStore {
+
+    /**
+     * Records the event as handled by the consumer, in the caller's transaction: the record must commit
+     * or roll back together with the consumer's own writes.
+     *
+     * @param consumer name of the consuming listener
+     * @param eventKey key identifying the event within the consumer, e.g. the action id
+     * @return true if this is the first time, false if the event was recorded before
+     */
+    boolean markProcessed(String consumer, String eventKey);
+}
@@ -24,6 +24,16 @@ public class UserPoints extends AggregateRoot {
         this.level = 1;
     }
 
+    /**
+     * Rebuilds a UserPoints aggregate from its persisted total.
+     */
+    public static UserPoints reconstruct(UUID userId, int totalPoints) {
+        UserPoints userPoints = new UserPoints(userId);
+        userPoints.totalPoints = totalPoints;
+        userPoints.updateLevel();
+        return userPoints;
+    }
+
     public void addPoints(int points) {
         this.totalPoints += points;
         updateLevel();
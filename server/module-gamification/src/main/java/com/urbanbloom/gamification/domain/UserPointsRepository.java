@@ -1,5 +1,7 @@
 package com.urbanbloom.gamification.domain;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -9,4 +11,33 @@ import java.util.UUID;
 public interface UserPointsRepository {
     void save(UserPoints userPoints);
     Optional<UserPoints> findByUserId(UUID userId);
+    List<UserPoints> findAll();
+
+    /**
+     * Atomically adds points to the user's total, creating the entry if it does not exist.
+     * Concurrent calls for the same user must never lose an update.
+     *
+     * @return the user's points after the increment
+     */
+    UserPoints addPoints(UUID userId, int points);
+
+    /**
+     * Atomically adds points to the user's total within one district.
+     *
+     * @return the user's district total after the increment
+     */
+    int addDistrictPoints(UUID userId, UUID districtId, int points);
+
+    List<DistrictPoints> findAllDistrictPoints();
+
+    /**
+     * Returns the users whose points changed at or after the given time, including changes made by other instances.
+     * Implementations may return more entries than that; every entry carries the user's current total.
+     */
+    List<UserPoints> findUpdatedSince(Instant since);
+
+    /**
+     * Returns the district totals that changed at or after the given time, see {@link #findUpdatedSince}.
+     */
+    List<DistrictPoints> findDistrictPointsUpdatedSince(Instant since);
 }
@@ -0,0 +1,44 @@
+package com.urbanbloom.gamification.adapter.in.event;
+
+import com.urbanbloom.action.domain.ActionValidatedEvent;
+import com.urbanbloom.gamification.application.GamificationApplicationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActionValidatedListenerTest {
+
+    @Mock
+    private GamificationApplicationService gamificationService;
+
+    @Test
+    void shouldAwardPointsOnceForTheAction() {
+        ActionValidatedListener listener = new ActionValidatedListener(gamificationService);
+        UUID userId = UUID.randomUUID();
+        UUID districtId = UUID.randomUUID();
+
+        listener.onActionValidated(new ActionValidatedEvent("action-1", userId, 10, districtId));
+
+        verify(gamificationService).awardPointsOnce(ActionValidatedListener.CONSUMER, "action-1", userId, 10, districtId);
+    }
+
+    @Test
+    void shouldPassFailedAwardsToTheRelay() {
+        ActionValidatedListener listener = new ActionValidatedListener(gamificationService);
+        UUID userId = UUID.randomUUID();
+        when(gamificationService.awardPointsOnce(ActionValidatedListener.CONSUMER, "action-1", userId, 10, null))
+                .thenThrow(new IllegalStateException("db down"));
+
+        // The outbox relay keeps the event and delivers it again
+        assertThatThrownBy(() -> listener.onActionValidated(new ActionValidatedEvent("action-1", userId, 10, null)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,32 @@
+package com.urbanbloom.gamification.adapter.in.event;
+
+import com.urbanbloom.gamification.adapter.out.persistence.InMemoryUserPointsRepository;
+import com.urbanbloom.gamification.application.LeaderboardService;
+import com.urbanbloom.gamification.domain.LeaderboardEntry;
+import com.urbanbloom.gamification.domain.PointsAwardedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointsAwardedListenerTest {
+
+    @Test
+    void shouldIgnoreRedeliveredAndOutOfOrderEvents() {
+        LeaderboardService leaderboardService = new LeaderboardService(new InMemoryUserPointsRepository(), 5000);
+        PointsAwardedListener listener = new PointsAwardedListener(leaderboardService);
+        UUID userId = UUID.randomUUID();
+        UUID districtId = UUID.randomUUID();
+        PointsAwardedEvent first = new PointsAwardedEvent(userId, 10, 10, districtId, 10);
+        PointsAwardedEvent second = new PointsAwardedEvent(userId, 5, 15, districtId, 15);
+
+        listener.onPointsAwarded(first);
+        listener.onPointsAwarded(second);
+        listener.onPointsAwarded(second);
+        listener.onPointsAwarded(first);
+
+        assertThat(leaderboardService.getRank(userId, null)).get().extracting(LeaderboardEntry::points).isEqualTo(15);
+        assertThat(leaderboardService.getRank(userId, districtId)).get().extracting(LeaderboardEntry::points).isEqualTo(15);
+    }
+}
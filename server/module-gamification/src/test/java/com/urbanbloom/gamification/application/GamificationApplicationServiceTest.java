@@ -0,0 +1,126 @@
+package com.urbanbloom.gamification.application;
+
+import com.urbanbloom.gamification.adapter.out.persistence.InMemoryProcessedEventStore;
+import com.urbanbloom.gamification.adapter.out.persistence.InMemoryUserPointsRepository;
+import com.urbanbloom.gamification.domain.PointsAwardedEvent;
+import com.urbanbloom.gamification.domain.UserPoints;
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+
+class GamificationApplicationServiceTest {
+
+    private DomainEventPublisher eventPublisher;
+    private GamificationApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(DomainEventPublisher.class);
+        service = new GamificationApplicationService(
+                new InMemoryUserPointsRepository(), eventPublisher, new InMemoryProcessedEventStore());
+    }
+
+    @Test
+    void shouldAccumulatePointsAndDeriveLevel() {
+        UUID userId = UUID.randomUUID();
+
+        service.awardPoints(userId, 60);
+        UserPoints result = service.awardPoints(userId, 50);
+
+        assertThat(result.getTotalPoints()).isEqualTo(110);
+        assertThat(result.getLevel()).isEqualTo(2);
+        assertThat(service.getUserPoints(userId).getTotalPoints()).isEqualTo(110);
+    }
+
+    @Test
+    void shouldNotLoseUpdatesWhen64ThreadsAwardPointsToSameUser() throws Exception {
+        UUID userId = UUID.randomUUID();
+        int threads = 64;
+        int awardsPerThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < awardsPerThread; i++) {
+                        service.awardPoints(userId, 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        UserPoints result = service.getUserPoints(userId);
+        assertThat(result.getTotalPoints()).isEqualTo(threads * awardsPerThread);
+        assertThat(result.getLevel()).isEqualTo(threads * awardsPerThread / 100 + 1);
+    }
+
+    @Test
+    void shouldAwardPointsOncePerEvent() {
+        UUID userId = UUID.randomUUID();
+        UUID districtId = UUID.randomUUID();
+
+        assertThat(service.awardPointsOnce("consumer", "action-1", userId, 10, districtId)).isTrue();
+        assertThat(service.awardPointsOnce("consumer", "action-1", userId, 10, districtId)).isFalse();
+        assertThat(service.awardPointsOnce("other-consumer", "action-1", userId, 10, districtId)).isTrue();
+
+        assertThat(service.getUserPoints(userId).getTotalPoints()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldAwardPointsOnRedeliveryAfterFailedAward() {
+        UUID userId = UUID.randomUUID();
+        doThrow(new IllegalStateException("outbox down")).when(eventPublisher).publish(any(PointsAwardedEvent.class));
+
+        assertThatThrownBy(() -> inTransaction(() -> service.awardPointsOnce("consumer", "action-1", userId, 10, null)))
+                .isInstanceOf(IllegalStateException.class);
+
+        reset(eventPublisher);
+        assertThat(inTransaction(() -> service.awardPointsOnce("consumer", "action-1", userId, 10, null))).isTrue();
+    }
+
+    /**
+     * Completes the synchronizations registered by the call like a transaction manager would on commit or rollback.
+     */
+    private static <T> T inTransaction(Supplier<T> call) {
+        TransactionSynchronizationManager.initSynchronization();
+        int status = TransactionSynchronization.STATUS_ROLLED_BACK;
+        try {
+            T result = call.get();
+            status = TransactionSynchronization.STATUS_COMMITTED;
+            return result;
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            for (TransactionSynchronization synchronization : synchronizations) {
+                synchronization.afterCompletion(status);
+            }
+        }
+    }
+}
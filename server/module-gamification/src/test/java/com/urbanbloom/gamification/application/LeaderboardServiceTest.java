@@ -0,0 +1,103 @@
+package com.urbanbloom.gamification.application;
+
+import com.urbanbloom.gamification.adapter.out.persistence.InMemoryUserPointsRepository;
+import com.urbanbloom.gamification.domain.DistrictPoints;
+import com.urbanbloom.gamification.domain.LeaderboardEntry;
+import com.urbanbloom.gamification.domain.UserPoints;
+import com.urbanbloom.gamification.domain.UserPointsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaderboardServiceTest {
+
+    private static final long CATCH_UP_INTERVAL_MILLIS = 60_000;
+
+    private InMemoryUserPointsRepository repository;
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryUserPointsRepository();
+        leaderboardService = new LeaderboardService(repository, CATCH_UP_INTERVAL_MILLIS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderboardService.stop();
+    }
+
+    @Test
+    void shouldLoadStoredTotalsOnStartup() {
+        UUID userId = UUID.randomUUID();
+        UUID districtId = UUID.randomUUID();
+        repository.addPoints(userId, 40);
+        repository.addDistrictPoints(userId, districtId, 25);
+
+        leaderboardService.loadBoards();
+
+        assertThat(leaderboardService.getRank(userId, null)).get().extracting(LeaderboardEntry::points).isEqualTo(40);
+        assertThat(leaderboardService.getRank(userId, districtId)).get().extracting(LeaderboardEntry::points).isEqualTo(25);
+    }
+
+    @Test
+    void shouldPickUpPointsAwardedByOtherInstances() {
+        UUID userId = UUID.randomUUID();
+        UUID districtId = UUID.randomUUID();
+        leaderboardService.loadBoards();
+
+        // Written without a PointsAwardedEvent on this instance
+        repository.addPoints(userId, 30);
+        repository.addDistrictPoints(userId, districtId, 30);
+        assertThat(leaderboardService.getRank(userId, null)).isEmpty();
+
+        leaderboardService.catchUp();
+
+        assertThat(leaderboardService.getRank(userId, null)).get().extracting(LeaderboardEntry::points).isEqualTo(30);
+        assertThat(leaderboardService.getRank(userId, districtId)).get().extracting(LeaderboardEntry::points).isEqualTo(30);
+    }
+
+    @Test
+    void shouldNotLowerNewerTotalsWhenCatchingUp() {
+        UUID userId = UUID.randomUUID();
+        repository.addPoints(userId, 10);
+        leaderboardService.loadBoards();
+        leaderboardService.recordTotals(userId, 50, null, 0);
+
+        leaderboardService.catchUp();
+
+        assertThat(leaderboardService.getRank(userId, null)).get().extracting(LeaderboardEntry::points).isEqualTo(50);
+    }
+
+    @Test
+    void shouldCatchUpFromShortlyBeforeTheLastLoad() {
+        UserPointsRepository stub = mock(UserPointsRepository.class);
+        when(stub.findUpdatedSince(any())).thenReturn(List.of(UserPoints.reconstruct(UUID.randomUUID(), 5)));
+        when(stub.findDistrictPointsUpdatedSince(any()))
+                .thenReturn(List.of(new DistrictPoints(UUID.randomUUID(), UUID.randomUUID(), 5)));
+        LeaderboardService service = new LeaderboardService(stub, CATCH_UP_INTERVAL_MILLIS);
+        Instant beforeLoad = Instant.now();
+        service.loadBoards();
+
+        service.catchUp();
+        service.stop();
+
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(stub).findUpdatedSince(since.capture());
+        assertThat(since.getValue())
+                .isBetween(beforeLoad.minus(Duration.ofMinutes(1)), beforeLoad.minus(Duration.ofSeconds(50)));
+        assertThat(service.getTop(null, 10)).hasSize(1);
+    }
+}
@@ -0,0 +1,118 @@
+package com.urbanbloom.gamification.application;
+
+import com.urbanbloom.gamification.domain.LeaderboardEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankingBoardTest {
+
+    private RankingBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new RankingBoard();
+    }
+
+    @Test
+    void shouldReturnTopUsersWithSharedRanksForTies() {
+        UUID first = UUID.randomUUID();
+        UUID tiedA = UUID.randomUUID();
+        UUID tiedB = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        board.update(first, 300);
+        board.update(tiedA, 120);
+        board.update(tiedB, 120);
+        board.update(last, 5);
+
+        List<LeaderboardEntry> top = board.top(3);
+
+        assertThat(top).extracting(LeaderboardEntry::rank).containsExactly(1, 2, 2);
+        assertThat(top.get(0).userId()).isEqualTo(first);
+        assertThat(top).extracting(LeaderboardEntry::points).containsExactly(300, 120, 120);
+        assertThat(board.rankOf(last)).get().extracting(LeaderboardEntry::rank).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRankUsersWithinSameBucket() {
+        UUID higher = UUID.randomUUID();
+        UUID lower = UUID.randomUUID();
+        board.update(higher, 19);
+        board.update(lower, 11);
+
+        assertThat(board.rankOf(higher)).get().extracting(LeaderboardEntry::rank).isEqualTo(1);
+        assertThat(board.rankOf(lower)).get().extracting(LeaderboardEntry::rank).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRankUsersBeyondLastBucket() {
+        UUID top = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        board.update(top, 5_000_000);
+        board.update(second, 200_000);
+
+        assertThat(board.rankOf(top)).get().extracting(LeaderboardEntry::rank).isEqualTo(1);
+        assertThat(board.rankOf(second)).get().extracting(LeaderboardEntry::rank).isEqualTo(2);
+    }
+
+    @Test
+    void shouldIgnoreOutOfOrderLowerTotals() {
+        UUID userId = UUID.randomUUID();
+        board.update(userId, 50);
+
+        boolean changed = board.update(userId, 40);
+
+        assertThat(changed).isFalse();
+        assertThat(board.rankOf(userId)).get().extracting(LeaderboardEntry::points).isEqualTo(50);
+        assertThat(board.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnNeighboursAroundUser() {
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            UUID userId = UUID.randomUUID();
+            users.add(userId);
+            board.update(userId, 1_000 - i * 50);
+        }
+
+        List<LeaderboardEntry> around = board.around(users.get(5), 2);
+
+        assertThat(around).extracting(LeaderboardEntry::userId)
+                .containsExactly(users.get(3), users.get(4), users.get(5), users.get(6), users.get(7));
+        assertThat(around).extracting(LeaderboardEntry::rank).containsExactly(4, 5, 6, 7, 8);
+        assertThat(board.around(users.get(0), 2)).extracting(LeaderboardEntry::userId)
+                .containsExactly(users.get(0), users.get(1), users.get(2));
+    }
+
+    @Test
+    void shouldMatchSortedRanksAfterRandomUpdates() {
+        Random random = new Random(7);
+        Map<UUID, Integer> expected = new HashMap<>();
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            users.add(UUID.randomUUID());
+        }
+        for (int i = 0; i < 5_000; i++) {
+            UUID userId = users.get(random.nextInt(users.size()));
+            int total = expected.getOrDefault(userId, 0) + random.nextInt(40);
+            expected.put(userId, total);
+            board.update(userId, total);
+        }
+
+        for (Map.Entry<UUID, Integer> entry : expected.entrySet()) {
+            long higher = expected.values().stream().filter(points -> points > entry.getValue()).count();
+            assertThat(board.rankOf(entry.getKey())).get()
+                    .extracting(LeaderboardEntry::rank)
+                    .isEqualTo((int) higher + 1);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.urbanbloom.plant.application;
+
+import com.urbanbloom.plant.adapter.out.persistence.InMemoryPlantRepository;
+import com.urbanbloom.plant.domain.Plant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuzzy, filtered catalog search over a synthetic catalog of species.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class PlantSearchServiceBenchmark {
+
+    private static final String[] GENERA = {"Quercus", "Acer", "Salix", "Prunus", "Rosa", "Betula", "Tilia", "Fraxinus"};
+    private static final String[] WORDS = {"Baum", "Strauch", "Blüte", "Wiese", "Schatten", "Hecke", "Frucht", "Duft",
+            "Ufer", "Steingarten"};
+    private static final String[] WATER_NEEDS = {"LOW", "MEDIUM", "HIGH"};
+
+    @Param({"50000"})
+    int speciesCount;
+
+    private PlantSearchService service;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        InMemoryPlantRepository repository = new InMemoryPlantRepository();
+        repository.init();
+        Random random = new Random(3);
+        for (int i = 0; i < speciesCount; i++) {
+            repository.save(new Plant(
+                    WORDS[random.nextInt(WORDS.length)] + "pflanze " + i,
+                    GENERA[random.nextInt(GENERA.length)] + " species" + i,
+                    WORDS[random.nextInt(WORDS.length)] + " und " + WORDS[random.nextInt(WORDS.length)],
+                    i % 2 == 0 ? "temperate" : "mediterranean",
+                    WATER_NEEDS[random.nextInt(WATER_NEEDS.length)],
+                    "FULL_SUN"));
+        }
+        service = new PlantSearchService(repository);
+    }
+
+    @Benchmark
+    public PlantSearchResult fuzzyWithFilters() {
+        return service.search(new PlantSearchQuery("quercs hecke", "temperate", "LOW", null, 0, 20));
+    }
+
+    @Benchmark
+    public PlantSearchResult browseAll() {
+        return service.search(new PlantSearchQuery(null, null, null, null, 0, 20));
+    }
+}
@@ -1,15 +1,25 @@
 package com.urbanbloom.plant.adapter.in.rest;
 
+import com.urbanbloom.plant.application.PlantCatalogCache;
+import com.urbanbloom.plant.application.PlantSearchQuery;
+import com.urbanbloom.plant.application.PlantSearchResult;
+import com.urbanbloom.plant.application.PlantSearchService;
 import com.urbanbloom.plant.domain.Plant;
 import com.urbanbloom.plant.domain.PlantRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1/plants")
@@ -17,10 +27,50 @@ import java.util.List;
 public class PlantController {
 
     private final PlantRepository plantRepository;
+    private final PlantCatalogCache catalogCache;
+    private final PlantSearchService searchService;
 
+    /**
+     * Returns the whole catalog from the pre-serialized snapshot.
+     * Clients revalidate with {@code If-None-Match} and get a 304 while the catalog is unchanged.
+     */
     @GetMapping
-    public List<Plant> getAllPlants() {
-        return plantRepository.findAll();
+    public ResponseEntity<byte[]> getAllPlants(
+            WebRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        PlantCatalogCache.Snapshot snapshot = catalogCache.getSnapshot();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(0, TimeUnit.SECONDS).mustRevalidate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    /**
+     * Searches plants by name, scientific name and description, optionally filtered by facets.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PlantSearchResult> searchPlants(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String climateZone,
+            @RequestParam(required = false) String waterNeeds,
+            @RequestParam(required = false) String sunlightNeeds,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(
+                new PlantSearchQuery(q, climateZone, waterNeeds, sunlightNeeds, offset, limit)));
     }
 
     @GetMapping("/{plantId}")
@@ -29,4 +79,17 @@ public class PlantController {
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").equalsIgnoreCase("q=0");
+            }
+        }
+        return false;
+    }
 }
@@ -10,11 +10,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
 public class InMemoryPlantRepository implements PlantRepository {
 
     private final Map<String, Plant> plants = new ConcurrentHashMap<>();
+    private final AtomicLong catalogVersion = new AtomicLong();
 
     @PostConstruct
     public void init() {
@@ -25,7 +27,11 @@ public class InMemoryPlantRepository implements PlantRepository {
 
     @Override
     public void save(Plant plant) {
-        plants.put(plant.getId(), plant);
+        // Plants are immutable, so re-saving the stored instance changes nothing
+        Plant previous = plants.put(plant.getId(), plant);
+        if (previous != plant) {
+            catalogVersion.incrementAndGet();
+        }
     }
 
     @Override
@@ -37,4 +43,9 @@ public class InMemoryPlantRepository implements PlantRepository {
     public List<Plant> findAll() {
         return new ArrayList<>(plants.values());
     }
+
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
 }
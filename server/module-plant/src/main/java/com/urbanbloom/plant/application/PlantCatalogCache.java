@@ -0,0 +1,107 @@
+package com.urbanbloom.plant.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.urbanbloom.plant.domain.Plant;
+import com.urbanbloom.plant.domain.PlantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized snapshot of the whole plant catalog.
+ * The catalog is serialized and gzip-compressed once per {@link PlantRepository#getCatalogVersion() catalog version}
+ * instead of on every request; the snapshot's strong ETag is derived from the serialized content.
+ */
+@Slf4j
+@Component
+public class PlantCatalogCache {
+
+    private final PlantRepository plantRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    public PlantCatalogCache(PlantRepository plantRepository, ObjectMapper objectMapper) {
+        this.plantRepository = plantRepository;
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Returns the snapshot for the current catalog version, rebuilding it if the catalog changed.
+     */
+    public Snapshot getSnapshot() {
+        long version = plantRepository.getCatalogVersion();
+        Snapshot current = snapshot;
+        if (current != null && current.version() == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || current.version() != version) {
+                current = build(version);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot build(long version) {
+        // Stable order so that an unchanged catalog always produces the same bytes and ETag
+        List<Plant> plants = plantRepository.findAll().stream()
+                .sorted(Comparator.comparing(Plant::getId))
+                .toList();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(plants);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize plant catalog", e);
+        }
+        byte[] gzip = gzip(json);
+        String hash = sha256(json);
+        log.debug("Plant catalog snapshot v{} built: {} plants, {} bytes, {} bytes gzipped",
+                version, plants.size(), json.length, gzip.length);
+        return new Snapshot(version, json, gzip, "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One immutable catalog representation.
+     * The identity and gzip encodings are different representations and therefore carry different strong ETags.
+     */
+    public record Snapshot(long version, byte[] json, byte[] gzip, String etag, String gzipEtag) {
+    }
+}
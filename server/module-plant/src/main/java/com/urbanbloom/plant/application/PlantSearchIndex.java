@@ -0,0 +1,310 @@
+package com.urbanbloom.plant.application;
+
+import com.urbanbloom.plant.domain.Plant;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable inverted index over one version of the plant catalog.
+ * <p>
+ * Text is lower-cased, {@code ß} becomes {@code ss} and diacritics are removed. Words with umlauts are
+ * additionally indexed in their transcribed form ({@code ä} as {@code ae}), so "Löwenzahn", "Lowenzahn"
+ * and "Loewenzahn" all match. Each query word matches exactly, as a prefix, or, if neither finds anything,
+ * with one (two for long words) typos. All query words must match.
+ */
+class PlantSearchIndex {
+
+    static final String FACET_CLIMATE_ZONE = "climateZone";
+    static final String FACET_WATER_NEEDS = "waterNeeds";
+    static final String FACET_SUNLIGHT_NEEDS = "sunlightNeeds";
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final int FIELD_NAME = 0;
+    private static final int FIELD_SCIENTIFIC_NAME = 1;
+    private static final int FIELD_DESCRIPTION = 2;
+    private static final int[] FIELD_WEIGHTS = {6, 4, 1};
+
+    private static final int MATCH_EXACT = 3;
+    private static final int MATCH_PREFIX = 2;
+    private static final int MATCH_FUZZY = 1;
+
+    private final Plant[] plants;
+    private final NavigableMap<String, Postings> terms;
+    private final Map<String, String[]> facetValues = new LinkedHashMap<>();
+
+    PlantSearchIndex(List<Plant> catalog) {
+        this.plants = catalog.toArray(new Plant[0]);
+        Map<String, Map<Integer, Integer>> fieldsByTermAndDoc = new HashMap<>();
+        for (int doc = 0; doc < plants.length; doc++) {
+            Plant plant = plants[doc];
+            addField(fieldsByTermAndDoc, doc, FIELD_NAME, plant.getNameDe());
+            addField(fieldsByTermAndDoc, doc, FIELD_SCIENTIFIC_NAME, plant.getScientificName());
+            addField(fieldsByTermAndDoc, doc, FIELD_DESCRIPTION, plant.getDescription());
+        }
+        this.terms = new TreeMap<>();
+        fieldsByTermAndDoc.forEach((term, docs) -> terms.put(term, Postings.of(docs)));
+
+        facetValues.put(FACET_CLIMATE_ZONE, facetColumn(Plant::getClimateZone));
+        facetValues.put(FACET_WATER_NEEDS, facetColumn(Plant::getWaterNeeds));
+        facetValues.put(FACET_SUNLIGHT_NEEDS, facetColumn(Plant::getSunlightNeeds));
+    }
+
+    PlantSearchResult search(PlantSearchQuery query) {
+        int[] scores = new int[plants.length];
+        BitSet textMatches = matchText(query.text(), scores);
+
+        Map<String, String> filters = new LinkedHashMap<>();
+        filters.put(FACET_CLIMATE_ZONE, normalizeFacet(query.climateZone()));
+        filters.put(FACET_WATER_NEEDS, normalizeFacet(query.waterNeeds()));
+        filters.put(FACET_SUNLIGHT_NEEDS, normalizeFacet(query.sunlightNeeds()));
+
+        Map<String, BitSet> filterMatches = new LinkedHashMap<>();
+        filters.forEach((facet, value) -> filterMatches.put(facet, matchFacet(facet, value)));
+
+        BitSet hits = (BitSet) textMatches.clone();
+        filterMatches.values().forEach(hits::and);
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        for (String facet : facetValues.keySet()) {
+            BitSet base = (BitSet) textMatches.clone();
+            filterMatches.forEach((other, matches) -> {
+                if (!other.equals(facet)) {
+                    base.and(matches);
+                }
+            });
+            facets.put(facet, countValues(facet, base));
+        }
+
+        List<Integer> ranked = new ArrayList<>(hits.cardinality());
+        hits.stream().forEach(ranked::add);
+        ranked.sort(Comparator.<Integer>comparingInt(doc -> scores[doc]).reversed()
+                .thenComparing(doc -> String.valueOf(plants[doc].getNameDe())));
+
+        int from = Math.min(Math.max(query.offset(), 0), ranked.size());
+        int to = Math.min(from + Math.max(query.limit(), 0), ranked.size());
+        List<Plant> page = ranked.subList(from, to).stream()
+                .map(doc -> plants[doc])
+                .toList();
+        return new PlantSearchResult(ranked.size(), page, facets);
+    }
+
+    int size() {
+        return plants.length;
+    }
+
+    /**
+     * Normalizes text for indexing and querying.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = fold(text.toLowerCase(Locale.GERMAN));
+        return Arrays.stream(TOKEN_SEPARATOR.split(folded))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static String fold(String lowerCase) {
+        String withoutEszett = lowerCase.replace("ß", "ss");
+        return DIACRITICS.matcher(Normalizer.normalize(withoutEszett, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    /**
+     * Transcribes umlauts as written without an umlaut key ({@code ä} as {@code ae}).
+     */
+    private static String transcribeUmlauts(String lowerCase) {
+        return lowerCase.replace("ä", "ae").replace("ö", "oe").replace("ü", "ue");
+    }
+
+    private static void addField(Map<String, Map<Integer, Integer>> index, int doc, int field, String text) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        Set<String> tokens = new LinkedHashSet<>(tokenize(text));
+        String lowerCase = text.toLowerCase(Locale.GERMAN);
+        String transcribed = transcribeUmlauts(lowerCase);
+        if (!transcribed.equals(lowerCase)) {
+            tokens.addAll(tokenize(transcribed));
+        }
+        for (String token : tokens) {
+            index.computeIfAbsent(token, t -> new HashMap<>()).merge(doc, 1 << field, (a, b) -> a | b);
+        }
+    }
+
+    private BitSet matchText(String text, int[] scores) {
+        List<String> tokens = tokenize(text);
+        BitSet matches = new BitSet(plants.length);
+        if (tokens.isEmpty()) {
+            matches.set(0, plants.length);
+            return matches;
+        }
+        boolean first = true;
+        for (String token : new LinkedHashSet<>(tokens)) {
+            int[] tokenScores = new int[plants.length];
+            BitSet tokenMatches = matchToken(token, tokenScores);
+            if (first) {
+                matches.or(tokenMatches);
+                first = false;
+            } else {
+                matches.and(tokenMatches);
+            }
+            for (int doc = tokenMatches.nextSetBit(0); doc >= 0; doc = tokenMatches.nextSetBit(doc + 1)) {
+                scores[doc] += tokenScores[doc];
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Collects docs matching the token and their best score for it.
+     */
+    private BitSet matchToken(String token, int[] scores) {
+        BitSet matches = new BitSet(plants.length);
+        for (Map.Entry<String, Postings> entry : terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            int matchType = entry.getKey().equals(token) ? MATCH_EXACT : MATCH_PREFIX;
+            entry.getValue().collect(matchType, matches, scores);
+        }
+        if (!matches.isEmpty() || token.length() < 4) {
+            return matches;
+        }
+
+        int maxDistance = token.length() >= 8 ? 2 : 1;
+        // Typos in the first letter are rare; restricting candidates to it keeps the scan small
+        String firstLetter = token.substring(0, 1);
+        for (Map.Entry<String, Postings> entry
+                : terms.subMap(firstLetter, true, firstLetter + Character.MAX_VALUE, false).entrySet()) {
+            String term = entry.getKey();
+            if (Math.abs(term.length() - token.length()) <= maxDistance
+                    && withinDistance(token, term, maxDistance)) {
+                entry.getValue().collect(MATCH_FUZZY, matches, scores);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Optimal string alignment distance with early exit once every path exceeds {@code max}.
+     */
+    static boolean withinDistance(String a, String b, int max) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return false;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()] <= max;
+    }
+
+    private String[] facetColumn(Function<Plant, String> getter) {
+        String[] column = new String[plants.length];
+        for (int doc = 0; doc < plants.length; doc++) {
+            column[doc] = getter.apply(plants[doc]);
+        }
+        return column;
+    }
+
+    private BitSet matchFacet(String facet, String normalizedValue) {
+        BitSet matches = new BitSet(plants.length);
+        if (normalizedValue == null) {
+            matches.set(0, plants.length);
+            return matches;
+        }
+        String[] column = facetValues.get(facet);
+        for (int doc = 0; doc < column.length; doc++) {
+            if (column[doc] != null && normalizedValue.equals(normalizeFacet(column[doc]))) {
+                matches.set(doc);
+            }
+        }
+        return matches;
+    }
+
+    private Map<String, Integer> countValues(String facet, BitSet docs) {
+        String[] column = facetValues.get(facet);
+        Map<String, Integer> counts = new TreeMap<>();
+        for (int doc = docs.nextSetBit(0); doc >= 0; doc = docs.nextSetBit(doc + 1)) {
+            if (column[doc] != null) {
+                counts.merge(column[doc], 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static String normalizeFacet(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Documents containing one term, with a bit mask of the fields it occurs in.
+     */
+    private record Postings(int[] docs, int[] fieldMasks) {
+
+        static Postings of(Map<Integer, Integer> fieldMaskByDoc) {
+            int[] docs = new int[fieldMaskByDoc.size()];
+            int[] masks = new int[docs.length];
+            int i = 0;
+            for (Integer doc : new TreeSet<>(fieldMaskByDoc.keySet())) {
+                docs[i] = doc;
+                masks[i] = fieldMaskByDoc.get(doc);
+                i++;
+            }
+            return new Postings(docs, masks);
+        }
+
+        void collect(int matchType, BitSet matches, int[] scores) {
+            for (int i = 0; i < docs.length; i++) {
+                int doc = docs[i];
+                matches.set(doc);
+                scores[doc] = Math.max(scores[doc], matchType * fieldWeight(fieldMasks[i]));
+            }
+        }
+
+        private static int fieldWeight(int mask) {
+            int weight = 0;
+            for (int field = 0; field < FIELD_WEIGHTS.length; field++) {
+                if ((mask & (1 << field)) != 0) {
+                    weight = Math.max(weight, FIELD_WEIGHTS[field]);
+                }
+            }
+            return weight;
+        }
+    }
+}
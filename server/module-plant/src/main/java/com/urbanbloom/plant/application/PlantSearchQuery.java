@@ -0,0 +1,15 @@
+package com.urbanbloom.plant.application;
+
+/**
+ * Search request over the plant catalog. Null or blank values mean "no restriction".
+ *
+ * @param text          free text matched against German name, scientific name and description
+ * @param climateZone   facet filter on {@code Plant.climateZone}
+ * @param waterNeeds    facet filter on {@code Plant.waterNeeds}
+ * @param sunlightNeeds facet filter on {@code Plant.sunlightNeeds}
+ * @param offset        number of hits to skip
+ * @param limit         maximum number of hits to return
+ */
+public record PlantSearchQuery(String text, String climateZone, String waterNeeds, String sunlightNeeds,
+                               int offset, int limit) {
+}
@@ -0,0 +1,17 @@
+package com.urbanbloom.plant.application;
+
+import com.urbanbloom.plant.domain.Plant;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of search hits plus facet counts.
+ *
+ * @param total  number of plants matching text and all facet filters
+ * @param plants the requested page, best match first
+ * @param facets per facet field, the number of matching plants per value; each field's counts
+ *               ignore that field's own filter so clients can show alternatives
+ */
+public record PlantSearchResult(int total, List<Plant> plants, Map<String, Map<String, Integer>> facets) {
+}
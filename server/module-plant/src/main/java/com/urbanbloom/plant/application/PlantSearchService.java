@@ -0,0 +1,50 @@
+package com.urbanbloom.plant.application;
+
+import com.urbanbloom.plant.domain.PlantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Full-text and faceted search over the plant catalog.
+ * The index is rebuilt lazily, once per {@link PlantRepository#getCatalogVersion() catalog version}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlantSearchService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final PlantRepository plantRepository;
+
+    private volatile VersionedIndex index;
+
+    public PlantSearchResult search(PlantSearchQuery query) {
+        PlantSearchQuery capped = new PlantSearchQuery(query.text(), query.climateZone(), query.waterNeeds(),
+                query.sunlightNeeds(), Math.max(query.offset(), 0), Math.max(1, Math.min(query.limit(), MAX_LIMIT)));
+        return currentIndex().search(capped);
+    }
+
+    private PlantSearchIndex currentIndex() {
+        long version = plantRepository.getCatalogVersion();
+        VersionedIndex current = index;
+        if (current != null && current.version() == version) {
+            return current.index();
+        }
+        synchronized (this) {
+            current = index;
+            if (current == null || current.version() != version) {
+                long start = System.nanoTime();
+                current = new VersionedIndex(version, new PlantSearchIndex(plantRepository.findAll()));
+                index = current;
+                log.debug("Plant search index v{} built: {} plants in {} ms",
+                        version, current.index().size(), (System.nanoTime() - start) / 1_000_000);
+            }
+            return current.index();
+        }
+    }
+
+    private record VersionedIndex(long version, PlantSearchIndex index) {
+    }
+}
@@ -7,4 +7,10 @@ public interface PlantRepository {
     void save(Plant plant);
     Optional<Plant> findById(String id);
     List<Plant> findAll();
+
+    /**
+     * Returns a number that changes whenever {@link #save} modifies the catalog.
+     * Used to detect when cached views of the catalog are stale.
+     */
+    long getCatalogVersion();
 }
@@ -0,0 +1,70 @@
+package com.urbanbloom.plant.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urbanbloom.plant.adapter.out.persistence.InMemoryPlantRepository;
+import com.urbanbloom.plant.domain.Plant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlantCatalogCacheTest {
+
+    private InMemoryPlantRepository repository;
+    private PlantCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryPlantRepository();
+        repository.init();
+        cache = new PlantCatalogCache(repository, new ObjectMapper());
+    }
+
+    @Test
+    void shouldReuseSnapshotWhileCatalogIsUnchanged() {
+        PlantCatalogCache.Snapshot first = cache.getSnapshot();
+        PlantCatalogCache.Snapshot second = cache.getSnapshot();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldRebuildSnapshotWithNewEtagAfterSave() {
+        PlantCatalogCache.Snapshot before = cache.getSnapshot();
+
+        repository.save(new Plant("Eiche", "Quercus robur", "Heimischer Laubbaum.", "temperate", "MEDIUM", "FULL_SUN"));
+        PlantCatalogCache.Snapshot after = cache.getSnapshot();
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(new String(after.json())).contains("Quercus robur");
+    }
+
+    @Test
+    void shouldNotRebuildWhenSameInstanceIsSavedAgain() {
+        PlantCatalogCache.Snapshot before = cache.getSnapshot();
+
+        repository.save(repository.findAll().get(0));
+
+        assertThat(cache.getSnapshot()).isSameAs(before);
+    }
+
+    @Test
+    void shouldServeCompactJsonAndMatchingGzip() throws IOException {
+        PlantCatalogCache.Snapshot snapshot = cache.getSnapshot();
+
+        byte[] unzipped;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            unzipped = in.readAllBytes();
+        }
+
+        assertThat(unzipped).isEqualTo(snapshot.json());
+        assertThat(new String(snapshot.json())).doesNotContain("\n");
+        assertThat(snapshot.etag()).startsWith("\"").endsWith("\"");
+        assertThat(snapshot.gzipEtag()).isNotEqualTo(snapshot.etag());
+    }
+}
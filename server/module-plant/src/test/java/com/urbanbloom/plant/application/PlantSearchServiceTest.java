@@ -0,0 +1,87 @@
+package com.urbanbloom.plant.application;
+
+import com.urbanbloom.plant.adapter.out.persistence.InMemoryPlantRepository;
+import com.urbanbloom.plant.domain.Plant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlantSearchServiceTest {
+
+    private InMemoryPlantRepository repository;
+    private PlantSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryPlantRepository();
+        repository.init();
+        repository.save(new Plant("Löwenzahn", "Taraxacum officinale", "Wiesenpflanze mit gelben Blüten.", "temperate", "LOW", "FULL_SUN"));
+        repository.save(new Plant("Farn", "Dryopteris filix-mas", "Schattenliebende Pflanze für feuchte Böden.", "temperate", "HIGH", "SHADE"));
+        service = new PlantSearchService(repository);
+    }
+
+    @Test
+    void shouldMatchUmlautsWrittenInAnyForm() {
+        assertThat(namesFor("Löwenzahn")).containsExactly("Löwenzahn");
+        assertThat(namesFor("lowenzahn")).containsExactly("Löwenzahn");
+        assertThat(namesFor("LOEWENZAHN")).containsExactly("Löwenzahn");
+    }
+
+    @Test
+    void shouldMatchPrefixesAndTypos() {
+        assertThat(namesFor("sonnenbl")).containsExactly("Sonnenblume");
+        assertThat(namesFor("Lavendl")).containsExactly("Lavendel");
+        assertThat(namesFor("helianthus")).containsExactly("Sonnenblume");
+    }
+
+    @Test
+    void shouldRequireAllWordsAndRankNameMatchesFirst() {
+        assertThat(namesFor("gelben blüten")).containsExactlyInAnyOrder("Sonnenblume", "Löwenzahn");
+        assertThat(namesFor("apfel obstbaum")).containsExactly("Apfelbaum");
+
+        repository.save(new Plant("Zierapfel", "Malus floribunda", "Apfelbaum mit kleinen Früchten.", "temperate", "MEDIUM", "FULL_SUN"));
+        assertThat(namesFor("apfelbaum")).containsExactly("Apfelbaum", "Zierapfel");
+    }
+
+    @Test
+    void shouldFilterByFacetsAndCountOtherValues() {
+        PlantSearchResult result = service.search(new PlantSearchQuery(null, "temperate", null, "full_sun", 0, 20));
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.plants()).extracting(Plant::getNameDe)
+                .containsExactlyInAnyOrder("Apfelbaum", "Sonnenblume", "Löwenzahn");
+        // Sunlight counts ignore the sunlight filter, so the shade plant is still offered
+        assertThat(result.facets().get("sunlightNeeds")).containsEntry("FULL_SUN", 3).containsEntry("SHADE", 1);
+        assertThat(result.facets().get("climateZone")).containsEntry("temperate", 3).containsEntry("mediterranean", 1);
+    }
+
+    @Test
+    void shouldPageResults() {
+        PlantSearchResult firstPage = service.search(new PlantSearchQuery(null, null, null, null, 0, 2));
+        PlantSearchResult secondPage = service.search(new PlantSearchQuery(null, null, null, null, 2, 2));
+
+        assertThat(firstPage.total()).isEqualTo(5);
+        assertThat(firstPage.plants()).hasSize(2);
+        assertThat(secondPage.plants()).hasSize(2).doesNotContainAnyElementsOf(firstPage.plants());
+    }
+
+    @Test
+    void shouldCombineMisspelledTermsWithFilters() {
+        repository.save(new Plant("Heckenpflanze", "Quercus robur", "Hecke und Schatten", "temperate", "LOW", "FULL_SUN"));
+        repository.save(new Plant("Uferpflanze", "Quercus palustris", "Ufer und Hecke", "temperate", "HIGH", "FULL_SUN"));
+        repository.save(new Plant("Duftpflanze", "Quercus ilex", "Hecke und Duft", "mediterranean", "LOW", "FULL_SUN"));
+
+        PlantSearchResult result = service.search(new PlantSearchQuery("quercs hecke", "temperate", "LOW", null, 0, 20));
+
+        assertThat(result.plants()).extracting(Plant::getNameDe).containsExactly("Heckenpflanze");
+    }
+
+    private List<String> namesFor(String text) {
+        return service.search(new PlantSearchQuery(text, null, null, null, 0, 20)).plants().stream()
+                .map(Plant::getNameDe)
+                .toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.urbanbloom.user.adapter.infrastructure.keycloak;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the roles of a Keycloak access token from the cache, compared with parsing the token and
+ * walking its role claims on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class KeycloakAuthorityCacheBenchmark {
+
+    private String token;
+    private KeycloakAuthorityCache cache;
+
+    @Setup(Level.Trial)
+    public void createToken() throws Exception {
+        RSAKey signingKey = new RSAKeyGenerator(2048).keyID("urbanbloom-benchmark").generate();
+        Instant issuedAt = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .jwtID(UUID.randomUUID().toString())
+                .issuer("http://localhost:8080/realms/urbanbloom-admin")
+                .audience(List.of("server-app", "account"))
+                .subject(UUID.randomUUID().toString())
+                .issueTime(Date.from(issuedAt))
+                .expirationTime(Date.from(issuedAt.plus(Duration.ofDays(1))))
+                .claim("typ", "Bearer")
+                .claim("azp", "urbanbloom-admin-web")
+                .claim("realm_access", Map.of("roles", List.of("ADMIN", "offline_access", "uma_authorization")))
+                .claim("resource_access", Map.of(
+                        "server-app", Map.of("roles", List.of("action-reviewer")),
+                        "account", Map.of("roles", List.of("manage-account", "manage-account-links", "view-profile"))))
+                .claim("scope", "openid email profile")
+                .claim("email", "admin@schule.de")
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        token = jwt.serialize();
+
+        cache = new KeycloakAuthorityCache(new SimpleMeterRegistry(), 1_000);
+        cache.resolve(token);
+    }
+
+    @Benchmark
+    public KeycloakAuthorities parseClaims() throws ParseException {
+        JWTClaimsSet claims = JWTParser.parse(token).getJWTClaimsSet();
+        return KeycloakAuthorities.fromClaims(claims.getClaim("realm_access"), claims.getClaim("resource_access"));
+    }
+
+    @Benchmark
+    public KeycloakAuthorities cachedLookup() {
+        return cache.resolve(token);
+    }
+}
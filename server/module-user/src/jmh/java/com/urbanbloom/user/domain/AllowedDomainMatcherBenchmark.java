@@ -0,0 +1,75 @@
+package com.urbanbloom.user.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Allowlist lookups through {@link AllowedDomainMatcher}, compared with the linear scan over
+ * {@link AllowedDomain#matches(Email)} it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AllowedDomainMatcherBenchmark {
+
+    @Param({"100", "10000"})
+    int domainCount;
+
+    private List<AllowedDomain> allowedDomains;
+    private AllowedDomainMatcher matcher;
+    private List<Email> emails;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        allowedDomains = new ArrayList<>(IntStream.range(0, domainCount)
+                .mapToObj(i -> AllowedDomain.of("schule" + i + ".de"))
+                .toList());
+        allowedDomains.add(AllowedDomain.of("*.stadt.de"));
+        matcher = AllowedDomainMatcher.of(allowedDomains);
+        emails = IntStream.range(0, 1_000)
+                .mapToObj(i -> Email.of("user" + i + (i % 2 == 0
+                        ? "@schule" + (i * 7 % domainCount) + ".de"
+                        : "@amt" + i + ".stadt.de")))
+                .toList();
+    }
+
+    @Benchmark
+    public int matcher() {
+        int matched = 0;
+        for (Email email : emails) {
+            if (matcher.matches(email)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int matched = 0;
+        for (Email email : emails) {
+            if (allowedDomains.stream().anyMatch(domain -> domain.matches(email))) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
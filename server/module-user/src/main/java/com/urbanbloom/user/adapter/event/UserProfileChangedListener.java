@@ -0,0 +1,38 @@
+package com.urbanbloom.user.adapter.event;
+
+import com.urbanbloom.user.application.ProfileActivationWorker;
+import com.urbanbloom.user.application.UserProfileViewCache;
+import com.urbanbloom.user.domain.UserProfileDeactivatedEvent;
+import com.urbanbloom.user.domain.UserProfileReactivatedEvent;
+import com.urbanbloom.user.domain.UserRoleChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener for profile change events to drop cached profile state once the change is committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProfileChangedListener {
+
+    private final UserProfileViewCache userProfileViewCache;
+    private final ProfileActivationWorker profileActivationWorker;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserProfileDeactivated(UserProfileDeactivatedEvent event) {
+        userProfileViewCache.invalidateProfile(event.getAggregateId());
+        profileActivationWorker.forget(event.getEmail());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserProfileReactivated(UserProfileReactivatedEvent event) {
+        userProfileViewCache.invalidateProfile(event.getAggregateId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserRoleChanged(UserRoleChangedEvent event) {
+        userProfileViewCache.invalidateProfile(event.getAggregateId());
+    }
+}
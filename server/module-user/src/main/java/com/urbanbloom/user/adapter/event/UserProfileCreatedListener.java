@@ -0,0 +1,23 @@
+package com.urbanbloom.user.adapter.event;
+
+import com.urbanbloom.user.application.RegisteredEmailCache;
+import com.urbanbloom.user.domain.UserProfileCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener for UserProfileCreatedEvent to keep the registered-email cache current.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProfileCreatedListener {
+
+    private final RegisteredEmailCache registeredEmailCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserProfileCreated(UserProfileCreatedEvent event) {
+        registeredEmailCache.markRegistered(event.getEmail());
+    }
+}
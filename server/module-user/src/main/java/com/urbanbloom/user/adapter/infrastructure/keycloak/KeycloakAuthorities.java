@@ -0,0 +1,99 @@
+package com.urbanbloom.user.adapter.infrastructure.keycloak;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Roles granted by a Keycloak access token, resolved once from its
+ * {@code realm_access} and {@code resource_access} claims.
+ */
+public final class KeycloakAuthorities {
+
+    static final KeycloakAuthorities NONE = new KeycloakAuthorities(Set.of(), Map.of());
+
+    private final Set<String> realmRoles;
+    private final Map<String, Set<String>> clientRoles;
+    private final Map<String, List<GrantedAuthority>> grantedAuthoritiesByClient = new ConcurrentHashMap<>();
+
+    private KeycloakAuthorities(Set<String> realmRoles, Map<String, Set<String>> clientRoles) {
+        this.realmRoles = realmRoles;
+        this.clientRoles = clientRoles;
+    }
+
+    /**
+     * Reads the roles from the claim values as produced by the JSON parser (maps and lists).
+     */
+    static KeycloakAuthorities fromClaims(Object realmAccess, Object resourceAccess) {
+        Set<String> realm = rolesOf(realmAccess);
+        Map<String, Set<String>> clients = new LinkedHashMap<>();
+        if (resourceAccess instanceof Map<?, ?> resourceMap) {
+            for (Map.Entry<?, ?> entry : resourceMap.entrySet()) {
+                Set<String> roles = rolesOf(entry.getValue());
+                if (entry.getKey() instanceof String clientId && !roles.isEmpty()) {
+                    clients.put(clientId, roles);
+                }
+            }
+        }
+        if (realm.isEmpty() && clients.isEmpty()) {
+            return NONE;
+        }
+        return new KeycloakAuthorities(realm, Map.copyOf(clients));
+    }
+
+    public Set<String> getRealmRoles() {
+        return realmRoles;
+    }
+
+    public Set<String> getClientRoles(String clientId) {
+        return clientRoles.getOrDefault(clientId, Set.of());
+    }
+
+    /**
+     * Whether the role is granted as a realm role or as a role of any client.
+     */
+    public boolean hasRole(String roleName) {
+        if (realmRoles.contains(roleName)) {
+            return true;
+        }
+        for (Set<String> roles : clientRoles.values()) {
+            if (roles.contains(roleName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Realm roles plus the roles of the given client as {@code ROLE_} authorities.
+     */
+    public List<GrantedAuthority> toGrantedAuthorities(String clientId) {
+        return grantedAuthoritiesByClient.computeIfAbsent(clientId, id -> {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            realmRoles.forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role)));
+            getClientRoles(id).forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role)));
+            return List.copyOf(authorities);
+        });
+    }
+
+    private static Set<String> rolesOf(Object access) {
+        if (!(access instanceof Map<?, ?> accessMap) || !(accessMap.get("roles") instanceof List<?> roles)) {
+            return Set.of();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (Object role : roles) {
+            if (role instanceof String name && !name.isBlank()) {
+                result.add(name);
+            }
+        }
+        return result.isEmpty() ? Set.of() : Collections.unmodifiableSet(result);
+    }
+}
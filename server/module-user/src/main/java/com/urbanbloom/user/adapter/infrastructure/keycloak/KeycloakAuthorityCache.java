@@ -0,0 +1,144 @@
+package com.urbanbloom.user.adapter.infrastructure.keycloak;
+
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the roles granted by Keycloak access tokens, shared by the resource server's
+ * authority mapping and {@link KeycloakIdentityProvider#hasRole}.
+ * <p>
+ * Entries are keyed by a SHA-256 digest of the encoded token rather than its {@code jti}, so an entry
+ * only ever applies to the exact token it was resolved from, and live until the token's {@code exp}.
+ * Tokens without an expiry are resolved but not cached. Once the cache is full, expired entries are
+ * swept; if it is still full the new entry is simply not stored.
+ */
+@Slf4j
+@Component
+public class KeycloakAuthorityCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public KeycloakAuthorityCache(MeterRegistry meterRegistry,
+                                  @Value("${keycloak.authority-cache.max-entries:50000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        Gauge.builder("keycloak.authority_cache.size", entries, Map::size)
+                .description("Access tokens with cached role sets")
+                .register(meterRegistry);
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+    }
+
+    /**
+     * Roles of a token the resource server has already decoded and verified.
+     */
+    public KeycloakAuthorities resolve(Jwt jwt) {
+        return resolve(jwt.getTokenValue(), () -> new Resolved(
+                KeycloakAuthorities.fromClaims(jwt.getClaim("realm_access"), jwt.getClaim("resource_access")),
+                jwt.getExpiresAt()));
+    }
+
+    /**
+     * Roles of an encoded access token. The signature is not checked here; callers must only pass
+     * tokens obtained from Keycloak. Unparseable tokens grant no roles.
+     */
+    public KeycloakAuthorities resolve(String accessToken) {
+        return resolve(accessToken, () -> {
+            try {
+                JWT jwt = JWTParser.parse(accessToken);
+                JWTClaimsSet claims = jwt.getJWTClaimsSet();
+                Date expiresAt = claims.getExpirationTime();
+                return new Resolved(
+                        KeycloakAuthorities.fromClaims(claims.getClaim("realm_access"), claims.getClaim("resource_access")),
+                        expiresAt != null ? expiresAt.toInstant() : null);
+            } catch (ParseException e) {
+                log.warn("Failed to parse access token for role check: {}", e.getMessage());
+                return new Resolved(KeycloakAuthorities.NONE, null);
+            }
+        });
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private KeycloakAuthorities resolve(String tokenValue, Supplier<Resolved> resolver) {
+        String key = digest(tokenValue);
+        long now = Instant.now().getEpochSecond();
+
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAtEpochSecond() > now) {
+                hitCounter.increment();
+                return cached.authorities();
+            }
+            entries.remove(key, cached);
+        }
+
+        missCounter.increment();
+        Resolved resolved = resolver.get();
+        if (resolved.expiresAt() != null && resolved.expiresAt().getEpochSecond() > now) {
+            store(key, new Entry(resolved.authorities(), resolved.expiresAt().getEpochSecond()), now);
+        }
+        return resolved.authorities();
+    }
+
+    private void store(String key, Entry entry, long now) {
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(existing -> existing.expiresAtEpochSecond() <= now);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    private static String digest(String tokenValue) {
+        MessageDigest sha256 = SHA_256.get();
+        sha256.reset();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sha256.digest(tokenValue.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("keycloak.authority_cache.lookups")
+                .description("Access-token role lookups by cache result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Resolved(KeycloakAuthorities authorities, Instant expiresAt) {
+    }
+
+    private record Entry(KeycloakAuthorities authorities, long expiresAtEpochSecond) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.urbanbloom.user.adapter.infrastructure.keycloak;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Records per-route metrics for calls to the Keycloak token and logout endpoints.
+ * <ul>
+ *   <li>{@code keycloak.http.client.requests}: latency per route, endpoint and outcome</li>
+ *   <li>{@code keycloak.http.pool.leased|available|pending|max}: connection pool state per route</li>
+ * </ul>
+ * Pool gauges are registered the first time a route is used.
+ */
+public class KeycloakHttpClientMetrics implements ClientHttpRequestInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final Map<HttpRoute, String> knownRoutes = new ConcurrentHashMap<>();
+
+    public KeycloakHttpClientMetrics(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager connectionManager) {
+        this.meterRegistry = meterRegistry;
+        this.connectionManager = connectionManager;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        URI uri = request.getURI();
+        String route = knownRoutes.computeIfAbsent(routeOf(uri), this::registerPoolGauges);
+        String endpoint = endpointOf(uri);
+
+        long start = System.nanoTime();
+        String outcome = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            outcome = outcomeOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            Timer.builder("keycloak.http.client.requests")
+                    .description("Calls to the Keycloak token and logout endpoints")
+                    .tag("route", route)
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String registerPoolGauges(HttpRoute route) {
+        String name = route.getTargetHost().toHostString();
+        registerPoolGauge("keycloak.http.pool.leased", "Connections currently in use", route, name, PoolStats::getLeased);
+        registerPoolGauge("keycloak.http.pool.available", "Idle keep-alive connections", route, name, PoolStats::getAvailable);
+        registerPoolGauge("keycloak.http.pool.pending", "Requests waiting for a connection", route, name, PoolStats::getPending);
+        registerPoolGauge("keycloak.http.pool.max", "Connection limit", route, name, PoolStats::getMax);
+        return name;
+    }
+
+    private void registerPoolGauge(String metric, String description, HttpRoute route, String name,
+                                   ToIntFunction<PoolStats> value) {
+        Gauge.builder(metric, connectionManager, manager -> value.applyAsInt(manager.getStats(route)))
+                .description(description)
+                .tag("route", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the route the same way the client's route planner does, with the default port made explicit.
+     */
+    static HttpRoute routeOf(URI uri) {
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+    }
+
+    private static String endpointOf(URI uri) {
+        String path = uri.getPath();
+        return path == null ? "" : path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static String outcomeOf(int status) {
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        if (status >= 400) {
+            return "CLIENT_ERROR";
+        }
+        return "SUCCESS";
+    }
+}
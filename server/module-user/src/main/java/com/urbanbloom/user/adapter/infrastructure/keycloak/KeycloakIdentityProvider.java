@@ -1,19 +1,27 @@
 package com.urbanbloom.user.adapter.infrastructure.keycloak;
 
-import com.nimbusds.jwt.JWTClaimsSet;
-import com.nimbusds.jwt.SignedJWT;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.urbanbloom.user.config.RegistrationConfigProperties;
 import com.urbanbloom.user.domain.AuthenticationException;
 import com.urbanbloom.user.domain.AuthenticationResult;
+import com.urbanbloom.user.domain.IdentityImport;
+import com.urbanbloom.user.domain.IdentityImportResult;
 import com.urbanbloom.user.domain.IdentityProvider;
+import com.urbanbloom.user.domain.IdentityRequestRejectedException;
 import com.urbanbloom.user.domain.PasswordResetException;
 import jakarta.annotation.PostConstruct;
+import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.keycloak.OAuth2Constants;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.representations.idm.CredentialRepresentation;
+import org.keycloak.representations.idm.PartialImportRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
@@ -22,10 +30,15 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.text.ParseException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Keycloak implementation of the IdentityProvider interface.
@@ -34,9 +47,15 @@ import java.util.Map;
 @Component
 public class KeycloakIdentityProvider implements IdentityProvider {
 
+    private static final ObjectReader IMPORT_RESPONSE_READER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(PartialImportResponse.class);
+
     private final Keycloak keycloak;
     private final RegistrationConfigProperties registrationConfig;
     private final RestTemplate restTemplate;
+    private final KeycloakAuthorityCache authorityCache;
+    private final RoleRepresentationCache roleCache;
 
     private final String adminRealm;
     private final String serverUrl;
@@ -45,6 +64,9 @@ public class KeycloakIdentityProvider implements IdentityProvider {
     public KeycloakIdentityProvider(
             Keycloak keycloak, 
             RegistrationConfigProperties registrationConfig,
+            @Qualifier("keycloakRestTemplate") RestTemplate restTemplate,
+            KeycloakAuthorityCache authorityCache,
+            RoleRepresentationCache roleCache,
             @Value("${keycloak.admin.realm}") String adminRealm,
             @Value("${keycloak.admin.server-url}") String serverUrl,
             @Value("${keycloak.admin.client-secret:8gNbhElYUd3WvfxwIeBBEWAho0tGURPW}") String clientSecret) {
@@ -53,7 +75,9 @@ public class KeycloakIdentityProvider implements IdentityProvider {
         this.adminRealm = adminRealm;
         this.serverUrl = serverUrl;
         this.clientSecret = clientSecret;
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = restTemplate;
+        this.authorityCache = authorityCache;
+        this.roleCache = roleCache;
         
         log.info("Initialized KeycloakIdentityProvider with Server: {}, Realm: {}, Secret length: {}", 
                 serverUrl, adminRealm, clientSecret != null ? clientSecret.length() : 0);
@@ -93,9 +117,74 @@ public class KeycloakIdentityProvider implements IdentityProvider {
                 String errorMsg = String.format("Fehler beim Erstellen des Benutzers in Keycloak. Status: %s, Error: %s",
                         response.getStatus(), response.readEntity(String.class));
                 log.error(errorMsg);
+                if (IdentityRequestRejectedException.isRejection(response.getStatus())) {
+                    throw new IdentityRequestRejectedException(errorMsg, response.getStatus());
+                }
+                throw new RuntimeException(errorMsg);
+            }
+        }
+    }
+
+    @Override
+    public List<IdentityImportResult> importUsers(List<IdentityImport> users) {
+        log.info("Importing {} users into Keycloak realm {}", users.size(), adminRealm);
+        PartialImportRepresentation partialImport = new PartialImportRepresentation();
+        partialImport.setIfResourceExists(PartialImportRepresentation.Policy.SKIP.name());
+        partialImport.setUsers(users.stream().map(this::toImportRepresentation).toList());
+
+        PartialImportResponse importResponse;
+        try (Response response = keycloak.realm(adminRealm).partialImport(partialImport)) {
+            String body = response.readEntity(String.class);
+            if (response.getStatus() != 200) {
+                String errorMsg = String.format("Fehler beim Import der Benutzer in Keycloak. Status: %s, Error: %s",
+                        response.getStatus(), body);
+                log.error(errorMsg);
+                if (IdentityRequestRejectedException.isRejection(response.getStatus())) {
+                    throw new IdentityRequestRejectedException(errorMsg, response.getStatus());
+                }
                 throw new RuntimeException(errorMsg);
             }
+            importResponse = IMPORT_RESPONSE_READER.readValue(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable partial import response", e);
+        }
+
+        List<IdentityImportResult> results = new ArrayList<>();
+        for (PartialImportResponse.Result result : importResponse.results()) {
+            if ("USER".equals(result.resourceType())) {
+                results.add(new IdentityImportResult(result.resourceName(), result.id(), "ADDED".equals(result.action())));
+            }
+        }
+        log.info("Imported users into Keycloak: {} added, {} skipped", importResponse.added(), importResponse.skipped());
+        return results;
+    }
+
+    private UserRepresentation toImportRepresentation(IdentityImport user) {
+        UserRepresentation representation = new UserRepresentation();
+        representation.setUsername(user.email());
+        representation.setEmail(user.email());
+        representation.setFirstName(user.firstName());
+        representation.setLastName(user.lastName());
+        representation.setEnabled(true);
+        representation.setEmailVerified(!registrationConfig.isEmailVerificationRequired());
+        representation.setRealmRoles(List.of(user.roleName()));
+
+        // Keycloak asks for the missing steps on first login; partial import does not send emails itself
+        List<String> requiredActions = new ArrayList<>();
+        if (registrationConfig.isEmailVerificationRequired()) {
+            requiredActions.add("VERIFY_EMAIL");
+        }
+        if (user.password() == null) {
+            requiredActions.add("UPDATE_PASSWORD");
+        } else {
+            CredentialRepresentation credential = new CredentialRepresentation();
+            credential.setType(CredentialRepresentation.PASSWORD);
+            credential.setValue(user.password());
+            credential.setTemporary(false);
+            representation.setCredentials(Collections.singletonList(credential));
         }
+        representation.setRequiredActions(requiredActions);
+        return representation;
     }
 
     @Override
@@ -104,15 +193,57 @@ public class KeycloakIdentityProvider implements IdentityProvider {
         return !users.isEmpty();
     }
 
+    @Override
+    public Optional<String> findUserIdByEmail(String email, Instant createdSince) {
+        List<UserRepresentation> users = keycloak.realm(adminRealm).users().search(email, true);
+        return users.stream()
+                .filter(user -> email.equalsIgnoreCase(user.getEmail()))
+                .filter(user -> user.getCreatedTimestamp() != null
+                        && user.getCreatedTimestamp() >= createdSince.toEpochMilli())
+                .map(UserRepresentation::getId)
+                .findFirst();
+    }
+
     @Override
     public void assignRole(String userId, String roleName) {
         log.info("Assigning role {} to user {} in realm {}", roleName, userId, adminRealm);
-        var roleRepresentation = keycloak.realm(adminRealm).roles().get(roleName).toRepresentation();
-        keycloak.realm(adminRealm).users().get(userId).roles().realmLevel()
-                .add(Collections.singletonList(roleRepresentation));
+        addRealmRole(userId, roleName);
         log.info("Successfully assigned role {} to user {}", roleName, userId);
     }
 
+    /**
+     * Adds the realm role using the cached representation. A 404 means either the user or the role is gone;
+     * if the role was re-created under a new id, the cached representation is replaced and the assignment
+     * retried once.
+     */
+    private void addRealmRole(String userId, String roleName) {
+        RoleRepresentation cached = realmRole(roleName);
+        try {
+            keycloak.realm(adminRealm).users().get(userId).roles().realmLevel()
+                    .add(Collections.singletonList(cached));
+        } catch (NotFoundException e) {
+            RoleRepresentation current;
+            try {
+                current = keycloak.realm(adminRealm).roles().get(roleName).toRepresentation();
+            } catch (NotFoundException roleMissing) {
+                roleCache.invalidate(adminRealm, roleName);
+                throw e;
+            }
+            if (Objects.equals(current.getId(), cached.getId())) {
+                throw e;
+            }
+            log.info("Role {} of realm {} was re-created, reloading it", roleName, adminRealm);
+            roleCache.invalidate(adminRealm, roleName);
+            keycloak.realm(adminRealm).users().get(userId).roles().realmLevel()
+                    .add(Collections.singletonList(roleCache.get(adminRealm, roleName, () -> current)));
+        }
+    }
+
+    private RoleRepresentation realmRole(String roleName) {
+        return roleCache.get(adminRealm, roleName,
+                () -> keycloak.realm(adminRealm).roles().get(roleName).toRepresentation());
+    }
+
     @Override
     public void sendVerificationEmail(String userId) {
         try {
@@ -184,9 +315,6 @@ public class KeycloakIdentityProvider implements IdentityProvider {
             throw AuthenticationException.providerError("Interner Authentifizierungsfehler", e);
         }
     }
-            throw AuthenticationException.providerError(e.getMessage(), e);
-        }
-    }
 
     @Override
     public AuthenticationResult refreshToken(String refreshToken, String realm, String clientId) {
@@ -230,44 +358,12 @@ public class KeycloakIdentityProvider implements IdentityProvider {
 
     @Override
     public boolean hasRole(String accessToken, String roleName) {
-        try {
-            SignedJWT signedJWT = SignedJWT.parse(accessToken);
-            JWTClaimsSet claimsSet = signedJWT.getJWTClaimsSet();
-            
-            log.debug("Checking role {} in JWT claims: {}", roleName, claimsSet.toJSONObject());
-
-            // 1. Check realm roles
-            Map<String, Object> realmAccess = (Map<String, Object>) claimsSet.getClaim("realm_access");
-            if (realmAccess != null) {
-                List<String> roles = (List<String>) realmAccess.get("roles");
-                if (roles != null && roles.contains(roleName)) {
-                    log.debug("Role {} found in realm_access", roleName);
-                    return true;
-                }
-            }
-
-            // 2. Check resource access (client roles)
-            Map<String, Object> resourceAccess = (Map<String, Object>) claimsSet.getClaim("resource_access");
-            if (resourceAccess != null) {
-                for (Object clientAccessObj : resourceAccess.values()) {
-                    if (clientAccessObj instanceof Map) {
-                        Map<String, Object> clientAccess = (Map<String, Object>) clientAccessObj;
-                        List<String> roles = (List<String>) clientAccess.get("roles");
-                        if (roles != null && roles.contains(roleName)) {
-                            log.debug("Role {} found in resource_access", roleName);
-                            return true;
-                        }
-                    }
-                }
-            }
-
-            log.warn("Role {} not found in JWT. Available realm roles: {}", roleName, 
-                    realmAccess != null ? realmAccess.get("roles") : "none");
-            return false;
-        } catch (ParseException | ClassCastException e) {
-            log.error("Failed to parse access token for role check", e);
-            return false;
+        KeycloakAuthorities authorities = authorityCache.resolve(accessToken);
+        if (authorities.hasRole(roleName)) {
+            return true;
         }
+        log.warn("Role {} not found in JWT. Available realm roles: {}", roleName, authorities.getRealmRoles());
+        return false;
     }
 
     @Override
@@ -351,4 +447,13 @@ public class KeycloakIdentityProvider implements IdentityProvider {
         keycloak.realm(adminRealm).users().get(userId).remove();
         log.info("Deleted user {} from Keycloak", userId);
     }
+
+    /**
+     * Body of Keycloak's partial import response.
+     */
+    record PartialImportResponse(int added, int skipped, List<Result> results) {
+
+        record Result(String action, String resourceType, String resourceName, String id) {
+        }
+    }
 }
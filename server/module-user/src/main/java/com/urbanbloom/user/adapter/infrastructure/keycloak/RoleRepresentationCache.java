@@ -0,0 +1,54 @@
+package com.urbanbloom.user.adapter.infrastructure.keycloak;
+
+import lombok.extern.slf4j.Slf4j;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Realm role representations, cached per realm for {@code keycloak.role-cache.ttl-seconds}.
+ * Realm roles are practically static, so role assignment does not need to look the role up every time.
+ * An entry is dropped when an assignment shows that the role was deleted or re-created in Keycloak.
+ */
+@Slf4j
+@Component
+public class RoleRepresentationCache {
+
+    private final long ttlNanos;
+    private final Map<String, Map<String, Entry>> rolesByRealm = new ConcurrentHashMap<>();
+
+    public RoleRepresentationCache(@Value("${keycloak.role-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * Returns the cached representation, loading it if it is missing or expired.
+     */
+    public RoleRepresentation get(String realm, String roleName, Supplier<RoleRepresentation> loader) {
+        Map<String, Entry> roles = rolesByRealm.computeIfAbsent(realm, r -> new ConcurrentHashMap<>());
+        long now = System.nanoTime();
+        Entry entry = roles.get(roleName);
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            return entry.role();
+        }
+        RoleRepresentation role = loader.get();
+        roles.put(roleName, new Entry(role, now));
+        log.debug("Loaded role {} of realm {}", roleName, realm);
+        return role;
+    }
+
+    public void invalidate(String realm, String roleName) {
+        Map<String, Entry> roles = rolesByRealm.get(realm);
+        if (roles != null) {
+            roles.remove(roleName);
+        }
+    }
+
+    private record Entry(RoleRepresentation role, long loadedAt) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.urbanbloom.user.adapter.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ * <ul>
+ *   <li>CLOSED: calls pass; the outcomes of the last {@code slidingWindowSize} calls are kept and
+ *       the circuit opens once at least {@code minimumCalls} were recorded and the failure rate
+ *       reaches the threshold.</li>
+ *   <li>OPEN: calls are rejected until {@code openDuration} has passed.</li>
+ *   <li>HALF_OPEN: up to {@code halfOpenCalls} trial calls pass; one failure re-opens the circuit,
+ *       all succeeding closes it.</li>
+ * </ul>
+ * Every transition starts a new generation; outcomes of calls admitted in an earlier
+ * generation are ignored so that slow calls cannot flip a state they did not observe.
+ */
+class CircuitBreaker {
+
+    static final long REJECTED = -1;
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    interface TransitionListener {
+        void onTransition(State from, State to);
+    }
+
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+    private final TransitionListener listener;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int halfOpenAdmitted;
+    private int halfOpenSucceeded;
+
+    CircuitBreaker(int slidingWindowSize, int minimumCalls, int failureRateThreshold, Duration openDuration,
+                   int halfOpenCalls, LongSupplier nanoClock, TransitionListener listener) {
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+        this.listener = listener;
+        this.window = new boolean[slidingWindowSize];
+    }
+
+    /**
+     * Returns the generation the call was admitted in, or {@link #REJECTED}.
+     */
+    synchronized long tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openDurationNanos) {
+                return REJECTED;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenAdmitted >= halfOpenCalls) {
+                return REJECTED;
+            }
+            halfOpenAdmitted++;
+        }
+        return generation;
+    }
+
+    /**
+     * Gives back a permission whose call was never made.
+     */
+    synchronized void releasePermission(long admittedIn) {
+        if (admittedIn == generation && state == State.HALF_OPEN) {
+            halfOpenAdmitted--;
+        }
+    }
+
+    synchronized void onSuccess(long admittedIn) {
+        if (admittedIn != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSucceeded >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure(long admittedIn) {
+        if (admittedIn != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Time until trial calls are let through again; zero unless the circuit is open.
+     */
+    synchronized Duration remainingOpenDuration() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openDurationNanos - (nanoClock.getAsLong() - openedAt)));
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == slidingWindowSize) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % slidingWindowSize;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        generation++;
+        halfOpenAdmitted = 0;
+        halfOpenSucceeded = 0;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        if (next == State.OPEN) {
+            openedAt = nanoClock.getAsLong();
+        }
+        listener.onTransition(previous, next);
+    }
+}
@@ -0,0 +1,142 @@
+package com.urbanbloom.user.adapter.infrastructure.resilience;
+
+import com.urbanbloom.user.config.IdentityProviderResilienceProperties;
+import com.urbanbloom.user.domain.IdentityProviderUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker plus bulkhead for one class of identity provider operations.
+ * <p>
+ * Metrics (tagged with {@code operation}):
+ * <ul>
+ *   <li>{@code identity.circuit.state}: 0 closed, 1 open, 2 half-open</li>
+ *   <li>{@code identity.circuit.transitions}: state changes, tagged {@code from} and {@code to}</li>
+ *   <li>{@code identity.bulkhead.available}: free bulkhead slots</li>
+ *   <li>{@code identity.calls.rejected}: fast-failed calls, tagged {@code reason}</li>
+ * </ul>
+ */
+@Slf4j
+class GuardedOperation {
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final long maxWaitNanos;
+    private final Predicate<RuntimeException> isFailure;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedByCircuit;
+    private final Counter rejectedByBulkhead;
+
+    GuardedOperation(String name, IdentityProviderResilienceProperties.OperationClass config,
+                     Predicate<RuntimeException> isFailure, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.name = name;
+        this.isFailure = isFailure;
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = new Semaphore(config.getMaxConcurrentCalls());
+        this.maxWaitNanos = config.getMaxWait().toNanos();
+        this.circuitBreaker = new CircuitBreaker(
+                config.getSlidingWindowSize(),
+                config.getMinimumCalls(),
+                config.getFailureRateThreshold(),
+                config.getOpenDuration(),
+                config.getHalfOpenCalls(),
+                nanoClock,
+                this::onTransition);
+
+        Gauge.builder("identity.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Identity provider circuit state (0 closed, 1 open, 2 half-open)")
+                .tag("operation", name)
+                .register(meterRegistry);
+        Gauge.builder("identity.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Free identity provider bulkhead slots")
+                .tag("operation", name)
+                .register(meterRegistry);
+        this.rejectedByCircuit = rejectedCounter("circuit_open");
+        this.rejectedByBulkhead = rejectedCounter("bulkhead_full");
+    }
+
+    /**
+     * Runs the call, or throws {@link IdentityProviderUnavailableException} without calling out.
+     */
+    <T> T call(Supplier<T> supplier) {
+        long permission = circuitBreaker.tryAcquirePermission();
+        if (permission == CircuitBreaker.REJECTED) {
+            rejectedByCircuit.increment();
+            throw IdentityProviderUnavailableException.circuitOpen(circuitBreaker.remainingOpenDuration());
+        }
+        if (!acquireBulkhead()) {
+            circuitBreaker.releasePermission(permission);
+            rejectedByBulkhead.increment();
+            throw IdentityProviderUnavailableException.overloaded();
+        }
+        try {
+            T result = supplier.get();
+            circuitBreaker.onSuccess(permission);
+            return result;
+        } catch (RuntimeException e) {
+            if (isFailure.test(e)) {
+                circuitBreaker.onFailure(permission);
+            } else {
+                circuitBreaker.onSuccess(permission);
+            }
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    void run(Runnable runnable) {
+        call(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    private boolean acquireBulkhead() {
+        if (maxWaitNanos <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void onTransition(CircuitBreaker.State from, CircuitBreaker.State to) {
+        if (to == CircuitBreaker.State.OPEN) {
+            log.warn("Identity provider circuit '{}' opened (was {})", name, from);
+        } else {
+            log.info("Identity provider circuit '{}' changed from {} to {}", name, from, to);
+        }
+        Counter.builder("identity.circuit.transitions")
+                .description("Identity provider circuit state changes")
+                .tag("operation", name)
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Counter rejectedCounter(String reason) {
+        return Counter.builder("identity.calls.rejected")
+                .description("Identity provider calls rejected without calling out")
+                .tag("operation", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
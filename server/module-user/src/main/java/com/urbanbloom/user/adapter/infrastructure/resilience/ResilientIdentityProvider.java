@@ -0,0 +1,150 @@
+package com.urbanbloom.user.adapter.infrastructure.resilience;
+
+import com.urbanbloom.user.config.IdentityProviderResilienceProperties;
+import com.urbanbloom.user.domain.AuthenticationException;
+import com.urbanbloom.user.domain.AuthenticationResult;
+import com.urbanbloom.user.domain.IdentityImport;
+import com.urbanbloom.user.domain.IdentityImportResult;
+import com.urbanbloom.user.domain.IdentityProvider;
+import com.urbanbloom.user.domain.IdentityProviderUnavailableException;
+import com.urbanbloom.user.domain.IdentityRequestRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.ws.rs.WebApplicationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resilience decorator for the {@link IdentityProvider} port.
+ * <p>
+ * Token endpoint calls (login, refresh, logout) and admin API calls each get their own
+ * circuit breaker and bulkhead, so a degraded Keycloak fails fast with
+ * {@link IdentityProviderUnavailableException} instead of tying up request threads.
+ * Rejections of best-effort calls (logout, verification email) are logged and swallowed,
+ * matching how the underlying provider treats their failures.
+ */
+@Slf4j
+@Primary
+@Component
+public class ResilientIdentityProvider implements IdentityProvider {
+
+    private final IdentityProvider delegate;
+    private final GuardedOperation tokenCalls;
+    private final GuardedOperation adminCalls;
+
+    public ResilientIdentityProvider(
+            @Qualifier("keycloakIdentityProvider") IdentityProvider delegate,
+            IdentityProviderResilienceProperties properties,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.tokenCalls = new GuardedOperation("token", properties.getToken(),
+                ResilientIdentityProvider::isTokenFailure, meterRegistry, System::nanoTime);
+        this.adminCalls = new GuardedOperation("admin", properties.getAdmin(),
+                ResilientIdentityProvider::isAdminFailure, meterRegistry, System::nanoTime);
+    }
+
+    @Override
+    public String createUser(String email, String password, String firstName, String lastName,
+            Map<String, List<String>> attributes) {
+        return adminCalls.call(() -> delegate.createUser(email, password, firstName, lastName, attributes));
+    }
+
+    @Override
+    public boolean isEmailRegistered(String email) {
+        return adminCalls.call(() -> delegate.isEmailRegistered(email));
+    }
+
+    @Override
+    public Optional<String> findUserIdByEmail(String email, Instant createdSince) {
+        return adminCalls.call(() -> delegate.findUserIdByEmail(email, createdSince));
+    }
+
+    @Override
+    public void assignRole(String userId, String roleName) {
+        adminCalls.run(() -> delegate.assignRole(userId, roleName));
+    }
+
+    @Override
+    public List<IdentityImportResult> importUsers(List<IdentityImport> users) {
+        return adminCalls.call(() -> delegate.importUsers(users));
+    }
+
+    @Override
+    public void sendVerificationEmail(String userId) {
+        try {
+            adminCalls.run(() -> delegate.sendVerificationEmail(userId));
+        } catch (IdentityProviderUnavailableException e) {
+            log.warn("Skipped verification email for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public AuthenticationResult authenticate(String email, String password, String realm, String clientId) {
+        return tokenCalls.call(() -> delegate.authenticate(email, password, realm, clientId));
+    }
+
+    @Override
+    public AuthenticationResult refreshToken(String refreshToken, String realm, String clientId) {
+        return tokenCalls.call(() -> delegate.refreshToken(refreshToken, realm, clientId));
+    }
+
+    @Override
+    public boolean hasRole(String accessToken, String roleName) {
+        // Local JWT inspection, no remote call
+        return delegate.hasRole(accessToken, roleName);
+    }
+
+    @Override
+    public void logout(String refreshToken, String realm, String clientId) {
+        try {
+            tokenCalls.run(() -> delegate.logout(refreshToken, realm, clientId));
+        } catch (IdentityProviderUnavailableException e) {
+            log.warn("Skipped logout in realm {}: {}", realm, e.getMessage());
+        }
+    }
+
+    @Override
+    public void sendPasswordResetEmail(String email) {
+        adminCalls.run(() -> delegate.sendPasswordResetEmail(email));
+    }
+
+    @Override
+    public void resetUserPassword(String userId, String newPassword) {
+        adminCalls.run(() -> delegate.resetUserPassword(userId, newPassword));
+    }
+
+    @Override
+    public void deleteUser(String userId) {
+        adminCalls.run(() -> delegate.deleteUser(userId));
+    }
+
+    /**
+     * Wrong credentials, unverified accounts etc. are valid answers from a healthy provider.
+     */
+    private static boolean isTokenFailure(RuntimeException e) {
+        return !(e instanceof AuthenticationException authException)
+                || "PROVIDER_ERROR".equals(authException.getErrorCode());
+    }
+
+    /**
+     * 4xx responses from the admin API (unknown user, conflict) are not provider failures,
+     * except timeouts and rate limiting.
+     */
+    private static boolean isAdminFailure(RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IdentityRequestRejectedException) {
+                return false;
+            }
+            if (cause instanceof WebApplicationException webException && webException.getResponse() != null) {
+                return !IdentityRequestRejectedException.isRejection(webException.getResponse().getStatus());
+            }
+        }
+        return true;
+    }
+}
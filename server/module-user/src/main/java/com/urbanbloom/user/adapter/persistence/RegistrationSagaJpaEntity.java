@@ -0,0 +1,64 @@
+package com.urbanbloom.user.adapter.persistence;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * JPA entity for a pending registration.
+ * The worker lock ({@code locked_until}) is only changed through {@link RegistrationSagaJpaRepository}.
+ */
+@Entity
+@Table(name = "registration_sagas", schema = "module_user_schema")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationSagaJpaEntity {
+
+    @Id
+    private String id;
+
+    @Column(name = "email", nullable = false)
+    private String email;
+
+    @Column(name = "first_name", nullable = false)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false)
+    private String lastName;
+
+    @Column(name = "role", nullable = false)
+    private String role;
+
+    @Column(name = "step", nullable = false)
+    private String step;
+
+    @Column(name = "external_user_id")
+    private String externalUserId;
+
+    @Column(name = "user_profile_id")
+    private String userProfileId;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "locked_until", insertable = false, updatable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
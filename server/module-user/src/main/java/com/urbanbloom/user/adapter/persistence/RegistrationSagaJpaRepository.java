@@ -0,0 +1,49 @@
+package com.urbanbloom.user.adapter.persistence;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for RegistrationSagaJpaEntity.
+ */
+@Repository
+public interface RegistrationSagaJpaRepository extends JpaRepository<RegistrationSagaJpaEntity, String> {
+
+    boolean existsByEmailAndStepNotIn(String email, Collection<String> steps);
+
+    @Query("SELECT r.email FROM RegistrationSagaJpaEntity r WHERE r.step NOT IN :terminalSteps")
+    List<String> findEmailsByStepNotIn(@Param("terminalSteps") Collection<String> terminalSteps);
+
+    @Query("""
+            SELECT r.id FROM RegistrationSagaJpaEntity r
+            WHERE r.step NOT IN :terminalSteps
+              AND r.nextAttemptAt <= :now
+              AND (r.lockedUntil IS NULL OR r.lockedUntil < :now)
+            ORDER BY r.nextAttemptAt
+            """)
+    List<String> findDueIds(@Param("terminalSteps") Collection<String> terminalSteps,
+                            @Param("now") Instant now,
+                            Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE RegistrationSagaJpaEntity r SET r.lockedUntil = :lockedUntil
+            WHERE r.id = :id AND (r.lockedUntil IS NULL OR r.lockedUntil < :now)
+            """)
+    int lock(@Param("id") String id, @Param("now") Instant now, @Param("lockedUntil") Instant lockedUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RegistrationSagaJpaEntity r SET r.lockedUntil = NULL WHERE r.id = :id")
+    int unlock(@Param("id") String id);
+}
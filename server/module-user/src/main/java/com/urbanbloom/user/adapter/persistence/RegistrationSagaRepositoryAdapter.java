@@ -0,0 +1,105 @@
+package com.urbanbloom.user.adapter.persistence;
+
+import com.urbanbloom.user.application.RegistrationException;
+import com.urbanbloom.user.application.RegistrationSaga;
+import com.urbanbloom.user.application.RegistrationSagaRepository;
+import com.urbanbloom.user.domain.Email;
+import com.urbanbloom.user.domain.UserName;
+import com.urbanbloom.user.domain.UserRole;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adapter implementing the RegistrationSagaRepository port.
+ */
+@Component
+@RequiredArgsConstructor
+public class RegistrationSagaRepositoryAdapter implements RegistrationSagaRepository {
+
+    private static final List<String> TERMINAL_STEPS =
+            List.of(RegistrationSaga.Step.COMPLETED.name(), RegistrationSaga.Step.FAILED.name());
+
+    private final RegistrationSagaJpaRepository jpaRepository;
+
+    @Override
+    public RegistrationSaga save(RegistrationSaga saga) {
+        try {
+            jpaRepository.saveAndFlush(toEntity(saga));
+            return saga;
+        } catch (DataIntegrityViolationException e) {
+            throw new RegistrationException("E-Mail-Adresse ist bereits registriert: " + saga.getEmail().getValue(), e);
+        }
+    }
+
+    @Override
+    public Optional<RegistrationSaga> findById(String id) {
+        return jpaRepository.findById(id).map(this::toDomain);
+    }
+
+    @Override
+    public boolean existsInProgressByEmail(Email email) {
+        return jpaRepository.existsByEmailAndStepNotIn(email.getValue(), TERMINAL_STEPS);
+    }
+
+    @Override
+    public List<Email> findInProgressEmails() {
+        return jpaRepository.findEmailsByStepNotIn(TERMINAL_STEPS).stream()
+                .map(Email::of)
+                .toList();
+    }
+
+    @Override
+    public List<String> findDueIds(Instant now, int limit) {
+        return jpaRepository.findDueIds(TERMINAL_STEPS, now, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public boolean tryLock(String id, Instant now, Instant lockedUntil) {
+        return jpaRepository.lock(id, now, lockedUntil) == 1;
+    }
+
+    @Override
+    public void unlock(String id) {
+        jpaRepository.unlock(id);
+    }
+
+    private RegistrationSagaJpaEntity toEntity(RegistrationSaga saga) {
+        return RegistrationSagaJpaEntity.builder()
+                .id(saga.getId())
+                .email(saga.getEmail().getValue())
+                .firstName(saga.getUserName().getFirstName())
+                .lastName(saga.getUserName().getLastName())
+                .role(saga.getRole().name())
+                .step(saga.getStep().name())
+                .externalUserId(saga.getExternalUserId())
+                .userProfileId(saga.getUserProfileId())
+                .attempts(saga.getAttempts())
+                .nextAttemptAt(saga.getNextAttemptAt())
+                .lastError(saga.getLastError())
+                .createdAt(saga.getCreatedAt())
+                .updatedAt(saga.getUpdatedAt())
+                .build();
+    }
+
+    private RegistrationSaga toDomain(RegistrationSagaJpaEntity entity) {
+        return RegistrationSaga.reconstruct(
+                entity.getId(),
+                Email.of(entity.getEmail()),
+                UserName.of(entity.getFirstName(), entity.getLastName()),
+                UserRole.of(entity.getRole()),
+                RegistrationSaga.Step.valueOf(entity.getStep()),
+                entity.getExternalUserId(),
+                entity.getUserProfileId(),
+                entity.getAttempts(),
+                entity.getNextAttemptAt(),
+                entity.getLastError(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt());
+    }
+}
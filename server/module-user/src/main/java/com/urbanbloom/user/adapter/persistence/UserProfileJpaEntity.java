@@ -38,6 +38,9 @@ public class UserProfileJpaEntity {
     @Column(name = "role", nullable = false)
     private String role;
 
+    @Column(name = "points", nullable = false)
+    private int points;
+
     @Column(name = "active", nullable = false)
     private boolean active;
 
@@ -1,8 +1,12 @@
 package com.urbanbloom.user.adapter.persistence;
 
+import com.urbanbloom.user.application.UserProfileView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,5 +17,20 @@ public interface UserProfileJpaRepository extends JpaRepository<UserProfileJpaEn
     Optional<UserProfileJpaEntity> findByExternalUserId(String externalUserId);
     Optional<UserProfileJpaEntity> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM UserProfileJpaEntity u")
+    List<String> findAllEmails();
+
     boolean existsByExternalUserId(String externalUserId);
+
+    /**
+     * Projection of a profile into its read model; the entity is neither hydrated nor attached to the persistence context.
+     */
+    @Query("""
+            SELECT new com.urbanbloom.user.application.UserProfileView(
+                u.id, u.externalUserId, u.email, u.firstName, u.lastName, u.role, u.points, u.active, u.createdAt)
+            FROM UserProfileJpaEntity u
+            WHERE u.externalUserId = :externalUserId
+            """)
+    Optional<UserProfileView> findViewByExternalUserId(@Param("externalUserId") String externalUserId);
 }
@@ -1,9 +1,13 @@
 package com.urbanbloom.user.adapter.persistence;
 
+import com.urbanbloom.user.application.UserProfileViewCache;
 import com.urbanbloom.user.domain.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,16 +18,57 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserProfileRepositoryAdapter implements com.urbanbloom.user.domain.UserProfileRepository {
 
+    private static final int INSERT_BATCH_SIZE = 100;
+
     private final UserProfileJpaRepository jpaRepository;
     private final UserProfilePersistenceMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserProfileViewCache viewCache;
 
     @Override
     public UserProfile save(UserProfile userProfile) {
         UserProfileJpaEntity entity = mapper.toEntity(userProfile);
         UserProfileJpaEntity saved = jpaRepository.save(entity);
+        viewCache.invalidate(userProfile.getExternalUserId());
         return mapper.toDomain(saved);
     }
 
+    /**
+     * Uses plain JDBC batches; going through JPA would issue a SELECT per profile because the IDs are assigned.
+     */
+    @Override
+    public List<UserProfile> insertAll(List<UserProfile> userProfiles) {
+        List<UserProfileJpaEntity> entities = userProfiles.stream().map(mapper::toEntity).toList();
+        int[][] counts = jdbcTemplate.batchUpdate("""
+                        INSERT INTO module_user_schema.user_profiles
+                            (id, external_user_id, email, first_name, last_name, role, points, active, created_at, updated_at)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, now(), now())
+                        ON CONFLICT DO NOTHING
+                        """,
+                entities, INSERT_BATCH_SIZE, (ps, entity) -> {
+                    ps.setString(1, entity.getId());
+                    ps.setString(2, entity.getExternalUserId());
+                    ps.setString(3, entity.getEmail());
+                    ps.setString(4, entity.getFirstName());
+                    ps.setString(5, entity.getLastName());
+                    ps.setString(6, entity.getRole());
+                    ps.setInt(7, entity.getPoints());
+                    ps.setBoolean(8, entity.isActive());
+                });
+
+        List<UserProfile> inserted = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 0) {
+                    inserted.add(userProfiles.get(index));
+                }
+                index++;
+            }
+        }
+        return inserted;
+    }
+
     @Override
     public Optional<UserProfile> findById(String id) {
         return jpaRepository.findById(id)
@@ -47,6 +92,13 @@ public class UserProfileRepositoryAdapter implements com.urbanbloom.user.domain.
         return jpaRepository.existsByEmail(email.getValue());
     }
 
+    @Override
+    public List<Email> findAllEmails() {
+        return jpaRepository.findAllEmails().stream()
+                .map(Email::of)
+                .toList();
+    }
+
     @Override
     public boolean existsByExternalUserId(ExternalUserId externalUserId) {
         return jpaRepository.existsByExternalUserId(externalUserId.getValue());
@@ -55,10 +107,12 @@ public class UserProfileRepositoryAdapter implements com.urbanbloom.user.domain.
     @Override
     public void delete(UserProfile userProfile) {
         jpaRepository.deleteById(userProfile.getId());
+        viewCache.invalidate(userProfile.getExternalUserId());
     }
 
     @Override
     public void deleteById(String id) {
         jpaRepository.deleteById(id);
+        viewCache.invalidateProfile(id);
     }
 }
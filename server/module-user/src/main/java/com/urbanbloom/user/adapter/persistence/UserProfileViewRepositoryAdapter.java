@@ -0,0 +1,24 @@
+package com.urbanbloom.user.adapter.persistence;
+
+import com.urbanbloom.user.application.UserProfileView;
+import com.urbanbloom.user.application.UserProfileViewRepository;
+import com.urbanbloom.user.domain.ExternalUserId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Adapter implementing the UserProfileViewRepository port with projection queries.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProfileViewRepositoryAdapter implements UserProfileViewRepository {
+
+    private final UserProfileJpaRepository jpaRepository;
+
+    @Override
+    public Optional<UserProfileView> findByExternalUserId(ExternalUserId externalUserId) {
+        return jpaRepository.findViewByExternalUserId(externalUserId.getValue());
+    }
+}
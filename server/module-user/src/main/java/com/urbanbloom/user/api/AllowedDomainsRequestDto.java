@@ -0,0 +1,20 @@
+package com.urbanbloom.user.api;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for replacing the allowed registration domains.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllowedDomainsRequestDto {
+
+    @NotNull(message = "Domains are required")
+    private List<String> domains;
+}
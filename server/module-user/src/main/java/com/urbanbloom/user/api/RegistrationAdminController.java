@@ -0,0 +1,47 @@
+package com.urbanbloom.user.api;
+
+import com.urbanbloom.user.application.AllowedDomainRegistry;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for administering self-registration.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/registration")
+@RequiredArgsConstructor
+public class RegistrationAdminController {
+
+    private final AllowedDomainRegistry allowedDomainRegistry;
+
+    /**
+     * Get the email domains currently allowed for registration.
+     */
+    @GetMapping("/allowed-domains")
+    public ResponseEntity<AllowedDomainsResponseDto> getAllowedDomains() {
+        return ResponseEntity.ok(new AllowedDomainsResponseDto(allowedDomainRegistry.getAllowedDomains()));
+    }
+
+    /**
+     * Replace the email domains allowed for registration. Takes effect immediately, without a restart.
+     * An empty list closes self-registration; only {@code *} opens it to every domain.
+     * The change applies to the instance serving the request only and is not persisted: other instances
+     * keep their list, and a restart goes back to {@code urbanbloom.registration.allowed-domains}.
+     */
+    @PutMapping("/allowed-domains")
+    public ResponseEntity<?> updateAllowedDomains(@Valid @RequestBody AllowedDomainsRequestDto request) {
+        log.info("Replacing allowed registration domains with {} entries", request.getDomains().size());
+        try {
+            allowedDomainRegistry.update(request.getDomains());
+            return ResponseEntity.ok(new AllowedDomainsResponseDto(allowedDomainRegistry.getAllowedDomains()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new ErrorResponseDto("INVALID_DOMAIN", e.getMessage()));
+        }
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 /**
  * REST Controller for user registration.
  */
@@ -24,6 +26,7 @@ public class RegistrationController {
 
     /**
      * Register a new user.
+     * The registration is completed in the background; its progress can be polled via the returned location.
      */
     @PostMapping("/registration")
     public ResponseEntity<RegistrationResponseDto> register(@Valid @RequestBody RegistrationRequestDto request) {
@@ -33,7 +36,34 @@ public class RegistrationController {
         RegistrationResponseDto response = mapper.toDto(result);
 
         return ResponseEntity
-                .status(HttpStatus.CREATED)
+                .status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/v1/registration/" + result.getRegistrationId()))
                 .body(response);
     }
+
+    /**
+     * Get the current state of a registration.
+     */
+    @GetMapping("/registration/{registrationId}")
+    public ResponseEntity<?> getRegistration(@PathVariable String registrationId) {
+        return registrationService.getRegistration(registrationId)
+                .<ResponseEntity<?>>map(result -> ResponseEntity.ok(mapper.toDto(result)))
+                .orElseGet(() -> ResponseEntity
+                        .status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponseDto("REGISTRATION_NOT_FOUND", "Registrierung nicht gefunden.")));
+    }
+
+    /**
+     * Check whether an email address is still available, e.g. while the registration form is filled in.
+     */
+    @GetMapping("/registration/email-availability")
+    public ResponseEntity<?> checkEmailAvailability(@RequestParam String email) {
+        try {
+            return ResponseEntity.ok(new EmailAvailabilityDto(email, registrationService.isEmailAvailable(email)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new ErrorResponseDto("INVALID_EMAIL", e.getMessage()));
+        }
+    }
 }
@@ -21,6 +21,8 @@ public class RegistrationMapper {
 
     public RegistrationResponseDto toDto(RegistrationResult result) {
         return new RegistrationResponseDto(
+                result.getRegistrationId(),
+                result.getStatus().name(),
                 result.getUserId(),
                 result.getExternalId(),
                 result.getMessage(),
@@ -11,6 +11,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class RegistrationResponseDto {
+    private String registrationId;
+    private String status;
     private String userId;
     private String externalId;
     private String message;
@@ -2,7 +2,7 @@ package com.urbanbloom.user.api;
 
 import com.urbanbloom.user.application.UserProfileApplicationService;
 import com.urbanbloom.user.application.UserProfileNotFoundException;
-import com.urbanbloom.user.domain.UserProfile;
+import com.urbanbloom.user.application.UserProfileView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -30,7 +30,7 @@ public class UserController {
         log.debug("Get current user profile request received");
 
         try {
-            UserProfile profile = userProfileApplicationService.getCurrentUserProfile();
+            UserProfileView profile = userProfileApplicationService.getCurrentUserProfile();
             UserDto dto = userProfileMapper.toDto(profile);
             return ResponseEntity.ok(dto);
         } catch (UserProfileNotFoundException e) {
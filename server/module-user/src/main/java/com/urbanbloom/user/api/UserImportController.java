@@ -0,0 +1,87 @@
+package com.urbanbloom.user.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.urbanbloom.user.application.UserImportService;
+import com.urbanbloom.user.application.UserImportSummary;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * REST Controller for bulk user imports by administrators.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/users")
+public class UserImportController {
+
+    static final String TEXT_CSV = "text/csv";
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final UserImportService userImportService;
+    private final ObjectWriter lineWriter;
+
+    public UserImportController(UserImportService userImportService, ObjectMapper objectMapper) {
+        this.userImportService = userImportService;
+        // One JSON document per line, regardless of the configured pretty printing
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Import users from a CSV or NDJSON body.
+     * The response is streamed as NDJSON: one result per row as soon as its chunk has been imported,
+     * followed by a line with the totals.
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, APPLICATION_NDJSON}, produces = APPLICATION_NDJSON)
+    public void importUsers(@RequestHeader("Content-Type") MediaType contentType,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        UserImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        log.info("Bulk user import request received ({})", format);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(APPLICATION_NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer out = response.getWriter();
+
+        try (Reader body = new InputStreamReader(request.getInputStream(), charset)) {
+            UserImportSummary summary = userImportService.importUsers(body, format, result -> writeLine(out, result));
+            writeLine(out, Map.of("summary", summary));
+        } catch (IllegalArgumentException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.resetBuffer();
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            out.write(lineWriter.writeValueAsString(new ErrorResponseDto("INVALID_IMPORT", e.getMessage())));
+            out.flush();
+        }
+    }
+
+    private void writeLine(Writer out, Object value) {
+        try {
+            out.write(lineWriter.writeValueAsString(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Client closed the import response", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.urbanbloom.user.api;
 
+import com.urbanbloom.user.application.UserProfileView;
 import com.urbanbloom.user.domain.UserProfile;
 import org.springframework.stereotype.Component;
 
@@ -30,4 +31,23 @@ public class UserProfileMapper {
                 LocalDateTime.now() // TODO: Registration date in UserProfile
         );
     }
+
+    /**
+     * Converts a UserProfileView to UserDto.
+     *
+     * @param profile the user profile view
+     * @return the user DTO
+     */
+    public UserDto toDto(UserProfileView profile) {
+        return new UserDto(
+                profile.id(),
+                profile.externalUserId(),
+                profile.email(),
+                profile.firstName(),
+                profile.lastName(),
+                profile.active() ? "ENABLED" : "DISABLED",
+                List.of(profile.role()),
+                profile.createdAt()
+        );
+    }
 }
@@ -0,0 +1,75 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.user.config.RegistrationConfigProperties;
+import com.urbanbloom.user.domain.AllowedDomain;
+import com.urbanbloom.user.domain.AllowedDomainMatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Holds the compiled email domain allowlist for registrations.
+ * The allowlist is compiled once from {@link RegistrationConfigProperties} and can be replaced at runtime;
+ * registrations in flight keep using the matcher they started with.
+ * Only the entry {@code *} allows every domain; an empty allowlist allows none.
+ * Replacements are held in memory by this instance only: other instances keep their allowlist,
+ * and a restart goes back to the configured one.
+ */
+@Slf4j
+@Component
+public class AllowedDomainRegistry {
+
+    private static final String ALLOW_ALL = "*";
+
+    private final RegistrationConfigProperties registrationConfig;
+    private volatile AllowedDomainMatcher matcher;
+
+    public AllowedDomainRegistry(RegistrationConfigProperties registrationConfig) {
+        this.registrationConfig = registrationConfig;
+        this.matcher = compile(registrationConfig.getAllowedDomains());
+        log.info("Compiled {} allowed registration domains", matcher.size());
+    }
+
+    /**
+     * @return the current compiled allowlist
+     */
+    public AllowedDomainMatcher current() {
+        return matcher;
+    }
+
+    /**
+     * @return the current allowlist entries
+     */
+    public List<String> getAllowedDomains() {
+        return registrationConfig.getAllowedDomains();
+    }
+
+    /**
+     * Replaces the allowlist on this instance until it restarts.
+     * The new list is validated and compiled completely before it takes effect.
+     *
+     * @param domains the new allowed domains
+     * @throws IllegalArgumentException if an entry is not a valid domain
+     */
+    public synchronized void update(List<String> domains) {
+        List<String> normalized = domains.stream()
+                .map(domain -> domain == null ? "" : domain.trim().toLowerCase())
+                .distinct()
+                .toList();
+        AllowedDomainMatcher compiled = compile(normalized);
+        registrationConfig.setAllowedDomains(normalized);
+        matcher = compiled;
+        log.info("Allowed registration domains replaced: {} entries", compiled.size());
+    }
+
+    private static AllowedDomainMatcher compile(List<String> domains) {
+        if (domains == null) {
+            return AllowedDomainMatcher.of(List.of());
+        }
+        if (domains.contains(ALLOW_ALL)) {
+            return AllowedDomainMatcher.ANY;
+        }
+        return AllowedDomainMatcher.of(domains.stream().map(AllowedDomain::of).toList());
+    }
+}
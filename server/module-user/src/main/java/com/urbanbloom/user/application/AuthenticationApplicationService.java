@@ -4,11 +4,14 @@ import com.urbanbloom.user.config.RegistrationConfigProperties;
 import com.urbanbloom.user.domain.AuthenticationException;
 import com.urbanbloom.user.domain.AuthenticationResult;
 import com.urbanbloom.user.domain.IdentityProvider;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -16,12 +19,13 @@ import java.util.List;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuthenticationApplicationService {
 
     private final IdentityProvider identityProvider;
     private final RegistrationConfigProperties registrationConfig;
-    private final com.urbanbloom.user.domain.UserProfileRepository userProfileRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer identityProviderTimer;
+    private final Timer roleCheckTimer;
 
     @Value("${keycloak.realm.mobile:urbanbloom-mobile}")
     private String mobileRealm;
@@ -35,27 +39,41 @@ public class AuthenticationApplicationService {
     @Value("${keycloak.token.client-id.admin:urbanbloom-admin-web}")
     private String adminClientId;
 
+    public AuthenticationApplicationService(IdentityProvider identityProvider,
+                                            RegistrationConfigProperties registrationConfig,
+                                            ApplicationEventPublisher eventPublisher,
+                                            MeterRegistry meterRegistry) {
+        this.identityProvider = identityProvider;
+        this.registrationConfig = registrationConfig;
+        this.eventPublisher = eventPublisher;
+        this.identityProviderTimer = loginStepTimer(meterRegistry, "identity_provider");
+        this.roleCheckTimer = loginStepTimer(meterRegistry, "role_check");
+    }
+
+    /**
+     * Timer for one step of the login path, so the time spent in the Identity Provider and in
+     * the database can be told apart.
+     */
+    static Timer loginStepTimer(MeterRegistry meterRegistry, String step) {
+        return Timer.builder("auth.login.step")
+                .description("Duration of one step of a login")
+                .tag("step", step)
+                .register(meterRegistry);
+    }
+
     /**
      * Authenticates a citizen for the mobile app.
+     * Activation of the local profile is left to {@link ProfileActivationWorker}, so the login
+     * only waits for the Identity Provider.
      */
     public AuthenticationResult loginMobile(LoginCommand command) {
         log.info("Processing mobile login request for email: {}", command.getEmail());
-        AuthenticationResult result = identityProvider.authenticate(command.getEmail(), command.getPassword(), mobileRealm, mobileClientId);
-        
+        AuthenticationResult result = identityProviderTimer.record(() ->
+                identityProvider.authenticate(command.getEmail(), command.getPassword(), mobileRealm, mobileClientId));
+
         // Auto-activate local profile if login was successful (implies email verified in Keycloak)
-        try {
-            userProfileRepository.findByEmail(new com.urbanbloom.user.domain.Email(command.getEmail()))
-                .ifPresent(profile -> {
-                    if (!profile.isActive()) {
-                        log.info("Auto-activating local profile for user: {}", command.getEmail());
-                        profile.markAsActive();
-                        userProfileRepository.save(profile);
-                    }
-                });
-        } catch (Exception e) {
-            log.warn("Failed to auto-activate local profile for {}: {}", command.getEmail(), e.getMessage());
-        }
-        
+        eventPublisher.publishEvent(new LoginSucceededEvent(command.getEmail(), Instant.now()));
+
         return result;
     }
 
@@ -66,10 +84,11 @@ public class AuthenticationApplicationService {
     public AuthenticationResult loginAdmin(LoginCommand command) {
         log.info("Processing admin login request for email: {}", command.getEmail());
         
-        AuthenticationResult result = identityProvider.authenticate(command.getEmail(), command.getPassword(), adminRealm, adminClientId);
+        AuthenticationResult result = identityProviderTimer.record(() ->
+                identityProvider.authenticate(command.getEmail(), command.getPassword(), adminRealm, adminClientId));
         
         // Verify ADMIN role
-        if (!identityProvider.hasRole(result.accessToken(), "ADMIN")) {
+        if (!roleCheckTimer.record(() -> identityProvider.hasRole(result.accessToken(), "ADMIN"))) {
             log.warn("User {} authenticated but missing ADMIN role", command.getEmail());
             throw AuthenticationException.forbidden();
         }
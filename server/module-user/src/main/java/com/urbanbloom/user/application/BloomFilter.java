@@ -0,0 +1,87 @@
+package com.urbanbloom.user.application;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * Sized for an expected number of insertions and a target false-positive rate;
+ * the k bit positions are derived from two 64-bit hashes (Kirsch-Mitzenmacher double hashing).
+ */
+class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private final AtomicInteger insertions = new AtomicInteger();
+
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = Math.max(64, (m + 63) / 64 * 64);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * ln2));
+        this.bits = new AtomicLongArray((int) (bitCount / 64));
+        this.capacity = n;
+    }
+
+    void put(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * Returns false only if the value was definitely never added.
+     */
+    boolean mightContain(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * True once more values were added than the filter was sized for.
+     */
+    boolean isSaturated() {
+        return insertions.get() > capacity;
+    }
+
+    int size() {
+        return insertions.get();
+    }
+
+    private static long hash(String value, long seed) {
+        long h = seed;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001B3L;
+        }
+        // SplitMix64 finalizer to spread the FNV-style accumulation over all bits
+        h ^= h >>> 30;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 27;
+        h *= 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,13 @@
+package com.urbanbloom.user.application;
+
+import java.time.Instant;
+
+/**
+ * Published after a successful mobile login.
+ * Kept deliberately small: it is created on the login path and only carries what follow-up work needs.
+ *
+ * @param email      the email the user logged in with
+ * @param occurredAt when the login succeeded
+ */
+public record LoginSucceededEvent(String email, Instant occurredAt) {
+}
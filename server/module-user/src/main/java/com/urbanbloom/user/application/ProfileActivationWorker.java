@@ -0,0 +1,181 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.user.domain.Email;
+import com.urbanbloom.user.domain.UserProfile;
+import com.urbanbloom.user.domain.UserProfileRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Activates local profiles after a successful login, off the login path.
+ * A successful login implies the email was verified in the Identity Provider, so an inactive profile
+ * can be activated. Logins are queued and processed once per interval; repeated logins of the same user
+ * within an interval are handled once, and users already seen active are skipped without a database lookup.
+ * <p>
+ * Activation is idempotent, so if the queue is full the login is dropped: the next login of the user
+ * triggers it again.
+ */
+@Slf4j
+@Component
+public class ProfileActivationWorker {
+
+    private final UserProfileRepository userProfileRepository;
+    private final BlockingQueue<String> queue;
+    private final long intervalMillis;
+    private final int knownActiveMaxEntries;
+    private final Set<Email> knownActive = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "profile-activation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Timer lookupTimer;
+    private final Counter activatedCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    public ProfileActivationWorker(UserProfileRepository userProfileRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${urbanbloom.user.activation.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${urbanbloom.user.activation.interval-ms:500}") long intervalMillis,
+                                   @Value("${urbanbloom.user.activation.known-active-max-entries:100000}") int knownActiveMaxEntries) {
+        this.userProfileRepository = userProfileRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.intervalMillis = intervalMillis;
+        this.knownActiveMaxEntries = knownActiveMaxEntries;
+
+        Gauge.builder("user.activation.queue.depth", queue, BlockingQueue::size)
+                .description("Logins waiting for profile activation")
+                .register(meterRegistry);
+        this.lookupTimer = AuthenticationApplicationService.loginStepTimer(meterRegistry, "profile_activation");
+        this.activatedCounter = Counter.builder("user.activation.activated")
+                .description("Profiles activated after login")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("user.activation.dropped")
+                .description("Logins not queued for activation because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("user.activation.failed")
+                .description("Profile activations that failed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.scheduleWithFixedDelay(this::processSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @EventListener
+    public void onLoginSucceeded(LoginSucceededEvent event) {
+        if (!queue.offer(event.email())) {
+            droppedCounter.increment();
+            log.debug("Profile activation queue full, skipping activation check for {}", event.email());
+        }
+    }
+
+    /**
+     * Drops the knowledge that a profile is active, e.g. after it was deactivated.
+     */
+    public void forget(Email email) {
+        knownActive.remove(email);
+    }
+
+    /**
+     * Drains the queue and activates every inactive profile in it.
+     *
+     * @return number of profiles activated
+     */
+    public synchronized int process() {
+        List<String> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        Set<Email> emails = new LinkedHashSet<>();
+        for (String value : drained) {
+            try {
+                emails.add(Email.of(value));
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring login with unparseable email {}", value);
+            }
+        }
+        emails.removeAll(knownActive);
+
+        int activated = 0;
+        for (Email email : emails) {
+            try {
+                if (activate(email)) {
+                    activated++;
+                }
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                log.warn("Failed to auto-activate local profile for {}: {}", email.getValue(), e.getMessage());
+            }
+        }
+        return activated;
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    private boolean activate(Email email) {
+        return Boolean.TRUE.equals(lookupTimer.record(() -> {
+            UserProfile profile = userProfileRepository.findByEmail(email).orElse(null);
+            if (profile == null) {
+                return false;
+            }
+            boolean activated = false;
+            if (!profile.isActive()) {
+                log.info("Auto-activating local profile for user: {}", email.getValue());
+                profile.markAsActive();
+                userProfileRepository.save(profile);
+                activatedCounter.increment();
+                activated = true;
+            }
+            rememberActive(email);
+            return activated;
+        }));
+    }
+
+    private void rememberActive(Email email) {
+        if (knownActive.size() >= knownActiveMaxEntries) {
+            knownActive.clear();
+        }
+        knownActive.add(email);
+    }
+
+    private void processSafely() {
+        try {
+            process();
+        } catch (RuntimeException e) {
+            log.error("Profile activation run failed", e);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.user.domain.Email;
+import com.urbanbloom.user.domain.IdentityProvider;
+import com.urbanbloom.user.domain.UserProfileRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process view of which email addresses are already registered.
+ * <p>
+ * A Bloom filter over all emails in {@code user_profiles} and in unfinished registrations answers
+ * "definitely not registered" without a remote call; only probable positives go to Keycloak and the database, and their
+ * results are kept in a bounded LRU for a short time so that repeated availability checks
+ * from the registration form do not repeat the round-trip.
+ * <p>
+ * The filter is built in the background after startup and rebuilt periodically, which also picks
+ * up registrations handled by other instances. Users that exist only in Keycloak are not in the
+ * filter; creating them again is rejected by Keycloak and reported as already registered. Until the
+ * first build finishes every lookup is treated as a probable positive.
+ */
+@Slf4j
+@Component
+public class RegisteredEmailCache {
+
+    private final IdentityProvider identityProvider;
+    private final UserProfileRepository userProfileRepository;
+    private final RegistrationSagaRepository sagaRepository;
+    private final int expectedEmails;
+    private final double falsePositiveRate;
+    private final int lookupCacheSize;
+    private final long lookupTtlNanos;
+    private final long rebuildIntervalMinutes;
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "registered-email-cache-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object filterLock = new Object();
+    private volatile BloomFilter filter;
+    private BloomFilter building;
+    private final Map<String, Lookup> lookups;
+
+    private final Counter bloomNegativeCounter;
+    private final Counter lookupHitCounter;
+    private final Counter remoteLookupCounter;
+
+    public RegisteredEmailCache(IdentityProvider identityProvider,
+                                UserProfileRepository userProfileRepository,
+                                RegistrationSagaRepository sagaRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${urbanbloom.registration.email-cache.expected-emails:100000}") int expectedEmails,
+                                @Value("${urbanbloom.registration.email-cache.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${urbanbloom.registration.email-cache.lookup-cache-size:10000}") int lookupCacheSize,
+                                @Value("${urbanbloom.registration.email-cache.lookup-ttl-seconds:300}") long lookupTtlSeconds,
+                                @Value("${urbanbloom.registration.email-cache.rebuild-interval-minutes:30}") long rebuildIntervalMinutes) {
+        this.identityProvider = identityProvider;
+        this.userProfileRepository = userProfileRepository;
+        this.sagaRepository = sagaRepository;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+        this.lookupCacheSize = lookupCacheSize;
+        this.lookupTtlNanos = TimeUnit.SECONDS.toNanos(lookupTtlSeconds);
+        this.rebuildIntervalMinutes = rebuildIntervalMinutes;
+        this.lookups = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Lookup> eldest) {
+                return size() > RegisteredEmailCache.this.lookupCacheSize;
+            }
+        };
+
+        Gauge.builder("user.email_cache.bloom.size", this, cache -> {
+                    BloomFilter current = cache.filter;
+                    return current == null ? 0 : current.size();
+                })
+                .description("Emails in the registered-email Bloom filter")
+                .register(meterRegistry);
+        this.bloomNegativeCounter = lookupCounter(meterRegistry, "bloom_negative");
+        this.lookupHitCounter = lookupCounter(meterRegistry, "cache_hit");
+        this.remoteLookupCounter = lookupCounter(meterRegistry, "remote");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuilder.scheduleWithFixedDelay(this::rebuildSafely, 0, rebuildIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Returns false if the email is known not to be registered; true means "check the source of truth".
+     */
+    public boolean mightBeRegistered(Email email) {
+        String value = email.getValue();
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(value)) {
+            bloomNegativeCounter.increment();
+            return false;
+        }
+        Boolean cached = cachedLookup(value);
+        if (cached != null && !cached) {
+            lookupHitCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Answers whether the email is registered, calling Keycloak and the database only for probable positives.
+     */
+    public boolean isRegistered(Email email) {
+        String value = email.getValue();
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(value)) {
+            bloomNegativeCounter.increment();
+            return false;
+        }
+        Boolean cached = cachedLookup(value);
+        if (cached != null) {
+            lookupHitCounter.increment();
+            return cached;
+        }
+
+        remoteLookupCounter.increment();
+        boolean registered = identityProvider.isEmailRegistered(value) || userProfileRepository.existsByEmail(email);
+        if (registered) {
+            markRegistered(email);
+        } else {
+            remember(value, false);
+        }
+        return registered;
+    }
+
+    /**
+     * Records a newly registered email.
+     */
+    public void markRegistered(Email email) {
+        String value = email.getValue();
+        synchronized (filterLock) {
+            if (filter != null) {
+                filter.put(value);
+            }
+            if (building != null) {
+                building.put(value);
+            }
+        }
+        remember(value, true);
+    }
+
+    /**
+     * Drops the cached answer for an email whose registration was rolled back.
+     * The Bloom filter keeps the entry, which only costs one remote lookup per check.
+     */
+    public void forget(Email email) {
+        synchronized (lookups) {
+            lookups.remove(email.getValue());
+        }
+    }
+
+    /**
+     * Rebuilds the Bloom filter from all user profiles and unfinished registrations.
+     */
+    public void rebuild() {
+        BloomFilter current = filter;
+        int capacity = Math.max(expectedEmails, current == null ? 0 : current.size() * 2);
+        BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+        synchronized (filterLock) {
+            building = next;
+        }
+        try {
+            List<Email> emails = userProfileRepository.findAllEmails();
+            for (Email email : emails) {
+                next.put(email.getValue());
+            }
+            List<Email> pending = sagaRepository.findInProgressEmails();
+            for (Email email : pending) {
+                next.put(email.getValue());
+            }
+            synchronized (filterLock) {
+                filter = next;
+            }
+            if (next.isSaturated()) {
+                log.warn("Registered-email filter holds {} emails but was sized for {}; the next rebuild will grow it",
+                        next.size(), capacity);
+            }
+            log.info("Registered-email filter built with {} emails and {} pending registrations",
+                    emails.size(), pending.size());
+        } finally {
+            synchronized (filterLock) {
+                building = null;
+            }
+        }
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild registered-email filter", e);
+        }
+    }
+
+    private Boolean cachedLookup(String value) {
+        synchronized (lookups) {
+            Lookup lookup = lookups.get(value);
+            if (lookup == null) {
+                return null;
+            }
+            if (System.nanoTime() - lookup.cachedAt() > lookupTtlNanos) {
+                lookups.remove(value);
+                return null;
+            }
+            return lookup.registered();
+        }
+    }
+
+    private void remember(String value, boolean registered) {
+        synchronized (lookups) {
+            lookups.put(value, new Lookup(registered, System.nanoTime()));
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.email_cache.lookups")
+                .description("Registered-email lookups by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Lookup(boolean registered, long cachedAt) {
+    }
+}
@@ -5,17 +5,23 @@ import lombok.Data;
 
 /**
  * Result of user registration.
- * Contains information about the registered user.
+ * Registrations are accepted first and completed in the background; user and external ID
+ * are only known once the status is {@link Status#COMPLETED}.
  */
 @Data
 @AllArgsConstructor
 public class RegistrationResult {
+
+    public enum Status {
+        PENDING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String registrationId;
+    private Status status;
     private String userId;
     private String externalId;
     private String message;
     private boolean verificationRequired;
-    
-    public RegistrationResult(String userId, String externalId, String message) {
-        this(userId, externalId, message, true);
-    }
 }
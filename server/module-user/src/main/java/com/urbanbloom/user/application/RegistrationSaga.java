@@ -0,0 +1,139 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.user.domain.Email;
+import com.urbanbloom.user.domain.UserName;
+import com.urbanbloom.user.domain.UserRole;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * State of one registration while its Identity Provider steps are carried out.
+ * <p>
+ * Created as soon as the request has been validated; the worker then walks through
+ * {@link Step#CREATE_IDENTITY}, {@link Step#ASSIGN_ROLE}, {@link Step#SEND_VERIFICATION} and
+ * {@link Step#CREATE_PROFILE}. A registration that cannot be completed is rolled back in the
+ * Identity Provider ({@link Step#COMPENSATE}) and ends as {@link Step#FAILED}.
+ */
+@Getter
+public class RegistrationSaga {
+
+    public enum Step {
+        CREATE_IDENTITY,
+        ASSIGN_ROLE,
+        SEND_VERIFICATION,
+        CREATE_PROFILE,
+        COMPENSATE,
+        COMPLETED,
+        FAILED;
+
+        public boolean isTerminal() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    private final String id;
+    private final Email email;
+    private final UserName userName;
+    private final UserRole role;
+    private final Instant createdAt;
+    private Step step;
+    private String externalUserId;
+    private String userProfileId;
+    private int attempts;
+    private Instant nextAttemptAt;
+    private String lastError;
+    private Instant updatedAt;
+
+    private RegistrationSaga(String id, Email email, UserName userName, UserRole role, Instant createdAt) {
+        this.id = id;
+        this.email = email;
+        this.userName = userName;
+        this.role = role;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Starts a new registration.
+     */
+    public static RegistrationSaga start(Email email, UserName userName, UserRole role) {
+        Instant now = Instant.now();
+        RegistrationSaga saga = new RegistrationSaga(UUID.randomUUID().toString(), email, userName, role, now);
+        saga.step = Step.CREATE_IDENTITY;
+        saga.nextAttemptAt = now;
+        saga.updatedAt = now;
+        return saga;
+    }
+
+    /**
+     * Reconstructs a registration from persistent storage.
+     * Use this ONLY for infrastructure adapters.
+     */
+    public static RegistrationSaga reconstruct(String id, Email email, UserName userName, UserRole role, Step step,
+                                               String externalUserId, String userProfileId, int attempts,
+                                               Instant nextAttemptAt, String lastError,
+                                               Instant createdAt, Instant updatedAt) {
+        RegistrationSaga saga = new RegistrationSaga(id, email, userName, role, createdAt);
+        saga.step = step;
+        saga.externalUserId = externalUserId;
+        saga.userProfileId = userProfileId;
+        saga.attempts = attempts;
+        saga.nextAttemptAt = nextAttemptAt;
+        saga.lastError = lastError;
+        saga.updatedAt = updatedAt;
+        return saga;
+    }
+
+    void identityCreated(String externalUserId) {
+        this.externalUserId = externalUserId;
+        advanceTo(Step.ASSIGN_ROLE);
+    }
+
+    void roleAssigned() {
+        advanceTo(Step.SEND_VERIFICATION);
+    }
+
+    void verificationSent() {
+        advanceTo(Step.CREATE_PROFILE);
+    }
+
+    void profileCreated(String userProfileId) {
+        this.userProfileId = userProfileId;
+        advanceTo(Step.COMPLETED);
+    }
+
+    /**
+     * Gives up on the registration; undoes the Identity Provider user first if one was created.
+     */
+    void abort(String error) {
+        this.lastError = error;
+        advanceTo(externalUserId != null ? Step.COMPENSATE : Step.FAILED);
+    }
+
+    void compensated() {
+        advanceTo(Step.FAILED);
+    }
+
+    /**
+     * Ends the registration without touching the Identity Provider, e.g. when compensation itself keeps failing.
+     */
+    void fail(String error) {
+        this.lastError = error;
+        advanceTo(Step.FAILED);
+    }
+
+    void retryAt(Instant nextAttemptAt, String error) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error;
+        this.updatedAt = Instant.now();
+    }
+
+    private void advanceTo(Step next) {
+        this.step = next;
+        this.attempts = 0;
+        this.nextAttemptAt = Instant.now();
+        this.updatedAt = this.nextAttemptAt;
+    }
+}
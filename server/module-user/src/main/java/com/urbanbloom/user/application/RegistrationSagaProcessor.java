@@ -0,0 +1,368 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import com.urbanbloom.user.domain.ExternalUserId;
+import com.urbanbloom.user.domain.IdentityProvider;
+import com.urbanbloom.user.domain.IdentityRequestRejectedException;
+import com.urbanbloom.user.domain.UserProfile;
+import com.urbanbloom.user.domain.UserProfileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Carries out pending registrations on a worker pool, outside of any request or database transaction.
+ * <ul>
+ *   <li>Steps: create the Identity Provider user, assign the initial role, trigger the verification email,
+ *       then create the local profile and publish its events in one transaction.</li>
+ *   <li>Retries: a failed step is retried with exponential backoff; after {@code max-attempts} failures,
+ *       or on a non-retryable error, the Identity Provider user is deleted again and the registration fails.
+ *       A user created by an attempt whose response was lost is picked up by the next attempt, or deleted
+ *       when the registration fails.</li>
+ *   <li>Ownership: a worker locks the registration for {@code lock-duration} before running it, so that
+ *       the poller on this or another instance does not pick it up twice.</li>
+ *   <li>Passwords are only held in memory until the user has been created. A registration that was
+ *       interrupted before that (e.g. by a restart) cannot be resumed and fails after {@code abandon-after}.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class RegistrationSagaProcessor {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    private static final int MAX_ERROR_LENGTH = 2000;
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    private final IdentityProvider identityProvider;
+    private final UserProfileRepository userProfileRepository;
+    private final RegistrationSagaRepository sagaRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final RegisteredEmailCache registeredEmails;
+    private final TransactionTemplate profileTransaction;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lockDuration;
+    private final Duration abandonAfter;
+    private final long pollIntervalMillis;
+    private final int pollBatchSize;
+
+    private final Map<String, String> passwords = new ConcurrentHashMap<>();
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "registration-saga-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RegistrationSagaProcessor(IdentityProvider identityProvider,
+                                     UserProfileRepository userProfileRepository,
+                                     RegistrationSagaRepository sagaRepository,
+                                     DomainEventPublisher eventPublisher,
+                                     RegisteredEmailCache registeredEmails,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${urbanbloom.registration.saga.worker-threads:4}") int workerThreads,
+                                     @Value("${urbanbloom.registration.saga.queue-capacity:1000}") int queueCapacity,
+                                     @Value("${urbanbloom.registration.saga.max-attempts:5}") int maxAttempts,
+                                     @Value("${urbanbloom.registration.saga.retry-backoff-ms:1000}") long retryBackoffMillis,
+                                     @Value("${urbanbloom.registration.saga.lock-duration-seconds:60}") long lockDurationSeconds,
+                                     @Value("${urbanbloom.registration.saga.abandon-after-minutes:10}") long abandonAfterMinutes,
+                                     @Value("${urbanbloom.registration.saga.poll-interval-ms:5000}") long pollIntervalMillis,
+                                     @Value("${urbanbloom.registration.saga.poll-batch-size:50}") int pollBatchSize) {
+        this.identityProvider = identityProvider;
+        this.userProfileRepository = userProfileRepository;
+        this.sagaRepository = sagaRepository;
+        this.eventPublisher = eventPublisher;
+        this.registeredEmails = registeredEmails;
+        this.profileTransaction = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMillis);
+        this.lockDuration = Duration.ofSeconds(lockDurationSeconds);
+        this.abandonAfter = Duration.ofMinutes(abandonAfterMinutes);
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.pollBatchSize = pollBatchSize;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "registration-saga-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        poller.scheduleWithFixedDelay(this::pollSafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Hands a newly saved registration to the worker pool.
+     *
+     * @param password the user's password; kept in memory only until the Identity Provider user exists
+     */
+    public void submit(RegistrationSaga saga, String password) {
+        passwords.put(saga.getId(), password);
+        dispatch(saga.getId());
+    }
+
+    /**
+     * Runs all due steps of a registration in the calling thread.
+     * Does nothing if another worker currently holds the registration.
+     */
+    public void process(String registrationId) {
+        Instant now = Instant.now();
+        if (!sagaRepository.tryLock(registrationId, now, now.plus(lockDuration))) {
+            return;
+        }
+        try {
+            RegistrationSaga saga = sagaRepository.findById(registrationId).orElse(null);
+            while (saga != null && !saga.getStep().isTerminal() && !saga.getNextAttemptAt().isAfter(Instant.now())) {
+                if (!runStep(saga)) {
+                    break;
+                }
+            }
+        } finally {
+            sagaRepository.unlock(registrationId);
+        }
+    }
+
+    /**
+     * Dispatches registrations whose next step is due, e.g. retries or work left over from a restart.
+     */
+    void poll() {
+        List<String> due = sagaRepository.findDueIds(Instant.now(), pollBatchSize);
+        due.forEach(this::dispatch);
+    }
+
+    /**
+     * Runs the current step and saves the outcome.
+     *
+     * @return true if the step succeeded and the next one may run right away
+     */
+    private boolean runStep(RegistrationSaga saga) {
+        RegistrationSaga.Step step = saga.getStep();
+        try {
+            switch (step) {
+                case CREATE_IDENTITY -> {
+                    if (!createIdentity(saga)) {
+                        return false;
+                    }
+                }
+                case ASSIGN_ROLE -> {
+                    identityProvider.assignRole(saga.getExternalUserId(), saga.getRole().name());
+                    saga.roleAssigned();
+                }
+                case SEND_VERIFICATION -> {
+                    identityProvider.sendVerificationEmail(saga.getExternalUserId());
+                    saga.verificationSent();
+                }
+                case CREATE_PROFILE -> {
+                    createProfile(saga);
+                    log.info("Registration {} completed with local ID: {} and external ID: {}",
+                            saga.getId(), saga.getUserProfileId(), saga.getExternalUserId());
+                    return true;
+                }
+                case COMPENSATE -> {
+                    identityProvider.deleteUser(saga.getExternalUserId());
+                    saga.compensated();
+                    log.info("Registration {} rolled back, deleted identity {}", saga.getId(), saga.getExternalUserId());
+                }
+                default -> {
+                    return false;
+                }
+            }
+            sagaRepository.save(saga);
+            if (saga.getStep() == RegistrationSaga.Step.FAILED) {
+                registeredEmails.forget(saga.getEmail());
+            }
+            return true;
+        } catch (RuntimeException e) {
+            onStepFailed(saga, step, e);
+            return false;
+        }
+    }
+
+    /**
+     * @return false if the step cannot run on this instance (password not held here)
+     */
+    private boolean createIdentity(RegistrationSaga saga) {
+        String password = passwords.get(saga.getId());
+        if (password == null) {
+            if (saga.getUpdatedAt().plus(abandonAfter).isBefore(Instant.now())) {
+                log.warn("Registration {} was interrupted before the user was created, giving up", saga.getId());
+                if (saga.getAttempts() > 0) {
+                    deleteIdentityOfEarlierAttempt(saga);
+                }
+                saga.fail("Registration interrupted before the user was created");
+                sagaRepository.save(saga);
+                registeredEmails.forget(saga.getEmail());
+            }
+            return false;
+        }
+        Map<String, List<String>> attributes = new HashMap<>();
+        String externalUserId;
+        try {
+            externalUserId = identityProvider.createUser(
+                    saga.getEmail().getValue(),
+                    password,
+                    saga.getUserName().getFirstName(),
+                    saga.getUserName().getLastName(),
+                    attributes);
+        } catch (IdentityRequestRejectedException e) {
+            if (!e.isConflict()) {
+                throw e;
+            }
+            externalUserId = findIdentityOfEarlierAttempt(saga).orElseThrow(() -> {
+                // Registered in Keycloak only (e.g. through the admin console), so the email filter did not know it
+                registeredEmails.markRegistered(saga.getEmail());
+                return new RegistrationException("E-Mail-Adresse ist bereits registriert: " + saga.getEmail().getValue(), e);
+            });
+            log.info("Registration {} continues with identity {} created by an earlier attempt",
+                    saga.getId(), externalUserId);
+        }
+        passwords.remove(saga.getId());
+        registeredEmails.markRegistered(saga.getEmail());
+        saga.identityCreated(externalUserId);
+        return true;
+    }
+
+    /**
+     * A failed attempt may have created the user before its response was lost (e.g. on a timeout).
+     * Other registrations for the same email are blocked while this one is in progress, so a user created
+     * since it started belongs to it.
+     */
+    private Optional<String> findIdentityOfEarlierAttempt(RegistrationSaga saga) {
+        if (saga.getAttempts() == 0) {
+            return Optional.empty();
+        }
+        return identityProvider.findUserIdByEmail(saga.getEmail().getValue(), saga.getCreatedAt().minus(CLOCK_SKEW));
+    }
+
+    /**
+     * Deletes the user a failed attempt may have created without recording its id.
+     */
+    private void deleteIdentityOfEarlierAttempt(RegistrationSaga saga) {
+        try {
+            identityProvider.findUserIdByEmail(saga.getEmail().getValue(), saga.getCreatedAt().minus(CLOCK_SKEW))
+                    .ifPresent(externalUserId -> {
+                        identityProvider.deleteUser(externalUserId);
+                        log.info("Registration {} deleted identity {} left by an earlier attempt",
+                                saga.getId(), externalUserId);
+                    });
+        } catch (RuntimeException e) {
+            log.error("Registration {} may have left an identity for {} behind, it must be removed manually",
+                    saga.getId(), saga.getEmail().getValue(), e);
+        }
+    }
+
+    private void createProfile(RegistrationSaga saga) {
+        profileTransaction.executeWithoutResult(status -> {
+            UserProfile userProfile = UserProfile.create(
+                    ExternalUserId.of(saga.getExternalUserId()),
+                    saga.getEmail(),
+                    saga.getUserName(),
+                    saga.getRole());
+            userProfileRepository.save(userProfile);
+            eventPublisher.publishAll(userProfile.getDomainEvents());
+            userProfile.clearDomainEvents();
+
+            saga.profileCreated(userProfile.getId());
+            sagaRepository.save(saga);
+        });
+    }
+
+    private void onStepFailed(RegistrationSaga saga, RegistrationSaga.Step step, RuntimeException e) {
+        String error = truncate(e);
+        // The in-memory copy may already have advanced (e.g. when the profile transaction rolled back)
+        RegistrationSaga current = sagaRepository.findById(saga.getId()).orElse(saga);
+        int attempts = current.getAttempts() + 1;
+        boolean retryable = !(e instanceof RegistrationException || e instanceof IllegalArgumentException
+                || e instanceof IdentityRequestRejectedException);
+
+        if (retryable && attempts < maxAttempts) {
+            Instant nextAttemptAt = Instant.now().plus(backoff(attempts));
+            log.warn("Registration {} step {} failed, retry {} at {}", saga.getId(), step, attempts, nextAttemptAt, e);
+            current.retryAt(nextAttemptAt, error);
+        } else if (step == RegistrationSaga.Step.COMPENSATE) {
+            log.error("Registration {} could not be rolled back, identity {} must be removed manually",
+                    saga.getId(), current.getExternalUserId(), e);
+            current.fail(error);
+        } else {
+            log.error("Registration {} step {} failed after {} attempts, rolling back", saga.getId(), step, attempts, e);
+            if (step == RegistrationSaga.Step.CREATE_IDENTITY && retryable) {
+                deleteIdentityOfEarlierAttempt(current);
+            }
+            current.abort(error);
+            passwords.remove(saga.getId());
+        }
+        sagaRepository.save(current);
+        if (current.getStep() == RegistrationSaga.Step.FAILED) {
+            registeredEmails.forget(current.getEmail());
+        }
+    }
+
+    private void dispatch(String registrationId) {
+        if (!queued.add(registrationId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                queued.remove(registrationId);
+                try {
+                    process(registrationId);
+                } catch (RuntimeException e) {
+                    log.error("Registration {} could not be processed", registrationId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(registrationId);
+            log.warn("Registration workers busy, {} stays queued for the next poll", registrationId);
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.error("Registration poll failed", e);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String truncate(Exception e) {
+        String error = e.getClass().getName() + ": " + e.getMessage();
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,43 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.user.domain.Email;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port for persisting pending registrations.
+ */
+public interface RegistrationSagaRepository {
+
+    /**
+     * Saves the registration.
+     *
+     * @throws RegistrationException if another registration for the same email is still in progress
+     */
+    RegistrationSaga save(RegistrationSaga saga);
+
+    Optional<RegistrationSaga> findById(String id);
+
+    boolean existsInProgressByEmail(Email email);
+
+    /**
+     * Emails of all unfinished registrations.
+     */
+    List<Email> findInProgressEmails();
+
+    /**
+     * Ids of unfinished registrations whose next step is due and that no worker holds.
+     */
+    List<String> findDueIds(Instant now, int limit);
+
+    /**
+     * Takes exclusive ownership of a registration until {@code lockedUntil}, unless another worker holds it.
+     *
+     * @return true if this worker now owns the registration
+     */
+    boolean tryLock(String id, Instant now, Instant lockedUntil);
+
+    void unlock(String id);
+}
@@ -0,0 +1,25 @@
+package com.urbanbloom.user.application;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Result of importing one row of a bulk user import.
+ */
+@Data
+@AllArgsConstructor
+public class UserImportRowResult {
+
+    public enum Status {
+        CREATED,
+        EXISTS,
+        INVALID,
+        FAILED
+    }
+
+    private int line;
+    private String email;
+    private Status status;
+    private String userId;
+    private String message;
+}
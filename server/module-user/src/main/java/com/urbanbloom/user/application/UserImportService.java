@@ -0,0 +1,342 @@
+package com.urbanbloom.user.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import com.urbanbloom.user.domain.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Application service for bulk user imports, e.g. a school class or a city department at once.
+ * Rows are read as a stream and validated with the same rules as a self-registration; valid rows are
+ * imported into the Identity Provider and the local profile store in chunks, so arbitrarily large files
+ * can be imported with constant memory. The result of each row is handed to a sink as soon as its chunk is done.
+ * Duplicate emails are reported as invalid within a chunk; a duplicate of a row in an earlier chunk is
+ * reported as existing by the Identity Provider.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int MIN_PASSWORD_LENGTH = 8;
+
+    /**
+     * Supported input formats.
+     * CSV needs a header row with the columns {@code email}, {@code firstName}, {@code lastName}
+     * and optionally {@code password}; NDJSON has one JSON object with the same fields per line.
+     */
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final IdentityProvider identityProvider;
+    private final UserProfileRepository userProfileRepository;
+    private final RegistrationService registrationService;
+    private final DomainEventPublisher eventPublisher;
+    private final RegisteredEmailCache registeredEmails;
+    private final TransactionTemplate profileTransaction;
+    private final AllowedDomainRegistry allowedDomains;
+    private final int chunkSize;
+
+    public UserImportService(IdentityProvider identityProvider,
+                             UserProfileRepository userProfileRepository,
+                             RegistrationService registrationService,
+                             DomainEventPublisher eventPublisher,
+                             RegisteredEmailCache registeredEmails,
+                             PlatformTransactionManager transactionManager,
+                             AllowedDomainRegistry allowedDomains,
+                             @Value("${urbanbloom.registration.import.chunk-size:100}") int chunkSize) {
+        this.identityProvider = identityProvider;
+        this.userProfileRepository = userProfileRepository;
+        this.registrationService = registrationService;
+        this.eventPublisher = eventPublisher;
+        this.registeredEmails = registeredEmails;
+        this.profileTransaction = new TransactionTemplate(transactionManager);
+        this.allowedDomains = allowedDomains;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports all users of the given input.
+     *
+     * @param input  the CSV or NDJSON input
+     * @param format the input format
+     * @param sink   receives the result of every row
+     * @return the totals of the import
+     * @throws IllegalArgumentException if the CSV header is missing required columns
+     * @throws IOException              if the input cannot be read
+     */
+    public UserImportSummary importUsers(Reader input, Format format, Consumer<UserImportRowResult> sink) throws IOException {
+        Counter counter = new Counter(sink);
+        AllowedDomainMatcher allowedDomainMatcher = allowedDomains.current();
+        // Only the emails of the current chunk, so memory stays bounded by the chunk size
+        Set<Email> seen = new HashSet<>();
+        List<Candidate> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(input);
+        CsvHeader csvHeader = null;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvHeader == null) {
+                csvHeader = CsvHeader.parse(line);
+                continue;
+            }
+
+            Row row = null;
+            Candidate candidate;
+            try {
+                row = format == Format.CSV ? csvHeader.parseRow(line) : parseJsonRow(line);
+                candidate = validate(lineNumber, row, allowedDomainMatcher);
+            } catch (IllegalArgumentException | RegistrationException e) {
+                counter.emit(new UserImportRowResult(lineNumber, row != null ? row.email() : null,
+                        UserImportRowResult.Status.INVALID, null, e.getMessage()));
+                continue;
+            }
+            if (!seen.add(candidate.email())) {
+                counter.emit(new UserImportRowResult(lineNumber, candidate.email().getValue(),
+                        UserImportRowResult.Status.INVALID, null, "E-Mail-Adresse ist mehrfach in der Datei enthalten."));
+                continue;
+            }
+
+            chunk.add(candidate);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, counter);
+                chunk.clear();
+                seen.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, counter);
+        }
+
+        UserImportSummary summary = counter.summary();
+        log.info("Bulk import finished: {} rows, {} created, {} existing, {} invalid, {} failed",
+                summary.getTotal(), summary.getCreated(), summary.getExisting(), summary.getInvalid(), summary.getFailed());
+        return summary;
+    }
+
+    private Candidate validate(int lineNumber, Row row, AllowedDomainMatcher allowedDomainMatcher) {
+        Email email = Email.of(row.email());
+        UserName userName = UserName.of(row.firstName(), row.lastName());
+        String password = row.password() == null || row.password().isBlank() ? null : row.password();
+        if (password != null && password.length() < MIN_PASSWORD_LENGTH) {
+            throw new IllegalArgumentException("Passwort muss mindestens " + MIN_PASSWORD_LENGTH + " Zeichen lang sein.");
+        }
+        if (!registrationService.isRegistrationAllowed(email, allowedDomainMatcher)) {
+            throw new RegistrationException("E-Mail-Domäne ist nicht zulässig: " + email.getValue());
+        }
+        return new Candidate(lineNumber, email, userName, password, registrationService.determineInitialRole(email));
+    }
+
+    private void importChunk(List<Candidate> chunk, Counter counter) {
+        List<IdentityImportResult> identities;
+        try {
+            identities = identityProvider.importUsers(chunk.stream()
+                    .map(c -> new IdentityImport(c.email().getValue(), c.password(),
+                            c.userName().getFirstName(), c.userName().getLastName(), c.role().name()))
+                    .toList());
+        } catch (RuntimeException e) {
+            log.error("Bulk import of {} users into the Identity Provider failed", chunk.size(), e);
+            chunk.forEach(c -> counter.emit(failed(c, "Import beim Identity Provider fehlgeschlagen.")));
+            return;
+        }
+
+        Map<String, IdentityImportResult> identitiesByEmail = new HashMap<>();
+        identities.forEach(identity -> identitiesByEmail.put(identity.email().toLowerCase(), identity));
+
+        Map<Candidate, UserProfile> newProfiles = new LinkedHashMap<>();
+        for (Candidate candidate : chunk) {
+            IdentityImportResult identity = identitiesByEmail.get(candidate.email().getValue());
+            if (identity == null) {
+                counter.emit(failed(candidate, "Benutzer wurde vom Identity Provider nicht importiert."));
+            } else if (!identity.created()) {
+                registeredEmails.markRegistered(candidate.email());
+                counter.emit(new UserImportRowResult(candidate.line(), candidate.email().getValue(),
+                        UserImportRowResult.Status.EXISTS, null, "E-Mail-Adresse ist bereits registriert."));
+            } else {
+                newProfiles.put(candidate, UserProfile.create(ExternalUserId.of(identity.externalUserId()),
+                        candidate.email(), candidate.userName(), candidate.role()));
+            }
+        }
+        if (newProfiles.isEmpty()) {
+            return;
+        }
+
+        Set<UserProfile> inserted;
+        try {
+            inserted = profileTransaction.execute(status -> {
+                List<UserProfile> profiles = userProfileRepository.insertAll(new ArrayList<>(newProfiles.values()));
+                profiles.forEach(profile -> {
+                    eventPublisher.publishAll(profile.getDomainEvents());
+                    profile.clearDomainEvents();
+                });
+                return new HashSet<>(profiles);
+            });
+        } catch (RuntimeException e) {
+            log.error("Inserting {} imported user profiles failed", newProfiles.size(), e);
+            newProfiles.forEach((candidate, profile) -> {
+                deleteIdentity(profile);
+                counter.emit(failed(candidate, "Benutzerprofil konnte nicht angelegt werden."));
+            });
+            return;
+        }
+
+        newProfiles.forEach((candidate, profile) -> {
+            registeredEmails.markRegistered(candidate.email());
+            if (inserted.contains(profile)) {
+                counter.emit(new UserImportRowResult(candidate.line(), candidate.email().getValue(),
+                        UserImportRowResult.Status.CREATED, profile.getId(), null));
+            } else {
+                // A profile for this email exists without an Identity Provider user; keep the existing profile
+                deleteIdentity(profile);
+                counter.emit(new UserImportRowResult(candidate.line(), candidate.email().getValue(),
+                        UserImportRowResult.Status.EXISTS, null, "Benutzerprofil existiert bereits für E-Mail."));
+            }
+        });
+    }
+
+    private void deleteIdentity(UserProfile profile) {
+        try {
+            identityProvider.deleteUser(profile.getExternalUserId().getValue());
+        } catch (RuntimeException e) {
+            log.error("Could not delete imported identity {} after failed profile creation",
+                    profile.getExternalUserId().getValue(), e);
+        }
+    }
+
+    private static UserImportRowResult failed(Candidate candidate, String message) {
+        return new UserImportRowResult(candidate.line(), candidate.email().getValue(),
+                UserImportRowResult.Status.FAILED, null, message);
+    }
+
+    /**
+     * Splits one CSV line; fields may be enclosed in double quotes, with {@code ""} as an escaped quote.
+     * Quoted fields spanning several lines are not supported.
+     */
+    static List<String> splitCsv(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static Row parseJsonRow(String line) {
+        JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Ungültiges JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Ungültiges JSON: Objekt erwartet.");
+        }
+        return new Row(jsonValue(node, "email"), jsonValue(node, "password"),
+                jsonValue(node, "firstName"), jsonValue(node, "lastName"));
+    }
+
+    private static String jsonValue(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Column positions of a CSV file. Comma and semicolon (as exported by spreadsheet tools) are both
+     * accepted as delimiter; the header decides which one is used.
+     */
+    private record CsvHeader(char delimiter, Map<String, Integer> columns) {
+
+        static CsvHeader parse(String line) {
+            char delimiter = line.indexOf(';') >= 0 && line.indexOf(',') < 0 ? ';' : ',';
+            List<String> names = splitCsv(line, delimiter);
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().replace("_", "").toLowerCase(), i);
+            }
+            if (!columns.keySet().containsAll(List.of("email", "firstname", "lastname"))) {
+                throw new IllegalArgumentException("CSV-Kopfzeile muss die Spalten email, firstName und lastName enthalten.");
+            }
+            return new CsvHeader(delimiter, columns);
+        }
+
+        Row parseRow(String line) {
+            List<String> values = splitCsv(line, delimiter);
+            return new Row(value(values, "email"), value(values, "password"),
+                    value(values, "firstname"), value(values, "lastname"));
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column);
+            return index == null || index >= values.size() ? null : values.get(index).trim();
+        }
+    }
+
+    private record Row(String email, String password, String firstName, String lastName) {
+    }
+
+    private record Candidate(int line, Email email, UserName userName, String password, UserRole role) {
+    }
+
+    /**
+     * Forwards row results to the sink and keeps the totals.
+     */
+    private static final class Counter {
+        private final Consumer<UserImportRowResult> sink;
+        private final EnumMap<UserImportRowResult.Status, Integer> counts = new EnumMap<>(UserImportRowResult.Status.class);
+
+        private Counter(Consumer<UserImportRowResult> sink) {
+            this.sink = sink;
+        }
+
+        void emit(UserImportRowResult result) {
+            counts.merge(result.getStatus(), 1, Integer::sum);
+            sink.accept(result);
+        }
+
+        UserImportSummary summary() {
+            int created = counts.getOrDefault(UserImportRowResult.Status.CREATED, 0);
+            int existing = counts.getOrDefault(UserImportRowResult.Status.EXISTS, 0);
+            int invalid = counts.getOrDefault(UserImportRowResult.Status.INVALID, 0);
+            int failed = counts.getOrDefault(UserImportRowResult.Status.FAILED, 0);
+            return new UserImportSummary(created + existing + invalid + failed, created, existing, invalid, failed);
+        }
+    }
+}
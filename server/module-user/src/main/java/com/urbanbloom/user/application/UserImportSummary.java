@@ -0,0 +1,18 @@
+package com.urbanbloom.user.application;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Totals of a bulk user import.
+ */
+@Data
+@AllArgsConstructor
+public class UserImportSummary {
+
+    private int total;
+    private int created;
+    private int existing;
+    private int invalid;
+    private int failed;
+}
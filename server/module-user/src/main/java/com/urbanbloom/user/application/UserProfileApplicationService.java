@@ -1,8 +1,6 @@
 package com.urbanbloom.user.application;
 
 import com.urbanbloom.user.domain.ExternalUserId;
-import com.urbanbloom.user.domain.UserProfile;
-import com.urbanbloom.user.domain.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,16 +14,18 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class UserProfileApplicationService {
 
-    private final UserProfileRepository userProfileRepository;
+    private final UserProfileViewCache userProfileViewCache;
 
     /**
      * Gets the current authenticated user's profile.
+     * Served from {@link UserProfileViewCache}, so it may lag behind changes for up to the cache TTL
+     * unless the change invalidated the cached view.
      *
-     * @return the user profile
+     * @return the user profile view
      * @throws IllegalStateException if no authenticated user
      * @throws UserProfileNotFoundException if profile not found
      */
-    public UserProfile getCurrentUserProfile() {
+    public UserProfileView getCurrentUserProfile() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
             throw new IllegalStateException("No authenticated user");
@@ -34,7 +34,7 @@ public class UserProfileApplicationService {
         String subject = jwt.getSubject();
         ExternalUserId externalUserId = new ExternalUserId(subject);
 
-        return userProfileRepository.findByExternalUserId(externalUserId)
+        return userProfileViewCache.get(externalUserId)
                 .orElseThrow(() -> new UserProfileNotFoundException("User profile not found for external user ID: " + subject));
     }
 }
\ No newline at end of file
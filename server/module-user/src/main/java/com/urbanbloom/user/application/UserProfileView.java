@@ -0,0 +1,28 @@
+package com.urbanbloom.user.application;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a user profile for display, loaded without hydrating the {@link com.urbanbloom.user.domain.UserProfile}
+ * aggregate. Use the aggregate for anything that changes the profile.
+ *
+ * @param id             the profile ID
+ * @param externalUserId the user's ID in the Identity Provider
+ * @param email          the email address
+ * @param firstName      the first name
+ * @param lastName       the last name
+ * @param role           the role name
+ * @param points         the collected points
+ * @param active         whether the profile is active
+ * @param createdAt      when the profile was created
+ */
+public record UserProfileView(String id,
+                              String externalUserId,
+                              String email,
+                              String firstName,
+                              String lastName,
+                              String role,
+                              int points,
+                              boolean active,
+                              LocalDateTime createdAt) {
+}
@@ -0,0 +1,141 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.user.domain.ExternalUserId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of {@link UserProfileView}s keyed by the Identity Provider user ID, for endpoints
+ * like {@code /api/v1/users/me} that the apps poll constantly.
+ * <p>
+ * Entries live for {@code urbanbloom.user.profile-cache.ttl-seconds} and are dropped when the profile is saved,
+ * deleted, deactivated, reactivated or changes its role. Missing profiles are not cached. Once the cache is full,
+ * expired entries are swept; if it is still full the loaded view is returned without being stored.
+ */
+@Component
+public class UserProfileViewCache {
+
+    private final UserProfileViewRepository viewRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, String> externalIdsByProfileId = new ConcurrentHashMap<>();
+    /**
+     * Incremented on every invalidation; a view loaded while it changed may be stale and is not stored.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public UserProfileViewCache(UserProfileViewRepository viewRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${urbanbloom.user.profile-cache.ttl-seconds:60}") long ttlSeconds,
+                                @Value("${urbanbloom.user.profile-cache.max-entries:10000}") int maxEntries) {
+        this.viewRepository = viewRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+        Gauge.builder("user_profile.cache.size", entries, Map::size)
+                .description("Cached user profile views")
+                .register(meterRegistry);
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("user_profile.cache.hit_ratio", this, UserProfileViewCache::hitRatio)
+                .description("Share of user profile lookups answered from the cache since startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the view of the user's profile, loading it on a miss.
+     *
+     * @param externalUserId the user's ID in the Identity Provider
+     * @return the profile view, or empty if the user has no profile
+     */
+    public Optional<UserProfileView> get(ExternalUserId externalUserId) {
+        String key = externalUserId.getValue();
+        long now = System.nanoTime();
+
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            if (now - cached.loadedAt() < ttlNanos) {
+                hitCounter.increment();
+                return Optional.of(cached.view());
+            }
+            entries.remove(key, cached);
+        }
+
+        missCounter.increment();
+        long generation = invalidations.get();
+        Optional<UserProfileView> loaded = viewRepository.findByExternalUserId(externalUserId);
+        loaded.ifPresent(view -> store(key, new Entry(view, now), generation));
+        return loaded;
+    }
+
+    /**
+     * Drops the cached view of an Identity Provider user.
+     */
+    public void invalidate(ExternalUserId externalUserId) {
+        invalidations.incrementAndGet();
+        Entry removed = entries.remove(externalUserId.getValue());
+        if (removed != null) {
+            externalIdsByProfileId.remove(removed.view().id(), externalUserId.getValue());
+        }
+    }
+
+    /**
+     * Drops the cached view of a profile, e.g. when only the profile ID is known from a domain event.
+     */
+    public void invalidateProfile(String profileId) {
+        invalidations.incrementAndGet();
+        String externalUserId = externalIdsByProfileId.remove(profileId);
+        if (externalUserId != null) {
+            entries.remove(externalUserId);
+        }
+    }
+
+    double hitRatio() {
+        double hits = hitCounter.count();
+        double lookups = hits + missCounter.count();
+        return lookups == 0 ? 0 : hits / lookups;
+    }
+
+    private void store(String key, Entry entry, long generation) {
+        if (entries.size() >= maxEntries) {
+            long now = System.nanoTime();
+            entries.entrySet().removeIf(existing -> {
+                boolean expired = now - existing.getValue().loadedAt() >= ttlNanos;
+                if (expired) {
+                    externalIdsByProfileId.remove(existing.getValue().view().id(), existing.getKey());
+                }
+                return expired;
+            });
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        externalIdsByProfileId.put(entry.view().id(), key);
+        entries.put(key, entry);
+        if (invalidations.get() != generation) {
+            // Invalidated while loading; the stored view may predate the change
+            entries.remove(key, entry);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user_profile.cache.lookups")
+                .description("User profile view lookups by cache result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(UserProfileView view, long loadedAt) {
+    }
+}
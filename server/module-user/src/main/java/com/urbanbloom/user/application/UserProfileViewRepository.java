@@ -0,0 +1,19 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.user.domain.ExternalUserId;
+
+import java.util.Optional;
+
+/**
+ * Port for read-only user profile queries.
+ */
+public interface UserProfileViewRepository {
+
+    /**
+     * Loads the read model of the profile belonging to an Identity Provider user.
+     *
+     * @param externalUserId the user's ID in the Identity Provider
+     * @return the profile view, or empty if the user has no profile
+     */
+    Optional<UserProfileView> findByExternalUserId(ExternalUserId externalUserId);
+}
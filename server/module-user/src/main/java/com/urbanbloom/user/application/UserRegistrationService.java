@@ -1,22 +1,17 @@
 package com.urbanbloom.user.application;
 
-import com.urbanbloom.shared.ddd.DomainEventPublisher;
 import com.urbanbloom.user.config.RegistrationConfigProperties;
 import com.urbanbloom.user.domain.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 /**
  * Application service for user registration.
- * Orchestrates the registration process including domain validation,
- * IdP creation, and local profile persistence.
+ * Validates registrations and starts the background process that creates
+ * the IdP user and the local profile.
  */
 @Slf4j
 @Service
@@ -26,20 +21,31 @@ public class UserRegistrationService {
     private final IdentityProvider identityProvider;
     private final UserProfileRepository userProfileRepository;
     private final RegistrationService registrationService;
-    private final DomainEventPublisher eventPublisher;
     private final RegistrationConfigProperties registrationConfig;
+    private final RegisteredEmailCache registeredEmails;
+    private final RegistrationSagaRepository sagaRepository;
+    private final RegistrationSagaProcessor sagaProcessor;
+    private final AllowedDomainRegistry allowedDomains;
 
-    @Value("${urbanbloom.registration.allowed-domains:*}")
-    private List<String> allowedDomainStrings;
+    /**
+     * Checks whether an email address is still available for registration.
+     *
+     * @param email the email address
+     * @return true if no user is registered with this email
+     */
+    public boolean isEmailAvailable(String email) {
+        return !registeredEmails.isRegistered(Email.of(email));
+    }
 
     /**
-     * Registers a new user.
+     * Accepts a new registration.
+     * Validates the request and reserves the email; the Identity Provider steps and the local profile
+     * are completed in the background by {@link RegistrationSagaProcessor}.
      *
      * @param command the registration command
-     * @return registration result
-     * @throws RegistrationException if registration fails
+     * @return registration result with status {@link RegistrationResult.Status#PENDING}
+     * @throws RegistrationException if registration is not possible
      */
-    @Transactional
     public RegistrationResult registerUser(RegisterUserCommand command) {
         log.info("Starting registration for email: {}", command.getEmail());
 
@@ -51,64 +57,63 @@ public class UserRegistrationService {
         UserName userName = UserName.of(command.getFirstName(), command.getLastName());
 
         // 3. Check domain allowlist
-        if (allowedDomainStrings != null && !allowedDomainStrings.contains("*")) {
-            List<AllowedDomain> allowedDomains = allowedDomainStrings.stream()
-                    .map(AllowedDomain::of)
-                    .toList();
+        if (!registrationService.isRegistrationAllowed(email, allowedDomains.current())) {
+            throw new RegistrationException("E-Mail-Domäne ist nicht zulässig: " + email.getValue());
+        }
 
-            if (!registrationService.isRegistrationAllowed(email, allowedDomains)) {
-                throw new RegistrationException("E-Mail-Domäne ist nicht zulässig: " + email.getValue());
+        // 4. Check if already registered (emails known to be free skip the IdP and database lookups)
+        if (registeredEmails.mightBeRegistered(email)) {
+            if (identityProvider.isEmailRegistered(email.getValue())) {
+                registeredEmails.markRegistered(email);
+                throw new RegistrationException("E-Mail-Adresse ist bereits registriert: " + email.getValue());
             }
-        }
 
-        // 4. Check if already registered
-        if (identityProvider.isEmailRegistered(email.getValue())) {
-            throw new RegistrationException("E-Mail-Adresse ist bereits registriert: " + email.getValue());
+            if (userProfileRepository.existsByEmail(email)) {
+                registeredEmails.markRegistered(email);
+                throw new RegistrationException("Benutzerprofil existiert bereits für E-Mail: " + email.getValue());
+            }
         }
-
-        if (userProfileRepository.existsByEmail(email)) {
-            throw new RegistrationException("Benutzerprofil existiert bereits für E-Mail: " + email.getValue());
+        if (sagaRepository.existsInProgressByEmail(email)) {
+            throw new RegistrationException("E-Mail-Adresse ist bereits registriert: " + email.getValue());
         }
 
         // 5. Determine initial role
         UserRole initialRole = registrationService.determineInitialRole(email);
 
-        // 6. Create user in IdP
-        Map<String, List<String>> attributes = new HashMap<>();
-        
-        String externalUserId = identityProvider.createUser(
-                email.getValue(),
-                command.getPassword(),
-                command.getFirstName(),
-                command.getLastName(),
-                attributes);
-
-        // 7. Assign role in IdP
-        identityProvider.assignRole(externalUserId, initialRole.name());
-
-        // 8. Trigger email verification
-        identityProvider.sendVerificationEmail(externalUserId);
-
-        // 9. Create local user profile
-        UserProfile userProfile = UserProfile.create(
-                ExternalUserId.of(externalUserId),
-                email,
-                userName,
-                initialRole);
-
-        userProfileRepository.save(userProfile);
-
-        // 10. Publish domain events
-        eventPublisher.publishAll(userProfile.getDomainEvents());
-        userProfile.clearDomainEvents();
-
-        log.info("Successfully registered user with local ID: {} and external ID: {}", userProfile.getId(), externalUserId);
-
-        return new RegistrationResult(
-                userProfile.getId(),
-                externalUserId,
-                "Registrierung erfolgreich. Bitte prüfe dein E-Mail-Postfach, um dein Konto zu verifizieren.",
-                registrationConfig.isEmailVerificationRequired());
+        // 6. Persist the pending registration and hand it to the workers
+        RegistrationSaga saga = sagaRepository.save(RegistrationSaga.start(email, userName, initialRole));
+        registeredEmails.markRegistered(email);
+        sagaProcessor.submit(saga, command.getPassword());
+
+        log.info("Accepted registration {} for email: {}", saga.getId(), email.getValue());
+        return toResult(saga);
+    }
+
+    /**
+     * Looks up the current state of a registration.
+     *
+     * @param registrationId the id returned by {@link #registerUser}
+     * @return the registration result, or empty if the id is unknown
+     */
+    public Optional<RegistrationResult> getRegistration(String registrationId) {
+        return sagaRepository.findById(registrationId).map(this::toResult);
+    }
+
+    private RegistrationResult toResult(RegistrationSaga saga) {
+        return switch (saga.getStep()) {
+            case COMPLETED -> new RegistrationResult(saga.getId(), RegistrationResult.Status.COMPLETED,
+                    saga.getUserProfileId(), saga.getExternalUserId(),
+                    "Registrierung erfolgreich. Bitte prüfe dein E-Mail-Postfach, um dein Konto zu verifizieren.",
+                    registrationConfig.isEmailVerificationRequired());
+            case FAILED, COMPENSATE -> new RegistrationResult(saga.getId(), RegistrationResult.Status.FAILED,
+                    null, null,
+                    "Registrierung fehlgeschlagen. Bitte versuche es später erneut.",
+                    registrationConfig.isEmailVerificationRequired());
+            default -> new RegistrationResult(saga.getId(), RegistrationResult.Status.PENDING,
+                    null, null,
+                    "Registrierung wird bearbeitet.",
+                    registrationConfig.isEmailVerificationRequired());
+        };
     }
 
     private void validateCommand(RegisterUserCommand command) {
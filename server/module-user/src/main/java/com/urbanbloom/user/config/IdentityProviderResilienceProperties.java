@@ -0,0 +1,72 @@
+package com.urbanbloom.user.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the circuit breakers and bulkheads around identity provider calls.
+ * Token endpoint calls (login, refresh, logout) and admin API calls (registration, roles,
+ * password reset) are guarded separately so that one cannot starve the other.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "urbanbloom.identity.resilience")
+@Getter
+@Setter
+public class IdentityProviderResilienceProperties {
+
+    private OperationClass token = new OperationClass(20);
+
+    private OperationClass admin = new OperationClass(10);
+
+    @Getter
+    @Setter
+    public static class OperationClass {
+
+        /**
+         * Maximum number of concurrent calls; further calls are rejected.
+         */
+        private int maxConcurrentCalls;
+
+        /**
+         * How long a call may wait for a free bulkhead slot before it is rejected.
+         */
+        private Duration maxWait = Duration.ofMillis(100);
+
+        /**
+         * Number of most recent calls used to compute the failure rate.
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * Minimum number of calls in the window before the circuit may open.
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * Failure rate in percent at which the circuit opens.
+         */
+        private int failureRateThreshold = 50;
+
+        /**
+         * How long the circuit stays open before trial calls are let through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Number of trial calls in the half-open state; all must succeed to close the circuit.
+         */
+        private int halfOpenCalls = 3;
+
+        public OperationClass() {
+            this(10);
+        }
+
+        OperationClass(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+    }
+}
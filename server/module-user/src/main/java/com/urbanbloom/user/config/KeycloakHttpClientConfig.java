@@ -0,0 +1,80 @@
+package com.urbanbloom.user.config;
+
+import com.urbanbloom.user.adapter.infrastructure.keycloak.KeycloakHttpClientMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * HTTP client for the Keycloak token and logout endpoints.
+ * Connections are pooled and kept alive so that login spikes reuse TCP/TLS connections,
+ * and every call is bounded by connect, pool-wait and read timeouts.
+ */
+@Configuration
+public class KeycloakHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager keycloakConnectionManager(KeycloakHttpClientProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(properties.getConnectTimeout()))
+                        .setSocketTimeout(timeout(properties.getReadTimeout()))
+                        // Keycloak may close idle connections first; re-check before reusing them
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient keycloakHttpClient(PoolingHttpClientConnectionManager keycloakConnectionManager,
+                                                  KeycloakHttpClientProperties properties) {
+        TimeValue maxKeepAlive = TimeValue.of(properties.getKeepAlive());
+        return HttpClients.custom()
+                .setConnectionManager(keycloakConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(timeout(properties.getReadTimeout()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue advertised = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return advertised.compareTo(maxKeepAlive) < 0 ? advertised : maxKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleTimeout()))
+                .build();
+    }
+
+    @Bean
+    public KeycloakHttpClientMetrics keycloakHttpClientMetrics(MeterRegistry meterRegistry,
+                                                               PoolingHttpClientConnectionManager keycloakConnectionManager) {
+        return new KeycloakHttpClientMetrics(meterRegistry, keycloakConnectionManager);
+    }
+
+    @Bean
+    public RestTemplate keycloakRestTemplate(CloseableHttpClient keycloakHttpClient,
+                                             KeycloakHttpClientMetrics keycloakHttpClientMetrics) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(keycloakHttpClient));
+        restTemplate.getInterceptors().add(keycloakHttpClientMetrics);
+        return restTemplate;
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -0,0 +1,54 @@
+package com.urbanbloom.user.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the HTTP client used against the Keycloak
+ * token and logout endpoints.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "keycloak.http")
+@Getter
+@Setter
+public class KeycloakHttpClientProperties {
+
+    /**
+     * Maximum time to establish a TCP connection to Keycloak.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Maximum time to wait for a response once the request has been sent.
+     */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum time to wait for a free connection from the pool.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of pooled connections across all routes.
+     */
+    private int maxTotal = 50;
+
+    /**
+     * Maximum number of pooled connections per route (Keycloak host).
+     */
+    private int maxPerRoute = 20;
+
+    /**
+     * Idle connections are closed after this time.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound for keeping a connection alive when Keycloak sends no Keep-Alive header.
+     */
+    private Duration keepAlive = Duration.ofSeconds(60);
+}
@@ -17,21 +17,38 @@ import java.util.Objects;
  *   <li>Domain must not be empty</li>
  *   <li>Domain must follow standard domain format</li>
  *   <li>Domain comparison is case-insensitive</li>
+ *   <li>A leading {@code *.} (e.g. {@code *.schule.de}) allows all subdomains, but not the domain itself</li>
  * </ul>
  */
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class AllowedDomain extends ValueObject {
 
+    private static final String WILDCARD_PREFIX = "*.";
+
     private final String domain;
 
     public String getDomain() {
         return domain;
     }
 
+    /**
+     * @return true if this entry allows all subdomains of {@link #getBaseDomain()}
+     */
+    public boolean isWildcard() {
+        return domain.startsWith(WILDCARD_PREFIX);
+    }
+
+    /**
+     * @return the domain without a wildcard prefix
+     */
+    public String getBaseDomain() {
+        return isWildcard() ? domain.substring(WILDCARD_PREFIX.length()) : domain;
+    }
+
     /**
      * Creates an AllowedDomain from a string.
      *
-     * @param domain the domain string (e.g., "schule.de")
+     * @param domain the domain string (e.g., "schule.de" or "*.schule.de")
      * @return new AllowedDomain instance
      * @throws IllegalArgumentException if domain is invalid
      */
@@ -43,7 +60,8 @@ public class AllowedDomain extends ValueObject {
         String normalized = domain.trim().toLowerCase();
 
         // Basic domain validation
-        if (!normalized.matches("^[a-z0-9.-]+\\.[a-z]{2,}$")) {
+        String baseDomain = normalized.startsWith(WILDCARD_PREFIX) ? normalized.substring(WILDCARD_PREFIX.length()) : normalized;
+        if (!baseDomain.matches("^[a-z0-9.-]+\\.[a-z]{2,}$")) {
             throw new IllegalArgumentException("Invalid domain format: " + domain);
         }
 
@@ -73,6 +91,9 @@ public class AllowedDomain extends ValueObject {
             return false;
         }
         String emailDomain = email.getValue().substring(email.getValue().indexOf('@') + 1).toLowerCase();
+        if (isWildcard()) {
+            return emailDomain.endsWith(domain.substring(1));
+        }
         return emailDomain.equals(domain);
     }
 
@@ -0,0 +1,117 @@
+package com.urbanbloom.user.domain;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiled form of an email domain allowlist.
+ * The allowed domains are stored in a trie keyed by their labels in reverse order ({@code de -> schule -> student}),
+ * so checking an email walks at most as many nodes as its domain has labels, independent of the size of the list.
+ *
+ * <p>Matching follows {@link AllowedDomain#matches(Email)}: plain entries match exactly,
+ * wildcard entries ({@code *.schule.de}) match every subdomain.</p>
+ *
+ * <p>Instances are immutable and safe to share between threads.</p>
+ */
+public final class AllowedDomainMatcher {
+
+    /**
+     * Matcher that allows every domain, used for the allowlist entry {@code *}.
+     */
+    public static final AllowedDomainMatcher ANY = new AllowedDomainMatcher(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private AllowedDomainMatcher(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Compiles the given allowed domains.
+     *
+     * @param allowedDomains the allowed domains
+     * @return matcher allowing exactly these domains; none if the collection is empty
+     */
+    public static AllowedDomainMatcher of(Collection<AllowedDomain> allowedDomains) {
+        Node root = new Node();
+        for (AllowedDomain allowedDomain : allowedDomains) {
+            Node node = root;
+            String[] labels = allowedDomain.getBaseDomain().split("\\.");
+            for (int i = labels.length - 1; i >= 0; i--) {
+                node = node.children.computeIfAbsent(labels[i], label -> new Node());
+            }
+            if (allowedDomain.isWildcard()) {
+                node.subdomains = true;
+            } else {
+                node.exact = true;
+            }
+        }
+        return new AllowedDomainMatcher(root, allowedDomains.size());
+    }
+
+    /**
+     * @return true if every domain is allowed
+     */
+    public boolean allowsAll() {
+        return root == null;
+    }
+
+    /**
+     * @return number of domains the matcher was compiled from
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the domain of the given email is allowed.
+     *
+     * @param email the email to check
+     * @return true if the email's domain is allowed
+     */
+    public boolean matches(Email email) {
+        if (email == null) {
+            return false;
+        }
+        String value = email.getValue();
+        return matchesDomain(value.substring(value.indexOf('@') + 1));
+    }
+
+    /**
+     * Checks if the given domain is allowed.
+     *
+     * @param domain the domain to check (lower case)
+     * @return true if the domain is allowed
+     */
+    public boolean matchesDomain(String domain) {
+        if (root == null) {
+            return true;
+        }
+        Node node = root;
+        int end = domain.length();
+        while (end > 0) {
+            int start = domain.lastIndexOf('.', end - 1) + 1;
+            node = node.children.get(domain.substring(start, end));
+            if (node == null) {
+                return false;
+            }
+            if (start == 0) {
+                return node.exact;
+            }
+            if (node.subdomains) {
+                return true;
+            }
+            end = start - 1;
+        }
+        return false;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>(4);
+        private boolean exact;
+        private boolean subdomains;
+    }
+}
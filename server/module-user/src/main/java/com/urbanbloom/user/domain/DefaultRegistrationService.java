@@ -21,6 +21,15 @@ public class DefaultRegistrationService implements RegistrationService {
                 .anyMatch(domain -> domain.matches(email));
     }
 
+    @Override
+    public boolean isRegistrationAllowed(Email email, AllowedDomainMatcher allowedDomains) {
+        if (email == null || allowedDomains == null) {
+            return false;
+        }
+
+        return allowedDomains.matches(email);
+    }
+
     @Override
     public UserRole determineInitialRole(Email email) {
         // Default rule: all self-registered users start as CITIZEN
@@ -0,0 +1,13 @@
+package com.urbanbloom.user.domain;
+
+/**
+ * A user to be created in the Identity Provider as part of a bulk import.
+ *
+ * @param email     the user's email, also used as username
+ * @param password  initial password, or null if the user has to set one on first login
+ * @param firstName the user's first name
+ * @param lastName  the user's last name
+ * @param roleName  the realm role to assign
+ */
+public record IdentityImport(String email, String password, String firstName, String lastName, String roleName) {
+}
@@ -0,0 +1,11 @@
+package com.urbanbloom.user.domain;
+
+/**
+ * Outcome of importing one user into the Identity Provider.
+ *
+ * @param email          the imported email
+ * @param externalUserId the user's ID in the Identity Provider
+ * @param created        false if a user with this email already existed and was left unchanged
+ */
+public record IdentityImportResult(String email, String externalUserId, boolean created) {
+}
@@ -1,7 +1,9 @@
 package com.urbanbloom.user.domain;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Interface to abstract interaction with an external Identity Provider (e.g., Keycloak).
@@ -19,11 +21,25 @@ public interface IdentityProvider {
      */
     boolean isEmailRegistered(String email);
 
+    /**
+     * Looks up the user with the given email that was created at or after {@code createdSince} (default realm),
+     * e.g. a user created by an earlier attempt of the same registration.
+     */
+    Optional<String> findUserIdByEmail(String email, Instant createdSince);
+
     /**
      * Assigns a role to a user (default realm).
      */
     void assignRole(String userId, String roleName);
 
+    /**
+     * Creates many users with their role in one request (default realm).
+     * Existing users are left unchanged and reported as not created.
+     *
+     * @return one result per imported user; users missing from the result were not imported
+     */
+    List<IdentityImportResult> importUsers(List<IdentityImport> users);
+
     /**
      * Triggers the verification email flow for a user (default realm).
      */
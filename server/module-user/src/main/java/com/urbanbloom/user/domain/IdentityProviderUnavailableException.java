@@ -0,0 +1,36 @@
+package com.urbanbloom.user.domain;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when the identity provider is not called at all because it is
+ * currently considered unavailable (open circuit) or overloaded (bulkhead full).
+ */
+@Getter
+public class IdentityProviderUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    private IdentityProviderUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Creates an exception for an open circuit.
+     */
+    public static IdentityProviderUnavailableException circuitOpen(Duration retryAfter) {
+        return new IdentityProviderUnavailableException(
+                "Der Anmeldedienst ist vorübergehend nicht erreichbar. Bitte versuche es später erneut.", retryAfter);
+    }
+
+    /**
+     * Creates an exception for too many concurrent calls.
+     */
+    public static IdentityProviderUnavailableException overloaded() {
+        return new IdentityProviderUnavailableException(
+                "Der Anmeldedienst ist derzeit überlastet. Bitte versuche es gleich noch einmal.", Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,34 @@
+package com.urbanbloom.user.domain;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when the identity provider answers a request with a client error (HTTP 4xx),
+ * e.g. because the user already exists. The provider itself is healthy, so retrying the same request
+ * will not help.
+ */
+@Getter
+public class IdentityRequestRejectedException extends RuntimeException {
+
+    private final int status;
+
+    public IdentityRequestRejectedException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * @return true if the request conflicts with an existing resource (HTTP 409)
+     */
+    public boolean isConflict() {
+        return status == 409;
+    }
+
+    /**
+     * Whether a response status means the request was rejected, as opposed to a provider failure.
+     * Timeouts (408) and rate limiting (429) are failures of the provider, not of the request.
+     */
+    public static boolean isRejection(int status) {
+        return status >= 400 && status < 500 && status != 408 && status != 429;
+    }
+}
@@ -17,6 +17,15 @@ public interface RegistrationService {
      */
     boolean isRegistrationAllowed(Email email, List<AllowedDomain> allowedDomains);
 
+    /**
+     * Validates if registration is allowed for the given email against a compiled allowlist.
+     *
+     * @param email the email to validate
+     * @param allowedDomains the compiled allowed domains
+     * @return true if registration is allowed
+     */
+    boolean isRegistrationAllowed(Email email, AllowedDomainMatcher allowedDomains);
+
     /**
      * Determines the role for a new user based on their email and business rules.
      * 
@@ -1,5 +1,6 @@
 package com.urbanbloom.user.domain;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,6 +28,15 @@ public interface UserProfileRepository {
      */
     UserProfile save(UserProfile userProfile);
 
+    /**
+     * Inserts new user profiles in batches.
+     * Profiles whose email or external user ID is already taken are skipped.
+     *
+     * @param userProfiles the new user profiles
+     * @return the profiles that were inserted
+     */
+    List<UserProfile> insertAll(List<UserProfile> userProfiles);
+
     /**
      * Finds a user profile by its unique ID.
      *
@@ -59,6 +69,13 @@ public interface UserProfileRepository {
      */
     boolean existsByEmail(Email email);
 
+    /**
+     * Returns the email addresses of all user profiles.
+     *
+     * @return all registered email addresses
+     */
+    List<Email> findAllEmails();
+
     /**
      * Checks if a user profile exists with the given external user ID.
      *
@@ -0,0 +1,133 @@
+package com.urbanbloom.user.adapter.infrastructure.keycloak;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeycloakAuthorityCacheTest {
+
+    private static RSAKey signingKey;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KeycloakAuthorityCache cache;
+
+    @BeforeAll
+    static void generateKey() throws JOSEException {
+        signingKey = new RSAKeyGenerator(2048).keyID("urbanbloom-test").generate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        cache = new KeycloakAuthorityCache(meterRegistry, 1_000);
+    }
+
+    @Test
+    void shouldResolveRealmAndClientRoles() throws Exception {
+        KeycloakAuthorities authorities = cache.resolve(keycloakToken(Instant.now().plusSeconds(300)));
+
+        assertThat(authorities.hasRole("ADMIN")).isTrue();
+        assertThat(authorities.hasRole("manage-account")).isTrue();
+        assertThat(authorities.hasRole("SUPER_ADMIN")).isFalse();
+        assertThat(authorities.toGrantedAuthorities("server-app"))
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN", "ROLE_offline_access", "ROLE_uma_authorization", "ROLE_action-reviewer");
+    }
+
+    @Test
+    void shouldShareEntriesBetweenRawAndDecodedTokens() throws Exception {
+        String token = keycloakToken(Instant.now().plusSeconds(300));
+        Jwt decoded = NimbusJwtDecoder.withPublicKey(signingKey.toRSAPublicKey()).build().decode(token);
+
+        KeycloakAuthorities fromLogin = cache.resolve(token);
+        KeycloakAuthorities fromRequest = cache.resolve(decoded);
+
+        assertThat(fromRequest).isSameAs(fromLogin);
+        assertThat(lookups("hit")).isEqualTo(1);
+        assertThat(lookups("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheExpiredTokens() throws Exception {
+        String token = keycloakToken(Instant.now().minusSeconds(5));
+
+        assertThat(cache.resolve(token).hasRole("ADMIN")).isTrue();
+        assertThat(cache.resolve(token).hasRole("ADMIN")).isTrue();
+
+        assertThat(cache.size()).isZero();
+        assertThat(lookups("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldGrantNoRolesForUnparseableToken() {
+        assertThat(cache.resolve("not-a-jwt").hasRole("ADMIN")).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldStayWithinMaxEntries() throws Exception {
+        cache = new KeycloakAuthorityCache(meterRegistry, 2);
+
+        for (int i = 0; i < 5; i++) {
+            cache.resolve(keycloakToken(Instant.now().plusSeconds(300)));
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("keycloak.authority_cache.lookups").tag("result", result).counter().count();
+    }
+
+    /**
+     * Access token shaped like the ones issued by the urbanbloom-admin realm.
+     */
+    private static String keycloakToken(Instant expiresAt) throws JOSEException {
+        Instant issuedAt = expiresAt.minusSeconds(300);
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .jwtID(UUID.randomUUID().toString())
+                .issuer("http://localhost:8080/realms/urbanbloom-admin")
+                .audience(List.of("server-app", "account"))
+                .subject(UUID.randomUUID().toString())
+                .issueTime(Date.from(issuedAt))
+                .expirationTime(Date.from(expiresAt))
+                .claim("typ", "Bearer")
+                .claim("azp", "urbanbloom-admin-web")
+                .claim("sid", UUID.randomUUID().toString())
+                .claim("acr", "1")
+                .claim("allowed-origins", List.of("http://localhost:3000"))
+                .claim("realm_access", Map.of("roles", List.of("ADMIN", "offline_access", "uma_authorization")))
+                .claim("resource_access", Map.of(
+                        "server-app", Map.of("roles", List.of("action-reviewer")),
+                        "account", Map.of("roles", List.of("manage-account", "manage-account-links", "view-profile"))))
+                .claim("scope", "openid email profile")
+                .claim("email_verified", true)
+                .claim("name", "Anna Admin")
+                .claim("preferred_username", "admin@schule.de")
+                .claim("given_name", "Anna")
+                .claim("family_name", "Admin")
+                .claim("email", "admin@schule.de")
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }}
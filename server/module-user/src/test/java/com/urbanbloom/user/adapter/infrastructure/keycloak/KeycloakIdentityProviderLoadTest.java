@@ -0,0 +1,171 @@
+package com.urbanbloom.user.adapter.infrastructure.keycloak;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.urbanbloom.user.config.KeycloakHttpClientConfig;
+import com.urbanbloom.user.config.KeycloakHttpClientProperties;
+import com.urbanbloom.user.config.RegistrationConfigProperties;
+import com.urbanbloom.user.domain.AuthenticationException;
+import com.urbanbloom.user.domain.AuthenticationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.admin.client.Keycloak;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Load test for the token endpoint client against a local stub instead of a real Keycloak.
+ */
+class KeycloakIdentityProviderLoadTest {
+
+    private static final String TOKEN_RESPONSE = """
+            {"access_token":"access","refresh_token":"refresh","expires_in":300,
+             "refresh_expires_in":1800,"token_type":"Bearer"}""";
+
+    static {
+        // The JDK stub server otherwise hits Nagle/delayed-ACK stalls on keep-alive connections
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch releaseSlowResponses = new CountDownLatch(1);
+
+    private HttpServer stubServer;
+    private ExecutorService stubExecutor;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        releaseSlowResponses.countDown();
+        if (stubServer != null) {
+            stubServer.stop(0);
+            stubExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldServeLoginSpikeOverPooledKeepAliveConnections() throws Exception {
+        startStub(false);
+        KeycloakHttpClientProperties properties = new KeycloakHttpClientProperties();
+        properties.setMaxPerRoute(8);
+        KeycloakIdentityProvider identityProvider = identityProvider(properties);
+
+        int logins = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try {
+            List<Future<AuthenticationResult>> futures = new ArrayList<>();
+            for (int i = 0; i < logins; i++) {
+                String email = "user" + i + "@schule.de";
+                futures.add(executor.submit(() ->
+                        identityProvider.authenticate(email, "secret", "urbanbloom-mobile", "urbanbloom-mobile-app")));
+            }
+            for (Future<AuthenticationResult> future : futures) {
+                assertThat(future.get().accessToken()).isEqualTo("access");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        identityProvider.logout("refresh", "urbanbloom-mobile", "urbanbloom-mobile-app");
+
+        // Every request went through one of at most maxPerRoute reused connections
+        assertThat(clientPorts).hasSizeLessThanOrEqualTo(8);
+        assertThat(meterRegistry.get("keycloak.http.client.requests")
+                .tag("endpoint", "token").tag("outcome", "SUCCESS").timer().count()).isEqualTo(logins);
+        assertThat(meterRegistry.get("keycloak.http.client.requests")
+                .tag("endpoint", "logout").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("keycloak.http.pool.max").gauge().value()).isEqualTo(8);
+        assertThat(meterRegistry.get("keycloak.http.pool.leased").gauge().value()).isZero();
+        assertThat(meterRegistry.get("keycloak.http.pool.available").gauge().value()).isPositive();
+    }
+
+    @Test
+    void shouldFailFastWhenTokenEndpointIsSlow() throws Exception {
+        startStub(true);
+        KeycloakHttpClientProperties properties = new KeycloakHttpClientProperties();
+        properties.setReadTimeout(Duration.ofMillis(200));
+        KeycloakIdentityProvider identityProvider = identityProvider(properties);
+
+        // The stub answers only after 10 seconds; without the read timeout the login would succeed
+        assertThatThrownBy(() ->
+                identityProvider.authenticate("slow@schule.de", "secret", "urbanbloom-mobile", "urbanbloom-mobile-app"))
+                .isInstanceOf(AuthenticationException.class)
+                .extracting("errorCode").isEqualTo("PROVIDER_ERROR");
+
+        assertThat(meterRegistry.get("keycloak.http.client.requests")
+                .tag("outcome", "IO_ERROR").timer().count()).isEqualTo(1);
+    }
+
+    private KeycloakIdentityProvider identityProvider(KeycloakHttpClientProperties properties) {
+        KeycloakHttpClientConfig config = new KeycloakHttpClientConfig();
+        connectionManager = config.keycloakConnectionManager(properties);
+        httpClient = config.keycloakHttpClient(connectionManager, properties);
+        RestTemplate restTemplate = config.keycloakRestTemplate(httpClient,
+                config.keycloakHttpClientMetrics(meterRegistry, connectionManager));
+
+        String serverUrl = "http://127.0.0.1:" + stubServer.getAddress().getPort();
+        return new KeycloakIdentityProvider(mock(Keycloak.class), new RegistrationConfigProperties(),
+                restTemplate, new KeycloakAuthorityCache(meterRegistry, 1_000),
+                new RoleRepresentationCache(600), "urbanbloom-mobile", serverUrl, "client-secret");
+    }
+
+    private void startStub(boolean hang) throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubServer.createContext("/realms/urbanbloom-mobile/protocol/openid-connect/token",
+                exchange -> respond(exchange, hang, 200, TOKEN_RESPONSE));
+        stubServer.createContext("/realms/urbanbloom-mobile/protocol/openid-connect/logout",
+                exchange -> respond(exchange, hang, 204, null));
+        stubExecutor = Executors.newFixedThreadPool(16);
+        stubServer.setExecutor(stubExecutor);
+        stubServer.start();
+    }
+
+    private void respond(HttpExchange exchange, boolean hang, int status, String body) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        exchange.getRequestBody().readAllBytes();
+        if (hang) {
+            try {
+                releaseSlowResponses.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.urbanbloom.user.adapter.infrastructure.keycloak;
+
+import com.urbanbloom.user.config.RegistrationConfigProperties;
+import com.urbanbloom.user.domain.IdentityImport;
+import com.urbanbloom.user.domain.IdentityImportResult;
+import com.urbanbloom.user.domain.IdentityRequestRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.RoleResource;
+import org.keycloak.admin.client.resource.RoleScopeResource;
+import org.keycloak.representations.idm.PartialImportRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KeycloakIdentityProviderTest {
+
+    private static final String REALM = "urbanbloom-mobile";
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private Keycloak keycloak;
+
+    private final RoleRepresentationCache roleCache = new RoleRepresentationCache(600);
+    private KeycloakIdentityProvider identityProvider;
+    private RoleResource citizenRole;
+
+    @BeforeEach
+    void setUp() {
+        identityProvider = new KeycloakIdentityProvider(keycloak, new RegistrationConfigProperties(), new RestTemplate(),
+                new KeycloakAuthorityCache(new SimpleMeterRegistry(), 100), roleCache,
+                REALM, "http://localhost:8080", "client-secret");
+        citizenRole = keycloak.realm(REALM).roles().get("CITIZEN");
+        when(citizenRole.toRepresentation()).thenReturn(new RoleRepresentation("CITIZEN", null, false));
+    }
+
+    @Test
+    void shouldLookUpRoleOnlyOnceForRepeatedAssignments() {
+        identityProvider.assignRole("user-1", "CITIZEN");
+        identityProvider.assignRole("user-2", "CITIZEN");
+
+        verify(citizenRole, times(1)).toRepresentation();
+        verify(keycloak.realm(REALM).users().get("user-2").roles().realmLevel()).add(anyList());
+    }
+
+    @Test
+    void shouldReloadRoleAfterTtl() {
+        KeycloakIdentityProvider uncached = new KeycloakIdentityProvider(keycloak, new RegistrationConfigProperties(),
+                new RestTemplate(), new KeycloakAuthorityCache(new SimpleMeterRegistry(), 100),
+                new RoleRepresentationCache(0), REALM, "http://localhost:8080", "client-secret");
+
+        uncached.assignRole("user-1", "CITIZEN");
+        uncached.assignRole("user-2", "CITIZEN");
+
+        verify(citizenRole, times(2)).toRepresentation();
+    }
+
+    @Test
+    void shouldReloadRoleOnceWhenItWasRecreated() {
+        when(citizenRole.toRepresentation()).thenReturn(role("role-1"), role("role-2"));
+        RoleScopeResource userRoles = keycloak.realm(REALM).users().get("user-1").roles().realmLevel();
+        doThrow(new NotFoundException()).doNothing().when(userRoles).add(anyList());
+
+        identityProvider.assignRole("user-1", "CITIZEN");
+        identityProvider.assignRole("user-2", "CITIZEN");
+
+        verify(citizenRole, times(2)).toRepresentation();
+        verify(userRoles).add(argThat(roles -> roles.size() == 1 && "role-2".equals(roles.get(0).getId())));
+    }
+
+    @Test
+    void shouldKeepCachedRoleWhenUserIsNotFound() {
+        when(citizenRole.toRepresentation()).thenReturn(role("role-1"));
+        RoleScopeResource userRoles = keycloak.realm(REALM).users().get("deleted-user").roles().realmLevel();
+        doThrow(new NotFoundException()).when(userRoles).add(anyList());
+
+        assertThatThrownBy(() -> identityProvider.assignRole("deleted-user", "CITIZEN"))
+                .isInstanceOf(NotFoundException.class);
+        identityProvider.assignRole("user-2", "CITIZEN");
+
+        verify(citizenRole, times(2)).toRepresentation();
+        verify(userRoles, times(1)).add(anyList());
+    }
+
+    @Test
+    void shouldImportUsersAndReportSkippedOnes() {
+        Response response = mock(Response.class);
+        when(response.getStatus()).thenReturn(200);
+        when(response.readEntity(String.class)).thenReturn("""
+                {"overwritten":0,"added":1,"skipped":1,"results":[
+                  {"action":"ADDED","resourceType":"USER","resourceName":"anna@schule.de","id":"kc-anna"},
+                  {"action":"SKIPPED","resourceType":"USER","resourceName":"ben@schule.de","id":"kc-ben"}]}
+                """);
+        when(keycloak.realm(REALM).partialImport(any())).thenReturn(response);
+
+        List<IdentityImportResult> results = identityProvider.importUsers(List.of(
+                new IdentityImport("anna@schule.de", "SecurePassword123!", "Anna", "Schmidt", "CITIZEN"),
+                new IdentityImport("ben@schule.de", null, "Ben", "Müller", "CITIZEN")));
+
+        assertThat(results).containsExactly(
+                new IdentityImportResult("anna@schule.de", "kc-anna", true),
+                new IdentityImportResult("ben@schule.de", "kc-ben", false));
+
+        ArgumentCaptor<PartialImportRepresentation> request = ArgumentCaptor.forClass(PartialImportRepresentation.class);
+        verify(keycloak.realm(REALM)).partialImport(request.capture());
+        assertThat(request.getValue().getIfResourceExists()).isEqualTo("SKIP");
+        UserRepresentation ben = request.getValue().getUsers().get(1);
+        assertThat(ben.getRealmRoles()).containsExactly("CITIZEN");
+        assertThat(ben.getCredentials()).isNull();
+        assertThat(ben.getRequiredActions()).contains("UPDATE_PASSWORD");
+    }
+
+    @Test
+    void shouldReportRejectedUserCreationWithStatus() {
+        Response conflict = mock(Response.class);
+        when(conflict.getStatus()).thenReturn(409);
+        when(conflict.readEntity(String.class)).thenReturn("{\"errorMessage\":\"User exists with same username\"}");
+        Response unavailable = mock(Response.class);
+        when(unavailable.getStatus()).thenReturn(503);
+        when(unavailable.readEntity(String.class)).thenReturn("");
+        when(keycloak.realm(REALM).users().create(any())).thenReturn(conflict, unavailable);
+
+        assertThatThrownBy(() -> identityProvider.createUser("anna@schule.de", "SecurePassword123!", "Anna", "Schmidt", Map.of()))
+                .isInstanceOf(IdentityRequestRejectedException.class)
+                .satisfies(e -> assertThat(((IdentityRequestRejectedException) e).isConflict()).isTrue());
+        assertThatThrownBy(() -> identityProvider.createUser("anna@schule.de", "SecurePassword123!", "Anna", "Schmidt", Map.of()))
+                .isNotInstanceOf(IdentityRequestRejectedException.class);
+    }
+
+    @Test
+    void shouldReportRejectedImportWithStatus() {
+        Response badRequest = mock(Response.class);
+        when(badRequest.getStatus()).thenReturn(400);
+        when(badRequest.readEntity(String.class)).thenReturn("{\"errorMessage\":\"Invalid email\"}");
+        Response unavailable = mock(Response.class);
+        when(unavailable.getStatus()).thenReturn(503);
+        when(unavailable.readEntity(String.class)).thenReturn("");
+        when(keycloak.realm(REALM).partialImport(any())).thenReturn(badRequest, unavailable);
+        List<IdentityImport> users = List.of(new IdentityImport("anna@schule.de", null, "Anna", "Schmidt", "CITIZEN"));
+
+        assertThatThrownBy(() -> identityProvider.importUsers(users))
+                .isInstanceOf(IdentityRequestRejectedException.class)
+                .satisfies(e -> assertThat(((IdentityRequestRejectedException) e).getStatus()).isEqualTo(400));
+        assertThatThrownBy(() -> identityProvider.importUsers(users))
+                .isNotInstanceOf(IdentityRequestRejectedException.class);
+    }
+
+    @Test
+    void shouldFindOnlyUsersCreatedSinceTheGivenInstant() {
+        Instant since = Instant.parse("2024-05-01T10:00:00Z");
+        UserRepresentation older = user("older-id", "anna@schule.de", since.minusSeconds(60));
+        UserRepresentation newer = user("newer-id", "anna@schule.de", since.plusSeconds(5));
+        when(keycloak.realm(REALM).users().search("anna@schule.de", true)).thenReturn(List.of(older), List.of(older, newer));
+
+        assertThat(identityProvider.findUserIdByEmail("anna@schule.de", since)).isEmpty();
+        assertThat(identityProvider.findUserIdByEmail("anna@schule.de", since)).contains("newer-id");
+    }
+
+    private static UserRepresentation user(String id, String email, Instant createdAt) {
+        UserRepresentation user = new UserRepresentation();
+        user.setId(id);
+        user.setUsername(email);
+        user.setEmail(email);
+        user.setCreatedTimestamp(createdAt.toEpochMilli());
+        return user;
+    }
+
+    private static RoleRepresentation role(String id) {
+        RoleRepresentation role = new RoleRepresentation("CITIZEN", null, false);
+        role.setId(id);
+        return role;
+    }
+}
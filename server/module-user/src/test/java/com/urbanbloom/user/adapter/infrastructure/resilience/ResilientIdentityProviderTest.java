@@ -0,0 +1,229 @@
+package com.urbanbloom.user.adapter.infrastructure.resilience;
+
+import com.urbanbloom.user.config.IdentityProviderResilienceProperties;
+import com.urbanbloom.user.domain.AuthenticationException;
+import com.urbanbloom.user.domain.AuthenticationResult;
+import com.urbanbloom.user.domain.IdentityProvider;
+import com.urbanbloom.user.domain.IdentityProviderUnavailableException;
+import com.urbanbloom.user.domain.IdentityRequestRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.ServerErrorException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientIdentityProviderTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofMillis(200);
+    private static final AuthenticationResult TOKENS =
+            new AuthenticationResult("access", "refresh", 300, 1800, "Bearer");
+
+    @Mock
+    private IdentityProvider delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ResilientIdentityProvider identityProvider;
+
+    @BeforeEach
+    void setUp() {
+        IdentityProviderResilienceProperties properties = new IdentityProviderResilienceProperties();
+        for (IdentityProviderResilienceProperties.OperationClass operation
+                : new IdentityProviderResilienceProperties.OperationClass[]{properties.getToken(), properties.getAdmin()}) {
+            operation.setMaxConcurrentCalls(2);
+            operation.setMaxWait(Duration.ZERO);
+            operation.setSlidingWindowSize(4);
+            operation.setMinimumCalls(4);
+            operation.setFailureRateThreshold(50);
+            operation.setOpenDuration(OPEN_DURATION);
+            operation.setHalfOpenCalls(2);
+        }
+        identityProvider = new ResilientIdentityProvider(delegate, properties, meterRegistry);
+    }
+
+    @Test
+    void shouldOpenCircuitAndFailFastWhenTokenEndpointKeepsFailing() {
+        when(delegate.authenticate(anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(AuthenticationException.providerError("timeout", null));
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(this::login).isInstanceOf(AuthenticationException.class);
+        }
+        assertThatThrownBy(this::login)
+                .isInstanceOf(IdentityProviderUnavailableException.class)
+                .satisfies(e -> assertThat(((IdentityProviderUnavailableException) e).getRetryAfter())
+                        .isPositive().isLessThanOrEqualTo(OPEN_DURATION));
+
+        verify(delegate, times(4)).authenticate(anyString(), anyString(), anyString(), anyString());
+        assertThat(transitions("token", "CLOSED", "OPEN")).isEqualTo(1);
+        assertThat(rejected("token", "circuit_open")).isEqualTo(1);
+        assertThat(meterRegistry.get("identity.circuit.state").tag("operation", "token").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCountWrongCredentialsAsProviderFailures() {
+        when(delegate.authenticate(anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(AuthenticationException.invalidCredentials());
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(this::login).isInstanceOf(AuthenticationException.class);
+        }
+
+        verify(delegate, times(10)).authenticate(anyString(), anyString(), anyString(), anyString());
+        assertThat(meterRegistry.find("identity.circuit.transitions").counters()).isEmpty();
+    }
+
+    @Test
+    void shouldNotCountRejectedAdminRequestsAsProviderFailures() {
+        when(delegate.createUser(anyString(), anyString(), anyString(), anyString(), anyMap()))
+                .thenThrow(new IdentityRequestRejectedException("User exists", 409));
+        when(delegate.isEmailRegistered(anyString()))
+                .thenThrow(new ClientErrorException(Response.Status.NOT_FOUND));
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(this::createUser).isInstanceOf(IdentityRequestRejectedException.class);
+            assertThatThrownBy(() -> identityProvider.isEmailRegistered("user@schule.de"))
+                    .isInstanceOf(ClientErrorException.class);
+        }
+
+        verify(delegate, times(10)).createUser(anyString(), anyString(), anyString(), anyString(), anyMap());
+        assertThat(meterRegistry.find("identity.circuit.transitions").counters()).isEmpty();
+    }
+
+    @Test
+    void shouldCountRateLimitingAndServerErrorsAsProviderFailures() {
+        when(delegate.createUser(anyString(), anyString(), anyString(), anyString(), anyMap()))
+                .thenThrow(new ClientErrorException(Response.Status.TOO_MANY_REQUESTS))
+                .thenThrow(new ServerErrorException(Response.Status.SERVICE_UNAVAILABLE))
+                .thenThrow(new ClientErrorException(Response.Status.TOO_MANY_REQUESTS))
+                .thenThrow(new ServerErrorException(Response.Status.SERVICE_UNAVAILABLE));
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(this::createUser).isInstanceOf(WebApplicationException.class);
+        }
+
+        assertThatThrownBy(this::createUser).isInstanceOf(IdentityProviderUnavailableException.class);
+        assertThat(transitions("admin", "CLOSED", "OPEN")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCloseCircuitAfterSuccessfulTrialCalls() throws InterruptedException {
+        when(delegate.authenticate(anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(AuthenticationException.providerError("timeout", null))
+                .thenThrow(AuthenticationException.providerError("timeout", null))
+                .thenThrow(AuthenticationException.providerError("timeout", null))
+                .thenThrow(AuthenticationException.providerError("timeout", null))
+                .thenReturn(TOKENS);
+        openTokenCircuit();
+
+        Thread.sleep(OPEN_DURATION.toMillis() + 50);
+
+        assertThat(login()).isEqualTo(TOKENS);
+        assertThat(login()).isEqualTo(TOKENS);
+        assertThat(transitions("token", "OPEN", "HALF_OPEN")).isEqualTo(1);
+        assertThat(transitions("token", "HALF_OPEN", "CLOSED")).isEqualTo(1);
+        assertThat(login()).isEqualTo(TOKENS);
+    }
+
+    @Test
+    void shouldReopenCircuitWhenTrialCallFails() throws InterruptedException {
+        when(delegate.authenticate(anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(AuthenticationException.providerError("timeout", null));
+        openTokenCircuit();
+
+        Thread.sleep(OPEN_DURATION.toMillis() + 50);
+
+        assertThatThrownBy(this::login).isInstanceOf(AuthenticationException.class);
+        assertThatThrownBy(this::login).isInstanceOf(IdentityProviderUnavailableException.class);
+        assertThat(transitions("token", "HALF_OPEN", "OPEN")).isEqualTo(1);
+        verify(delegate, times(5)).authenticate(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldRejectAdminCallsBeyondBulkheadWithoutBlockingTokenCalls() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.isEmailRegistered(anyString())).thenAnswer(invocation -> {
+            inFlight.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+        when(delegate.authenticate(anyString(), anyString(), anyString(), anyString())).thenReturn(TOKENS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            executor.submit(() -> identityProvider.isEmailRegistered("a@schule.de"));
+            executor.submit(() -> identityProvider.isEmailRegistered("b@schule.de"));
+            assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> identityProvider.isEmailRegistered("c@schule.de"))
+                    .isInstanceOf(IdentityProviderUnavailableException.class);
+            assertThat(login()).isEqualTo(TOKENS);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(rejected("admin", "bulkhead_full")).isEqualTo(1);
+        assertThat(meterRegistry.get("identity.bulkhead.available").tag("operation", "admin").gauge().value())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldSwallowRejectedLogout() {
+        when(delegate.authenticate(anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(AuthenticationException.providerError("timeout", null));
+        openTokenCircuit();
+
+        identityProvider.logout("refresh", "urbanbloom-mobile", "urbanbloom-mobile-app");
+
+        verify(delegate, never()).logout(anyString(), anyString(), anyString());
+        assertThat(rejected("token", "circuit_open")).isEqualTo(1);
+    }
+
+    private AuthenticationResult login() {
+        return identityProvider.authenticate("user@schule.de", "secret", "urbanbloom-mobile", "urbanbloom-mobile-app");
+    }
+
+    private String createUser() {
+        return identityProvider.createUser("user@schule.de", "secret", "Anna", "Schmidt", Map.of());
+    }
+
+    private void openTokenCircuit() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(this::login).isInstanceOf(AuthenticationException.class);
+        }
+    }
+
+    private double transitions(String operation, String from, String to) {
+        return meterRegistry.get("identity.circuit.transitions")
+                .tag("operation", operation).tag("from", from).tag("to", to)
+                .counter().count();
+    }
+
+    private double rejected(String operation, String reason) {
+        return meterRegistry.get("identity.calls.rejected")
+                .tag("operation", operation).tag("reason", reason)
+                .counter().count();
+    }
+}
@@ -13,7 +13,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -30,15 +33,17 @@ class RegistrationControllerTest {
     private RegistrationController registrationController;
 
     @Test
-    @DisplayName("should register user successfully when request is valid")
-    void shouldRegisterUserSuccessfully() {
+    @DisplayName("should accept registration when request is valid")
+    void shouldAcceptRegistration() {
         // Arrange
         RegistrationRequestDto requestDto = new RegistrationRequestDto();
         requestDto.setEmail("test@example.com");
 
         RegisterUserCommand command = new RegisterUserCommand();
-        RegistrationResult result = new RegistrationResult("user123", "external123", "Success", true);
-        RegistrationResponseDto responseDto = new RegistrationResponseDto("user123", "external123", "Success", true);
+        RegistrationResult result = new RegistrationResult("reg123", RegistrationResult.Status.PENDING,
+                null, null, "Registrierung wird bearbeitet.", true);
+        RegistrationResponseDto responseDto = new RegistrationResponseDto("reg123", "PENDING",
+                null, null, "Registrierung wird bearbeitet.", true);
 
         when(mapper.toCommand(any(RegistrationRequestDto.class))).thenReturn(command);
         when(registrationService.registerUser(command)).thenReturn(result);
@@ -48,11 +53,12 @@ class RegistrationControllerTest {
         ResponseEntity<RegistrationResponseDto> response = registrationController.register(requestDto);
 
         // Assert
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getHeaders().getLocation()).hasToString("/api/v1/registration/reg123");
         assertThat(response.getBody()).isInstanceOf(RegistrationResponseDto.class);
         RegistrationResponseDto body = response.getBody();
-        assertThat(body.getUserId()).isEqualTo("user123");
-        assertThat(body.getExternalId()).isEqualTo("external123");
+        assertThat(body.getRegistrationId()).isEqualTo("reg123");
+        assertThat(body.getStatus()).isEqualTo("PENDING");
         verify(registrationService).registerUser(command);
     }
 
@@ -76,7 +82,51 @@ class RegistrationControllerTest {
                 .isInstanceOf(RegistrationException.class);
     }
 
-    private static org.assertj.core.api.ThrowableAssert.ThrowingCallable assertThatThrownBy(org.assertj.core.api.ThrowableAssert.ThrowingCallable shouldRaiseThrowable) {
-        return org.assertj.core.api.Assertions.assertThatThrownBy(shouldRaiseThrowable);
+    @Test
+    @DisplayName("should report email availability")
+    void shouldReportEmailAvailability() {
+        when(registrationService.isEmailAvailable("free@example.com")).thenReturn(true);
+
+        ResponseEntity<?> response = registrationController.checkEmailAvailability("free@example.com");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(new EmailAvailabilityDto("free@example.com", true));
+    }
+
+    @Test
+    @DisplayName("should reject malformed email in availability check")
+    void shouldRejectMalformedEmailInAvailabilityCheck() {
+        when(registrationService.isEmailAvailable("not-an-email"))
+                .thenThrow(new IllegalArgumentException("Invalid email format: not-an-email"));
+
+        ResponseEntity<?> response = registrationController.checkEmailAvailability("not-an-email");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("should return state of a completed registration")
+    void shouldReturnRegistrationState() {
+        RegistrationResult result = new RegistrationResult("reg123", RegistrationResult.Status.COMPLETED,
+                "user123", "external123", "Registrierung erfolgreich.", true);
+        RegistrationResponseDto responseDto = new RegistrationResponseDto("reg123", "COMPLETED",
+                "user123", "external123", "Registrierung erfolgreich.", true);
+        when(registrationService.getRegistration("reg123")).thenReturn(Optional.of(result));
+        when(mapper.toDto(result)).thenReturn(responseDto);
+
+        ResponseEntity<?> response = registrationController.getRegistration("reg123");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(responseDto);
+    }
+
+    @Test
+    @DisplayName("should return 404 for unknown registration")
+    void shouldReturnNotFoundForUnknownRegistration() {
+        when(registrationService.getRegistration("unknown")).thenReturn(Optional.empty());
+
+        ResponseEntity<?> response = registrationController.getRegistration("unknown");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 }
@@ -35,12 +35,15 @@ class RegistrationMapperTest {
     @DisplayName("should map RegistrationResult to RegistrationResponseDto")
     void shouldMapResultToDto() {
         // Arrange
-        RegistrationResult result = new RegistrationResult("user-id-567", "external-id-890", "User registered");
+        RegistrationResult result = new RegistrationResult("reg-id-123", RegistrationResult.Status.COMPLETED,
+                "user-id-567", "external-id-890", "User registered", true);
 
         // Act
         RegistrationResponseDto dto = mapper.toDto(result);
 
         // Assert
+        assertThat(dto.getRegistrationId()).isEqualTo(result.getRegistrationId());
+        assertThat(dto.getStatus()).isEqualTo("COMPLETED");
         assertThat(dto.getUserId()).isEqualTo(result.getUserId());
         assertThat(dto.getExternalId()).isEqualTo(result.getExternalId());
         assertThat(dto.getMessage()).isEqualTo(result.getMessage());
@@ -0,0 +1,72 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.user.config.RegistrationConfigProperties;
+import com.urbanbloom.user.domain.AllowedDomainMatcher;
+import com.urbanbloom.user.domain.Email;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AllowedDomainRegistryTest {
+
+    @Test
+    void shouldCompileConfiguredDomains() {
+        AllowedDomainRegistry registry = new AllowedDomainRegistry(config("schule.de", "*.stadt.de"));
+
+        assertThat(registry.current().matches(Email.of("a@schule.de"))).isTrue();
+        assertThat(registry.current().matches(Email.of("a@amt.stadt.de"))).isTrue();
+        assertThat(registry.current().matches(Email.of("a@gmail.com"))).isFalse();
+    }
+
+    @Test
+    void shouldAllowAllDomainsOnlyWithWildcardEntry() {
+        assertThat(new AllowedDomainRegistry(config("*")).current().allowsAll()).isTrue();
+
+        AllowedDomainMatcher empty = new AllowedDomainRegistry(config()).current();
+        assertThat(empty.allowsAll()).isFalse();
+        assertThat(empty.matches(Email.of("a@schule.de"))).isFalse();
+    }
+
+    @Test
+    void shouldCloseRegistrationWhenAllowlistIsReplacedWithEmptyList() {
+        AllowedDomainRegistry registry = new AllowedDomainRegistry(config("schule.de"));
+
+        registry.update(List.of());
+
+        assertThat(registry.current().allowsAll()).isFalse();
+        assertThat(registry.current().matches(Email.of("a@schule.de"))).isFalse();
+        assertThat(registry.getAllowedDomains()).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceAllowlistAtRuntime() {
+        RegistrationConfigProperties config = config("schule.de");
+        AllowedDomainRegistry registry = new AllowedDomainRegistry(config);
+
+        registry.update(List.of(" GMAIL.com ", "gmail.com"));
+
+        assertThat(registry.current().matches(Email.of("a@gmail.com"))).isTrue();
+        assertThat(registry.current().matches(Email.of("a@schule.de"))).isFalse();
+        assertThat(config.getAllowedDomains()).containsExactly("gmail.com");
+    }
+
+    @Test
+    void shouldKeepAllowlistWhenUpdateIsInvalid() {
+        AllowedDomainRegistry registry = new AllowedDomainRegistry(config("schule.de"));
+
+        assertThatThrownBy(() -> registry.update(List.of("gmail.com", "invalid")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(registry.current().matches(Email.of("a@schule.de"))).isTrue();
+        assertThat(registry.getAllowedDomains()).containsExactly("schule.de");
+    }
+
+    private static RegistrationConfigProperties config(String... domains) {
+        RegistrationConfigProperties config = new RegistrationConfigProperties();
+        config.setAllowedDomains(List.of(domains));
+        return config;
+    }
+}
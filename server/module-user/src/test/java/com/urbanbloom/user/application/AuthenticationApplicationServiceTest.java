@@ -4,13 +4,15 @@ import com.urbanbloom.user.config.RegistrationConfigProperties;
 import com.urbanbloom.user.domain.AuthenticationException;
 import com.urbanbloom.user.domain.AuthenticationResult;
 import com.urbanbloom.user.domain.IdentityProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
@@ -30,11 +32,15 @@ class AuthenticationApplicationServiceTest {
     @Mock
     private RegistrationConfigProperties registrationConfig;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private AuthenticationApplicationService authService;
 
     @BeforeEach
     void setUp() {
+        authService = new AuthenticationApplicationService(identityProvider, registrationConfig, eventPublisher, meterRegistry);
         ReflectionTestUtils.setField(authService, "mobileRealm", "urbanbloom-mobile");
         ReflectionTestUtils.setField(authService, "adminRealm", "urbanbloom-admin");
         ReflectionTestUtils.setField(authService, "mobileClientId", "urbanbloom-mobile-app");
@@ -63,6 +69,44 @@ class AuthenticationApplicationServiceTest {
         verify(identityProvider).authenticate(eq("test@urbanbloom.local"), eq("password123"), eq("urbanbloom-mobile"), eq("urbanbloom-mobile-app"));
     }
 
+    @Test
+    @DisplayName("should hand profile activation to the background and time the identity provider step")
+    void shouldPublishLoginSucceededInsteadOfActivatingProfileInline() {
+        // Arrange
+        LoginCommand command = new LoginCommand();
+        command.setEmail("test@urbanbloom.local");
+        command.setPassword("password123");
+
+        when(identityProvider.authenticate(anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(new AuthenticationResult("token", "refresh", 3600, 7200, "Bearer"));
+
+        // Act
+        authService.loginMobile(command);
+
+        // Assert
+        ArgumentCaptor<LoginSucceededEvent> event = ArgumentCaptor.forClass(LoginSucceededEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().email()).isEqualTo("test@urbanbloom.local");
+        assertThat(meterRegistry.get("auth.login.step").tag("step", "identity_provider").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should not publish login succeeded when authentication fails")
+    void shouldNotPublishLoginSucceededWhenAuthenticationFails() {
+        // Arrange
+        LoginCommand command = new LoginCommand();
+        command.setEmail("test@urbanbloom.local");
+        command.setPassword("wrong");
+
+        when(identityProvider.authenticate(anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(AuthenticationException.invalidCredentials());
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.loginMobile(command)).isInstanceOf(AuthenticationException.class);
+        verifyNoInteractions(eventPublisher);
+        assertThat(meterRegistry.get("auth.login.step").tag("step", "identity_provider").timer().count()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("should call identity provider for admin login and verify role")
     void shouldLoginAdminThroughIdentityProviderAndVerifyRole() {
@@ -0,0 +1,113 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.user.domain.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProfileActivationWorkerTest {
+
+    private static final Email EMAIL = Email.of("user@urbanbloom.local");
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProfileActivationWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Not started: runs are triggered explicitly
+        worker = new ProfileActivationWorker(userProfileRepository, meterRegistry, 4, 1_000, 100);
+    }
+
+    @Test
+    void shouldActivateInactiveProfileOnceForRepeatedLogins() {
+        UserProfile profile = inactiveProfile();
+        when(userProfileRepository.findByEmail(EMAIL)).thenReturn(Optional.of(profile));
+
+        login("user@urbanbloom.local");
+        login("USER@urbanbloom.local");
+        int activated = worker.process();
+
+        assertThat(activated).isEqualTo(1);
+        assertThat(profile.isActive()).isTrue();
+        verify(userProfileRepository, times(1)).findByEmail(EMAIL);
+        verify(userProfileRepository).save(profile);
+        assertThat(meterRegistry.get("auth.login.step").tag("step", "profile_activation").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSkipDatabaseForProfilesKnownToBeActive() {
+        UserProfile profile = inactiveProfile();
+        when(userProfileRepository.findByEmail(EMAIL)).thenReturn(Optional.of(profile));
+
+        login("user@urbanbloom.local");
+        worker.process();
+        login("user@urbanbloom.local");
+        worker.process();
+
+        verify(userProfileRepository, times(1)).findByEmail(EMAIL);
+        verify(userProfileRepository, times(1)).save(any());
+    }
+
+    @Test
+    void shouldCheckAgainAfterProfileWasForgotten() {
+        when(userProfileRepository.findByEmail(EMAIL)).thenReturn(Optional.of(inactiveProfile()));
+
+        login("user@urbanbloom.local");
+        worker.process();
+        worker.forget(EMAIL);
+        login("user@urbanbloom.local");
+        worker.process();
+
+        verify(userProfileRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void shouldDropLoginsWhenQueueIsFull() {
+        for (int i = 0; i < 5; i++) {
+            login("user" + i + "@urbanbloom.local");
+        }
+
+        assertThat(worker.queueDepth()).isEqualTo(4);
+        assertThat(meterRegistry.get("user.activation.dropped").counter().count()).isEqualTo(1);
+        verifyNoInteractions(userProfileRepository);
+    }
+
+    @Test
+    void shouldContinueWhenOneActivationFails() {
+        Email other = Email.of("other@urbanbloom.local");
+        when(userProfileRepository.findByEmail(EMAIL)).thenThrow(new RuntimeException("Database unavailable"));
+        when(userProfileRepository.findByEmail(other)).thenReturn(Optional.of(inactiveProfile()));
+
+        login("user@urbanbloom.local");
+        login("other@urbanbloom.local");
+        int activated = worker.process();
+
+        assertThat(activated).isEqualTo(1);
+        assertThat(meterRegistry.get("user.activation.failed").counter().count()).isEqualTo(1);
+    }
+
+    private void login(String email) {
+        worker.onLoginSucceeded(new LoginSucceededEvent(email, Instant.now()));
+    }
+
+    private static UserProfile inactiveProfile() {
+        // New profiles are inactive until the first login
+        return UserProfile.create(ExternalUserId.of("keycloak-user-id-123"), EMAIL,
+                UserName.of("Max", "Mustermann"), UserRole.CITIZEN);
+    }
+}
@@ -0,0 +1,129 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.user.domain.Email;
+import com.urbanbloom.user.domain.IdentityProvider;
+import com.urbanbloom.user.domain.UserProfileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegisteredEmailCacheTest {
+
+    private static final List<Email> KNOWN_EMAILS = IntStream.range(0, 10_000)
+            .mapToObj(i -> Email.of("user" + i + "@schule.de"))
+            .toList();
+
+    @Mock
+    private IdentityProvider identityProvider;
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    @Mock
+    private RegistrationSagaRepository sagaRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RegisteredEmailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RegisteredEmailCache(identityProvider, userProfileRepository, sagaRepository, meterRegistry,
+                10_000, 0.01, 1_000, 300, 30);
+    }
+
+    @Test
+    void shouldAskIdentityProviderUntilFilterIsBuilt() {
+        when(identityProvider.isEmailRegistered("new@schule.de")).thenReturn(false);
+        when(userProfileRepository.existsByEmail(Email.of("new@schule.de"))).thenReturn(false);
+
+        assertThat(cache.mightBeRegistered(Email.of("new@schule.de"))).isTrue();
+        assertThat(cache.isRegistered(Email.of("new@schule.de"))).isFalse();
+
+        verify(identityProvider).isEmailRegistered("new@schule.de");
+    }
+
+    @Test
+    void shouldAnswerUnknownEmailsWithoutRemoteCalls() {
+        when(userProfileRepository.findAllEmails()).thenReturn(KNOWN_EMAILS);
+        cache.rebuild();
+
+        int probablePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (cache.mightBeRegistered(Email.of("someone" + i + "@schule.de"))) {
+                probablePositives++;
+            }
+        }
+
+        // Sized for a 1% false-positive rate; allow some slack for the hash distribution
+        assertThat(probablePositives).isLessThan(300);
+        assertThat(KNOWN_EMAILS).allMatch(cache::mightBeRegistered);
+        verify(identityProvider, never()).isEmailRegistered(anyString());
+        assertThat(meterRegistry.get("user.email_cache.lookups").tag("result", "bloom_negative").counter().count())
+                .isEqualTo(10_000 - probablePositives);
+    }
+
+    @Test
+    void shouldCacheConfirmedPositives() {
+        when(userProfileRepository.findAllEmails()).thenReturn(KNOWN_EMAILS);
+        when(identityProvider.isEmailRegistered("user42@schule.de")).thenReturn(true);
+        cache.rebuild();
+
+        assertThat(cache.isRegistered(Email.of("user42@schule.de"))).isTrue();
+        assertThat(cache.isRegistered(Email.of("User42@Schule.de"))).isTrue();
+
+        verify(identityProvider, times(1)).isEmailRegistered(anyString());
+        assertThat(meterRegistry.get("user.email_cache.lookups").tag("result", "cache_hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldTreatNewlyRegisteredEmailAsRegistered() {
+        when(userProfileRepository.findAllEmails()).thenReturn(KNOWN_EMAILS);
+        cache.rebuild();
+
+        cache.markRegistered(Email.of("fresh@schule.de"));
+
+        assertThat(cache.mightBeRegistered(Email.of("fresh@schule.de"))).isTrue();
+        assertThat(cache.isRegistered(Email.of("fresh@schule.de"))).isTrue();
+        verify(identityProvider, never()).isEmailRegistered(anyString());
+        verify(userProfileRepository, never()).existsByEmail(any());
+    }
+
+    @Test
+    void shouldKeepRegistrationsMadeWhileRebuilding() {
+        when(userProfileRepository.findAllEmails()).thenAnswer(invocation -> {
+            cache.markRegistered(Email.of("during-rebuild@schule.de"));
+            return KNOWN_EMAILS;
+        });
+
+        cache.rebuild();
+
+        assertThat(cache.mightBeRegistered(Email.of("during-rebuild@schule.de"))).isTrue();
+    }
+
+    @Test
+    void shouldIncludeRegistrationsInProgress() {
+        when(userProfileRepository.findAllEmails()).thenReturn(KNOWN_EMAILS);
+        when(sagaRepository.findInProgressEmails()).thenReturn(List.of(Email.of("pending@schule.de")));
+        when(identityProvider.isEmailRegistered("pending@schule.de")).thenReturn(false);
+        when(userProfileRepository.existsByEmail(Email.of("pending@schule.de"))).thenReturn(false);
+
+        cache.rebuild();
+
+        assertThat(cache.mightBeRegistered(Email.of("pending@schule.de"))).isTrue();
+        cache.isRegistered(Email.of("pending@schule.de"));
+        verify(identityProvider).isEmailRegistered("pending@schule.de");
+    }
+}
@@ -0,0 +1,259 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import com.urbanbloom.user.domain.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationSagaProcessorTest {
+
+    private static final String EXTERNAL_ID = "keycloak-user-id-123";
+
+    @Mock
+    private IdentityProvider identityProvider;
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final InMemoryRegistrationSagaRepository sagaRepository = new InMemoryRegistrationSagaRepository();
+    private RegistrationSagaProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        RegisteredEmailCache registeredEmails = new RegisteredEmailCache(
+                identityProvider, userProfileRepository, sagaRepository, new SimpleMeterRegistry(), 1_000, 0.01, 100, 300, 30);
+        processor = new RegistrationSagaProcessor(identityProvider, userProfileRepository, sagaRepository,
+                eventPublisher, registeredEmails, transactionManager,
+                2, 10, 3, 0, 60, 10, 1_000, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.stop();
+    }
+
+    @Test
+    void shouldCreateIdentityAndProfileInBackground() throws InterruptedException {
+        when(identityProvider.createUser(anyString(), anyString(), anyString(), anyString(), anyMap()))
+                .thenReturn(EXTERNAL_ID);
+
+        RegistrationSaga saga = submitNewRegistration();
+        RegistrationSaga done = runUntilFinished(saga.getId());
+
+        assertThat(done.getStep()).isEqualTo(RegistrationSaga.Step.COMPLETED);
+        assertThat(done.getExternalUserId()).isEqualTo(EXTERNAL_ID);
+        verify(identityProvider).createUser(eq("user@urbanbloom.local"), eq("SecurePassword123!"),
+                eq("Max"), eq("Mustermann"), anyMap());
+        verify(identityProvider).assignRole(EXTERNAL_ID, "CITIZEN");
+        verify(identityProvider).sendVerificationEmail(EXTERNAL_ID);
+
+        ArgumentCaptor<UserProfile> profile = ArgumentCaptor.forClass(UserProfile.class);
+        verify(userProfileRepository).save(profile.capture());
+        assertThat(profile.getValue().getId()).isEqualTo(done.getUserProfileId());
+        assertThat(profile.getValue().getExternalUserId()).isEqualTo(ExternalUserId.of(EXTERNAL_ID));
+        verify(eventPublisher).publishAll(anyList());
+    }
+
+    @Test
+    void shouldRetryFailedStep() throws InterruptedException {
+        when(identityProvider.createUser(anyString(), anyString(), anyString(), anyString(), anyMap()))
+                .thenReturn(EXTERNAL_ID);
+        doThrow(new RuntimeException("Keycloak unavailable"))
+                .doNothing()
+                .when(identityProvider).assignRole(EXTERNAL_ID, "CITIZEN");
+
+        RegistrationSaga saga = submitNewRegistration();
+        RegistrationSaga done = runUntilFinished(saga.getId());
+
+        assertThat(done.getStep()).isEqualTo(RegistrationSaga.Step.COMPLETED);
+        verify(identityProvider, times(2)).assignRole(EXTERNAL_ID, "CITIZEN");
+        verify(identityProvider, times(1)).createUser(anyString(), anyString(), anyString(), anyString(), anyMap());
+        verify(identityProvider, never()).deleteUser(anyString());
+    }
+
+    @Test
+    void shouldDeleteIdentityWhenStepKeepsFailing() throws InterruptedException {
+        when(identityProvider.createUser(anyString(), anyString(), anyString(), anyString(), anyMap()))
+                .thenReturn(EXTERNAL_ID);
+        doThrow(new RuntimeException("Keycloak unavailable"))
+                .when(identityProvider).assignRole(EXTERNAL_ID, "CITIZEN");
+
+        RegistrationSaga saga = submitNewRegistration();
+        RegistrationSaga done = runUntilFinished(saga.getId());
+
+        assertThat(done.getStep()).isEqualTo(RegistrationSaga.Step.FAILED);
+        assertThat(done.getLastError()).contains("Keycloak unavailable");
+        verify(identityProvider, times(3)).assignRole(EXTERNAL_ID, "CITIZEN");
+        verify(identityProvider).deleteUser(EXTERNAL_ID);
+        verify(identityProvider, never()).sendVerificationEmail(anyString());
+        verify(userProfileRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldReportConflictAsAlreadyRegistered() throws InterruptedException {
+        when(identityProvider.createUser(anyString(), anyString(), anyString(), anyString(), anyMap()))
+                .thenThrow(new IdentityRequestRejectedException("User exists with same email", 409));
+
+        RegistrationSaga saga = submitNewRegistration();
+        RegistrationSaga done = runUntilFinished(saga.getId());
+
+        assertThat(done.getStep()).isEqualTo(RegistrationSaga.Step.FAILED);
+        assertThat(done.getLastError()).contains("bereits registriert");
+        verify(identityProvider, times(1)).createUser(anyString(), anyString(), anyString(), anyString(), anyMap());
+        verify(identityProvider, never()).findUserIdByEmail(anyString(), any());
+        verify(identityProvider, never()).deleteUser(anyString());
+    }
+
+    @Test
+    void shouldContinueWithIdentityCreatedByEarlierAttempt() throws InterruptedException {
+        // The first response is lost after Keycloak created the user
+        when(identityProvider.createUser(anyString(), anyString(), anyString(), anyString(), anyMap()))
+                .thenThrow(new RuntimeException("Read timed out"))
+                .thenThrow(new IdentityRequestRejectedException("User exists with same email", 409));
+        when(identityProvider.findUserIdByEmail(eq("user@urbanbloom.local"), any())).thenReturn(Optional.of(EXTERNAL_ID));
+
+        RegistrationSaga saga = submitNewRegistration();
+        RegistrationSaga done = runUntilFinished(saga.getId());
+
+        assertThat(done.getStep()).isEqualTo(RegistrationSaga.Step.COMPLETED);
+        assertThat(done.getExternalUserId()).isEqualTo(EXTERNAL_ID);
+        verify(identityProvider).assignRole(EXTERNAL_ID, "CITIZEN");
+        verify(identityProvider, never()).deleteUser(anyString());
+    }
+
+    @Test
+    void shouldDeleteIdentityLeftByFailedAttempts() throws InterruptedException {
+        when(identityProvider.createUser(anyString(), anyString(), anyString(), anyString(), anyMap()))
+                .thenThrow(new RuntimeException("Read timed out"));
+        when(identityProvider.findUserIdByEmail(eq("user@urbanbloom.local"), any())).thenReturn(Optional.of(EXTERNAL_ID));
+
+        RegistrationSaga saga = submitNewRegistration();
+        RegistrationSaga done = runUntilFinished(saga.getId());
+
+        assertThat(done.getStep()).isEqualTo(RegistrationSaga.Step.FAILED);
+        verify(identityProvider, times(3)).createUser(anyString(), anyString(), anyString(), anyString(), anyMap());
+        verify(identityProvider).deleteUser(EXTERNAL_ID);
+    }
+
+    @Test
+    void shouldGiveUpOnRegistrationInterruptedBeforeIdentityWasCreated() {
+        Instant anHourAgo = Instant.now().minusSeconds(3600);
+        RegistrationSaga saga = RegistrationSaga.reconstruct("saga-1", Email.of("user@urbanbloom.local"),
+                UserName.of("Max", "Mustermann"), UserRole.CITIZEN, RegistrationSaga.Step.CREATE_IDENTITY,
+                null, null, 0, anHourAgo, null, anHourAgo, anHourAgo);
+        sagaRepository.save(saga);
+
+        processor.process("saga-1");
+
+        assertThat(sagaRepository.findById("saga-1")).get()
+                .extracting(RegistrationSaga::getStep)
+                .isEqualTo(RegistrationSaga.Step.FAILED);
+        verifyNoInteractions(identityProvider);
+    }
+
+    private RegistrationSaga submitNewRegistration() {
+        RegistrationSaga saga = sagaRepository.save(RegistrationSaga.start(
+                Email.of("user@urbanbloom.local"), UserName.of("Max", "Mustermann"), UserRole.CITIZEN));
+        processor.submit(saga, "SecurePassword123!");
+        return saga;
+    }
+
+    /**
+     * Keeps running due steps (backoff is zero) until the registration is finished; the worker started by
+     * {@code submit} and this thread never run the same registration at once.
+     */
+    private RegistrationSaga runUntilFinished(String id) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            processor.process(id);
+            RegistrationSaga saga = sagaRepository.findById(id).orElseThrow();
+            if (saga.getStep().isTerminal()) {
+                return saga;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Registration " + id + " did not finish");
+    }
+
+    private static class InMemoryRegistrationSagaRepository implements RegistrationSagaRepository {
+        private final Map<String, RegistrationSaga> sagas = new ConcurrentHashMap<>();
+        private final Map<String, Instant> locks = new ConcurrentHashMap<>();
+
+        @Override
+        public RegistrationSaga save(RegistrationSaga saga) {
+            sagas.put(saga.getId(), copy(saga));
+            return saga;
+        }
+
+        @Override
+        public Optional<RegistrationSaga> findById(String id) {
+            return Optional.ofNullable(sagas.get(id)).map(InMemoryRegistrationSagaRepository::copy);
+        }
+
+        @Override
+        public boolean existsInProgressByEmail(Email email) {
+            return sagas.values().stream().anyMatch(s -> s.getEmail().equals(email) && !s.getStep().isTerminal());
+        }
+
+        @Override
+        public List<Email> findInProgressEmails() {
+            return sagas.values().stream()
+                    .filter(s -> !s.getStep().isTerminal())
+                    .map(RegistrationSaga::getEmail)
+                    .toList();
+        }
+
+        @Override
+        public List<String> findDueIds(Instant now, int limit) {
+            return sagas.values().stream()
+                    .filter(s -> !s.getStep().isTerminal() && !s.getNextAttemptAt().isAfter(now))
+                    .map(RegistrationSaga::getId)
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public synchronized boolean tryLock(String id, Instant now, Instant lockedUntil) {
+            Instant current = locks.get(id);
+            if (current != null && !current.isBefore(now)) {
+                return false;
+            }
+            locks.put(id, lockedUntil);
+            return true;
+        }
+
+        @Override
+        public synchronized void unlock(String id) {
+            locks.remove(id);
+        }
+
+        private static RegistrationSaga copy(RegistrationSaga saga) {
+            return RegistrationSaga.reconstruct(saga.getId(), saga.getEmail(), saga.getUserName(), saga.getRole(),
+                    saga.getStep(), saga.getExternalUserId(), saga.getUserProfileId(), saga.getAttempts(),
+                    saga.getNextAttemptAt(), saga.getLastError(), saga.getCreatedAt(), saga.getUpdatedAt());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import com.urbanbloom.user.config.RegistrationConfigProperties;
+import com.urbanbloom.user.domain.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private IdentityProvider identityProvider;
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RegistrationSagaRepository sagaRepository;
+
+    private final List<UserImportRowResult> results = new ArrayList<>();
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        RegisteredEmailCache registeredEmails = new RegisteredEmailCache(
+                identityProvider, userProfileRepository, sagaRepository, new SimpleMeterRegistry(), 1_000, 0.01, 100, 300, 30);
+        RegistrationConfigProperties allowedDomainConfig = new RegistrationConfigProperties();
+        allowedDomainConfig.setAllowedDomains(List.of("schule.de"));
+        importService = new UserImportService(identityProvider, userProfileRepository, new DefaultRegistrationService(),
+                eventPublisher, registeredEmails, transactionManager, new AllowedDomainRegistry(allowedDomainConfig), 2);
+    }
+
+    @Test
+    void shouldImportCsvInChunks() throws IOException {
+        when(identityProvider.importUsers(anyList())).thenAnswer(invocation -> {
+            List<IdentityImport> users = invocation.getArgument(0);
+            return users.stream().map(u -> new IdentityImportResult(u.email(), "kc-" + u.email(), true)).toList();
+        });
+        when(userProfileRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UserImportSummary summary = importService.importUsers(new StringReader("""
+                email,firstName,lastName,password
+                anna@schule.de,Anna,Schmidt,SecurePassword123!
+                "ben@schule.de","Ben","Müller",
+                carla@schule.de,Carla,Weber,
+                """), UserImportService.Format.CSV, results::add);
+
+        assertThat(summary.getCreated()).isEqualTo(3);
+        assertThat(results).extracting(UserImportRowResult::getStatus)
+                .containsOnly(UserImportRowResult.Status.CREATED);
+        assertThat(results).extracting(UserImportRowResult::getLine).containsExactly(2, 3, 4);
+
+        ArgumentCaptor<List<IdentityImport>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(identityProvider, times(2)).importUsers(chunks.capture());
+        assertThat(chunks.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        IdentityImport ben = chunks.getAllValues().get(0).get(1);
+        assertThat(ben.email()).isEqualTo("ben@schule.de");
+        assertThat(ben.lastName()).isEqualTo("Müller");
+        assertThat(ben.password()).isNull();
+        assertThat(ben.roleName()).isEqualTo("CITIZEN");
+        verify(eventPublisher, times(3)).publishAll(anyList());
+    }
+
+    @Test
+    void shouldReportInvalidAndDuplicateRowsWithoutImportingThem() throws IOException {
+        when(identityProvider.importUsers(anyList())).thenReturn(
+                List.of(new IdentityImportResult("anna@schule.de", "kc-anna", true)));
+        when(userProfileRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UserImportSummary summary = importService.importUsers(new StringReader("""
+                {"email":"anna@schule.de","firstName":"Anna","lastName":"Schmidt"}
+                {"email":"Anna@schule.de","firstName":"Anna","lastName":"Schmidt"}
+                {"email":"max@gmail.com","firstName":"Max","lastName":"Mustermann"}
+                {"email":"kurz@schule.de","firstName":"Kurt","lastName":"Kurz","password":"short"}
+                not json
+                """), UserImportService.Format.NDJSON, results::add);
+
+        assertThat(summary.getCreated()).isEqualTo(1);
+        assertThat(summary.getInvalid()).isEqualTo(4);
+        assertThat(results).filteredOn(r -> r.getStatus() == UserImportRowResult.Status.INVALID)
+                .extracting(UserImportRowResult::getLine).containsExactly(2, 3, 4, 5);
+        verify(identityProvider).importUsers(argThat(users -> users.size() == 1));
+    }
+
+    @Test
+    void shouldLeaveDuplicatesOfEarlierChunksToTheIdentityProvider() throws IOException {
+        when(identityProvider.importUsers(anyList())).thenAnswer(invocation -> {
+            List<IdentityImport> users = invocation.getArgument(0);
+            // The provider skips users it already knows
+            return users.stream()
+                    .map(u -> new IdentityImportResult(u.email(), "kc-" + u.email(), !u.firstName().equals("Wieder")))
+                    .toList();
+        });
+        when(userProfileRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UserImportSummary summary = importService.importUsers(new StringReader("""
+                email,firstName,lastName
+                anna@schule.de,Anna,Schmidt
+                ben@schule.de,Ben,Müller
+                anna@schule.de,Wieder,Schmidt
+                """), UserImportService.Format.CSV, results::add);
+
+        assertThat(summary.getCreated()).isEqualTo(2);
+        assertThat(summary.getExisting()).isEqualTo(1);
+        assertThat(results).filteredOn(r -> r.getStatus() == UserImportRowResult.Status.EXISTS)
+                .extracting(UserImportRowResult::getLine).containsExactly(4);
+    }
+
+    @Test
+    void shouldReportExistingUsersAndDeleteIdentityWhenProfileAlreadyExists() throws IOException {
+        when(identityProvider.importUsers(anyList())).thenReturn(List.of(
+                new IdentityImportResult("anna@schule.de", "kc-anna", false),
+                new IdentityImportResult("ben@schule.de", "kc-ben", true)));
+        when(userProfileRepository.insertAll(anyList())).thenReturn(List.of());
+
+        UserImportSummary summary = importService.importUsers(new StringReader("""
+                email;firstName;lastName
+                anna@schule.de;Anna;Schmidt
+                ben@schule.de;Ben;Müller
+                """), UserImportService.Format.CSV, results::add);
+
+        assertThat(summary.getExisting()).isEqualTo(2);
+        verify(identityProvider).deleteUser("kc-ben");
+        verify(identityProvider, never()).deleteUser("kc-anna");
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldDeleteCreatedIdentitiesWhenProfileInsertFails() throws IOException {
+        when(identityProvider.importUsers(anyList())).thenReturn(
+                List.of(new IdentityImportResult("anna@schule.de", "kc-anna", true)));
+        when(userProfileRepository.insertAll(anyList())).thenThrow(new RuntimeException("Database unavailable"));
+
+        UserImportSummary summary = importService.importUsers(new StringReader("""
+                email,firstName,lastName
+                anna@schule.de,Anna,Schmidt
+                """), UserImportService.Format.CSV, results::add);
+
+        assertThat(summary.getFailed()).isEqualTo(1);
+        verify(identityProvider).deleteUser("kc-anna");
+    }
+
+    @Test
+    void shouldRejectCsvWithoutRequiredColumns() {
+        assertThatThrownBy(() -> importService.importUsers(new StringReader("email,name\n"),
+                UserImportService.Format.CSV, results::add))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(identityProvider);
+    }
+
+    @Test
+    void shouldSplitQuotedCsvFields() {
+        assertThat(UserImportService.splitCsv("\"Müller, Ben\",\"say \"\"hi\"\"\",", ','))
+                .containsExactly("Müller, Ben", "say \"hi\"", "");
+    }
+}
@@ -0,0 +1,94 @@
+package com.urbanbloom.user.application;
+
+import com.urbanbloom.user.domain.ExternalUserId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserProfileViewCacheTest {
+
+    private static final ExternalUserId EXTERNAL_ID = ExternalUserId.of("keycloak-user-id-123");
+    private static final UserProfileView VIEW = new UserProfileView("profile-1", EXTERNAL_ID.getValue(),
+            "user@urbanbloom.local", "Max", "Mustermann", "CITIZEN", 0, true, LocalDateTime.now());
+
+    @Mock
+    private UserProfileViewRepository viewRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserProfileViewCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserProfileViewCache(viewRepository, meterRegistry, 60, 100);
+    }
+
+    @Test
+    void shouldLoadOnceAndServeRepeatedLookupsFromCache() {
+        when(viewRepository.findByExternalUserId(EXTERNAL_ID)).thenReturn(Optional.of(VIEW));
+
+        assertThat(cache.get(EXTERNAL_ID)).contains(VIEW);
+        assertThat(cache.get(EXTERNAL_ID)).contains(VIEW);
+        assertThat(cache.get(EXTERNAL_ID)).contains(VIEW);
+
+        verify(viewRepository, times(1)).findByExternalUserId(EXTERNAL_ID);
+        assertThat(meterRegistry.get("user_profile.cache.lookups").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("user_profile.cache.hit_ratio").gauge().value()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void shouldNotCacheMissingProfiles() {
+        when(viewRepository.findByExternalUserId(EXTERNAL_ID)).thenReturn(Optional.empty());
+
+        assertThat(cache.get(EXTERNAL_ID)).isEmpty();
+        assertThat(cache.get(EXTERNAL_ID)).isEmpty();
+
+        verify(viewRepository, times(2)).findByExternalUserId(EXTERNAL_ID);
+    }
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+        when(viewRepository.findByExternalUserId(EXTERNAL_ID)).thenReturn(Optional.of(VIEW));
+
+        cache.get(EXTERNAL_ID);
+        cache.invalidate(EXTERNAL_ID);
+        cache.get(EXTERNAL_ID);
+        cache.invalidateProfile("profile-1");
+        cache.get(EXTERNAL_ID);
+
+        verify(viewRepository, times(3)).findByExternalUserId(EXTERNAL_ID);
+    }
+
+    @Test
+    void shouldNotStoreViewInvalidatedWhileLoading() {
+        when(viewRepository.findByExternalUserId(EXTERNAL_ID)).thenAnswer(invocation -> {
+            cache.invalidateProfile("profile-1");
+            return Optional.of(VIEW);
+        }).thenReturn(Optional.of(VIEW));
+
+        cache.get(EXTERNAL_ID);
+        cache.get(EXTERNAL_ID);
+
+        verify(viewRepository, times(2)).findByExternalUserId(EXTERNAL_ID);
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        cache = new UserProfileViewCache(viewRepository, meterRegistry, 0, 100);
+        when(viewRepository.findByExternalUserId(EXTERNAL_ID)).thenReturn(Optional.of(VIEW));
+
+        cache.get(EXTERNAL_ID);
+        cache.get(EXTERNAL_ID);
+
+        verify(viewRepository, times(2)).findByExternalUserId(EXTERNAL_ID);
+    }
+}
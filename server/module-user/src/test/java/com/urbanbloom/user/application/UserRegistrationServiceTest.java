@@ -1,8 +1,8 @@
 package com.urbanbloom.user.application;
 
-import com.urbanbloom.shared.ddd.DomainEventPublisher;
 import com.urbanbloom.user.config.RegistrationConfigProperties;
 import com.urbanbloom.user.domain.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,9 +11,7 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -32,76 +30,81 @@ class UserRegistrationServiceTest {
     private RegistrationService registrationService;
 
     @Mock
-    private DomainEventPublisher eventPublisher;
+    private RegistrationConfigProperties registrationConfig;
 
     @Mock
-    private RegistrationConfigProperties registrationConfig;
+    private RegistrationSagaRepository sagaRepository;
+
+    @Mock
+    private RegistrationSagaProcessor sagaProcessor;
 
     @Captor
-    private ArgumentCaptor<UserProfile> userProfileCaptor;
+    private ArgumentCaptor<RegistrationSaga> sagaCaptor;
 
     private UserRegistrationService service;
 
     @BeforeEach
     void setUp() {
-        service = new UserRegistrationService(identityProvider, userProfileRepository, registrationService, eventPublisher, registrationConfig);
-        // Mock allowed domains
-        setAllowedDomains(List.of("urbanbloom.local"));
-    }
-
-    private void setAllowedDomains(List<String> domains) {
-        // Use reflection to set the field for testing
-        try {
-            var field = UserRegistrationService.class.getDeclaredField("allowedDomainStrings");
-            field.setAccessible(true);
-            field.set(service, domains);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        RegisteredEmailCache registeredEmails = new RegisteredEmailCache(
+                identityProvider, userProfileRepository, sagaRepository, new SimpleMeterRegistry(), 1_000, 0.01, 100, 300, 30);
+        RegistrationConfigProperties allowedDomainConfig = new RegistrationConfigProperties();
+        allowedDomainConfig.setAllowedDomains(List.of("urbanbloom.local"));
+        service = new UserRegistrationService(identityProvider, userProfileRepository, registrationService, registrationConfig,
+                registeredEmails, sagaRepository, sagaProcessor, new AllowedDomainRegistry(allowedDomainConfig));
     }
 
     @Test
-    void shouldSuccessfullyRegisterNewUser() {
+    void shouldAcceptNewUserAndHandOverToWorkers() {
         // Given
         RegisterUserCommand command = createValidCommand();
-        String externalUserId = "keycloak-user-id-123";
 
-        when(registrationService.isRegistrationAllowed(any(Email.class), anyList())).thenReturn(true);
+        when(registrationService.isRegistrationAllowed(any(Email.class), any(AllowedDomainMatcher.class))).thenReturn(true);
         when(registrationService.determineInitialRole(any(Email.class))).thenReturn(UserRole.CITIZEN);
         when(identityProvider.isEmailRegistered(anyString())).thenReturn(false);
         when(userProfileRepository.existsByEmail(any(Email.class))).thenReturn(false);
-        when(identityProvider.createUser(anyString(), anyString(), anyString(), anyString(), anyMap()))
-                .thenReturn(externalUserId);
-        when(userProfileRepository.save(any(UserProfile.class))).thenAnswer(i -> {
-            UserProfile p = i.getArgument(0);
-            return p;
-        });
+        when(sagaRepository.save(any(RegistrationSaga.class))).thenAnswer(i -> i.getArgument(0));
         when(registrationConfig.isEmailVerificationRequired()).thenReturn(true);
 
         // When
         RegistrationResult result = service.registerUser(command);
 
         // Then
-        assertThat(result.getExternalId()).isEqualTo(externalUserId);
-        assertThat(result.getMessage()).contains("erfolgreich");
-
-        verify(identityProvider).createUser(
-                eq(command.getEmail()),
-                eq(command.getPassword()),
-                eq(command.getFirstName()),
-                eq(command.getLastName()),
-                anyMap());
-        verify(identityProvider).assignRole(externalUserId, "CITIZEN");
-        verify(identityProvider).sendVerificationEmail(externalUserId);
-        verify(userProfileRepository).save(any(UserProfile.class));
-        verify(eventPublisher).publishAll(anyList());
+        verify(sagaRepository).save(sagaCaptor.capture());
+        RegistrationSaga saga = sagaCaptor.getValue();
+        assertThat(saga.getEmail()).isEqualTo(Email.of(command.getEmail()));
+        assertThat(saga.getRole()).isEqualTo(UserRole.CITIZEN);
+        assertThat(saga.getStep()).isEqualTo(RegistrationSaga.Step.CREATE_IDENTITY);
+        verify(sagaProcessor).submit(saga, command.getPassword());
+
+        assertThat(result.getRegistrationId()).isEqualTo(saga.getId());
+        assertThat(result.getStatus()).isEqualTo(RegistrationResult.Status.PENDING);
+        assertThat(result.getUserId()).isNull();
+        assertThat(service.isEmailAvailable(command.getEmail())).isFalse();
+        verify(identityProvider, never()).createUser(anyString(), anyString(), anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    void shouldRejectEmailWithRegistrationInProgress() {
+        // Given
+        RegisterUserCommand command = createValidCommand();
+        when(registrationService.isRegistrationAllowed(any(Email.class), any(AllowedDomainMatcher.class))).thenReturn(true);
+        when(identityProvider.isEmailRegistered(anyString())).thenReturn(false);
+        when(userProfileRepository.existsByEmail(any(Email.class))).thenReturn(false);
+        when(sagaRepository.existsInProgressByEmail(Email.of(command.getEmail()))).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> service.registerUser(command))
+                .isInstanceOf(RegistrationException.class)
+                .hasMessageContaining("bereits registriert");
+
+        verify(sagaProcessor, never()).submit(any(), anyString());
     }
 
     @Test
     void shouldThrowExceptionWhenEmailDomainNotAllowed() {
         // Given
         RegisterUserCommand command = createValidCommand();
-        when(registrationService.isRegistrationAllowed(any(Email.class), anyList())).thenReturn(false);
+        when(registrationService.isRegistrationAllowed(any(Email.class), any(AllowedDomainMatcher.class))).thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> service.registerUser(command))
@@ -115,7 +118,7 @@ class UserRegistrationServiceTest {
     void shouldThrowExceptionWhenEmailAlreadyRegisteredInIdP() {
         // Given
         RegisterUserCommand command = createValidCommand();
-        when(registrationService.isRegistrationAllowed(any(Email.class), anyList())).thenReturn(true);
+        when(registrationService.isRegistrationAllowed(any(Email.class), any(AllowedDomainMatcher.class))).thenReturn(true);
         when(identityProvider.isEmailRegistered(command.getEmail())).thenReturn(true);
 
         // When & Then
@@ -130,7 +133,7 @@ class UserRegistrationServiceTest {
     void shouldThrowExceptionWhenUserProfileAlreadyExists() {
         // Given
         RegisterUserCommand command = createValidCommand();
-        when(registrationService.isRegistrationAllowed(any(Email.class), anyList())).thenReturn(true);
+        when(registrationService.isRegistrationAllowed(any(Email.class), any(AllowedDomainMatcher.class))).thenReturn(true);
         when(identityProvider.isEmailRegistered(anyString())).thenReturn(false);
         when(userProfileRepository.existsByEmail(any(Email.class))).thenReturn(true);
 
@@ -0,0 +1,67 @@
+package com.urbanbloom.user.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AllowedDomainMatcherTest {
+
+    @Test
+    void shouldMatchExactDomainsOnly() {
+        AllowedDomainMatcher matcher = AllowedDomainMatcher.of(AllowedDomain.ofList("schule.de", "student.schule.de"));
+
+        assertThat(matcher.matches(Email.of("a@schule.de"))).isTrue();
+        assertThat(matcher.matches(Email.of("a@student.schule.de"))).isTrue();
+        assertThat(matcher.matches(Email.of("a@lehrer.schule.de"))).isFalse();
+        assertThat(matcher.matches(Email.of("a@de.de"))).isFalse();
+        assertThat(matcher.matches(Email.of("a@andereschule.de"))).isFalse();
+        assertThat(matcher.matches(null)).isFalse();
+    }
+
+    @Test
+    void shouldMatchAllSubdomainsOfWildcardDomain() {
+        AllowedDomainMatcher matcher = AllowedDomainMatcher.of(AllowedDomain.ofList("*.stadt.de", "stadt.de"));
+
+        assertThat(matcher.matches(Email.of("a@stadt.de"))).isTrue();
+        assertThat(matcher.matches(Email.of("a@gruenflaechen.stadt.de"))).isTrue();
+        assertThat(matcher.matches(Email.of("a@amt.gruenflaechen.stadt.de"))).isTrue();
+        assertThat(matcher.matches(Email.of("a@nachbarstadt.de"))).isFalse();
+    }
+
+    @Test
+    void shouldAgreeWithAllowedDomain() {
+        List<AllowedDomain> allowedDomains = AllowedDomain.ofList("schule.de", "*.schule.de", "gmail.com", "*.uni.edu");
+        AllowedDomainMatcher matcher = AllowedDomainMatcher.of(allowedDomains);
+
+        for (String email : List.of("a@schule.de", "a@x.schule.de", "a@gmail.com", "a@mail.gmail.com",
+                "a@uni.edu", "a@cs.uni.edu", "a@other.org")) {
+            boolean expected = allowedDomains.stream().anyMatch(domain -> domain.matches(Email.of(email)));
+            assertThat(matcher.matches(Email.of(email))).as(email).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldAllowEverythingWhenUnrestricted() {
+        assertThat(AllowedDomainMatcher.ANY.allowsAll()).isTrue();
+        assertThat(AllowedDomainMatcher.ANY.matches(Email.of("a@anything.org"))).isTrue();
+    }
+
+    @Test
+    void shouldMatchAgainstLargeAllowlist() {
+        List<AllowedDomain> allowedDomains = new ArrayList<>(IntStream.range(0, 10_000)
+                .mapToObj(i -> AllowedDomain.of("schule" + i + ".de"))
+                .toList());
+        allowedDomains.add(AllowedDomain.of("*.stadt.de"));
+        AllowedDomainMatcher matcher = AllowedDomainMatcher.of(allowedDomains);
+
+        assertThat(matcher.size()).isEqualTo(10_001);
+        assertThat(matcher.matches(Email.of("a@schule9999.de"))).isTrue();
+        assertThat(matcher.matches(Email.of("a@amt.stadt.de"))).isTrue();
+        assertThat(matcher.matches(Email.of("a@schule10000.de"))).isFalse();
+        assertThat(matcher.matches(Email.of("a@x.schule1.de"))).isFalse();
+    }
+}
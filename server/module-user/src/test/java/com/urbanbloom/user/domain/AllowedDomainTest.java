@@ -69,4 +69,15 @@ class AllowedDomainTest {
         
         assertThat(domain.matches(null)).isFalse();
     }
+
+    @Test
+    void shouldMatchSubdomainsOfWildcardDomain() {
+        AllowedDomain domain = AllowedDomain.of("*.schule.de");
+
+        assertThat(domain.isWildcard()).isTrue();
+        assertThat(domain.getBaseDomain()).isEqualTo("schule.de");
+        assertThat(domain.matches(Email.of("student@gymnasium.schule.de"))).isTrue();
+        assertThat(domain.matches(Email.of("student@schule.de"))).isFalse();
+        assertThat(domain.matches(Email.of("student@andereschule.de"))).isFalse();
+    }
 }
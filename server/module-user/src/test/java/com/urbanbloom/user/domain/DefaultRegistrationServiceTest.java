@@ -49,7 +49,7 @@ class DefaultRegistrationServiceTest {
     void shouldNotAllowRegistrationWhenAllowedDomainsIsNull() {
         Email email = Email.of("student@schule.de");
 
-        boolean allowed = service.isRegistrationAllowed(email, null);
+        boolean allowed = service.isRegistrationAllowed(email, (List<AllowedDomain>) null);
 
         assertThat(allowed).isFalse();
     }
@@ -63,6 +63,15 @@ class DefaultRegistrationServiceTest {
         assertThat(allowed).isFalse();
     }
 
+    @Test
+    void shouldCheckRegistrationAgainstCompiledAllowlist() {
+        AllowedDomainMatcher allowedDomains = AllowedDomainMatcher.of(AllowedDomain.ofList("*.schule.de"));
+
+        assertThat(service.isRegistrationAllowed(Email.of("student@gymnasium.schule.de"), allowedDomains)).isTrue();
+        assertThat(service.isRegistrationAllowed(Email.of("student@gmail.com"), allowedDomains)).isFalse();
+        assertThat(service.isRegistrationAllowed(null, allowedDomains)).isFalse();
+    }
+
     @Test
     void shouldAssignStudentRoleAsInitialRole() {
         Email email = Email.of("student@schule.de");
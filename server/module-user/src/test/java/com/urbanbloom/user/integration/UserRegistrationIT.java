@@ -1,14 +1,22 @@
 package com.urbanbloom.user.integration;
 
 import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import com.urbanbloom.user.adapter.infrastructure.keycloak.KeycloakAuthorityCache;
 import com.urbanbloom.user.adapter.infrastructure.keycloak.KeycloakIdentityProvider;
+import com.urbanbloom.user.adapter.infrastructure.keycloak.RoleRepresentationCache;
+import com.urbanbloom.user.application.AllowedDomainRegistry;
 import com.urbanbloom.user.application.RegisterUserCommand;
 import com.urbanbloom.user.application.RegistrationException;
+import com.urbanbloom.user.application.RegisteredEmailCache;
 import com.urbanbloom.user.application.RegistrationResult;
+import com.urbanbloom.user.application.RegistrationSaga;
+import com.urbanbloom.user.application.RegistrationSagaProcessor;
+import com.urbanbloom.user.application.RegistrationSagaRepository;
 import com.urbanbloom.user.application.UserRegistrationService;
 import com.urbanbloom.user.config.RegistrationConfigProperties;
 import com.urbanbloom.user.domain.*;
 import dasniko.testcontainers.keycloak.KeycloakContainer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.Network;
 import jakarta.mail.Folder;
@@ -25,6 +33,8 @@ import org.keycloak.representations.idm.RealmRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
 import java.util.List;
@@ -147,11 +157,12 @@ class UserRegistrationIT {
         command.setLastName("Mustermann");
 
         // When
-        RegistrationResult result = registrationService.registerUser(command);
+        RegistrationResult result = registerAndAwait(command);
         createdUserIds.add(result.getExternalId());
 
         // Then
         assertThat(result).isNotNull();
+        assertThat(result.getStatus()).isEqualTo(RegistrationResult.Status.COMPLETED);
         assertThat(result.getUserId()).isNotEmpty();
         assertThat(result.getExternalId()).isNotEmpty();
 
@@ -199,7 +210,7 @@ class UserRegistrationIT {
         command.setFirstName("Test");
         command.setLastName("User");
 
-        RegistrationResult result = registrationService.registerUser(command);
+        RegistrationResult result = registerAndAwait(command);
         createdUserIds.add(result.getExternalId());
 
         assertThatThrownBy(() -> registrationService.registerUser(command))
@@ -217,7 +228,7 @@ class UserRegistrationIT {
         command.setFirstName("New");
         command.setLastName("User");
 
-        RegistrationResult result = registrationService.registerUser(command);
+        RegistrationResult result = registerAndAwait(command);
         createdUserIds.add(result.getExternalId());
 
         var userResource = keycloakAdminClient.realm(TEST_REALM).users().get(result.getExternalId());
@@ -225,6 +236,23 @@ class UserRegistrationIT {
         assertThat(realmRoles).extracting(RoleRepresentation::getName).contains("CITIZEN");
     }
 
+    private static RegistrationResult registerAndAwait(RegisterUserCommand command) {
+        RegistrationResult accepted = registrationService.registerUser(command);
+        for (int i = 0; i < 300; i++) {
+            RegistrationResult current = registrationService.getRegistration(accepted.getRegistrationId()).orElseThrow();
+            if (current.getStatus() != RegistrationResult.Status.PENDING) {
+                return current;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new AssertionError("Registration " + accepted.getRegistrationId() + " did not finish");
+    }
+
     private static void setupTestRealm() {
         try {
             RealmRepresentation existingRealm = keycloakAdminClient.realm(TEST_REALM).toRepresentation();
@@ -270,7 +298,9 @@ class UserRegistrationIT {
 
     private static class TestKeycloakIdentityProvider extends KeycloakIdentityProvider {
         public TestKeycloakIdentityProvider(Keycloak keycloak, RegistrationConfigProperties config, String realm, String serverUrl, String secret) {
-            super(keycloak, config, realm, serverUrl, secret);
+            super(keycloak, config, new RestTemplate(),
+                    new KeycloakAuthorityCache(new SimpleMeterRegistry(), 1_000), new RoleRepresentationCache(600),
+                    realm, serverUrl, secret);
         }
     }
 
@@ -282,24 +312,68 @@ class UserRegistrationIT {
                 DomainEventPublisher eventPublisher,
                 RegistrationConfigProperties config,
                 List<String> allowedDomains) {
-            super(identityProvider, userProfileRepository, registrationService, eventPublisher, config);
-            try {
-                var field = UserRegistrationService.class.getDeclaredField("allowedDomainStrings");
-                field.setAccessible(true);
-                field.set(this, allowedDomains);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+            this(identityProvider, userProfileRepository, registrationService, eventPublisher, config, allowedDomains,
+                    new InMemoryRegistrationSagaRepository());
         }
+
+        private TestUserRegistrationService(
+                IdentityProvider identityProvider,
+                UserProfileRepository userProfileRepository,
+                RegistrationService registrationService,
+                DomainEventPublisher eventPublisher,
+                RegistrationConfigProperties config,
+                List<String> allowedDomains,
+                RegistrationSagaRepository sagaRepository) {
+            this(identityProvider, userProfileRepository, registrationService, eventPublisher, config, allowedDomains,
+                    new RegisteredEmailCache(identityProvider, userProfileRepository, sagaRepository,
+                            new SimpleMeterRegistry(), 1_000, 0.01, 100, 300, 30),
+                    sagaRepository);
+        }
+
+        private TestUserRegistrationService(
+                IdentityProvider identityProvider,
+                UserProfileRepository userProfileRepository,
+                RegistrationService registrationService,
+                DomainEventPublisher eventPublisher,
+                RegistrationConfigProperties config,
+                List<String> allowedDomains,
+                RegisteredEmailCache registeredEmails,
+                RegistrationSagaRepository sagaRepository) {
+            super(identityProvider, userProfileRepository, registrationService, config, registeredEmails, sagaRepository,
+                    new RegistrationSagaProcessor(identityProvider, userProfileRepository, sagaRepository, eventPublisher,
+                            registeredEmails, mock(PlatformTransactionManager.class),
+                            2, 100, 3, 100, 60, 10, 1_000, 10),
+                    allowedDomainRegistry(allowedDomains));
+        }
+
+        private static AllowedDomainRegistry allowedDomainRegistry(List<String> allowedDomains) {
+            RegistrationConfigProperties config = new RegistrationConfigProperties();
+            config.setAllowedDomains(allowedDomains);
+            return new AllowedDomainRegistry(config);
+        }
+    }
+
+    private static class InMemoryRegistrationSagaRepository implements RegistrationSagaRepository {
+        private final java.util.Map<String, RegistrationSaga> sagas = new java.util.concurrent.ConcurrentHashMap<>();
+        private final java.util.Map<String, java.time.Instant> locks = new java.util.concurrent.ConcurrentHashMap<>();
+        @Override public RegistrationSaga save(RegistrationSaga saga) { sagas.put(saga.getId(), saga); return saga; }
+        @Override public Optional<RegistrationSaga> findById(String id) { return Optional.ofNullable(sagas.get(id)); }
+        @Override public boolean existsInProgressByEmail(Email email) { return sagas.values().stream().anyMatch(s -> s.getEmail().equals(email) && !s.getStep().isTerminal()); }
+        @Override public List<Email> findInProgressEmails() { return sagas.values().stream().filter(s -> !s.getStep().isTerminal()).map(RegistrationSaga::getEmail).toList(); }
+        @Override public List<String> findDueIds(java.time.Instant now, int limit) { return List.of(); }
+        @Override public synchronized boolean tryLock(String id, java.time.Instant now, java.time.Instant until) { java.time.Instant current = locks.get(id); if (current != null && !current.isBefore(now)) return false; locks.put(id, until); return true; }
+        @Override public synchronized void unlock(String id) { locks.remove(id); }
     }
 
     private static class InMemoryUserProfileRepository implements UserProfileRepository {
         private final java.util.Map<String, UserProfile> profiles = new java.util.HashMap<>();
         @Override public UserProfile save(UserProfile userProfile) { profiles.put(userProfile.getId(), userProfile); return userProfile; }
+        @Override public List<UserProfile> insertAll(List<UserProfile> userProfiles) { return userProfiles.stream().filter(p -> !existsByEmail(p.getEmail())).peek(this::save).toList(); }
         @Override public Optional<UserProfile> findById(String id) { return Optional.ofNullable(profiles.get(id)); }
         @Override public Optional<UserProfile> findByExternalUserId(ExternalUserId id) { return profiles.values().stream().filter(p -> p.getExternalUserId().equals(id)).findFirst(); }
         @Override public Optional<UserProfile> findByEmail(Email email) { return profiles.values().stream().filter(p -> p.getEmail().equals(email)).findFirst(); }
         @Override public boolean existsByEmail(Email email) { return findByEmail(email).isPresent(); }
+        @Override public List<Email> findAllEmails() { return profiles.values().stream().map(UserProfile::getEmail).toList(); }
         @Override public boolean existsByExternalUserId(ExternalUserId id) { return findByExternalUserId(id).isPresent(); }
         @Override public void delete(UserProfile p) {}
         @Override public void deleteById(String id) {}
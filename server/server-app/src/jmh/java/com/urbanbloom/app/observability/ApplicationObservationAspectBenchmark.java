@@ -0,0 +1,75 @@
+package com.urbanbloom.app.observability;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import com.urbanbloom.user.adapter.infrastructure.keycloak.KeycloakAuthorityCache;
+import com.urbanbloom.user.adapter.infrastructure.keycloak.KeycloakIdentityProvider;
+import com.urbanbloom.user.adapter.infrastructure.keycloak.RoleRepresentationCache;
+import com.urbanbloom.user.config.RegistrationConfigProperties;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording a Keycloak call through {@link ApplicationObservationAspect}, compared with calling the
+ * provider directly. The call itself is a cached role check, so the difference is the aspect's overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ApplicationObservationAspectBenchmark {
+
+    private String token;
+    private KeycloakIdentityProvider plain;
+    private KeycloakIdentityProvider observed;
+
+    @Setup(Level.Trial)
+    public void createProviders() {
+        token = new PlainJWT(new JWTClaimsSet.Builder()
+                .subject("kc-1")
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofDays(1))))
+                .claim("realm_access", Map.of("roles", List.of("CITIZEN")))
+                .build()).serialize();
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        plain = new KeycloakIdentityProvider(null, new RegistrationConfigProperties(), new RestTemplate(),
+                new KeycloakAuthorityCache(meterRegistry, 1_000), new RoleRepresentationCache(600),
+                "urbanbloom-mobile", "http://localhost:8081", "client-secret");
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(plain);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ApplicationObservationAspect(meterRegistry));
+        observed = factory.getProxy();
+    }
+
+    @Benchmark
+    public boolean direct() {
+        return plain.hasRole(token, "CITIZEN");
+    }
+
+    @Benchmark
+    public boolean observed() {
+        return observed.hasRole(token, "CITIZEN");
+    }
+}
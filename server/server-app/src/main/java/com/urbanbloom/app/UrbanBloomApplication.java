@@ -25,10 +25,10 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 })
 @EnableJpaRepositories(basePackages = {
     "com.urbanbloom.user.adapter.persistence",
-    "com.urbanbloom.action.adapter.persistence",
+    "com.urbanbloom.action.adapter.out.persistence",
     "com.urbanbloom.plant.adapter.persistence",
     "com.urbanbloom.location.adapter.persistence",
-    "com.urbanbloom.gamification.adapter.persistence",
+    "com.urbanbloom.gamification.adapter.out.persistence",
     "com.urbanbloom.challenge.adapter.persistence",
     "com.urbanbloom.notification.adapter.persistence",
     "com.urbanbloom.analytics.adapter.persistence",
@@ -36,10 +36,10 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 })
 @EntityScan(basePackages = {
     "com.urbanbloom.user.adapter.persistence",
-    "com.urbanbloom.action.adapter.persistence",
+    "com.urbanbloom.action.adapter.out.persistence",
     "com.urbanbloom.plant.adapter.persistence",
     "com.urbanbloom.location.adapter.persistence",
-    "com.urbanbloom.gamification.adapter.persistence",
+    "com.urbanbloom.gamification.adapter.out.persistence",
     "com.urbanbloom.challenge.adapter.persistence",
     "com.urbanbloom.notification.adapter.persistence",
     "com.urbanbloom.analytics.adapter.persistence",
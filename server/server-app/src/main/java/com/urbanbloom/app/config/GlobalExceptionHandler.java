@@ -3,7 +3,9 @@ package com.urbanbloom.app.config;
 import com.urbanbloom.user.api.ErrorResponseDto;
 import com.urbanbloom.user.application.RegistrationException;
 import com.urbanbloom.user.domain.AuthenticationException;
+import com.urbanbloom.user.domain.IdentityProviderUnavailableException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -45,6 +47,19 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponseDto(ex.getErrorCode(), ex.getMessage()));
     }
 
+    /**
+     * Handle calls rejected because the identity provider is unavailable or overloaded.
+     */
+    @ExceptionHandler(IdentityProviderUnavailableException.class)
+    public ResponseEntity<ErrorResponseDto> handleIdentityProviderUnavailable(IdentityProviderUnavailableException ex) {
+        log.warn("Identity provider unavailable: {}", ex.getMessage());
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponseDto("IDENTITY_PROVIDER_UNAVAILABLE", ex.getMessage()));
+    }
+
     /**
      * Handle validation errors (e.g. @Valid failures).
      */
@@ -1,5 +1,6 @@
 package com.urbanbloom.app.config;
 
+import com.urbanbloom.user.adapter.infrastructure.keycloak.KeycloakAuthorityCache;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -8,17 +9,13 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfigurationSource;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 
 /**
  * Security Configuration for the application.
@@ -32,9 +29,12 @@ import java.util.Objects;
 public class SecurityConfig {
 
     private final CorsConfigurationSource corsConfigurationSource;
+    private final KeycloakAuthorityCache keycloakAuthorityCache;
 
-    public SecurityConfig(@Qualifier("corsConfigurationSource") CorsConfigurationSource corsConfigurationSource) {
+    public SecurityConfig(@Qualifier("corsConfigurationSource") CorsConfigurationSource corsConfigurationSource,
+                          KeycloakAuthorityCache keycloakAuthorityCache) {
         this.corsConfigurationSource = corsConfigurationSource;
+        this.keycloakAuthorityCache = keycloakAuthorityCache;
     }
 
     @Value("${KEYCLOAK_CLIENT_ID:server-app}")
@@ -43,6 +43,12 @@ public class SecurityConfig {
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
     private String issuerUri;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     /**
      * Configure the security filter chain.
      * For Hello World testing, we allow public access to /health and
@@ -63,8 +69,10 @@ public class SecurityConfig {
                         .requestMatchers("/", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/api-docs/**", "/webjars/**", "/favicon.ico").permitAll()
                         .requestMatchers("/error").permitAll()
                         .requestMatchers("/health", "/health/**", "/api/v1/health", "/api/v1/app/info").permitAll()
+                        .requestMatchers(onManagementPort()).permitAll()
                         .requestMatchers("/api/v1/registration", "/api/v1/registration/**").permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())));
@@ -72,6 +80,14 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Actuator endpoints (probes, Prometheus scraping) are served on {@code management.server.port}, which is
+     * only reachable inside the cluster. On the public port they need authentication like any other path.
+     */
+    private RequestMatcher onManagementPort() {
+        return request -> managementPort > 0 && managementPort != serverPort && request.getLocalPort() == managementPort;
+    }
+
     @Bean
     JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
@@ -79,36 +95,10 @@ public class SecurityConfig {
         return converter;
     }
 
+    /**
+     * Realm roles plus the roles of this client, resolved once per token and cached until it expires.
+     */
     private Collection<GrantedAuthority> extractKeycloakAuthorities(Jwt jwt) {
-        List<GrantedAuthority> authorities = new ArrayList<>();
-
-        Object realmAccessObj = jwt.getClaim("realm_access");
-        if (realmAccessObj instanceof Map<?, ?> realmAccess) {
-            Object rolesObj = realmAccess.get("roles");
-            if (rolesObj instanceof List<?> roles) {
-                for (Object role : roles) {
-                    if (role instanceof String r && !r.isBlank()) {
-                        authorities.add(new SimpleGrantedAuthority("ROLE_" + r));
-                    }
-                }
-            }
-        }
-
-        Object resourceAccessObj = jwt.getClaim("resource_access");
-        if (resourceAccessObj instanceof Map<?, ?> resourceAccess) {
-            Object clientAccess = resourceAccess.get(keycloakClientId);
-            if (clientAccess instanceof Map<?, ?> clientMap) {
-                Object clientRolesObj = clientMap.get("roles");
-                if (clientRolesObj instanceof List<?> clientRoles) {
-                    for (Object role : clientRoles) {
-                        if (role instanceof String r && !r.isBlank()) {
-                            authorities.add(new SimpleGrantedAuthority("ROLE_" + r));
-                        }
-                    }
-                }
-            }
-        }
-
-        return authorities;
+        return keycloakAuthorityCache.resolve(jwt).toGrantedAuthorities(keycloakClientId);
     }
 }
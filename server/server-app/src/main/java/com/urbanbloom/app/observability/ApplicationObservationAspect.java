@@ -0,0 +1,118 @@
+package com.urbanbloom.app.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency and errors of every application service use case and every call the Keycloak adapter makes.
+ * <p>
+ * Use cases are the public methods of the {@code *Service} classes in the modules' {@code application} packages
+ * and are recorded as {@code urbanbloom.use_case{service, use_case, outcome}}. Keycloak calls are recorded as
+ * {@code urbanbloom.keycloak.calls{operation, outcome}}. Both timers publish percentile histograms, and failures
+ * additionally count towards {@code *.errors} tagged with the exception's simple class name.
+ * Tags are taken from class and method names only, never from arguments, so their cardinality stays fixed.
+ * <p>
+ * Timers are resolved once per method and outcome and cached, so a recorded call costs two clock reads
+ * and a map lookup.
+ */
+@Aspect
+@Component
+public class ApplicationObservationAspect {
+
+    static final String USE_CASE_METRIC = "urbanbloom.use_case";
+    static final String KEYCLOAK_METRIC = "urbanbloom.keycloak.calls";
+
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public ApplicationObservationAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.urbanbloom..application..*Service.*(..))"
+            + " && !@annotation(org.springframework.context.event.EventListener)")
+    public Object observeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Meters useCase = meters.computeIfAbsent(method, m -> new Meters(USE_CASE_METRIC,
+                "Duration of application service use cases",
+                "service", m.getDeclaringClass().getSimpleName(), "use_case", m.getName()));
+        return record(joinPoint, useCase);
+    }
+
+    @Around("execution(public * com.urbanbloom.user.adapter.infrastructure.keycloak.KeycloakIdentityProvider.*(..))"
+            + " && !@annotation(jakarta.annotation.PostConstruct)")
+    public Object observeKeycloakCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Meters call = meters.computeIfAbsent(method, m -> new Meters(KEYCLOAK_METRIC,
+                "Duration of calls to Keycloak", "operation", m.getName()));
+        return record(joinPoint, call);
+    }
+
+    private Object record(ProceedingJoinPoint joinPoint, Meters meters) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            meters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            meters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meters.errorCounter(e).increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Meters of one observed method.
+     */
+    private final class Meters {
+
+        private final String name;
+        private final String[] tags;
+        private final Timer success;
+        private final Timer error;
+        private final Map<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+
+        private Meters(String name, String description, String... tags) {
+            this.name = name;
+            this.tags = tags;
+            this.success = timer(description, SUCCESS);
+            this.error = timer(description, ERROR);
+        }
+
+        private Timer timer(String description, String outcome) {
+            return Timer.builder(name)
+                    .description(description)
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(meterRegistry);
+        }
+
+        private Counter errorCounter(Throwable e) {
+            return errors.computeIfAbsent(e.getClass(), type -> Counter.builder(name + ".errors")
+                    .description("Failed calls by exception type")
+                    .tags(tags)
+                    .tag("exception", type.getSimpleName())
+                    .register(meterRegistry));
+        }
+    }
+}
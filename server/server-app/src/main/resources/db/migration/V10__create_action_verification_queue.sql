@@ -0,0 +1,15 @@
+-- Actions waiting for asynchronous verification; a row is removed once the action is validated or rejected.
+-- No foreign key: rows are written over JDBC in the same transaction, before JPA flushes the action.
+CREATE TABLE module_action_schema.verification_queue (
+    action_id VARCHAR(36) PRIMARY KEY,
+    district_id UUID,
+    enqueued_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    -- Lease of the worker that claimed the row; the row is free once this lies in the past
+    locked_until TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    last_error TEXT
+);
+
+-- Per-district ordering by age for fair claiming
+CREATE INDEX idx_verification_queue_district ON module_action_schema.verification_queue(district_id, enqueued_at);
@@ -0,0 +1,11 @@
+-- Perceptual fingerprints (64-bit dHash) of the photos of verified actions, for near-duplicate detection.
+-- The lookup structure is kept in memory by each instance; this table is its durable copy.
+CREATE TABLE module_action_schema.action_photo_fingerprints (
+    action_id VARCHAR(36) PRIMARY KEY REFERENCES module_action_schema.actions(id) ON DELETE CASCADE,
+    user_id UUID NOT NULL,
+    fingerprint BIGINT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+-- Instances catch up on fingerprints registered by other instances by creation time
+CREATE INDEX idx_action_photo_fingerprints_created_at ON module_action_schema.action_photo_fingerprints(created_at);
@@ -0,0 +1,13 @@
+-- Idempotency keys of create-action requests, so retries return the action created first.
+-- A row is written in the transaction that creates the action; rows older than the retention period are purged.
+CREATE TABLE module_action_schema.idempotency_keys (
+    user_id UUID NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    -- SHA-256 of the request content, to detect a key reused for a different request
+    request_hash CHAR(64) NOT NULL,
+    action_id VARCHAR(36),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (user_id, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON module_action_schema.idempotency_keys(created_at);
@@ -0,0 +1,7 @@
+-- Events already handled by a gamification listener, so that redelivered outbox events are ignored
+CREATE TABLE module_gamification_schema.processed_events (
+    consumer VARCHAR(100) NOT NULL,
+    event_key VARCHAR(100) NOT NULL,
+    processed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (consumer, event_key)
+);
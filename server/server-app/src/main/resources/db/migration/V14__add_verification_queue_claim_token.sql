@@ -0,0 +1,3 @@
+-- Token of the claim holding the lease; completing or rescheduling a task is conditional on it,
+-- so a worker whose lease expired cannot remove a task that was claimed again
+ALTER TABLE module_action_schema.verification_queue ADD COLUMN claim_token UUID;
@@ -0,0 +1,2 @@
+-- Instances catch up their nearby index on actions created by other instances by creation time
+CREATE INDEX idx_actions_created_at ON module_action_schema.actions(created_at);
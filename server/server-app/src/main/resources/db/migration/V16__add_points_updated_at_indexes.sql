@@ -0,0 +1,3 @@
+-- Instances catch up their leaderboards on totals changed by other instances by update time
+CREATE INDEX idx_user_points_updated_at ON module_gamification_schema.user_points(updated_at);
+CREATE INDEX idx_user_district_points_updated_at ON module_gamification_schema.user_district_points(updated_at);
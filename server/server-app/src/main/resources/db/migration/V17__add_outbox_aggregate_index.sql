@@ -0,0 +1,2 @@
+-- The relay holds back events whose aggregate has an earlier event waiting for a retry
+CREATE INDEX idx_domain_event_outbox_aggregate ON domain_event_outbox(aggregate_id, id);
@@ -0,0 +1,26 @@
+-- Create schema for action module
+CREATE SCHEMA IF NOT EXISTS module_action_schema;
+
+CREATE TABLE module_action_schema.actions (
+    id VARCHAR(36) PRIMARY KEY,
+    user_id UUID NOT NULL,
+    plant_id UUID,
+    plant_name VARCHAR(255),
+    plant_scientific_name VARCHAR(255),
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    address VARCHAR(500),
+    district_id UUID,
+    description TEXT,
+    photo_url VARCHAR(1024),
+    status VARCHAR(20) NOT NULL,
+    points_awarded INTEGER,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    verified_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Keyset pagination of a user's timeline: (user_id, created_at, id) matches the ORDER BY and tie-breaker
+CREATE INDEX idx_actions_user_created ON module_action_schema.actions(user_id, created_at, id);
+
+-- Status queues (e.g. pending verification) ordered by age
+CREATE INDEX idx_actions_status_created ON module_action_schema.actions(status, created_at);
@@ -0,0 +1,9 @@
+-- Create schema for gamification module
+CREATE SCHEMA IF NOT EXISTS module_gamification_schema;
+
+-- One row per user; increments are applied with INSERT ... ON CONFLICT DO UPDATE
+CREATE TABLE module_gamification_schema.user_points (
+    user_id UUID PRIMARY KEY,
+    total_points INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
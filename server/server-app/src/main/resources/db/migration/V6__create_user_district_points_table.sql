@@ -0,0 +1,8 @@
+-- Points per user and district, used for district leaderboards
+CREATE TABLE module_gamification_schema.user_district_points (
+    user_id UUID NOT NULL,
+    district_id UUID NOT NULL,
+    total_points INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (user_id, district_id)
+);
@@ -0,0 +1,25 @@
+-- Transactional outbox for domain events, written in the same transaction as the business change
+CREATE TABLE domain_event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id VARCHAR(255),
+    event_type VARCHAR(255) NOT NULL,
+    payload JSONB NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+-- Events that could not be delivered after all retries; kept for inspection and manual replay
+CREATE TABLE domain_event_dead_letter (
+    id BIGINT PRIMARY KEY,
+    aggregate_id VARCHAR(255),
+    event_type VARCHAR(255) NOT NULL,
+    payload JSONB NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    failed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_domain_event_dead_letter_type ON domain_event_dead_letter(event_type, failed_at);
@@ -0,0 +1,3 @@
+-- Points column mapped by UserProfileJpaEntity but missing from the original table
+ALTER TABLE module_user_schema.user_profiles
+    ADD COLUMN IF NOT EXISTS points INTEGER NOT NULL DEFAULT 0;
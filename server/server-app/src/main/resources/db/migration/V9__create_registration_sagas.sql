@@ -0,0 +1,26 @@
+-- Pending registrations; each row tracks the Keycloak steps of one registration until the local profile exists
+CREATE TABLE IF NOT EXISTS module_user_schema.registration_sagas (
+    id VARCHAR(36) PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    role VARCHAR(50) NOT NULL,
+    step VARCHAR(30) NOT NULL,
+    external_user_id VARCHAR(255),
+    user_profile_id VARCHAR(36),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    locked_until TIMESTAMP WITH TIME ZONE,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+-- At most one registration in flight per email
+CREATE UNIQUE INDEX IF NOT EXISTS uq_registration_sagas_active_email
+    ON module_user_schema.registration_sagas(email)
+    WHERE step NOT IN ('COMPLETED', 'FAILED');
+
+CREATE INDEX IF NOT EXISTS idx_registration_sagas_due
+    ON module_user_schema.registration_sagas(next_attempt_at)
+    WHERE step NOT IN ('COMPLETED', 'FAILED');
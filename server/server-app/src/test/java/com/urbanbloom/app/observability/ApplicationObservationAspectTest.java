@@ -0,0 +1,98 @@
+package com.urbanbloom.app.observability;
+
+import com.urbanbloom.user.adapter.infrastructure.keycloak.KeycloakIdentityProvider;
+import com.urbanbloom.user.application.UserProfileApplicationService;
+import com.urbanbloom.user.application.UserProfileView;
+import com.urbanbloom.user.application.UserProfileViewCache;
+import com.urbanbloom.user.domain.ExternalUserId;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApplicationObservationAspectTest {
+
+    private PrometheusMeterRegistry meterRegistry;
+    private ApplicationObservationAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        aspect = new ApplicationObservationAspect(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldTimeUseCasesByServiceMethodAndOutcome() {
+        UserProfileViewCache cache = mock(UserProfileViewCache.class);
+        when(cache.get(any(ExternalUserId.class))).thenReturn(Optional.of(new UserProfileView(
+                "p-1", "kc-1", "anna@schule.de", "Anna", "Schmidt", "CITIZEN", 0, true, LocalDateTime.now())));
+        UserProfileApplicationService service = proxy(new UserProfileApplicationService(cache));
+
+        assertThatThrownBy(service::getCurrentUserProfile).isInstanceOf(IllegalStateException.class);
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(
+                Jwt.withTokenValue("token").header("alg", "none").subject("kc-1").build()));
+        service.getCurrentUserProfile();
+
+        assertThat(useCaseTimer("success").count()).isEqualTo(1);
+        assertThat(useCaseTimer("error").count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ApplicationObservationAspect.USE_CASE_METRIC + ".errors")
+                .tag("service", "UserProfileApplicationService")
+                .tag("exception", "IllegalStateException")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTimeKeycloakCallsByOperation() {
+        KeycloakIdentityProvider identityProvider = mock(KeycloakIdentityProvider.class);
+        when(identityProvider.isEmailRegistered("anna@schule.de")).thenReturn(true);
+        KeycloakIdentityProvider observed = proxy(identityProvider);
+
+        assertThat(observed.isEmailRegistered("anna@schule.de")).isTrue();
+        observed.isEmailRegistered("ben@schule.de");
+
+        Timer timer = meterRegistry.get(ApplicationObservationAspect.KEYCLOAK_METRIC)
+                .tag("operation", "isEmailRegistered")
+                .tag("outcome", "success")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(meterRegistry.scrape()).contains(
+                "urbanbloom_keycloak_calls_seconds_bucket{operation=\"isEmailRegistered\",outcome=\"success\",le=\"+Inf\",} 2.0");
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+
+    private Timer useCaseTimer(String outcome) {
+        return meterRegistry.get(ApplicationObservationAspect.USE_CASE_METRIC)
+                .tag("service", "UserProfileApplicationService")
+                .tag("use_case", "getCurrentUserProfile")
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+}
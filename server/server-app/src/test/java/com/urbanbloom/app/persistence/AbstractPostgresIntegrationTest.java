@@ -0,0 +1,45 @@
+package com.urbanbloom.app.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Base class for tests of the JDBC adapters against a real PostgreSQL.
+ * The schema is created by the application's Flyway migrations, so the tests also cover them.
+ * One container is shared by all subclasses; the tests are skipped when Docker is not available.
+ */
+abstract class AbstractPostgresIntegrationTest {
+
+    private static PostgreSQLContainer<?> postgres;
+
+    protected static DriverManagerDataSource dataSource;
+    protected static JdbcTemplate jdbcTemplate;
+    protected static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static synchronized void startPostgres() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+        if (postgres != null) {
+            return;
+        }
+        // Same image as docker-compose; stopped by Testcontainers when the JVM exits
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+}
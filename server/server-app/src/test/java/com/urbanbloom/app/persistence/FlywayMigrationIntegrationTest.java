@@ -0,0 +1,101 @@
+package com.urbanbloom.app.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that the migrations apply to an empty database and that the constraints the adapters rely on exist.
+ */
+@DisplayName("Flyway Migration Integration Tests")
+class FlywayMigrationIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Test
+    @DisplayName("all migrations are applied and validate")
+    void shouldApplyAllMigrations() {
+        Flyway flyway = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load();
+
+        flyway.validate();
+        MigrationInfo[] migrations = flyway.info().all();
+        assertThat(migrations).isNotEmpty();
+        assertThat(Arrays.stream(migrations).map(MigrationInfo::getState)).containsOnly(MigrationState.SUCCESS);
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo(String.valueOf(migrations.length));
+    }
+
+    @Test
+    @DisplayName("V9: at most one registration in flight per email")
+    void shouldAllowOneRegistrationInFlightPerEmail() {
+        String email = UUID.randomUUID() + "@schule.de";
+        insertRegistration(email, "COMPLETED");
+        insertRegistration(email, "CREATE_IDENTITY");
+
+        assertThatThrownBy(() -> insertRegistration(email, "SEND_VERIFICATION"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("V11 and V14: fingerprints follow their action, queue rows carry a claim token")
+    void shouldCascadeFingerprintsAndStoreClaimTokens() {
+        String actionId = UUID.randomUUID().toString();
+        jdbcTemplate.update("""
+                INSERT INTO module_action_schema.actions (id, user_id, latitude, longitude, status, created_at)
+                VALUES (?, ?, 48.137, 11.575, 'VALIDATED', now())
+                """, actionId, UUID.randomUUID());
+        jdbcTemplate.update("""
+                INSERT INTO module_action_schema.action_photo_fingerprints (action_id, user_id, fingerprint)
+                VALUES (?, ?, 42)
+                """, actionId, UUID.randomUUID());
+        jdbcTemplate.update("""
+                INSERT INTO module_action_schema.verification_queue (action_id, enqueued_at, claim_token)
+                VALUES (?, now(), ?)
+                """, actionId, UUID.randomUUID());
+
+        jdbcTemplate.update("DELETE FROM module_action_schema.actions WHERE id = ?", actionId);
+
+        assertThat(count("module_action_schema.action_photo_fingerprints", actionId)).isZero();
+        // Deliberately without foreign key, see V10
+        assertThat(count("module_action_schema.verification_queue", actionId)).isOne();
+    }
+
+    @Test
+    @DisplayName("V12 and V13: idempotency keys and processed events are unique")
+    void shouldKeepIdempotencyKeysAndProcessedEventsUnique() {
+        UUID userId = UUID.randomUUID();
+        String insertKey = """
+                INSERT INTO module_action_schema.idempotency_keys (user_id, idempotency_key, request_hash)
+                VALUES (?, 'key-1', ?)
+                """;
+        jdbcTemplate.update(insertKey, userId, "a".repeat(64));
+        assertThatThrownBy(() -> jdbcTemplate.update(insertKey, userId, "b".repeat(64)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        String eventKey = UUID.randomUUID().toString();
+        String insertEvent = "INSERT INTO module_gamification_schema.processed_events (consumer, event_key) VALUES (?, ?)";
+        jdbcTemplate.update(insertEvent, "points", eventKey);
+        jdbcTemplate.update(insertEvent, "badges", eventKey);
+        assertThatThrownBy(() -> jdbcTemplate.update(insertEvent, "points", eventKey))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private static void insertRegistration(String email, String step) {
+        jdbcTemplate.update("""
+                INSERT INTO module_user_schema.registration_sagas (id, email, first_name, last_name, role, step)
+                VALUES (?, ?, 'Anna', 'Berger', 'CITIZEN', ?)
+                """, UUID.randomUUID().toString(), email, step);
+    }
+
+    private static int count(String table, String actionId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE action_id = ?",
+                Integer.class, actionId);
+        return count != null ? count : 0;
+    }
+}
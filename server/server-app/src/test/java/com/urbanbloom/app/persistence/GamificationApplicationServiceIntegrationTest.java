@@ -0,0 +1,135 @@
+package com.urbanbloom.app.persistence;
+
+import com.urbanbloom.gamification.adapter.out.persistence.JdbcProcessedEventStore;
+import com.urbanbloom.gamification.adapter.out.persistence.UserPointsJpaEntity;
+import com.urbanbloom.gamification.adapter.out.persistence.UserPointsJpaRepository;
+import com.urbanbloom.gamification.adapter.out.persistence.UserPointsPersistenceMapper;
+import com.urbanbloom.gamification.adapter.out.persistence.UserPointsRepositoryAdapter;
+import com.urbanbloom.gamification.application.GamificationApplicationService;
+import com.urbanbloom.gamification.domain.PointsAwardedEvent;
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Awards for events: the processed-event record must commit or roll back together with the points.
+ */
+@SpringJUnitConfig(GamificationApplicationServiceIntegrationTest.Config.class)
+@DisplayName("GamificationApplicationService Integration Tests")
+class GamificationApplicationServiceIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final String CONSUMER = "gamification.action-validated";
+
+    @Autowired
+    private GamificationApplicationService service;
+
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        reset(eventPublisher);
+        jdbcTemplate.update("""
+                TRUNCATE module_gamification_schema.user_points,
+                         module_gamification_schema.user_district_points,
+                         module_gamification_schema.processed_events
+                """);
+    }
+
+    @Test
+    @DisplayName("a redelivered event awards nothing")
+    void shouldAwardPointsOncePerEvent() {
+        UUID userId = UUID.randomUUID();
+        UUID districtId = UUID.randomUUID();
+
+        assertThat(service.awardPointsOnce(CONSUMER, "action-1", userId, 10, districtId)).isTrue();
+        assertThat(service.awardPointsOnce(CONSUMER, "action-1", userId, 10, districtId)).isFalse();
+
+        assertThat(totalPoints(userId)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("a failed award leaves the event unrecorded, so its redelivery awards the points")
+    void shouldRollBackProcessedEventWithFailedAward() {
+        UUID userId = UUID.randomUUID();
+        doThrow(new IllegalStateException("outbox insert failed"))
+                .when(eventPublisher).publish(any(PointsAwardedEvent.class));
+
+        assertThatThrownBy(() -> service.awardPointsOnce(CONSUMER, "action-1", userId, 10, null))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM module_gamification_schema.processed_events", Integer.class)).isZero();
+
+        reset(eventPublisher);
+        assertThat(service.awardPointsOnce(CONSUMER, "action-1", userId, 10, null)).isTrue();
+        assertThat(totalPoints(userId)).isEqualTo(10);
+    }
+
+    private static int totalPoints(UUID userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT total_points FROM module_gamification_schema.user_points WHERE user_id = ?", Integer.class, userId);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = UserPointsJpaRepository.class)
+    @Import({GamificationApplicationService.class, UserPointsRepositoryAdapter.class, UserPointsPersistenceMapper.class,
+            JdbcProcessedEventStore.class})
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            return AbstractPostgresIntegrationTest.dataSource;
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        DomainEventPublisher eventPublisher() {
+            return mock(DomainEventPublisher.class);
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(UserPointsJpaEntity.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "validate"));
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
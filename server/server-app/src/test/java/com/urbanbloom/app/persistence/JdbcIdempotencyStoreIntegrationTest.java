@@ -0,0 +1,114 @@
+package com.urbanbloom.app.persistence;
+
+import com.urbanbloom.action.adapter.out.persistence.JdbcIdempotencyStore;
+import com.urbanbloom.action.domain.IdempotentRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JdbcIdempotencyStore Integration Tests")
+class JdbcIdempotencyStoreIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final String HASH = "a".repeat(64);
+    private static final String OTHER_HASH = "b".repeat(64);
+
+    private JdbcIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE module_action_schema.idempotency_keys");
+        store = new JdbcIdempotencyStore(jdbcTemplate, 86_400);
+    }
+
+    @Test
+    @DisplayName("reserve returns the earlier request under the same key, per user")
+    void shouldReturnEarlierRequestUnderTheSameKey() {
+        assertThat(store.reserve(USER, "key-1", HASH)).isEmpty();
+        assertThat(store.reserve(USER, "key-1", OTHER_HASH)).contains(new IdempotentRequest(HASH, null));
+
+        store.complete(USER, "key-1", "action-1");
+
+        assertThat(store.reserve(USER, "key-1", HASH)).contains(new IdempotentRequest(HASH, "action-1"));
+        assertThat(store.reserve(UUID.randomUUID(), "key-1", HASH)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("an expired key can be reserved again")
+    void shouldTakeOverExpiredKey() {
+        store.reserve(USER, "key-1", HASH);
+        store.complete(USER, "key-1", "action-1");
+        jdbcTemplate.update("UPDATE module_action_schema.idempotency_keys SET created_at = now() - interval '2 days'");
+
+        assertThat(store.reserve(USER, "key-1", OTHER_HASH)).isEmpty();
+        assertThat(store.reserve(USER, "key-1", HASH)).contains(new IdempotentRequest(OTHER_HASH, null));
+    }
+
+    @Test
+    @DisplayName("a reservation is rolled back with the failed transaction and release afterwards finds nothing")
+    void shouldRollBackReservationWithTheTransaction() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            store.reserve(USER, "key-1", HASH);
+            throw new IllegalStateException("creation failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        store.release(USER, "key-1");
+
+        assertThat(store.reserve(USER, "key-1", HASH)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("release keeps completed requests")
+    void shouldOnlyReleaseIncompleteReservations() {
+        store.reserve(USER, "open", HASH);
+        store.reserve(USER, "done", HASH);
+        store.complete(USER, "done", "action-1");
+
+        store.release(USER, "open");
+        store.release(USER, "done");
+
+        assertThat(store.reserve(USER, "open", OTHER_HASH)).isEmpty();
+        assertThat(store.reserve(USER, "done", OTHER_HASH)).contains(new IdempotentRequest(HASH, "action-1"));
+    }
+
+    @Test
+    @DisplayName("a concurrent request waits for the first one and then sees its action")
+    void shouldMakeConcurrentRequestWaitForTheFirst() throws Exception {
+        CountDownLatch reserved = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            store.reserve(USER, "key-1", HASH);
+            store.complete(USER, "key-1", "action-1");
+            reserved.countDown();
+            await(finish);
+        }));
+        assertThat(reserved.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Optional<IdempotentRequest>> second =
+                CompletableFuture.supplyAsync(() -> store.reserve(USER, "key-1", HASH));
+        Thread.sleep(200);
+        assertThat(second).isNotDone();
+        finish.countDown();
+
+        first.get(10, TimeUnit.SECONDS);
+        assertThat(second.get(10, TimeUnit.SECONDS)).contains(new IdempotentRequest(HASH, "action-1"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.urbanbloom.app.persistence;
+
+import com.urbanbloom.action.adapter.out.persistence.JdbcPhotoReuseIndex;
+import com.urbanbloom.action.domain.PhotoReuse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JdbcPhotoReuseIndex Integration Tests")
+class JdbcPhotoReuseIndexIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final long FINGERPRINT = 0x8F3A_5C71_0E2B_D946L;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE module_action_schema.actions CASCADE");
+    }
+
+    @Test
+    @DisplayName("registers new fingerprints and reports near-duplicates without storing them")
+    void shouldStoreNewFingerprintsAndReportNearDuplicates() {
+        JdbcPhotoReuseIndex index = newIndex();
+        insertAction("a1");
+        insertAction("a2");
+
+        assertThat(index.registerUnlessReused("a1", USER, FINGERPRINT)).isEmpty();
+        assertThat(index.registerUnlessReused("a2", USER, FINGERPRINT ^ 0b101)).contains(new PhotoReuse("a1", USER, 2));
+
+        assertThat(storedActionIds()).containsExactly("a1");
+    }
+
+    @Test
+    @DisplayName("loads stored fingerprints and picks up those registered by other instances")
+    void shouldSeeFingerprintsOfOtherInstances() {
+        insertAction("a1");
+        insertAction("a2");
+        insertAction("a3");
+        JdbcPhotoReuseIndex first = newIndex();
+        first.registerUnlessReused("a1", USER, FINGERPRINT);
+
+        JdbcPhotoReuseIndex second = newIndex();
+        second.load();
+        first.registerUnlessReused("a2", USER, ~FINGERPRINT);
+
+        assertThat(second.registerUnlessReused("a3", USER, FINGERPRINT ^ 1)).map(PhotoReuse::actionId).contains("a1");
+        assertThat(second.registerUnlessReused("a3", USER, ~FINGERPRINT ^ 1)).map(PhotoReuse::actionId).contains("a2");
+    }
+
+    @Test
+    @DisplayName("forgets a fingerprint whose row could not be written")
+    void shouldForgetFingerprintThatWasNotStored() {
+        JdbcPhotoReuseIndex index = newIndex();
+        insertAction("a2");
+
+        assertThatThrownBy(() -> index.registerUnlessReused("missing", USER, FINGERPRINT))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(index.registerUnlessReused("a2", USER, FINGERPRINT)).isEmpty();
+        assertThat(storedActionIds()).containsExactly("a2");
+    }
+
+    private static JdbcPhotoReuseIndex newIndex() {
+        return new JdbcPhotoReuseIndex(jdbcTemplate, new DataSourceTransactionManager(dataSource), 6);
+    }
+
+    private static void insertAction(String id) {
+        jdbcTemplate.update("""
+                        INSERT INTO module_action_schema.actions (id, user_id, latitude, longitude, status, created_at)
+                        VALUES (?, ?, 48.137, 11.575, 'VALIDATED', ?)
+                        """,
+                id, USER, Timestamp.from(Instant.now()));
+    }
+
+    private static List<String> storedActionIds() {
+        return jdbcTemplate.queryForList(
+                "SELECT action_id FROM module_action_schema.action_photo_fingerprints ORDER BY action_id", String.class);
+    }
+}
@@ -0,0 +1,129 @@
+package com.urbanbloom.app.persistence;
+
+import com.urbanbloom.action.adapter.out.persistence.JdbcVerificationQueue;
+import com.urbanbloom.action.domain.VerificationTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JdbcVerificationQueue Integration Tests")
+class JdbcVerificationQueueIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+    private static final Instant NOW = Instant.now();
+
+    private JdbcVerificationQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE module_action_schema.verification_queue");
+        queue = new JdbcVerificationQueue(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("claim interleaves districts oldest first and hides claimed tasks")
+    void shouldInterleaveDistrictsAndHideClaimedTasks() {
+        UUID busy = UUID.randomUUID();
+        UUID quiet = UUID.randomUUID();
+        queue.enqueue("busy-1", busy, NOW.minusSeconds(50));
+        queue.enqueue("busy-2", busy, NOW.minusSeconds(40));
+        queue.enqueue("busy-3", busy, NOW.minusSeconds(30));
+        queue.enqueue("quiet-1", quiet, NOW.minusSeconds(10));
+        queue.enqueue("none-1", null, NOW.minusSeconds(20));
+
+        assertThat(queue.claim(4, 5, LEASE)).extracting(VerificationTask::actionId)
+                .containsExactly("busy-1", "none-1", "quiet-1", "busy-2");
+        assertThat(queue.claim(10, 5, LEASE)).extracting(VerificationTask::actionId).containsExactly("busy-3");
+        assertThat(queue.claim(10, 5, LEASE)).isEmpty();
+        assertThat(queue.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("concurrent claims never hand out the same task twice")
+    void shouldNotHandOutTheSameTaskToConcurrentClaims() {
+        IntStream.range(0, 200).forEach(i -> queue.enqueue("action-" + i, UUID.randomUUID(), NOW.minusSeconds(i)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<List<VerificationTask>>> claims = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> queue.claim(30, 5, LEASE), executor))
+                    .toList();
+            List<String> claimed = new ArrayList<>();
+            claims.forEach(claim -> claim.join().forEach(task -> claimed.add(task.actionId())));
+
+            assertThat(claimed).doesNotHaveDuplicates().hasSizeLessThanOrEqualTo(200);
+            assertThat(claimed.size() + queue.claim(200, 5, LEASE).size()).isEqualTo(200);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("only the current claim can complete or reschedule a task")
+    void shouldOnlyLetTheCurrentClaimFinishATask() {
+        queue.enqueue("a", null, NOW);
+        VerificationTask expired = queue.claim(10, 5, Duration.ZERO).get(0);
+        VerificationTask current = queue.claim(10, 5, LEASE).get(0);
+
+        assertThat(queue.retry(expired, 1, NOW, "timeout")).isFalse();
+        assertThat(queue.complete(expired)).isFalse();
+        assertThat(queue.size()).isEqualTo(1);
+
+        assertThat(queue.complete(current)).isTrue();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("retries wait for their backoff and stop after max attempts")
+    void shouldDelayRetriesAndStopAfterMaxAttempts() {
+        queue.enqueue("a", null, NOW);
+        VerificationTask first = queue.claim(10, 2, LEASE).get(0);
+
+        assertThat(queue.retry(first, 1, Instant.now().plusSeconds(60), "timeout")).isTrue();
+        assertThat(queue.claim(10, 2, LEASE)).isEmpty();
+        assertThat(lastError("a")).isEqualTo("timeout");
+
+        jdbcTemplate.update("UPDATE module_action_schema.verification_queue SET next_attempt_at = now()");
+        VerificationTask second = queue.claim(10, 2, LEASE).get(0);
+        assertThat(second.attempts()).isEqualTo(1);
+
+        assertThat(queue.retry(second, 2, NOW, "timeout")).isTrue();
+        assertThat(queue.claim(10, 2, LEASE)).isEmpty();
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("enqueueing a parked task again starts it over")
+    void shouldStartOverWhenEnqueuedAgain() {
+        queue.enqueue("a", null, NOW);
+        VerificationTask parked = queue.claim(10, 1, LEASE).get(0);
+        queue.retry(parked, 1, NOW, "timeout");
+        assertThat(queue.claim(10, 1, LEASE)).isEmpty();
+
+        transactionTemplate.executeWithoutResult(status -> queue.enqueue("a", UUID.randomUUID(), Instant.now()));
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(lastError("a")).isNull();
+        assertThat(queue.claim(10, 1, LEASE)).singleElement()
+                .satisfies(task -> assertThat(task.attempts()).isZero());
+        assertThat(queue.complete(parked)).isFalse();
+    }
+
+    private static String lastError(String actionId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT last_error FROM module_action_schema.verification_queue WHERE action_id = ?",
+                String.class, actionId);
+    }
+}
@@ -0,0 +1,129 @@
+package com.urbanbloom.app.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urbanbloom.action.domain.ActionValidatedEvent;
+import com.urbanbloom.shared.outbox.OutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch selection of the outbox relay: only due events, without events held back by their aggregate.
+ */
+@SpringJUnitConfig(OutboxRelayIntegrationTest.Config.class)
+@DisplayName("OutboxRelay Integration Tests")
+class OutboxRelayIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE domain_event_outbox, domain_event_dead_letter");
+        listener.delivered.clear();
+    }
+
+    @Test
+    @DisplayName("events waiting for a retry do not crowd due events out of the batch")
+    void shouldDeliverDueEventsBehindAFullBatchOfRetries() {
+        IntStream.range(0, BATCH_SIZE + 50).forEach(i -> insert("failing-" + i, "now() + interval '5 minutes'"));
+        insert("due", "now()");
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        assertThat(listener.delivered).containsExactly("due");
+        assertThat(outboxSize()).isEqualTo(BATCH_SIZE + 50);
+    }
+
+    @Test
+    @DisplayName("an event waiting for a retry holds back the later events of its aggregate only")
+    void shouldHoldBackLaterEventsOfTheSameAggregate() {
+        insert("a", "now() + interval '5 minutes'");
+        insert("a", "now()");
+        insert("b", "now()");
+        insert("b", "now()");
+
+        assertThat(relay.relayBatch()).isEqualTo(2);
+
+        assertThat(listener.delivered).containsExactly("b", "b");
+        assertThat(outboxSize()).isEqualTo(2);
+    }
+
+    private static void insert(String actionId, String nextAttemptAt) {
+        String payload = """
+                {"actionId": "%s", "userId": "%s", "points": 10, "districtId": null}
+                """.formatted(actionId, UUID.randomUUID());
+        jdbcTemplate.update("""
+                        INSERT INTO domain_event_outbox (aggregate_id, event_type, payload, next_attempt_at)
+                        VALUES (?, ?, CAST(? AS jsonb), %s)
+                        """.formatted(nextAttemptAt),
+                actionId, ActionValidatedEvent.class.getName(), payload);
+    }
+
+    private static int outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM domain_event_outbox", Integer.class);
+    }
+
+    static class RecordingListener {
+        final List<String> delivered = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void on(ActionValidatedEvent event) {
+            delivered.add(event.getActionId());
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @ComponentScan(basePackageClasses = OutboxRelay.class)
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            return AbstractPostgresIntegrationTest.dataSource;
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.urbanbloom.app.persistence;
+
+import com.urbanbloom.gamification.adapter.out.persistence.UserPointsJpaEntity;
+import com.urbanbloom.gamification.adapter.out.persistence.UserPointsJpaRepository;
+import com.urbanbloom.gamification.adapter.out.persistence.UserPointsPersistenceMapper;
+import com.urbanbloom.gamification.adapter.out.persistence.UserPointsRepositoryAdapter;
+import com.urbanbloom.gamification.domain.DistrictPoints;
+import com.urbanbloom.gamification.domain.UserPoints;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent point awards through the JPA adapter: the upsert increments must not lose updates,
+ * also when the first awards for a user race to create the row.
+ */
+@SpringJUnitConfig(UserPointsRepositoryAdapterIntegrationTest.Config.class)
+@DisplayName("UserPointsRepositoryAdapter Integration Tests")
+class UserPointsRepositoryAdapterIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int AWARDS_PER_THREAD = 100;
+
+    @Autowired
+    private UserPointsRepositoryAdapter repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("TRUNCATE module_gamification_schema.user_points, module_gamification_schema.user_district_points");
+    }
+
+    @Test
+    @DisplayName("concurrent awards for the same user add up exactly")
+    void shouldNotLoseConcurrentAwards() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID districtId = UUID.randomUUID();
+
+        List<Integer> districtTotals = runConcurrently(() -> {
+            repository.addPoints(userId, 1);
+            return repository.addDistrictPoints(userId, districtId, 2);
+        });
+
+        int expected = THREADS * AWARDS_PER_THREAD;
+        assertThat(repository.findByUserId(userId)).get().extracting(UserPoints::getTotalPoints).isEqualTo(expected);
+        assertThat(repository.findAllDistrictPoints()).singleElement()
+                .satisfies(points -> assertThat(points.totalPoints()).isEqualTo(2 * expected));
+        // Every increment saw its own result: the returned totals are exactly 2, 4, ..., 2 * expected
+        assertThat(districtTotals).doesNotHaveDuplicates().hasSize(expected).allMatch(total -> total % 2 == 0);
+    }
+
+    @Test
+    @DisplayName("finds the totals changed since a given time")
+    void shouldFindTotalsChangedSince() {
+        UUID before = UUID.randomUUID();
+        UUID after = UUID.randomUUID();
+        UUID districtId = UUID.randomUUID();
+        repository.addPoints(before, 5);
+        repository.addDistrictPoints(before, districtId, 5);
+        jdbcTemplate.update("UPDATE module_gamification_schema.user_points SET updated_at = now() - interval '1 hour'");
+        jdbcTemplate.update("UPDATE module_gamification_schema.user_district_points SET updated_at = now() - interval '1 hour'");
+        repository.addPoints(after, 7);
+        repository.addDistrictPoints(after, districtId, 7);
+
+        Instant since = Instant.now().minus(Duration.ofMinutes(10));
+
+        assertThat(repository.findUpdatedSince(since)).extracting(UserPoints::getUserId).containsExactly(after);
+        assertThat(repository.findDistrictPointsUpdatedSince(since))
+                .containsExactly(new DistrictPoints(after, districtId, 7));
+    }
+
+    private List<Integer> runConcurrently(Callable<Integer> award) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Integer> results = new ArrayList<>();
+                    for (int i = 0; i < AWARDS_PER_THREAD; i++) {
+                        results.add(award.call());
+                    }
+                    return results;
+                }));
+            }
+            start.countDown();
+            List<Integer> results = new ArrayList<>();
+            for (Future<List<Integer>> future : futures) {
+                results.addAll(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = UserPointsJpaRepository.class)
+    @Import({UserPointsRepositoryAdapter.class, UserPointsPersistenceMapper.class})
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            return AbstractPostgresIntegrationTest.dataSource;
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(UserPointsJpaEntity.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            // The entities have to match the tables created by the migrations
+            factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "validate"));
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
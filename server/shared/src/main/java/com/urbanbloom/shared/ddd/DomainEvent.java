@@ -19,6 +19,17 @@ public abstract class DomainEvent {
         return timestamp;
     }
 
+    /**
+     * Get the id of the aggregate this event belongs to.
+     * Events of the same aggregate are delivered in the order they were published;
+     * events without an aggregate id are not ordered relative to each other.
+     *
+     * @return aggregate id, or null if the event is not tied to an aggregate
+     */
+    public String getAggregateId() {
+        return null;
+    }
+
     @Override
     public abstract String toString();
 }
@@ -1,6 +1,7 @@
 package com.urbanbloom.shared.ddd;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
@@ -8,9 +9,12 @@ import java.util.List;
 
 /**
  * Spring-based implementation of DomainEventPublisher.
+ * Delivers events in-line on the publishing thread; nothing is persisted.
+ * Active only when {@code urbanbloom.events.publisher=direct}.
  */
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "urbanbloom.events", name = "publisher", havingValue = "direct")
 public class SpringDomainEventPublisher implements DomainEventPublisher {
 
     private final ApplicationEventPublisher applicationEventPublisher;
@@ -0,0 +1,55 @@
+package com.urbanbloom.shared.outbox;
+
+import com.urbanbloom.shared.ddd.DomainEvent;
+import com.urbanbloom.shared.ddd.DomainEventPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * DomainEventPublisher that writes events to the outbox table in the caller's transaction.
+ * Events therefore survive a crash right after commit and are never delivered for a rolled-back change.
+ * Delivery happens asynchronously in {@link OutboxRelay}, which is woken up as soon as the transaction commits.
+ * Default implementation; set {@code urbanbloom.events.publisher=direct} for in-line delivery.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "urbanbloom.events", name = "publisher", havingValue = "outbox", matchIfMissing = true)
+public class OutboxDomainEventPublisher implements DomainEventPublisher {
+
+    private final OutboxStore store;
+    private final OutboxEventSerializer serializer;
+    private final OutboxRelay relay;
+
+    @Override
+    public void publish(DomainEvent event) {
+        publishAll(List.of(event));
+    }
+
+    @Override
+    public void publishAll(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<OutboxStore.NewMessage> messages = events.stream()
+                .map(event -> new OutboxStore.NewMessage(
+                        event.getAggregateId(), event.getClass().getName(), serializer.serialize(event)))
+                .toList();
+        store.insert(messages);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay.wakeUp();
+                }
+            });
+        } else {
+            relay.wakeUp();
+        }
+    }
+}
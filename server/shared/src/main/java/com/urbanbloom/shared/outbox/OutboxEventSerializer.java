@@ -0,0 +1,50 @@
+package com.urbanbloom.shared.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.urbanbloom.shared.ddd.DomainEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts domain events to and from the JSON stored in the outbox.
+ * Events and the value objects they carry are read back through their constructor, matched by
+ * parameter name, so every constructor parameter must have a getter of the same name.
+ */
+@Component
+class OutboxEventSerializer {
+
+    private final ObjectMapper objectMapper;
+
+    OutboxEventSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper.copy()
+                .findAndRegisterModules()
+                // Value objects such as Email(String value) are read as {"value": ...}, like they are written
+                .setConstructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+                .disable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    String serialize(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize domain event " + event.getClass().getName(), e);
+        }
+    }
+
+    DomainEvent deserialize(String eventType, String payload) {
+        try {
+            Class<?> type = Class.forName(eventType, true, getClass().getClassLoader());
+            if (!DomainEvent.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException("Not a domain event type: " + eventType);
+            }
+            return (DomainEvent) objectMapper.readValue(payload, type);
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot deserialize domain event " + eventType, e);
+        }
+    }
+}
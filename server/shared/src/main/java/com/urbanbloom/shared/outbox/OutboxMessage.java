@@ -0,0 +1,13 @@
+package com.urbanbloom.shared.outbox;
+
+/**
+ * A serialized domain event waiting in the outbox.
+ *
+ * @param id          sequence number; defines delivery order
+ * @param aggregateId id of the aggregate the event belongs to, may be null
+ * @param eventType   fully qualified class name of the event
+ * @param payload     JSON representation of the event
+ * @param attempts    number of failed delivery attempts so far
+ */
+record OutboxMessage(long id, String aggregateId, String eventType, String payload, int attempts) {
+}
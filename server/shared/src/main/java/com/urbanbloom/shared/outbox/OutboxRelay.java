@@ -0,0 +1,198 @@
+package com.urbanbloom.shared.outbox;
+
+import com.urbanbloom.shared.ddd.DomainEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background relay delivering outbox events to in-process listeners.
+ * <ul>
+ *   <li>Batching: each round reads up to {@code batch-size} due events in publication order.</li>
+ *   <li>At-least-once: an event is deleted only after its listeners succeeded; a crash in between
+ *       delivers it again, so listeners must be idempotent.</li>
+ *   <li>Per-aggregate ordering: a PostgreSQL advisory lock lets only one relay in the cluster work at a time,
+ *       and once an event fails, later events of the same aggregate wait until it has been delivered.
+ *       Events waiting for a retry are not read at all, so they never crowd due events out of a batch.</li>
+ *   <li>Dead letters: after {@code max-attempts} failures, or if the event cannot be deserialized,
+ *       the event is moved to {@code domain_event_dead_letter}.</li>
+ * </ul>
+ * Events are dispatched outside of any transaction: they are already committed, so
+ * {@code @TransactionalEventListener}s with {@code fallbackExecution = true} run right away on the relay thread
+ * and their failures reach the relay instead of being swallowed after a commit. Listeners that write open their
+ * own transactions, so a failing listener cannot roll back the relay's bookkeeping.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "urbanbloom.events", name = "publisher", havingValue = "outbox", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxStore store;
+    private final OutboxEventSerializer serializer;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate withoutTransaction;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long pollIntervalMillis;
+    private final Duration retryBackoff;
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboxRelay(OutboxStore store,
+                       OutboxEventSerializer serializer,
+                       ApplicationEventPublisher applicationEventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${urbanbloom.events.outbox.batch-size:100}") int batchSize,
+                       @Value("${urbanbloom.events.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${urbanbloom.events.outbox.poll-interval-ms:1000}") long pollIntervalMillis,
+                       @Value("${urbanbloom.events.outbox.retry-backoff-ms:1000}") long retryBackoffMillis) {
+        this.store = store;
+        this.serializer = serializer;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.withoutTransaction = new TransactionTemplate(transactionManager);
+        // Suspends the batch transaction, so listeners see no active transaction
+        this.withoutTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::drain, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Requests an immediate relay round; multiple requests before the round starts are merged.
+     */
+    public void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    wakeUpPending.set(false);
+                    drain();
+                });
+            } catch (RejectedExecutionException e) {
+                log.debug("Outbox relay already stopped, events stay in the outbox");
+            }
+        }
+    }
+
+    /**
+     * Runs one relay round.
+     *
+     * @return number of events that left the outbox (delivered or dead-lettered)
+     */
+    public int relayBatch() {
+        Integer removed = batchTransaction.execute(status -> {
+            if (!store.tryAcquireRelayLock()) {
+                return 0;
+            }
+            List<OutboxMessage> batch = store.findBatch(batchSize);
+            Instant now = Instant.now();
+            Set<String> blockedAggregates = new HashSet<>();
+            int count = 0;
+            for (OutboxMessage message : batch) {
+                String aggregateId = message.aggregateId();
+                if (aggregateId != null && blockedAggregates.contains(aggregateId)) {
+                    continue;
+                }
+                if (deliver(message, now)) {
+                    count++;
+                } else if (aggregateId != null) {
+                    blockedAggregates.add(aggregateId);
+                }
+            }
+            return count;
+        });
+        return removed != null ? removed : 0;
+    }
+
+    /**
+     * @return true if the message left the outbox (delivered or dead-lettered)
+     */
+    private boolean deliver(OutboxMessage message, Instant now) {
+        DomainEvent event;
+        try {
+            event = serializer.deserialize(message.eventType(), message.payload());
+        } catch (RuntimeException e) {
+            log.error("Outbox event {} cannot be read, moving to dead letter", message.id(), e);
+            store.moveToDeadLetter(message, message.attempts() + 1, truncate(e));
+            return true;
+        }
+
+        try {
+            withoutTransaction.executeWithoutResult(status -> applicationEventPublisher.publishEvent(event));
+            store.delete(message.id());
+            return true;
+        } catch (RuntimeException e) {
+            int attempts = message.attempts() + 1;
+            if (attempts >= maxAttempts) {
+                log.error("Outbox event {} ({}) failed {} times, moving to dead letter",
+                        message.id(), message.eventType(), attempts, e);
+                store.moveToDeadLetter(message, attempts, truncate(e));
+                return true;
+            }
+            Instant nextAttemptAt = now.plus(backoff(attempts));
+            log.warn("Outbox event {} ({}) failed, retry {} at {}",
+                    message.id(), message.eventType(), attempts, nextAttemptAt, e);
+            store.scheduleRetry(message.id(), attempts, nextAttemptAt, truncate(e));
+            return false;
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private void drain() {
+        try {
+            while (relayBatch() == batchSize) {
+                // A fully delivered batch means more events may be waiting
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox relay round failed", e);
+        }
+    }
+
+    private static String truncate(Exception e) {
+        String error = e.getClass().getName() + ": " + e.getMessage();
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
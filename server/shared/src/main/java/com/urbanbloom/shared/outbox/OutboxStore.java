@@ -0,0 +1,103 @@
+package com.urbanbloom.shared.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JDBC access to the outbox and dead-letter tables.
+ * Uses the caller's transaction, so inserts commit or roll back together with the business change.
+ */
+@Component
+class OutboxStore {
+
+    /** Arbitrary application-wide key for the relay's advisory lock. */
+    private static final long RELAY_LOCK_KEY = 0x55424f5842L;
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getString("aggregate_id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getInt("attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OutboxStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void insert(List<NewMessage> messages) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO domain_event_outbox (aggregate_id, event_type, payload)
+                        VALUES (?, ?, CAST(? AS jsonb))
+                        """,
+                messages, messages.size(), (ps, message) -> {
+                    ps.setString(1, message.aggregateId());
+                    ps.setString(2, message.eventType());
+                    ps.setString(3, message.payload());
+                });
+    }
+
+    /**
+     * Tries to become the only active relay until the current transaction ends.
+     */
+    boolean tryAcquireRelayLock() {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RELAY_LOCK_KEY));
+    }
+
+    /**
+     * Returns due events in publication order. An event whose aggregate has an earlier event still in the outbox
+     * is returned only together with that event, so events waiting for a retry hold back their aggregate without
+     * taking up the batch for everyone else.
+     */
+    List<OutboxMessage> findBatch(int limit) {
+        return jdbcTemplate.query("""
+                        SELECT o.id, o.aggregate_id, o.event_type, o.payload, o.attempts
+                        FROM domain_event_outbox o
+                        WHERE o.next_attempt_at <= now()
+                          AND NOT EXISTS (
+                              SELECT 1
+                              FROM domain_event_outbox earlier
+                              WHERE earlier.aggregate_id = o.aggregate_id
+                                AND earlier.id < o.id
+                                AND earlier.next_attempt_at > now())
+                        ORDER BY o.id
+                        LIMIT ?
+                        """,
+                ROW_MAPPER, limit);
+    }
+
+    void delete(long id) {
+        jdbcTemplate.update("DELETE FROM domain_event_outbox WHERE id = ?", id);
+    }
+
+    void scheduleRetry(long id, int attempts, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update("""
+                        UPDATE domain_event_outbox
+                        SET attempts = ?, next_attempt_at = ?, last_error = ?
+                        WHERE id = ?
+                        """,
+                attempts, Timestamp.from(nextAttemptAt), error, id);
+    }
+
+    void moveToDeadLetter(OutboxMessage message, int attempts, String error) {
+        jdbcTemplate.update("""
+                        INSERT INTO domain_event_dead_letter
+                            (id, aggregate_id, event_type, payload, attempts, last_error, created_at, failed_at)
+                        SELECT id, aggregate_id, event_type, payload, ?, ?, created_at, now()
+                        FROM domain_event_outbox
+                        WHERE id = ?
+                        """,
+                attempts, error, message.id());
+        delete(message.id());
+    }
+
+    record NewMessage(String aggregateId, String eventType, String payload) {
+    }
+}
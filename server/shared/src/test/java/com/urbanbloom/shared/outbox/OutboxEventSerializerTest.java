@@ -0,0 +1,99 @@
+package com.urbanbloom.shared.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urbanbloom.shared.ddd.DomainEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboxEventSerializerTest {
+
+    private final OutboxEventSerializer serializer = new OutboxEventSerializer(new ObjectMapper());
+
+    @Test
+    void shouldRoundTripEventThroughConstructor() {
+        UUID userId = UUID.randomUUID();
+        SampleEvent event = new SampleEvent("action-1", userId, 10, new SampleId("d-1"));
+
+        String payload = serializer.serialize(event);
+        DomainEvent restored = serializer.deserialize(SampleEvent.class.getName(), payload);
+
+        assertThat(restored).isInstanceOf(SampleEvent.class);
+        SampleEvent sample = (SampleEvent) restored;
+        assertThat(sample.getActionId()).isEqualTo("action-1");
+        assertThat(sample.getUserId()).isEqualTo(userId);
+        assertThat(sample.getPoints()).isEqualTo(10);
+        assertThat(sample.getDistrict().getValue()).isEqualTo("d-1");
+        assertThat(sample.getAggregateId()).isEqualTo("action-1");
+    }
+
+    @Test
+    void shouldRejectUnknownOrForeignTypes() {
+        assertThatThrownBy(() -> serializer.deserialize("com.example.Missing", "{}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> serializer.deserialize(String.class.getName(), "\"x\""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static final class SampleId {
+        private final String value;
+
+        SampleId(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    static final class SampleEvent extends DomainEvent {
+        private final String actionId;
+        private final UUID userId;
+        private final int points;
+        private final SampleId district;
+        private final Instant occurredOn;
+
+        SampleEvent(String actionId, UUID userId, int points, SampleId district) {
+            this.actionId = actionId;
+            this.userId = userId;
+            this.points = points;
+            this.district = district;
+            this.occurredOn = Instant.now();
+        }
+
+        public String getActionId() {
+            return actionId;
+        }
+
+        public UUID getUserId() {
+            return userId;
+        }
+
+        public int getPoints() {
+            return points;
+        }
+
+        public SampleId getDistrict() {
+            return district;
+        }
+
+        public Instant getOccurredOn() {
+            return occurredOn;
+        }
+
+        @Override
+        public String getAggregateId() {
+            return actionId;
+        }
+
+        @Override
+        public String toString() {
+            return "SampleEvent{actionId='" + actionId + "'}";
+        }
+    }
+}
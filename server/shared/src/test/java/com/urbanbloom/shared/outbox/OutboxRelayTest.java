@@ -0,0 +1,222 @@
+package com.urbanbloom.shared.outbox;
+
+import com.urbanbloom.shared.ddd.DomainEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxStore store;
+    @Mock
+    private OutboxEventSerializer serializer;
+
+    private AnnotationConfigApplicationContext context;
+    private TestListener listener;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        // Real event multicaster and transactional listener, so AFTER_COMMIT semantics apply as in production
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(TransactionalEventListenerFactory.class);
+        context.registerBean(TestListener.class);
+        context.refresh();
+        listener = context.getBean(TestListener.class);
+        relay = new OutboxRelay(store, serializer, context, new TestTransactionManager(), 10, 3, 1_000, 1_000);
+        when(store.tryAcquireRelayLock()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void shouldDeliverBatchInOrderAndDeleteDeliveredEvents() {
+        givenBatch(message(1, "a"), message(2, "b"), message(3, "a"));
+        givenDeliveryOutcome(null);
+
+        int removed = relay.relayBatch();
+
+        assertThat(removed).isEqualTo(3);
+        assertThat(listener.delivered).containsExactly("1", "2", "3");
+        assertThat(listener.insideTransaction).isFalse();
+        verify(store).delete(1);
+        verify(store).delete(2);
+        verify(store).delete(3);
+    }
+
+    @Test
+    void shouldHoldLaterEventsOfAggregateWhenOneFails() {
+        givenBatch(message(1, "a"), message(2, "b"), message(3, "a"));
+        givenDeliveryOutcome("1");
+
+        int removed = relay.relayBatch();
+
+        assertThat(removed).isEqualTo(1);
+        assertThat(listener.delivered).containsExactly("1", "2");
+        verify(store).scheduleRetry(eq(1L), eq(1), any(Instant.class), anyString());
+        verify(store).delete(2);
+        verify(store, never()).delete(3);
+    }
+
+    @Test
+    void shouldMoveEventToDeadLetterAfterMaxAttempts() {
+        OutboxMessage lastChance = new OutboxMessage(1, "a", "type", "1", 2);
+        givenBatch(lastChance, message(2, "a"));
+        givenDeliveryOutcome("1");
+
+        int removed = relay.relayBatch();
+
+        assertThat(removed).isEqualTo(2);
+        verify(store).moveToDeadLetter(eq(lastChance), eq(3), anyString());
+        assertThat(listener.delivered).containsExactly("1", "2");
+    }
+
+    @Test
+    void shouldMoveUnreadableEventToDeadLetterImmediately() {
+        OutboxMessage broken = message(1, "a");
+        givenBatch(broken);
+        when(serializer.deserialize(anyString(), anyString())).thenThrow(new IllegalArgumentException("bad payload"));
+
+        relay.relayBatch();
+
+        verify(store).moveToDeadLetter(eq(broken), eq(1), anyString());
+        assertThat(listener.delivered).isEmpty();
+    }
+
+    @Test
+    void shouldSkipRoundWhenAnotherRelayHoldsTheLock() {
+        when(store.tryAcquireRelayLock()).thenReturn(false);
+
+        assertThat(relay.relayBatch()).isZero();
+        verify(store, never()).findBatch(anyInt());
+        verify(store, never()).delete(anyLong());
+    }
+
+    private void givenBatch(OutboxMessage... messages) {
+        when(store.findBatch(10)).thenReturn(List.of(messages));
+    }
+
+    /**
+     * Every dispatched event reaches the listener; the one with the given payload fails.
+     */
+    private void givenDeliveryOutcome(String failingPayload) {
+        when(serializer.deserialize(anyString(), anyString()))
+                .thenAnswer(invocation -> new TestEvent(invocation.getArgument(1)));
+        listener.failingPayload = failingPayload;
+    }
+
+    private static OutboxMessage message(long id, String aggregateId) {
+        return new OutboxMessage(id, aggregateId, "type", String.valueOf(id), 0);
+    }
+
+    /**
+     * Declared like the application's listeners.
+     */
+    static class TestListener {
+        final List<String> delivered = new ArrayList<>();
+        String failingPayload;
+        boolean insideTransaction;
+
+        @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+        public void on(TestEvent event) {
+            delivered.add(event.payload);
+            insideTransaction |= TransactionSynchronizationManager.isActualTransactionActive();
+            if (event.payload.equals(failingPayload)) {
+                throw new IllegalStateException("listener failed");
+            }
+        }
+    }
+
+    /**
+     * Transaction manager without a resource: tracks begin, suspend and resume per thread, like a JDBC one would.
+     */
+    private static final class TestTransactionManager extends AbstractPlatformTransactionManager {
+        private final ThreadLocal<Object> current = new ThreadLocal<>();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object[]{current.get()};
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((Object[]) transaction)[0] != null;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            Object resource = new Object();
+            ((Object[]) transaction)[0] = resource;
+            current.set(resource);
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            Object suspended = current.get();
+            current.remove();
+            ((Object[]) transaction)[0] = null;
+            return suspended;
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+            current.set(suspendedResources);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            current.remove();
+        }
+    }
+
+    static final class TestEvent extends DomainEvent {
+        private final String payload;
+
+        private TestEvent(String payload) {
+            this.payload = payload;
+        }
+
+        @Override
+        public String toString() {
+            return "TestEvent{" + payload + "}";
+        }
+    }
+}